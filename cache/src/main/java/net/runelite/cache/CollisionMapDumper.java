@@ -39,8 +39,23 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Collision map dumper
@@ -50,8 +65,25 @@ import java.util.Collection;
  * and replace "mapsquare" with "region" and "key" with "keys".
  * Compile the client with "mvn install -f pom.xml -DskipTests -U".
  * Run "java net.runelite.cache.CollisionMapDumper --cachedir ../cache --xteapath ../keys.json --outputdir ../output"
+ * <p>
+ * This writes collision-map.zip, the archive the shortest path plugin loads, to the output directory. Regions are
+ * processed in parallel, each looking up the locations of a tile in a per region index. Add "--verify" to check the
+ * output byte for byte against the slow per tile scan of every location in the region.
  */
 public class CollisionMapDumper {
+    /**
+     * The name of the collision map archive of the shortest path plugin
+     */
+    private static final String ARCHIVE_NAME = "collision-map.zip";
+
+    /**
+     * The modification time of every archive entry, fixed so the same cache always produces the same archive. It is
+     * set as a local time, which is stored as is, since an instant would be converted through the default time zone.
+     * 1980-01-01 00:00 itself is the DOS time ZipEntry uses for times before 1980, and those get an extended timestamp
+     * in the default time zone as well.
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 2, 0, 0);
+
     private final RegionLoader regionLoader;
     private final ObjectManager objectManager;
 
@@ -69,6 +101,7 @@ public class CollisionMapDumper {
         options.addOption(Option.builder().longOpt("cachedir").hasArg().required().build());
         options.addOption(Option.builder().longOpt("xteapath").hasArg().required().build());
         options.addOption(Option.builder().longOpt("outputdir").hasArg().required().build());
+        options.addOption(Option.builder().longOpt("verify").build());
 
         CommandLineParser parser = new DefaultParser();
         CommandLine cmd;
@@ -99,14 +132,17 @@ public class CollisionMapDumper {
             CollisionMapDumper dumper = new CollisionMapDumper(store, xteaKeyManager);
             dumper.load();
 
-            Collection<Region> regions = dumper.regionLoader.getRegions();
+            long start = System.nanoTime();
+            SortedMap<Integer, byte[]> collisionMaps = dumper.makeCollisionMaps();
+            System.out.println("Built " + collisionMaps.size() + " regions in " + (System.nanoTime() - start) / 1_000_000 + " ms");
 
-            int n = 0;
-            int total = regions.size();
-
-            for (Region region : regions) {
-                dumper.makeCollisionMap(region, outputDirectory, ++n, total);
+            if (cmd.hasOption("verify")) {
+                dumper.verify(collisionMaps);
             }
+
+            File archive = new File(outDir, ARCHIVE_NAME);
+            int written = writeArchive(collisionMaps, archive);
+            System.out.println("Exported " + written + " regions to " + archive);
         }
     }
 
@@ -118,50 +154,120 @@ public class CollisionMapDumper {
         return this;
     }
 
+    /**
+     * Builds the collision map of every region in parallel
+     *
+     * @return the collision map bytes by region id
+     */
+    public SortedMap<Integer, byte[]> makeCollisionMaps() {
+        Map<Integer, LocationIndex> indexes = regionLoader.getRegions().parallelStream()
+                .collect(Collectors.toConcurrentMap(Region::getRegionID, TileLocationIndex::new));
+        return makeCollisionMaps(region -> indexes.get(region.getRegionID()));
+    }
+
+    /**
+     * Builds every collision map again by scanning every location of the region for every tile, as the dumper used
+     * to, and checks the output is the same
+     *
+     * @throws IllegalStateException if a region differs
+     */
+    public void verify(SortedMap<Integer, byte[]> collisionMaps) {
+        SortedMap<Integer, byte[]> expected = makeCollisionMaps(ScanLocationIndex::new);
+        if (!expected.keySet().equals(collisionMaps.keySet())) {
+            throw new IllegalStateException("Region sets differ");
+        }
+        for (Map.Entry<Integer, byte[]> entry : expected.entrySet()) {
+            if (!Arrays.equals(entry.getValue(), collisionMaps.get(entry.getKey()))) {
+                throw new IllegalStateException("Collision map of region " + entry.getKey() + " differs from the location scan");
+            }
+        }
+        System.out.println("Verified " + expected.size() + " regions against the location scan");
+    }
+
+    private SortedMap<Integer, byte[]> makeCollisionMaps(Function<Region, LocationIndex> indexes) {
+        List<Region> regions = new ArrayList<>(regionLoader.getRegions());
+        regions.sort(Comparator.comparingInt(Region::getRegionID));
+
+        // Every region only writes its own flag map, so they are built on the fork/join pool without locking
+        byte[][] collisionMaps = new byte[regions.size()][];
+        IntStream.range(0, regions.size())
+                .parallel()
+                .forEach(i -> collisionMaps[i] = makeCollisionMap(regions.get(i), indexes));
+
+        SortedMap<Integer, byte[]> byRegion = new TreeMap<>();
+        for (int i = 0; i < regions.size(); i++) {
+            byRegion.put(regions.get(i).getRegionID(), collisionMaps[i]);
+        }
+        return byRegion;
+    }
+
+    private static int writeArchive(SortedMap<Integer, byte[]> collisionMaps, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            return writeArchive(collisionMaps, out);
+        }
+    }
+
+    /**
+     * Writes the non-empty collision maps to a zip with an "x_y" entry per region, in region order
+     *
+     * @return the number of regions written
+     */
+    static int writeArchive(SortedMap<Integer, byte[]> collisionMaps, OutputStream stream) throws IOException {
+        int written = 0;
+        try (ZipOutputStream out = new ZipOutputStream(stream)) {
+            for (Map.Entry<Integer, byte[]> entry : collisionMaps.entrySet()) {
+                byte[] buf = entry.getValue();
+                if (buf.length == 0) {
+                    continue;
+                }
+
+                int regionId = entry.getKey();
+                ZipEntry zipEntry = new ZipEntry((regionId >> 8) + "_" + (regionId & 0xFF));
+                zipEntry.setTimeLocal(ENTRY_TIME);
+                out.putNextEntry(zipEntry);
+                out.write(buf, 0, buf.length);
+                out.closeEntry();
+                ++written;
+            }
+        }
+        return written;
+    }
+
     private ObjectDefinition findObject(int id) {
         return objectManager.getObject(id);
     }
 
-    private void makeCollisionMap(Region region, String outputDirectory, int n, int total) {
+    private byte[] makeCollisionMap(Region region, Function<Region, LocationIndex> indexes) {
         int baseX = region.getBaseX();
         int baseY = region.getBaseY();
 
         FlagMap flagMap = new FlagMap(baseX, baseY, baseX + Region.X - 1, baseY + Region.Y - 1);
 
-        addCollisions(flagMap, region);
-        addNeighborCollisions(flagMap, region, -1, -1);
-        addNeighborCollisions(flagMap, region, -1, 0);
-        addNeighborCollisions(flagMap, region, -1, 1);
-        addNeighborCollisions(flagMap, region, 0, -1);
-        addNeighborCollisions(flagMap, region, 0, 1);
-        addNeighborCollisions(flagMap, region, 1, -1);
-        addNeighborCollisions(flagMap, region, 1, 0);
-        addNeighborCollisions(flagMap, region, 1, 1);
-
-        String name = region.getRegionX() + "_" + region.getRegionY();
-
-        byte[] buf = flagMap.toBytes();
-        if (buf.length > 0) {
-            try (FileOutputStream out = new FileOutputStream(outputDirectory + "/" + name)) {
-                out.write(buf, 0, buf.length);
-                System.out.println("Exporting region " + name + " (" + n + " / " + total + ")");
-            } catch (IOException e) {
-                System.out.println("Unable to write compressed output bytes for " + name + ". " + e);
-            }
-        }
+        addCollisions(flagMap, region, indexes);
+        addNeighborCollisions(flagMap, region, indexes, -1, -1);
+        addNeighborCollisions(flagMap, region, indexes, -1, 0);
+        addNeighborCollisions(flagMap, region, indexes, -1, 1);
+        addNeighborCollisions(flagMap, region, indexes, 0, -1);
+        addNeighborCollisions(flagMap, region, indexes, 0, 1);
+        addNeighborCollisions(flagMap, region, indexes, 1, -1);
+        addNeighborCollisions(flagMap, region, indexes, 1, 0);
+        addNeighborCollisions(flagMap, region, indexes, 1, 1);
+
+        return flagMap.toBytes();
     }
 
-    private void addNeighborCollisions(FlagMap flagMap, Region region, int dx, int dy) {
+    private void addNeighborCollisions(FlagMap flagMap, Region region, Function<Region, LocationIndex> indexes, int dx, int dy) {
         Region neighbor = regionLoader.findRegionForRegionCoordinates(region.getRegionX() + dx, region.getRegionY() + dy);
         if (neighbor == null) {
             return;
         }
-        addCollisions(flagMap, neighbor);
+        addCollisions(flagMap, neighbor, indexes);
     }
 
-    private void addCollisions(FlagMap flagMap, Region region) {
+    private void addCollisions(FlagMap flagMap, Region region, Function<Region, LocationIndex> indexes) {
         int baseX = region.getBaseX();
         int baseY = region.getBaseY();
+        LocationIndex locations = indexes.apply(region);
 
         for (int z = 0; z < Region.Z; z++) {
             for (int localX = 0; localX < Region.X; localX++) {
@@ -172,12 +278,7 @@ public class CollisionMapDumper {
                     boolean isBridge = (region.getTileSetting(1, localX, localY) & 2) != 0;
                     int tileZ = z + (isBridge ? 1 : 0);
 
-                    for (Location loc : region.getLocations()) {
-                        Position pos = loc.getPosition();
-                        if (pos.getX() != regionX || pos.getY() != regionY || pos.getZ() != tileZ) {
-                            continue;
-                        }
-
+                    for (Location loc : locations.at(localX, localY, tileZ)) {
                         boolean tile = FlagMap.TILE_BLOCKED;
                         Boolean exclusion = Exclusion.matches(loc.getId());
 
@@ -599,13 +700,104 @@ public class CollisionMapDumper {
             this.tile = tile;
         }
 
-        public static Boolean matches(int id) {
+        private static final Map<Integer, Boolean> TILES = new HashMap<>();
+
+        static {
             for (Exclusion exclusion : values()) {
-                if (exclusion.id == id) {
-                    return exclusion.tile;
+                TILES.putIfAbsent(exclusion.id, exclusion.tile);
+            }
+        }
+
+        public static Boolean matches(int id) {
+            return TILES.get(id);
+        }
+    }
+
+    /**
+     * The locations of a region by tile
+     */
+    private interface LocationIndex {
+        /**
+         * The locations on a tile in the order of {@link Region#getLocations()}
+         */
+        List<Location> at(int localX, int localY, int z);
+    }
+
+    /**
+     * Sorts the locations of a region by tile once, so the locations of a tile are found with a binary search
+     */
+    private static class TileLocationIndex implements LocationIndex {
+        private final int[] keys;
+        private final List<Location> locations;
+
+        TileLocationIndex(Region region) {
+            List<Location> inRegion = new ArrayList<>();
+            for (Location loc : region.getLocations()) {
+                Position pos = loc.getPosition();
+                int localX = pos.getX() - region.getBaseX();
+                int localY = pos.getY() - region.getBaseY();
+                if (localX >= 0 && localX < Region.X && localY >= 0 && localY < Region.Y && pos.getZ() >= 0 && pos.getZ() < Region.Z) {
+                    inRegion.add(loc);
+                }
+            }
+            // The sort is stable, so the locations of a tile keep their order
+            inRegion.sort(Comparator.comparingInt(loc -> key(region, loc.getPosition())));
+
+            keys = new int[inRegion.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = key(region, inRegion.get(i).getPosition());
+            }
+            locations = inRegion;
+        }
+
+        private static int key(Region region, Position pos) {
+            return key(pos.getX() - region.getBaseX(), pos.getY() - region.getBaseY(), pos.getZ());
+        }
+
+        private static int key(int localX, int localY, int z) {
+            return (z * Region.X + localX) * Region.Y + localY;
+        }
+
+        @Override
+        public List<Location> at(int localX, int localY, int z) {
+            int key = key(localX, localY, z);
+            int from = Arrays.binarySearch(keys, key);
+            if (from < 0) {
+                return Collections.emptyList();
+            }
+            while (from > 0 && keys[from - 1] == key) {
+                from--;
+            }
+            int to = from + 1;
+            while (to < keys.length && keys[to] == key) {
+                to++;
+            }
+            return locations.subList(from, to);
+        }
+    }
+
+    /**
+     * Scans every location of the region for every tile, as the dumper used to
+     */
+    private static class ScanLocationIndex implements LocationIndex {
+        private final Region region;
+
+        ScanLocationIndex(Region region) {
+            this.region = region;
+        }
+
+        @Override
+        public List<Location> at(int localX, int localY, int z) {
+            int x = region.getBaseX() + localX;
+            int y = region.getBaseY() + localY;
+            List<Location> found = new ArrayList<>();
+            for (Location loc : region.getLocations()) {
+                Position pos = loc.getPosition();
+                if (pos.getX() == x && pos.getY() == y && pos.getZ() == z) {
+                    found.add(loc);
                 }
             }
-            return null;
+            return found;
         }
     }
 
@@ -39,16 +39,24 @@ public class DataFile implements Closeable
 
 	private static final int SECTOR_SIZE = 520;
 
+	/**
+	 * The sector buffer of each reading thread
+	 */
+	private static final ThreadLocal<byte[]> SECTOR_BUFFER = ThreadLocal.withInitial(() -> new byte[SECTOR_SIZE]);
+
 	private final RandomAccessFile dat;
+	private final FileReaders readers;
 
 	public DataFile(File file) throws FileNotFoundException
 	{
 		this.dat = new RandomAccessFile(file, "rw");
+		this.readers = new FileReaders(file);
 	}
 
 	@Override
 	public void close() throws IOException
 	{
+		readers.close();
 		dat.close();
 	}
 
@@ -58,6 +66,8 @@ public class DataFile implements Closeable
 	}
 
 	/**
+	 * Reads an archive. Every reading thread reads through its own handle of the file and does not lock, so any number
+	 * of threads may read at once, also while another thread writes.
 	 *
 	 * @param indexId expected index of archive of contents being read
 	 * @param archiveId expected archive of contents being read
@@ -66,16 +76,17 @@ public class DataFile implements Closeable
 	 * @return
 	 * @throws IOException
 	 */
-	public synchronized byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
+	public byte[] read(int indexId, int archiveId, int sector, int size) throws IOException
 	{
-		if (sector <= 0L || dat.length() / SECTOR_SIZE < (long) sector)
+		final long length = dat.length();
+		if (sector <= 0L || length / SECTOR_SIZE < (long) sector)
 		{
-			logger.warn("bad read, dat length {}, requested sector {}", dat.length(), sector);
+			logger.warn("bad read, dat length {}, requested sector {}", length, sector);
 			return null;
 		}
 
-		byte[] readBuffer = new byte[SECTOR_SIZE];
-		ByteBuffer buffer = ByteBuffer.allocate(size);
+		final byte[] readBuffer = SECTOR_BUFFER.get();
+		final byte[] data = new byte[size];
 
 		for (int part = 0, readBytesCount = 0, nextSector;
 			size > readBytesCount;
@@ -87,8 +98,6 @@ public class DataFile implements Closeable
 				return null;
 			}
 
-			dat.seek(SECTOR_SIZE * sector);
-
 			int dataBlockSize = size - readBytesCount;
 			byte headerSize;
 			int currentIndex;
@@ -102,8 +111,7 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
-				if (i != headerSize + dataBlockSize)
+				if (!readers.read((long) SECTOR_SIZE * sector, readBuffer, headerSize + dataBlockSize))
 				{
 					logger.warn("Short read when reading file data for {}/{}", indexId, archiveId);
 					return null;
@@ -127,8 +135,7 @@ public class DataFile implements Closeable
 					dataBlockSize = SECTOR_SIZE - headerSize;
 				}
 
-				int i = dat.read(readBuffer, 0, headerSize + dataBlockSize);
-				if (i != headerSize + dataBlockSize)
+				if (!readers.read((long) SECTOR_SIZE * sector, readBuffer, headerSize + dataBlockSize))
 				{
 					logger.warn("short read");
 					return null;
@@ -153,20 +160,19 @@ public class DataFile implements Closeable
 				return null;
 			}
 
-			if (nextSector < 0 || dat.length() / SECTOR_SIZE < (long) nextSector)
+			if (nextSector < 0 || length / SECTOR_SIZE < (long) nextSector)
 			{
 				logger.warn("Invalid next sector");
 				return null;
 			}
 
-			buffer.put(readBuffer, headerSize, dataBlockSize);
+			System.arraycopy(readBuffer, headerSize, data, readBytesCount, dataBlockSize);
 			readBytesCount += dataBlockSize;
 
 			++part;
 		}
 
-		buffer.flip();
-		return buffer.array();
+		return data;
 	}
 
 	public synchronized DataFileWriteResult write(int indexId, int archiveId, byte[] compressedData) throws IOException
@@ -206,7 +212,7 @@ public class DataFile implements Closeable
 				writeBuffer[7] = (byte) (nextSector >> 8);
 				writeBuffer[8] = (byte) nextSector;
 				writeBuffer[9] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
+				dat.seek((long) SECTOR_SIZE * sector);
 				dat.write(writeBuffer, 0, 10);
 
 				dataToWrite = data.remaining();
@@ -230,7 +236,7 @@ public class DataFile implements Closeable
 				writeBuffer[5] = (byte) (nextSector >> 8);
 				writeBuffer[6] = (byte) nextSector;
 				writeBuffer[7] = (byte) indexId;
-				dat.seek(SECTOR_SIZE * sector);
+				dat.seek((long) SECTOR_SIZE * sector);
 				dat.write(writeBuffer, 0, 8);
 
 				dataToWrite = data.remaining();
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.fs.jagex;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Read only handles of a file, one for each reading thread, so reads do not have to lock to seek. A FileChannel
+ * would not need the handles, but is closed for every thread, along with the file behind it, when a thread is
+ * interrupted while it reads.
+ */
+class FileReaders implements Closeable
+{
+	private final File file;
+	private final ThreadLocal<RandomAccessFile> reader = new ThreadLocal<>();
+	private final Queue<RandomAccessFile> readers = new ConcurrentLinkedQueue<>();
+	private volatile boolean closed;
+
+	FileReaders(File file)
+	{
+		this.file = file;
+	}
+
+	/**
+	 * Reads {@code count} bytes at {@code position} into the start of the buffer
+	 *
+	 * @return false if the file ends first
+	 */
+	boolean read(long position, byte[] buffer, int count) throws IOException
+	{
+		RandomAccessFile raf = reader();
+		raf.seek(position);
+		for (int offset = 0; offset < count; )
+		{
+			int read = raf.read(buffer, offset, count - offset);
+			if (read < 0)
+			{
+				return false;
+			}
+			offset += read;
+		}
+		return true;
+	}
+
+	private RandomAccessFile reader() throws IOException
+	{
+		RandomAccessFile raf = reader.get();
+		if (raf == null)
+		{
+			raf = new RandomAccessFile(file, "r");
+			readers.add(raf);
+			reader.set(raf);
+		}
+		if (closed)
+		{
+			close();
+			throw new IOException("file closed");
+		}
+		return raf;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		closed = true;
+		for (RandomAccessFile raf; (raf = readers.poll()) != null; )
+		{
+			raf.close();
+		}
+	}
+}
@@ -45,6 +45,7 @@ public class IndexFile implements Closeable
 	private final int indexFileId;
 	private final File file;
 	private final RandomAccessFile idx;
+	private final FileReaders readers;
 	private final byte[] buffer = new byte[INDEX_ENTRY_LEN];
 
 	public IndexFile(int indexFileId, File file) throws FileNotFoundException
@@ -52,11 +53,13 @@ public class IndexFile implements Closeable
 		this.indexFileId = indexFileId;
 		this.file = file;
 		this.idx = new RandomAccessFile(file, "rw");
+		this.readers = new FileReaders(file);
 	}
 
 	@Override
 	public void close() throws IOException
 	{
+		readers.close();
 		idx.close();
 	}
 
@@ -67,7 +70,7 @@ public class IndexFile implements Closeable
 
 	public synchronized void write(IndexEntry entry) throws IOException
 	{
-		idx.seek(entry.getId() * INDEX_ENTRY_LEN);
+		idx.seek((long) entry.getId() * INDEX_ENTRY_LEN);
 
 		buffer[0] = (byte) (entry.getLength() >> 16);
 		buffer[1] = (byte) (entry.getLength() >> 8);
@@ -80,13 +83,16 @@ public class IndexFile implements Closeable
 		idx.write(buffer);
 	}
 
-	public synchronized IndexEntry read(int id) throws IOException
+	/**
+	 * Reads an index entry through the handle of the reading thread, without locking, so entries can be read from
+	 * several threads
+	 */
+	public IndexEntry read(int id) throws IOException
 	{
-		idx.seek(id * INDEX_ENTRY_LEN);
-		int i = idx.read(buffer);
-		if (i != INDEX_ENTRY_LEN)
+		final byte[] buffer = new byte[INDEX_ENTRY_LEN];
+		if (!readers.read((long) id * INDEX_ENTRY_LEN, buffer, INDEX_ENTRY_LEN))
 		{
-			logger.debug("short read for id {} on index {}: {}", id, indexFileId, i);
+			logger.debug("short read for id {} on index {}", id, indexFileId);
 			return null;
 		}
 
@@ -102,7 +108,7 @@ public class IndexFile implements Closeable
 		return new IndexEntry(this, id, sector, length);
 	}
 
-	public synchronized int getIndexCount() throws IOException
+	public int getIndexCount() throws IOException
 	{
 		return (int) (idx.length() / INDEX_ENTRY_LEN);
 	}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import net.runelite.cache.fs.ArchiveFiles;
+import net.runelite.cache.fs.FSFile;
+
+/**
+ * Definitions indexed by id in a plain array, iterated in id order.
+ *
+ * @param <T> definition type
+ */
+public class DefinitionStore<T>
+{
+	@FunctionalInterface
+	public interface Decoder<T>
+	{
+		T load(int id, byte[] b);
+	}
+
+	private Object[] definitions = new Object[0];
+	private int size;
+
+	/**
+	 * Decodes every file of an archive, in parallel. The decoder must not hold state between files, which is true of
+	 * the definition loaders once they are configured for the archive revision.
+	 */
+	public static <T> DefinitionStore<T> decode(ArchiveFiles files, Decoder<T> decoder)
+	{
+		FSFile[] fsFiles = files.getFiles().toArray(new FSFile[0]);
+		int maxId = -1;
+		for (FSFile f : fsFiles)
+		{
+			maxId = Math.max(maxId, f.getFileId());
+		}
+
+		DefinitionStore<T> store = new DefinitionStore<>();
+		Object[] definitions = new Object[maxId + 1];
+		// file ids are distinct, so every task writes its own slot
+		Arrays.stream(fsFiles)
+			.parallel()
+			.forEach(f -> definitions[f.getFileId()] = decoder.load(f.getFileId(), f.getContents()));
+
+		store.definitions = definitions;
+		for (Object def : definitions)
+		{
+			if (def != null)
+			{
+				++store.size;
+			}
+		}
+		return store;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get(int id)
+	{
+		return id >= 0 && id < definitions.length ? (T) definitions[id] : null;
+	}
+
+	public void put(int id, T definition)
+	{
+		if (id >= definitions.length)
+		{
+			definitions = Arrays.copyOf(definitions, Math.max(id + 1, definitions.length * 2));
+		}
+
+		if (definitions[id] == null)
+		{
+			++size;
+		}
+		if (definition == null)
+		{
+			--size;
+		}
+		definitions[id] = definition;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * A read only view of the definitions, in id order
+	 */
+	public Collection<T> values()
+	{
+		return new AbstractCollection<T>()
+		{
+			@Override
+			public Iterator<T> iterator()
+			{
+				return new Iterator<T>()
+				{
+					private int next = skip(0);
+
+					private int skip(int i)
+					{
+						while (i < definitions.length && definitions[i] == null)
+						{
+							++i;
+						}
+						return i;
+					}
+
+					@Override
+					public boolean hasNext()
+					{
+						return next < definitions.length;
+					}
+
+					@Override
+					@SuppressWarnings("unchecked")
+					public T next()
+					{
+						if (!hasNext())
+						{
+							throw new NoSuchElementException();
+						}
+
+						T def = (T) definitions[next];
+						next = skip(next + 1);
+						return def;
+					}
+				};
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SortedMap;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public class CollisionMapDumperTest
+{
+	@Test
+	public void testArchiveIndependentOfTimeZone() throws IOException
+	{
+		SortedMap<Integer, byte[]> collisionMaps = new TreeMap<>();
+		collisionMaps.put((50 << 8) | 50, new byte[]{1, 2, 3});
+		collisionMaps.put((50 << 8) | 51, new byte[0]);
+		collisionMaps.put((51 << 8) | 50, new byte[]{4, 5});
+
+		TimeZone timeZone = TimeZone.getDefault();
+		try
+		{
+			// west and east of UTC
+			TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+			byte[] west = write(collisionMaps);
+			TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+			byte[] east = write(collisionMaps);
+			assertArrayEquals(west, east);
+		}
+		finally
+		{
+			TimeZone.setDefault(timeZone);
+		}
+	}
+
+	private static byte[] write(SortedMap<Integer, byte[]> collisionMaps) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(2, CollisionMapDumper.writeArchive(collisionMaps, out));
+		return out.toByteArray();
+	}
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.util.Random;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.index.FileData;
+import net.runelite.cache.util.Djb2;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -64,6 +65,31 @@ public class StoreTest
 		}
 	}
 
+	@Test
+	public void testFindArchiveByName() throws IOException
+	{
+		try (Store store = new Store(folder.getRoot()))
+		{
+			Index index = store.addIndex(0);
+			Archive a = index.addArchive(1);
+			a.setNameHash(Djb2.hash("m50_50"));
+
+			Assert.assertSame(a, index.findArchiveByName("m50_50"));
+			Assert.assertNull(index.findArchiveByName("l50_50"));
+
+			Archive b = index.addArchive(0);
+			b.setNameHash(Djb2.hash("l50_50"));
+			Assert.assertSame(b, index.findArchiveByName("l50_50"));
+
+			a.setNameHash(Djb2.hash("m51_50"));
+			Assert.assertNull(index.findArchiveByName("m50_50"));
+			Assert.assertSame(a, index.findArchiveByName("m51_50"));
+
+			index.removeArchive(a);
+			Assert.assertNull(index.findArchiveByName("m51_50"));
+		}
+	}
+
 	@Test
 	public void testManyFiles() throws IOException
 	{
@@ -26,6 +26,12 @@ package net.runelite.cache.fs.jagex;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.runelite.cache.StoreLocation;
 import net.runelite.cache.fs.Container;
 import org.junit.Assert;
@@ -167,4 +173,111 @@ public class DataFileTest
 		Assert.assertEquals("testtesttesttest1", str);
 		Assert.assertEquals(42, res2.revision);
 	}
+
+	@Test
+	public void testConcurrentRead() throws Exception
+	{
+		DataFile df = new DataFile(folder.newFile());
+
+		byte[][] contents = new byte[16][];
+		DataFileWriteResult[] results = new DataFileWriteResult[contents.length];
+		for (int i = 0; i < contents.length; ++i)
+		{
+			contents[i] = new byte[1000 + i * 100];
+			for (int j = 0; j < contents[i].length; ++j)
+			{
+				contents[i][j] = (byte) (i + j);
+			}
+			results[i] = df.write(42, i, contents[i]);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; ++t)
+			{
+				futures.add(executor.submit(() ->
+				{
+					for (int n = 0; n < 50; ++n)
+					{
+						for (int i = 0; i < contents.length; ++i)
+						{
+							Assert.assertArrayEquals(contents[i], df.read(42, i, results[i].sector, results[i].compressedLength));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testInterruptedRead() throws Exception
+	{
+		DataFile df = new DataFile(folder.newFile());
+
+		byte[] content = new byte[2000];
+		for (int i = 0; i < content.length; ++i)
+		{
+			content[i] = (byte) i;
+		}
+		DataFileWriteResult result = df.write(42, 1, content);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			AtomicBoolean stop = new AtomicBoolean();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 3; ++t)
+			{
+				futures.add(executor.submit(() ->
+				{
+					while (!stop.get())
+					{
+						Assert.assertArrayEquals(content, df.read(42, 1, result.sector, result.compressedLength));
+					}
+					return null;
+				}));
+			}
+
+			Future<Boolean> interrupted = executor.submit(() ->
+			{
+				for (int n = 0; n < 50; ++n)
+				{
+					Thread.currentThread().interrupt();
+					Assert.assertArrayEquals(content, df.read(42, 1, result.sector, result.compressedLength));
+					if (!Thread.interrupted())
+					{
+						return false;
+					}
+				}
+				return true;
+			});
+			Assert.assertTrue("interrupt flag kept", interrupted.get());
+
+			stop.set(true);
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		// the file is still open for writes and for other threads
+		DataFileWriteResult second = df.write(42, 2, content);
+		Assert.assertArrayEquals(content, df.read(42, 2, second.sector, second.compressedLength));
+		Assert.assertArrayEquals(content, df.read(42, 1, result.sector, result.compressedLength));
+	}
 }
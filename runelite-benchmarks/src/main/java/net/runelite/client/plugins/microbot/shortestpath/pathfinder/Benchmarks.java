@@ -0,0 +1,28 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the pathfinder benchmarks with the allocation profiler, so allocations per search are reported next to the
+ * search times. Any JMH command line options are passed on, e.g. a benchmark name pattern or
+ * {@code -p route=CROSS_CONTINENT} to run a subset.
+ * <p>
+ * Usage: {@code mvn -Pbenchmarks package && java -jar runelite-benchmarks/target/benchmarks.jar}
+ */
+public class Benchmarks {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(Benchmarks.class.getPackage().getName() + ".*Benchmark");
+        }
+        options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
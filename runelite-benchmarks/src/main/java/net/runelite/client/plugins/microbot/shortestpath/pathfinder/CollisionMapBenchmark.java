@@ -0,0 +1,100 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the lookups the pathfinder makes for every node it expands, over a square of tiles around Lumbridge and
+ * Draynor which crosses region boundaries. Scores are per tile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CollisionMapBenchmark {
+    private static final int MIN_X = 3072;
+    private static final int MIN_Y = 3200;
+    private static final int SIZE = 256;
+    private static final int TILES = SIZE * SIZE;
+
+    @Param
+    public Headless.Storage storage;
+
+    private CollisionMap map;
+    private VisitedTiles visited;
+    private PrimitiveIntHashMap<Set<Transport>> transports;
+    private int[] packedTiles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PathfinderConfig config = Headless.pathfinderConfig(Headless.collisionMap(storage),
+                PathfinderAlgorithm.A_STAR, false);
+        map = config.getMap();
+        visited = new VisitedTiles(map);
+        transports = config.getTransportsPacked();
+
+        packedTiles = new int[TILES];
+        for (int i = 0; i < TILES; i++) {
+            packedTiles[i] = WorldPointUtil.packWorldPoint(MIN_X + i % SIZE, MIN_Y + i / SIZE, 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public int traversableMask() {
+        int masks = 0;
+        for (int y = MIN_Y; y < MIN_Y + SIZE; y++) {
+            for (int x = MIN_X; x < MIN_X + SIZE; x++) {
+                masks += map.traversableMask(x, y, 0);
+            }
+        }
+        return masks;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public int visitedTiles() {
+        int count = 0;
+        for (int packed : packedTiles) {
+            if (visited.set(packed)) {
+                count++;
+            }
+        }
+        for (int packed : packedTiles) {
+            if (visited.get(packed)) {
+                count++;
+            }
+        }
+        visited.clear();
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public void transportLookup(Blackhole blackhole) {
+        for (int packed : packedTiles) {
+            blackhole.consume(transports.get(packed));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.WorldType;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.Restriction;
+import net.runelite.client.plugins.microbot.shortestpath.ShortestPathConfig;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sets up the shortest path classes without a game client, for benchmarks.
+ * The client is a stub which is logged out on a members world, and returns zero, false, null or another stub from
+ * every other method, so the pathfinder sees no player location and no instance.
+ */
+final class Headless {
+    private static final String COLLISION_MAP = "/net/runelite/client/plugins/microbot/shortestpath/collision-map.zip";
+
+    /** Where the collision map of a benchmark is read from */
+    enum Storage {
+        /** Memory mapped from the file converted from the zip, as used by the plugin */
+        MAPPED,
+        /** Inflated from the zip onto the heap */
+        HEAP
+    }
+
+    private Headless() {
+    }
+
+    static Client client() {
+        Client client = stub(Client.class);
+        try {
+            // Microbot.getClient() is used by Rs2Player.getWorldLocation() when a search starts
+            Field field = Microbot.class.getDeclaredField("client");
+            field.setAccessible(true);
+            field.set(null, client);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to install the headless client", e);
+        }
+        return client;
+    }
+
+    static SplitFlagMap collisionMap(Storage storage) {
+        byte[] zip;
+        try (InputStream in = Headless.class.getResourceAsStream(COLLISION_MAP)) {
+            zip = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            if (storage == Storage.HEAP) {
+                return SplitFlagMap.fromZip(new ByteArrayInputStream(zip));
+            }
+
+            Path file = Files.createTempFile("collision-map", ".bin");
+            file.toFile().deleteOnExit();
+            long checksum = CollisionMapConverter.checksum(zip);
+            CollisionMapConverter.convert(new ByteArrayInputStream(zip), checksum, file);
+            return SplitFlagMap.fromFile(file, checksum);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A config with every transport usable, as for an account which meets every requirement
+     */
+    static PathfinderConfig pathfinderConfig(SplitFlagMap map, PathfinderAlgorithm algorithm, boolean useTransportGraph) {
+        Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
+        PathfinderConfig config = new PathfinderConfig(map, transports, Restriction.loadAllFromResources(),
+                client(), shortestPathConfig(algorithm, useTransportGraph));
+        // Logged out, so this only reads the settings and starts building the transport graph
+        config.refresh();
+
+        Set<Transport> usableTransports = new HashSet<>();
+        transports.values().forEach(usableTransports::addAll);
+        config.setUsableTransports(usableTransports);
+        return config;
+    }
+
+    /**
+     * The default settings, with the algorithm and transport graph of the benchmark and a cutoff which never ends
+     * a search early
+     */
+    static ShortestPathConfig shortestPathConfig(PathfinderAlgorithm algorithm, boolean useTransportGraph) {
+        return (ShortestPathConfig) Proxy.newProxyInstance(ShortestPathConfig.class.getClassLoader(),
+                new Class<?>[]{ShortestPathConfig.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "pathfinderAlgorithm":
+                            return algorithm;
+                        case "useTransportGraph":
+                            return useTransportGraph;
+                        case "calculationCutoff":
+                            return 100_000;
+                        default:
+                            if (method.isDefault()) {
+                                return MethodHandles.privateLookupIn(ShortestPathConfig.class, MethodHandles.lookup())
+                                        .unreflectSpecial(method, ShortestPathConfig.class)
+                                        .bindTo(proxy)
+                                        .invokeWithArguments(args == null ? new Object[0] : args);
+                            }
+                            return defaultValue(proxy, method, args);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getGameState":
+                    return GameState.LOGIN_SCREEN;
+                case "getWorldType":
+                    return EnumSet.of(WorldType.MEMBERS);
+                case "isClientThread":
+                    return false;
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Headless " + proxy.getClass().getInterfaces()[0].getSimpleName();
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == short.class) {
+            return (short) 0;
+        } else if (type == byte.class) {
+            return (byte) 0;
+        } else if (type == char.class) {
+            return (char) 0;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        } else if (type.isInterface()) {
+            return stub(type);
+        }
+        return null;
+    }
+}
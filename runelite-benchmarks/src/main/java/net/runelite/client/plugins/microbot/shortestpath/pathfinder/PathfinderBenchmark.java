@@ -0,0 +1,92 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.RequiredArgsConstructor;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete searches per second over fixed routes, with the path cache cleared before every search.
+ * The nodes counter reports how many nodes and transports were checked per second, so changes which also change
+ * how many nodes a search checks can be compared by both.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PathfinderBenchmark {
+    @RequiredArgsConstructor
+    public enum Route {
+        SHORT_IN_TOWN(new WorldPoint(3185, 3436, 0), new WorldPoint(3212, 3428, 0), false),
+        CROSS_CONTINENT(new WorldPoint(3222, 3218, 0), new WorldPoint(2662, 3305, 0), false),
+        WILDERNESS(new WorldPoint(3093, 3491, 0), new WorldPoint(2998, 3916, 0), false),
+        TELEPORT_HEAVY(new WorldPoint(3222, 3218, 0), new WorldPoint(1640, 3673, 0), true);
+
+        private final WorldPoint start;
+        private final WorldPoint target;
+        private final boolean teleports;
+    }
+
+    @Param
+    public Route route;
+
+    @Param
+    public Headless.Storage storage;
+
+    @Param({"BREADTH_FIRST", "A_STAR", "BIDIRECTIONAL"})
+    public PathfinderAlgorithm algorithm;
+
+    @Param({"false", "true"})
+    public boolean transportGraph;
+
+    private PathfinderConfig config;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        /** Nodes and transports checked, reported per second */
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        config = Headless.pathfinderConfig(Headless.collisionMap(storage), algorithm, transportGraph);
+        if (transportGraph) {
+            // The graph is built in the background, searches fall back to plain expansion until it is ready
+            while (config.getTransportGraph() == null) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<WorldPoint> search(Counters counters) {
+        config.getPathCache().invalidate();
+        Pathfinder pathfinder = new Pathfinder(config.snapshot(false, !route.teleports), route.start, route.target);
+        pathfinder.run();
+        counters.nodes += pathfinder.getStats().getTotalNodesChecked();
+        return pathfinder.getPath();
+    }
+}
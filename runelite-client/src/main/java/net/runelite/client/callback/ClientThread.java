@@ -25,13 +25,18 @@
 package net.runelite.client.callback;
 
 import com.google.inject.Inject;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.plugins.microbot.Microbot;
 
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.BooleanSupplier;
@@ -46,6 +51,16 @@ public class ClientThread
 	protected ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 	public Future<?> scheduledFuture;
 
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+	private final ConcurrentHashMap<String, ClientThreadLatency> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether calls which wait for the client thread are timed per call site, which walks the stack of every call
+	 */
+	@Getter
+	@Setter
+	private volatile boolean profiling;
+
 	@Inject
 	private Client client;
 
@@ -71,6 +86,7 @@ public class ClientThread
 			return method.call();
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
+		final long start = System.nanoTime();
 		invoke(task);
 		try {
 			return task.get(10000, TimeUnit.MILLISECONDS);
@@ -84,6 +100,10 @@ public class ClientThread
 				log.error("Exception during task execution: {}: {}\n{}", e.getClass().getSimpleName(), e.getMessage(),e);
 			}
 			return null;
+		} finally {
+			if (profiling) {
+				recordLatency(start);
+			}
 		}
 	}
 
@@ -106,6 +126,7 @@ public class ClientThread
 			}
 		}
 		final FutureTask<T> task = new FutureTask<>(method);
+		final long start = System.nanoTime();
 		invoke(task);
 		try {
 			return Optional.ofNullable(task.get(10000, TimeUnit.MILLISECONDS));
@@ -120,9 +141,60 @@ public class ClientThread
 				log.error("Exception during task execution: {}: {}\n{}", e.getClass().getSimpleName(), e.getMessage(),e);
 			}
 			return Optional.empty();
+		} finally {
+			if (profiling) {
+				recordLatency(start);
+			}
 		}
 	}
 
+	/**
+	 * Start a group of reads which run on the client thread in a single hand-off.
+	 * @return
+	 */
+	public ClientThreadBatch batch() {
+		return new ClientThreadBatch(this);
+	}
+
+	/**
+	 * How long calls waited for the client thread, per call site, the call sites which waited longest in total first.
+	 * Calls are only counted while {@link #isProfiling() profiling}, calls made on the client thread run inline and are
+	 * not counted.
+	 * @return
+	 */
+	public List<ClientThreadLatency> getLatencies() {
+		List<ClientThreadLatency> list = new ArrayList<>(latencies.values());
+		list.sort(Comparator.comparing(ClientThreadLatency::getTotal).reversed());
+		return list;
+	}
+
+	public void resetLatencies() {
+		latencies.clear();
+	}
+
+	private void recordLatency(long start) {
+		long nanos = System.nanoTime() - start;
+		latencies.computeIfAbsent(callSite(), ClientThreadLatency::new).record(nanos);
+	}
+
+	/**
+	 * The first caller outside of the client thread helpers, e.g. {@code Rs2Widget.getWidget:120}
+	 */
+	private static String callSite() {
+		return STACK_WALKER.walk(frames -> frames
+			.filter(frame -> {
+				String className = frame.getClassName();
+				return !className.equals(ClientThread.class.getName())
+					&& !className.startsWith(ClientThreadBatch.class.getName());
+			})
+			.findFirst()
+			.map(frame -> {
+				String className = frame.getClassName();
+				return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+			})
+			.orElse("unknown"));
+	}
+
 	/**
 	 * Run a method on the client thread, returning the result.
 	 * @param method
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * A group of reads which run on the client thread in a single hand-off, instead of one
+ * {@link ClientThread#runOnClientThreadOptional(Callable)} per read.
+ * <p>
+ * The reads run in the order they were added, so a read may use the value of an earlier read:
+ * <pre>{@code
+ * ClientThreadBatch batch = clientThread.batch();
+ * ClientThreadBatch.Read<ItemComposition> item = batch.add(() -> itemManager.getItemComposition(id));
+ * ClientThreadBatch.Read<Integer> price = batch.add(() -> itemManager.getItemPrice(id));
+ * batch.run();
+ * }</pre>
+ * A read which throws is logged and has no value, the other reads of the batch still run.
+ */
+@Slf4j
+public class ClientThreadBatch
+{
+	private final ClientThread clientThread;
+	private final List<Read<?>> reads = new ArrayList<>();
+
+	ClientThreadBatch(ClientThread clientThread)
+	{
+		this.clientThread = clientThread;
+	}
+
+	/**
+	 * Adds a read to the batch, its value is available after {@link #run()}
+	 */
+	public <T> Read<T> add(Callable<T> method)
+	{
+		Read<T> read = new Read<>(method);
+		reads.add(read);
+		return read;
+	}
+
+	/**
+	 * Runs the reads on the client thread and waits for them, like
+	 * {@link ClientThread#runOnClientThreadOptional(Callable)} does for a single read.
+	 *
+	 * @return false when the batch timed out or the thread was interrupted, the reads have no value then
+	 */
+	public boolean run()
+	{
+		return clientThread.runOnClientThreadOptional(() ->
+		{
+			for (Read<?> read : reads)
+			{
+				read.run();
+			}
+			return Boolean.TRUE;
+		}).isPresent();
+	}
+
+	public static class Read<T>
+	{
+		private final Callable<T> method;
+		private volatile T value;
+
+		private Read(Callable<T> method)
+		{
+			this.method = method;
+		}
+
+		private void run()
+		{
+			try
+			{
+				value = method.call();
+			}
+			catch (Exception e)
+			{
+				if (!Microbot.isDebug())
+				{
+					log.error("Exception in client thread batch: {}\n{}", e.getMessage(), e);
+				}
+			}
+		}
+
+		/**
+		 * The value of the read, null when the batch has not run or the read failed
+		 */
+		public T get()
+		{
+			return value;
+		}
+
+		public Optional<T> getOptional()
+		{
+			return Optional.ofNullable(value);
+		}
+
+		public T orElse(T other)
+		{
+			T value = this.value;
+			return value != null ? value : other;
+		}
+	}
+}
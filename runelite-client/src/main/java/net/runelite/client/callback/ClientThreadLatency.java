@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.callback;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of how long the calls from one call site waited for the client thread.
+ * <p>
+ * Bucket {@code i} counts the calls which took less than {@code 2^i} microseconds and at least half of that, the
+ * last bucket counts everything slower.
+ */
+public class ClientThreadLatency
+{
+	static final int BUCKETS = 25;
+
+	/** The class, method and line which called the client thread, e.g. {@code Rs2Widget.getWidget:120} */
+	@Getter
+	private final String callSite;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+	ClientThreadLatency(String callSite)
+	{
+		this.callSite = callSite;
+	}
+
+	void record(long nanos)
+	{
+		long micros = nanos / 1000;
+		int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+		buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	public long getCount()
+	{
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			count += buckets.get(i);
+		}
+		return count;
+	}
+
+	/** The time all calls from the call site waited together */
+	public Duration getTotal()
+	{
+		return Duration.ofNanos(totalNanos.sum());
+	}
+
+	public Duration getMax()
+	{
+		return Duration.ofNanos(maxNanos.get());
+	}
+
+	public Duration getMean()
+	{
+		long count = getCount();
+		return count == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / count);
+	}
+
+	/**
+	 * The upper bound of the bucket the percentile falls in, at most the slowest call, e.g. {@code getPercentile(0.99)}
+	 */
+	public Duration getPercentile(double percentile)
+	{
+		long[] counts = getBuckets();
+		long total = 0;
+		for (long count : counts)
+		{
+			total += count;
+		}
+		long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS - 1; i++)
+		{
+			seen += counts[i];
+			if (seen >= rank)
+			{
+				return Duration.ofNanos(Math.min(1000L << i, maxNanos.get()));
+			}
+		}
+		return getMax();
+	}
+
+	/** The number of calls per bucket */
+	public long[] getBuckets()
+	{
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			counts[i] = buckets.get(i);
+		}
+		return counts;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s: calls=%d total=%dms mean=%dus p50<%dus p99<%dus max=%dus", callSite, getCount(),
+			getTotal().toMillis(), getMean().toNanos() / 1000, getPercentile(0.5).toNanos() / 1000,
+			getPercentile(0.99).toNanos() / 1000, getMax().toNanos() / 1000);
+	}
+}
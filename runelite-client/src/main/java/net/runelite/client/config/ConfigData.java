@@ -24,6 +24,8 @@
  */
 package net.runelite.client.config;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -31,6 +33,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
@@ -38,41 +42,63 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The properties of one config file. Saved patches are appended to a journal next to the file instead of rewriting
+ * it, and the journal is replayed on load. Once the journal outgrows the file it is compacted, folding it into a new
+ * file which is atomically moved into place.
+ * <p>
+ * The journal header holds the size and modification time of the file it was started on, so a journal left behind by
+ * an interrupted compaction, or a file rewritten by a client without journal support, discards the stale journal.
+ */
 @Slf4j
 class ConfigData
 {
+	private static final int JOURNAL_MAGIC = 0x524c434a; // RLCJ
+	private static final int JOURNAL_VERSION = 1;
+	private static final int JOURNAL_HEADER_SIZE = 24;
+	private static final int RECORD_HEADER_SIZE = 8;
+	// the journal is compacted once it is larger than this and larger than the config file
+	private static final long COMPACT_THRESHOLD = 1024 * 1024;
+	// file locks are held by the process, so they do not exclude other threads of this client
+	private static final Object FILE_LOCK = new Object();
+
 	private final File configPath;
 
 	private final ConcurrentHashMap<String, String> properties;
 	private Map<String, String> patchChanges = new HashMap<>();
+	private volatile boolean compactionNeeded;
 
 	ConfigData(File configPath)
 	{
 		this.configPath = configPath;
 
-		Properties props = new Properties();
-		try (FileInputStream in = new FileInputStream(configPath);
-			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
-		{
-			props.load(reader);
-		}
-		catch (FileNotFoundException ignored)
+		Map<String, String> props;
+		boolean[] malformed = new boolean[1];
+		try
 		{
+			props = read(configPath, () -> malformed[0] = true);
 		}
 		catch (Exception ex)
 		{
 			throw new RuntimeException(ex);
 		}
 
-		properties = new ConcurrentHashMap<>(props.size());
-		props.forEach((k, v) -> properties.put((String) k, (String) v));
+		properties = new ConcurrentHashMap<>(props);
+
+		if (malformed[0])
+		{
+			// fold the records before the malformed one into the file, so later patches are not appended after it
+			compact(configPath);
+		}
 	}
 
 	String getProperty(String key)
@@ -130,75 +156,358 @@ class ConfigData
 
 	void patch(Map<String, String> patch)
 	{
-		// load + patch + store instead of just flushing the in-memory properties to disk so that
+		// append the patch to the journal on disk instead of just flushing the in-memory properties so that
 		// multiple clients editing one config data (such as rs profile config) get their data merged
 		// correctly
 
-		File lckFile = new File(configPath.getParentFile(), configPath.getName() + ".lck");
-		try (FileOutputStream lockOut = new FileOutputStream(lckFile);
-			FileChannel lckChannel = lockOut.getChannel())
+		withFileLock(configPath, () ->
+		{
+			if (!configPath.exists())
+			{
+				// this probably doesn't happen outside of the very first save (when no file exists)
+				// but to be safe in the event the prop is deleted off disk, flush the entire properties
+				// from memory
+				log.debug("config file {} does not exist", configPath);
+				writeProperties(configPath, properties);
+				deleteJournal(configPath);
+				return;
+			}
+
+			long journalLength = append(configPath, patch);
+			compactionNeeded = journalLength > Math.max(COMPACT_THRESHOLD, configPath.length());
+		});
+	}
+
+	/**
+	 * Whether the journal has grown enough that it should be compacted
+	 */
+	boolean isCompactionNeeded()
+	{
+		return compactionNeeded;
+	}
+
+	void compact()
+	{
+		compactionNeeded = false;
+		compact(configPath);
+	}
+
+	/**
+	 * Folds the journal of a config file into the file, so the file holds the full config on its own.
+	 */
+	static void compact(File configPath)
+	{
+		withFileLock(configPath, () ->
+		{
+			File journalPath = journalFile(configPath);
+			if (!journalPath.exists())
+			{
+				return;
+			}
+
+			Map<String, String> props = read(configPath, () -> {});
+			log.debug("compacting {} ({} byte journal)", configPath.getName(), journalPath.length());
+			writeProperties(configPath, props);
+			deleteJournal(configPath);
+		});
+	}
+
+	/**
+	 * Deletes a config file and its journal
+	 */
+	static void delete(File configPath)
+	{
+		configPath.delete();
+		deleteJournal(configPath);
+	}
+
+	static File journalFile(File configPath)
+	{
+		return new File(configPath.getParentFile(), configPath.getName() + ".journal");
+	}
+
+	private static void deleteJournal(File configPath)
+	{
+		File journalPath = journalFile(configPath);
+		if (journalPath.exists() && !journalPath.delete())
 		{
-			lckChannel.lock();
+			log.warn("unable to delete config journal {}", journalPath);
+		}
+	}
+
+	@FunctionalInterface
+	private interface FileAction
+	{
+		void run() throws IOException;
+	}
 
-			Properties tempProps = new Properties();
-			try (FileInputStream in = new FileInputStream(configPath);
-				InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+	private static void withFileLock(File configPath, FileAction action)
+	{
+		synchronized (FILE_LOCK)
+		{
+			File lckFile = new File(configPath.getParentFile(), configPath.getName() + ".lck");
+			try (FileOutputStream lockOut = new FileOutputStream(lckFile);
+				FileChannel lckChannel = lockOut.getChannel())
 			{
-				tempProps.load(reader);
+				lckChannel.lock();
+				action.run();
 			}
-			catch (FileNotFoundException e)
+			catch (IOException ex)
 			{
-				log.debug("config file {} does not exist", configPath);
+				log.error("unable to save configuration file", ex);
 			}
+			lckFile.delete();
+		}
+	}
 
-			if (tempProps.isEmpty())
+	/**
+	 * Reads a config file and replays its journal over it. Replay stops at a malformed record, which runs onMalformed,
+	 * keeping the records before it.
+	 */
+	private static Map<String, String> read(File configPath, Runnable onMalformed) throws IOException
+	{
+		Properties props = new Properties();
+		try (FileInputStream in = new FileInputStream(configPath);
+			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		{
+			props.load(reader);
+		}
+		catch (FileNotFoundException ignored)
+		{
+		}
+
+		Map<String, String> values = new HashMap<>(props.size());
+		props.forEach((k, v) -> values.put((String) k, (String) v));
+
+		File journalPath = journalFile(configPath);
+		if (!journalPath.exists())
+		{
+			return values;
+		}
+
+		try (RandomAccessFile journal = new RandomAccessFile(journalPath, "r"))
+		{
+			if (!isJournalOf(journal, configPath))
 			{
-				// this probably doesn't happen outside of the very first save (when no file exists)
-				// but to be safe in the event the prop is deleted off disk, flush the entire properties
-				// from memory
-				tempProps.putAll(properties);
+				log.warn("ignoring config journal {} which does not match {}", journalPath.getName(), configPath.getName());
+				return values;
 			}
-			else
+
+			int records = 0;
+			long end = journal.length();
+			long pos = JOURNAL_HEADER_SIZE;
+			while (pos + RECORD_HEADER_SIZE <= end)
 			{
-				// apply patches
+				journal.seek(pos);
+				int length = journal.readInt();
+				int crc = journal.readInt();
+				if (length < 0 || pos + RECORD_HEADER_SIZE + length > end)
+				{
+					// torn write of the last record, it is dropped on the next append
+					log.debug("ignoring incomplete config journal record at {}", pos);
+					break;
+				}
+
+				byte[] record = new byte[length];
+				journal.readFully(record);
+
+				if (crc(record) != crc)
+				{
+					log.warn("ignoring corrupt config journal record in {}", journalPath.getName());
+					pos += RECORD_HEADER_SIZE + length;
+					continue;
+				}
+
+				Map<String, String> patch = decodeRecord(record);
+				if (patch == null)
+				{
+					log.warn("malformed config journal record at {} in {}, ignoring the rest of the journal", pos, journalPath.getName());
+					onMalformed.run();
+					break;
+				}
+
 				for (Map.Entry<String, String> entry : patch.entrySet())
 				{
-					if (entry.getValue() == null)
+					if (entry.getValue() != null)
 					{
-						tempProps.remove(entry.getKey());
+						values.put(entry.getKey(), entry.getValue());
 					}
 					else
 					{
-						tempProps.put(entry.getKey(), entry.getValue());
+						values.remove(entry.getKey());
 					}
 				}
+				pos += RECORD_HEADER_SIZE + length;
+				++records;
+			}
+			log.debug("replayed {} config journal records from {}", records, journalPath.getName());
+		}
+		return values;
+	}
+
+	/**
+	 * Appends a patch to the journal of a config file, starting a new journal if there is none or it does not match
+	 * the config file.
+	 *
+	 * @return the length of the journal
+	 */
+	private static long append(File configPath, Map<String, String> patch) throws IOException
+	{
+		byte[] record = encodeRecord(patch);
+
+		try (RandomAccessFile journal = new RandomAccessFile(journalFile(configPath), "rw"))
+		{
+			long end;
+			if (!isJournalOf(journal, configPath))
+			{
+				journal.setLength(0);
+				journal.writeInt(JOURNAL_MAGIC);
+				journal.writeInt(JOURNAL_VERSION);
+				journal.writeLong(configPath.length());
+				journal.writeLong(configPath.lastModified());
+				end = JOURNAL_HEADER_SIZE;
+			}
+			else
+			{
+				end = validLength(journal);
+				journal.setLength(end);
 			}
 
-			File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
-			try (FileOutputStream out = new FileOutputStream(tempFile);
-				FileChannel channel = out.getChannel();
-				OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+			ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + record.length);
+			buffer.putInt(record.length);
+			buffer.putInt(crc(record));
+			buffer.put(record);
+			journal.seek(end);
+			journal.write(buffer.array());
+			journal.getChannel().force(true);
+			return journal.length();
+		}
+	}
+
+	/**
+	 * The length of the complete records of the journal, dropping a record torn by a crash while it was appended
+	 */
+	private static long validLength(RandomAccessFile journal) throws IOException
+	{
+		long end = journal.length();
+		long pos = JOURNAL_HEADER_SIZE;
+		while (pos + RECORD_HEADER_SIZE <= end)
+		{
+			journal.seek(pos);
+			int length = journal.readInt();
+			if (length < 0 || pos + RECORD_HEADER_SIZE + length > end)
 			{
-				channel.lock();
-				tempProps.store(writer, "RuneLite configuration");
-				writer.flush();
-				channel.force(true);
+				break;
 			}
+			pos += RECORD_HEADER_SIZE + length;
+		}
+		return pos;
+	}
+
+	private static boolean isJournalOf(RandomAccessFile journal, File configPath) throws IOException
+	{
+		if (journal.length() < JOURNAL_HEADER_SIZE)
+		{
+			return false;
+		}
+
+		journal.seek(0);
+		return journal.readInt() == JOURNAL_MAGIC
+			&& journal.readInt() == JOURNAL_VERSION
+			&& journal.readLong() == configPath.length()
+			&& journal.readLong() == configPath.lastModified();
+	}
 
-			try
+	private static byte[] encodeRecord(Map<String, String> patch) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(patch.size());
+			for (Map.Entry<String, String> entry : patch.entrySet())
 			{
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				writeString(out, entry.getKey());
+				out.writeBoolean(entry.getValue() != null);
+				if (entry.getValue() != null)
+				{
+					writeString(out, entry.getValue());
+				}
 			}
-			catch (AtomicMoveNotSupportedException ex)
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a journal record into its patch, with null values for unset keys, or returns null if the record is
+	 * malformed
+	 */
+	private static Map<String, String> decodeRecord(byte[] record)
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(record);
+		try
+		{
+			int count = buffer.getInt();
+			Map<String, String> patch = new LinkedHashMap<>();
+			for (int i = 0; i < count; ++i)
 			{
-				log.debug("atomic move not supported", ex);
-				Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				String key = readString(buffer);
+				patch.put(key, buffer.get() != 0 ? readString(buffer) : null);
 			}
+			return buffer.hasRemaining() ? null : patch;
+		}
+		catch (RuntimeException ex)
+		{
+			return null;
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException
+	{
+		// values such as serialized plugin data can be larger than writeUTF allows
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(b.length);
+		out.write(b);
+	}
+
+	private static String readString(ByteBuffer buffer)
+	{
+		int length = buffer.getInt();
+		String s = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return s;
+	}
+
+	private static int crc(byte[] b)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(b);
+		return (int) crc.getValue();
+	}
+
+	private static void writeProperties(File configPath, Map<String, String> values) throws IOException
+	{
+		Properties tempProps = new Properties();
+		tempProps.putAll(values);
+
+		File tempFile = File.createTempFile("runelite_config", null, configPath.getParentFile());
+		try (FileOutputStream out = new FileOutputStream(tempFile);
+			FileChannel channel = out.getChannel();
+			OutputStreamWriter writer = new OutputStreamWriter(out, StandardCharsets.UTF_8))
+		{
+			channel.lock();
+			tempProps.store(writer, "RuneLite configuration");
+			writer.flush();
+			channel.force(true);
+		}
+
+		try
+		{
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 		}
-		catch (IOException ex)
+		catch (AtomicMoveNotSupportedException ex)
 		{
-			log.error("unable to save configuration file", ex);
+			log.debug("atomic move not supported", ex);
+			Files.move(tempFile.toPath(), configPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
 		}
-		lckFile.delete();
 	}
 }
@@ -816,7 +816,7 @@ public class ConfigManager
 
 				File configFile = ProfileManager.profileConfigFile(profile);
 				// remote configuration replaces local
-				configFile.delete();
+				ConfigData.delete(configFile);
 
 				ConfigData configData = new ConfigData(configFile);
 				configData.putAll(remoteConfiguration.getConfig());
@@ -1525,6 +1525,10 @@ public class ConfigManager
 		}
 
 		data.patch(patch);
+		if (data.isCompactionNeeded())
+		{
+			executor.execute(RunnableExceptionLogger.wrap(data::compact));
+		}
 	}
 
 	private static ConfigPatch buildConfigPatch(@Nullable String profileName, Map<String, String> patchChanges)
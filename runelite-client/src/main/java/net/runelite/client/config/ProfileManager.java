@@ -195,6 +195,9 @@ public class ProfileManager {
 				return;
 			}
 
+			// move the full config, not just the part before the journal
+			ConfigData.compact(oldFile);
+
 			try
 			{
 				Files.move(
@@ -222,4 +225,11 @@ public class ProfileManager {
     public static File profileConfigFile(ConfigProfile profile) {
         return new File(PROFILES_DIR, profile.getName() + "-" + profile.getId() + ".properties");
     }
+
+    /**
+     * Folds the config journal of a profile into its config file, so the file can be copied on its own.
+     */
+    public static void compactProfileConfig(ConfigProfile profile) {
+        ConfigData.compact(profileConfigFile(profile));
+    }
 }
@@ -26,8 +26,6 @@
 package net.runelite.client.eventbus;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.Iterables;
 import java.lang.invoke.CallSite;
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -35,12 +33,24 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.util.ReflectUtil;
@@ -54,6 +64,9 @@ public class EventBus
 {
 	private static final Marker DEDUPLICATE = MarkerFactory.getMarker("DEDUPLICATE");
 
+	private static final Comparator<Subscriber> SUBSCRIBER_ORDER = Comparator.comparingDouble(Subscriber::getPriority).reversed()
+		.thenComparing(s -> s.object.getClass().getName());
+
 	@Value
 	public static class Subscriber
 	{
@@ -62,6 +75,9 @@ public class EventBus
 		private final float priority;
 		@EqualsAndHashCode.Exclude
 		private final Consumer<Object> lambda;
+		@EqualsAndHashCode.Exclude
+		@ToString.Exclude
+		private final SubscriberStats stats = new SubscriberStats();
 
 		void invoke(final Object arg) throws Exception
 		{
@@ -76,10 +92,70 @@ public class EventBus
 		}
 	}
 
+	/**
+	 * Dispatch counters of a subscriber. Calls and times are only counted while {@link #isProfiling() profiling},
+	 * exceptions always are.
+	 */
+	public static class SubscriberStats
+	{
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final LongAdder exceptions = new LongAdder();
+
+		void record(long nanos)
+		{
+			calls.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		public long getCalls()
+		{
+			return calls.sum();
+		}
+
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		public long getMaxNanos()
+		{
+			return maxNanos.get();
+		}
+
+		public long getExceptions()
+		{
+			return exceptions.sum();
+		}
+
+		public void reset()
+		{
+			calls.reset();
+			totalNanos.reset();
+			maxNanos.reset();
+			exceptions.reset();
+		}
+	}
+
+	private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
 	private final Consumer<Throwable> exceptionHandler;
 
+	/**
+	 * The subscribers of each event class, in dispatch order. Registering replaces the map with an updated copy, so
+	 * posting reads it without locking.
+	 */
 	@Nonnull
-	private ImmutableMultimap<Class<?>, Subscriber> subscribers = ImmutableMultimap.of();
+	private volatile Map<Class<?>, Subscriber[]> subscribers = Collections.emptyMap();
+
+	/**
+	 * Whether the calls and run time of every subscriber are counted
+	 */
+	@Getter
+	@Setter
+	private volatile boolean profiling;
 
 	/**
 	 * Instantiates EventBus with default exception handler
@@ -98,10 +174,7 @@ public class EventBus
 	 */
 	public synchronized void register(@Nonnull final Object object)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
+		final Map<Class<?>, List<Subscriber>> added = new HashMap<>();
 
 		for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass())
 		{
@@ -159,25 +232,31 @@ public class EventBus
 				}
 
 				final Subscriber subscriber = new Subscriber(object, method, sub.priority(), lambda);
-				builder.put(parameterClazz, subscriber);
+				added.computeIfAbsent(parameterClazz, k -> new ArrayList<>()).add(subscriber);
 				log.debug("Registering {} - {}", parameterClazz, subscriber);
 			}
 		}
 
-		subscribers = builder.build();
+		if (added.isEmpty())
+		{
+			return;
+		}
+
+		final Map<Class<?>, Subscriber[]> updated = new HashMap<>(subscribers);
+		for (Map.Entry<Class<?>, List<Subscriber>> entry : added.entrySet())
+		{
+			updated.put(entry.getKey(), merge(updated.get(entry.getKey()), entry.getValue()));
+		}
+		subscribers = updated;
 	}
 
 	public synchronized <T> Subscriber register(Class<T> clazz, Consumer<T> subFn, float priority)
 	{
-		final ImmutableMultimap.Builder<Class<?>, Subscriber> builder = ImmutableMultimap.builder();
-		builder.putAll(subscribers);
-		builder.orderValuesBy(Comparator.comparingDouble(Subscriber::getPriority).reversed()
-			.thenComparing(s -> s.object.getClass().getName()));
-
 		Subscriber sub = new Subscriber(subFn, null, priority, (Consumer<Object>) subFn);
-		builder.put(clazz, sub);
 
-		subscribers = builder.build();
+		final Map<Class<?>, Subscriber[]> updated = new HashMap<>(subscribers);
+		updated.put(clazz, merge(updated.get(clazz), Collections.singletonList(sub)));
+		subscribers = updated;
 
 		return sub;
 	}
@@ -189,10 +268,7 @@ public class EventBus
 	 */
 	public synchronized void unregister(@Nonnull final Object object)
 	{
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> e.getValue().getObject() != object
-		));
+		remove(s -> s.getObject() == object);
 	}
 
 	public synchronized void unregister(Subscriber sub)
@@ -202,10 +278,7 @@ public class EventBus
 			return;
 		}
 
-		subscribers = ImmutableMultimap.copyOf(Iterables.filter(
-			subscribers.entries(),
-			e -> sub != e.getValue()
-		));
+		remove(s -> s == sub);
 	}
 
 	/**
@@ -216,7 +289,14 @@ public class EventBus
 	 */
 	public void post(@Nonnull final Object event)
 	{
-		for (final Subscriber subscriber : subscribers.get(event.getClass()))
+		final Subscriber[] subs = subscribers.getOrDefault(event.getClass(), NO_SUBSCRIBERS);
+		if (profiling)
+		{
+			postProfiled(event, subs);
+			return;
+		}
+
+		for (final Subscriber subscriber : subs)
 		{
 			try
 			{
@@ -224,8 +304,103 @@ public class EventBus
 			}
 			catch (Exception e)
 			{
+				subscriber.stats.exceptions.increment();
 				exceptionHandler.accept(e);
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	private void postProfiled(final Object event, final Subscriber[] subs)
+	{
+		for (final Subscriber subscriber : subs)
+		{
+			final long start = System.nanoTime();
+			try
+			{
+				subscriber.invoke(event);
+			}
+			catch (Exception e)
+			{
+				subscriber.stats.exceptions.increment();
+				exceptionHandler.accept(e);
+			}
+			finally
+			{
+				subscriber.stats.record(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * The registered subscribers of each event class, in dispatch order
+	 */
+	public Map<Class<?>, List<Subscriber>> getSubscribers()
+	{
+		final Map<Class<?>, List<Subscriber>> result = new HashMap<>();
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			result.put(entry.getKey(), Collections.unmodifiableList(Arrays.asList(entry.getValue())));
+		}
+		return result;
+	}
+
+	/**
+	 * Resets the {@link SubscriberStats} of every registered subscriber
+	 */
+	public void resetStats()
+	{
+		for (Subscriber[] subs : subscribers.values())
+		{
+			for (Subscriber sub : subs)
+			{
+				sub.stats.reset();
+			}
+		}
+	}
+
+	private void remove(Predicate<Subscriber> filter)
+	{
+		Map<Class<?>, Subscriber[]> updated = null;
+		for (Map.Entry<Class<?>, Subscriber[]> entry : subscribers.entrySet())
+		{
+			final Subscriber[] subs = entry.getValue();
+			final Subscriber[] kept = Arrays.stream(subs).filter(filter.negate()).toArray(Subscriber[]::new);
+			if (kept.length == subs.length)
+			{
+				continue;
+			}
+
+			if (updated == null)
+			{
+				updated = new HashMap<>(subscribers);
+			}
+
+			if (kept.length == 0)
+			{
+				updated.remove(entry.getKey());
+			}
+			else
+			{
+				updated.put(entry.getKey(), kept);
+			}
+		}
+
+		if (updated != null)
+		{
+			subscribers = updated;
+		}
+	}
+
+	private static Subscriber[] merge(Subscriber[] existing, List<Subscriber> added)
+	{
+		final int length = existing == null ? 0 : existing.length;
+		final Subscriber[] merged = existing == null ? new Subscriber[added.size()] : Arrays.copyOf(existing, length + added.size());
+		for (int i = 0; i < added.size(); ++i)
+		{
+			merged[length + i] = added.get(i);
+		}
+		// stable, so subscribers which compare equal keep their registration order
+		Arrays.sort(merged, SUBSCRIBER_ORDER);
+		return merged;
+	}
+}
@@ -30,8 +30,6 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
-import com.google.common.reflect.ClassPath;
-import com.google.common.reflect.ClassPath.ClassInfo;
 import com.google.inject.Module;
 import com.google.inject.*;
 import lombok.Getter;
@@ -264,11 +262,19 @@ public class PluginManager
 	public void loadCorePlugins() throws IOException, PluginInstantiationException
 	{
 		SplashScreen.stage(.59, null, "Loading plugins");
-		ClassPath classPath = ClassPath.from(getClass().getClassLoader());
-
-		List<Class<?>> plugins = classPath.getTopLevelClassesRecursive(PLUGIN_PACKAGE).stream()
-			.map(ClassInfo::load)
-			.collect(Collectors.toList());
+		List<Class<?>> plugins = PluginManifest.loadPackages(getClass().getClassLoader(),
+			Collections.singletonList(PLUGIN_PACKAGE), entry ->
+			{
+				if (safeMode && !entry.isLoadInSafeMode())
+				{
+					log.debug("Disabling {} due to safe mode", entry.getClassName());
+					// also disable the plugin from autostarting later
+					configManager.unsetConfiguration(RuneLiteConfig.GROUP_NAME,
+						(Strings.isNullOrEmpty(entry.getConfigName()) ? entry.getSimpleName() : entry.getConfigName()).toLowerCase());
+					return false;
+				}
+				return true;
+			});
 
 		loadPlugins(plugins, (loaded, total) ->
 			SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
@@ -297,11 +303,7 @@ public class PluginManager
 				{
 					ClassLoader classLoader = new PluginClassLoader(f, getClass().getClassLoader());
 
-					List<Class<?>> plugins = ClassPath.from(classLoader)
-						.getAllClasses()
-						.stream()
-						.map(ClassInfo::load)
-						.collect(Collectors.toList());
+					List<Class<?>> plugins = PluginManifest.loadJar(f, classLoader);
 
 					loadPlugins(plugins, null);
 				}
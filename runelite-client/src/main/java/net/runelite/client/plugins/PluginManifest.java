@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.common.reflect.ClassPath;
+import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.inject.Provides;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+import net.runelite.client.config.ConfigGroup;
+
+/**
+ * The plugins of the client or of a sideloaded jar, so the plugin classes can be loaded by name instead of loading
+ * every class of the plugin packages to find them.
+ * <p>
+ * The manifest of the client is written at build time by the plugin-manifest goal of the runelite maven plugin. The
+ * manifest of a sideloaded jar is built the first time the jar is scanned, and cached by the hash of the jar.
+ */
+@Slf4j
+@Data
+public class PluginManifest
+{
+	private static final String RESOURCE = "/net/runelite/client/plugins/plugins.json";
+	private static final File MANIFEST_CACHE_DIR = new File(RuneLite.CACHE_DIR, "plugin-manifests");
+	// keep in sync with PluginManifestMojo
+	private static final int VERSION = 1;
+	private static final Gson GSON = new Gson();
+
+	private int version;
+	private List<Entry> plugins = new ArrayList<>();
+
+	@Data
+	public static class Entry
+	{
+		private String className;
+		private String name;
+		private String configName = "";
+		private String configGroup;
+		private List<String> dependencies = new ArrayList<>();
+		private boolean enabledByDefault = true;
+		private boolean developerPlugin;
+		private boolean loadInSafeMode = true;
+
+		public String getSimpleName()
+		{
+			return className.substring(className.lastIndexOf('.') + 1);
+		}
+	}
+
+	/**
+	 * Loads the plugin classes of the client in the packages, or their sub packages, whose entry passes the filter.
+	 * Without an up to date manifest every class of the packages is loaded and returned instead, and the filter is not
+	 * applied.
+	 */
+	public static List<Class<?>> loadPackages(ClassLoader classLoader, Collection<String> packages, Predicate<Entry> filter) throws IOException
+	{
+		URL url = PluginManifest.class.getResource(RESOURCE);
+		PluginManifest manifest = url == null ? null : read(url.openStream());
+		if (manifest != null && isAuthoritative(url, classLoader, packages))
+		{
+			try
+			{
+				return manifest.loadClasses(classLoader, entry -> packages.stream()
+					.anyMatch(packageName -> entry.getClassName().startsWith(packageName + ".")) && filter.test(entry));
+			}
+			catch (ClassNotFoundException ex)
+			{
+				log.warn("Plugin manifest is out of date, scanning the classpath", ex);
+			}
+		}
+		else if (manifest == null)
+		{
+			log.debug("No plugin manifest, scanning the classpath");
+		}
+
+		ClassPath classPath = ClassPath.from(classLoader);
+		return packages.stream()
+			.flatMap(packageName -> classPath.getTopLevelClassesRecursive(packageName).stream())
+			.map(ClassInfo::load)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Loads the plugin classes of a sideloaded jar using its cached manifest. If the jar has not been seen before,
+	 * every class of the jar is loaded and returned, and the manifest of the plugins among them is cached.
+	 */
+	public static List<Class<?>> loadJar(File jar, ClassLoader classLoader) throws IOException
+	{
+		String hash = Files.asByteSource(jar).hash(Hashing.sha256()).toString();
+		File cached = new File(MANIFEST_CACHE_DIR, hash + ".json");
+		if (cached.exists())
+		{
+			PluginManifest manifest = read(new FileInputStream(cached));
+			if (manifest != null)
+			{
+				try
+				{
+					return manifest.loadClasses(classLoader, entry -> true);
+				}
+				catch (ClassNotFoundException ex)
+				{
+					log.warn("Cached plugin manifest of {} is invalid", jar, ex);
+				}
+			}
+		}
+
+		List<Class<?>> classes = ClassPath.from(classLoader)
+			.getAllClasses()
+			.stream()
+			.map(ClassInfo::load)
+			.collect(Collectors.toList());
+
+		MANIFEST_CACHE_DIR.mkdirs();
+		File tmp = new File(MANIFEST_CACHE_DIR, hash + ".tmp");
+		try
+		{
+			try (Writer writer = Files.newWriter(tmp, StandardCharsets.UTF_8))
+			{
+				GSON.toJson(of(classes), writer);
+			}
+			Files.move(tmp, cached);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to cache the plugin manifest of {}", jar, ex);
+		}
+		return classes;
+	}
+
+	/**
+	 * Builds the manifest of the plugins among loaded classes
+	 */
+	static PluginManifest of(Collection<Class<?>> classes)
+	{
+		PluginManifest manifest = new PluginManifest();
+		manifest.setVersion(VERSION);
+		for (Class<?> clazz : classes)
+		{
+			PluginDescriptor descriptor = clazz.getAnnotation(PluginDescriptor.class);
+			if (descriptor == null || clazz.getSuperclass() != Plugin.class)
+			{
+				continue;
+			}
+
+			Entry entry = new Entry();
+			entry.setClassName(clazz.getName());
+			entry.setName(descriptor.name());
+			entry.setConfigName(descriptor.configName());
+			entry.setEnabledByDefault(descriptor.enabledByDefault());
+			entry.setDeveloperPlugin(descriptor.developerPlugin());
+			entry.setLoadInSafeMode(descriptor.loadInSafeMode());
+			for (PluginDependency dependency : clazz.getAnnotationsByType(PluginDependency.class))
+			{
+				entry.getDependencies().add(dependency.value().getName());
+			}
+			for (Method method : clazz.getDeclaredMethods())
+			{
+				ConfigGroup group = method.getReturnType().getAnnotation(ConfigGroup.class);
+				if (method.isAnnotationPresent(Provides.class) && group != null)
+				{
+					entry.setConfigGroup(group.value());
+					break;
+				}
+			}
+			manifest.getPlugins().add(entry);
+		}
+		return manifest;
+	}
+
+	/**
+	 * Checks that the manifest covers every class of the packages: the packages must only be loaded from where the
+	 * manifest is, and when that is a directory, such as when running from an IDE, no class may have been compiled
+	 * after the manifest was written.
+	 */
+	private static boolean isAuthoritative(URL manifestUrl, ClassLoader classLoader, Collection<String> packages) throws IOException
+	{
+		String root = root(manifestUrl, RESOURCE.substring(1));
+		File manifestFile = "file".equals(manifestUrl.getProtocol()) ? toFile(manifestUrl) : null;
+		for (String packageName : packages)
+		{
+			String path = packageName.replace('.', '/');
+			for (URL url : Collections.list(classLoader.getResources(path)))
+			{
+				if (!root.equals(root(url, path)))
+				{
+					log.debug("Plugin package {} is loaded from {}, which the plugin manifest does not cover, scanning the classpath", packageName, url);
+					return false;
+				}
+
+				if (manifestFile != null && newestClass(toFile(url)) > manifestFile.lastModified())
+				{
+					log.debug("Plugin manifest is older than the classes in {}, scanning the classpath", url);
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The classpath entry a resource was found in, as the resource url without the resource path
+	 */
+	private static String root(URL url, String path)
+	{
+		String location = url.toString();
+		if (location.endsWith("/"))
+		{
+			location = location.substring(0, location.length() - 1);
+		}
+		return location.endsWith(path) ? location.substring(0, location.length() - path.length()) : location;
+	}
+
+	private static File toFile(URL url) throws IOException
+	{
+		try
+		{
+			return new File(url.toURI());
+		}
+		catch (URISyntaxException | IllegalArgumentException ex)
+		{
+			throw new IOException("not a file: " + url, ex);
+		}
+	}
+
+	private static long newestClass(File directory) throws IOException
+	{
+		try (Stream<Path> paths = java.nio.file.Files.walk(directory.toPath()))
+		{
+			return paths
+				.filter(p -> p.getFileName().toString().endsWith(".class"))
+				.mapToLong(p -> p.toFile().lastModified())
+				.max()
+				.orElse(0L);
+		}
+	}
+
+	private static PluginManifest read(InputStream in)
+	{
+		if (in == null)
+		{
+			return null;
+		}
+
+		try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+		{
+			PluginManifest manifest = GSON.fromJson(reader, PluginManifest.class);
+			if (manifest == null || manifest.getVersion() != VERSION)
+			{
+				return null;
+			}
+			return manifest;
+		}
+		catch (IOException | JsonParseException ex)
+		{
+			log.warn("Unable to read plugin manifest", ex);
+			return null;
+		}
+	}
+
+	private List<Class<?>> loadClasses(ClassLoader classLoader, Predicate<Entry> filter) throws ClassNotFoundException
+	{
+		List<Class<?>> classes = new ArrayList<>();
+		for (Entry entry : plugins)
+		{
+			if (filter.test(entry))
+			{
+				classes.add(classLoader.loadClass(entry.getClassName()));
+			}
+		}
+		return classes;
+	}
+}
@@ -452,6 +452,7 @@ class ProfilePanel extends PluginPanel {
         {
             // save config to disk so the export copies the full config
             configManager.sendConfig();
+            ProfileManager.compactProfileConfig(profile);
 
             File source = ProfileManager.profileConfigFile(profile);
             if (!source.exists()) {
@@ -1008,6 +1009,7 @@ class ProfilePanel extends PluginPanel {
                 File from = ProfileManager.profileConfigFile(profile);
                 File to = ProfileManager.profileConfigFile(clonedProfile);
 
+                ProfileManager.compactProfileConfig(profile);
                 if (from.exists()) {
                     try {
                         Files.copy(
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins.devtools;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import lombok.Value;
+import net.runelite.client.eventbus.EventBus;
+
+/**
+ * Shows the calls and run time of every event subscriber. The event bus profiles subscribers while this is open.
+ */
+@Singleton
+class EventBusInspector extends DevToolsFrame
+{
+	private static final int REFRESH_MILLIS = 1000;
+
+	private final EventBus eventBus;
+	private final SubscriberTableModel model = new SubscriberTableModel();
+	private final Timer refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+
+	@Inject
+	EventBusInspector(EventBus eventBus)
+	{
+		this.eventBus = eventBus;
+
+		setLayout(new BorderLayout());
+		setTitle("RuneLite Event Bus Inspector");
+
+		final JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		final JScrollPane scrollPane = new JScrollPane(table);
+		scrollPane.setPreferredSize(new Dimension(900, 500));
+		add(scrollPane, BorderLayout.CENTER);
+
+		final JButton resetBtn = new JButton("Reset");
+		resetBtn.setFocusable(false);
+		resetBtn.addActionListener(e ->
+		{
+			eventBus.resetStats();
+			refresh();
+		});
+
+		final JPanel bottomRow = new JPanel();
+		bottomRow.add(resetBtn);
+		add(bottomRow, BorderLayout.SOUTH);
+
+		pack();
+	}
+
+	@Override
+	public void open()
+	{
+		eventBus.setProfiling(true);
+		refreshTimer.start();
+		refresh();
+		super.open();
+	}
+
+	@Override
+	public void close()
+	{
+		refreshTimer.stop();
+		eventBus.setProfiling(false);
+		super.close();
+	}
+
+	private void refresh()
+	{
+		final List<Row> rows = new ArrayList<>();
+		for (Map.Entry<Class<?>, List<EventBus.Subscriber>> entry : eventBus.getSubscribers().entrySet())
+		{
+			for (EventBus.Subscriber subscriber : entry.getValue())
+			{
+				final EventBus.SubscriberStats stats = subscriber.getStats();
+				rows.add(new Row(
+					entry.getKey().getSimpleName(),
+					subscriber.getObject().getClass().getSimpleName()
+						+ (subscriber.getMethod() == null ? "" : "." + subscriber.getMethod().getName()),
+					stats.getCalls(),
+					stats.getTotalNanos() / 1_000_000.0,
+					stats.getCalls() == 0 ? 0 : stats.getTotalNanos() / 1000.0 / stats.getCalls(),
+					stats.getMaxNanos() / 1000.0,
+					stats.getExceptions()));
+			}
+		}
+		rows.sort(Comparator.comparingDouble(Row::getTotalMillis).reversed());
+		model.setRows(rows);
+	}
+
+	@Value
+	private static class Row
+	{
+		String event;
+		String subscriber;
+		long calls;
+		double totalMillis;
+		double meanMicros;
+		double maxMicros;
+		long exceptions;
+	}
+
+	private static class SubscriberTableModel extends AbstractTableModel
+	{
+		private static final String[] COLUMNS = {"Event", "Subscriber", "Calls", "Total (ms)", "Mean (µs)", "Max (µs)", "Exceptions"};
+		private static final Class<?>[] TYPES = {String.class, String.class, Long.class, Double.class, Double.class, Double.class, Long.class};
+
+		private List<Row> rows = new ArrayList<>();
+
+		void setRows(List<Row> rows)
+		{
+			this.rows = rows;
+			fireTableDataChanged();
+		}
+
+		@Override
+		public String getColumnName(int col)
+		{
+			return COLUMNS[col];
+		}
+
+		@Override
+		public Class<?> getColumnClass(int col)
+		{
+			return TYPES[col];
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return COLUMNS.length;
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return rows.size();
+		}
+
+		@Override
+		public Object getValueAt(int rowIndex, int columnIndex)
+		{
+			final Row row = rows.get(rowIndex);
+			switch (columnIndex)
+			{
+				case 0:
+					return row.getEvent();
+				case 1:
+					return row.getSubscriber();
+				case 2:
+					return row.getCalls();
+				case 3:
+					return Math.round(row.getTotalMillis() * 100) / 100.0;
+				case 4:
+					return Math.round(row.getMeanMicros() * 10) / 10.0;
+				case 5:
+					return Math.round(row.getMaxMicros() * 10) / 10.0;
+				case 6:
+					return row.getExceptions();
+				default:
+					return null;
+			}
+		}
+	}
+}
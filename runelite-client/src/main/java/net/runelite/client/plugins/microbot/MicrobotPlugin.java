@@ -25,8 +25,11 @@ import net.runelite.client.plugins.microbot.qualityoflife.scripts.pouch.PouchOve
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginConfigurationDescriptor;
 import net.runelite.client.plugins.microbot.ui.MicrobotPluginListPanel;
 import net.runelite.client.plugins.microbot.ui.MicrobotTopLevelConfigPanel;
+import net.runelite.client.plugins.microbot.util.ActorSnapshot;
+import net.runelite.client.plugins.microbot.util.WaiterRegistry;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
+import net.runelite.client.plugins.microbot.util.gameobject.SceneObjectIndex;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Gembag;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2RunePouch;
@@ -62,6 +65,11 @@ import org.slf4j.LoggerFactory;
 public class MicrobotPlugin extends Plugin
 {
 
+	/**
+	 * Shop container ids never change, so the reflection over {@link net.runelite.api.gameval.InventoryID} runs once
+	 */
+	private static final int[] SHOP_CONTAINER_IDS = getShopContainerIds();
+
 	@Inject
 	private Provider<MicrobotPluginListPanel> pluginListPanelProvider;
 
@@ -199,9 +207,10 @@ public class MicrobotPlugin extends Plugin
 		{
 			Rs2Equipment.storeEquipmentItemsInMemory(event);
 		}
-		else if (Arrays.stream(getShopContainerIds()).anyMatch(sid -> Objects.equals(event.getContainerId(), sid))) {
+		else if (Arrays.binarySearch(SHOP_CONTAINER_IDS, event.getContainerId()) >= 0) {
 			Rs2Shop.storeShopItemsInMemory(event, event.getContainerId());
 		}
+		WaiterRegistry.markChanged();
 	}
 
 	/**
@@ -216,9 +225,9 @@ public class MicrobotPlugin extends Plugin
 	 * {@code InventoryID} class and collects those whose names match
 	 * one or more of the defined keywords.
 	 *
-	 * @return an array of container IDs potentially associated with shop-like inventories
+	 * @return a sorted array of container IDs potentially associated with shop-like inventories
 	 */
-	private int[] getShopContainerIds()
+	private static int[] getShopContainerIds()
 	{
 		Field[] fields = net.runelite.api.gameval.InventoryID.class.getFields();
 		List<Integer> shopContainerIds = new ArrayList<>();
@@ -244,13 +253,14 @@ public class MicrobotPlugin extends Plugin
 				}
 			}
 		}
-		return shopContainerIds.stream().mapToInt(Integer::intValue).toArray();
+		return shopContainerIds.stream().mapToInt(Integer::intValue).sorted().toArray();
 	}
 
 
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged gameStateChanged)
 	{
+		SceneObjectIndex.onGameStateChanged(gameStateChanged);
 		if (gameStateChanged.getGameState() == GameState.LOGGED_IN)
 		{
 			Microbot.setLoginTime(Instant.now());
@@ -263,22 +273,76 @@ public class MicrobotPlugin extends Plugin
 		{
 			// Clear bank state when logging out
 			Rs2Bank.emptyBankState();
+			ActorSnapshot.clear();
 			Microbot.loggedIn = false;
 		}
 	}
 
+	@Subscribe
+	public void onGameObjectSpawned(GameObjectSpawned event)
+	{
+		SceneObjectIndex.onGameObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onGameObjectDespawned(GameObjectDespawned event)
+	{
+		SceneObjectIndex.onGameObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onWallObjectSpawned(WallObjectSpawned event)
+	{
+		SceneObjectIndex.onWallObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onWallObjectDespawned(WallObjectDespawned event)
+	{
+		SceneObjectIndex.onWallObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onGroundObjectSpawned(GroundObjectSpawned event)
+	{
+		SceneObjectIndex.onGroundObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onGroundObjectDespawned(GroundObjectDespawned event)
+	{
+		SceneObjectIndex.onGroundObjectDespawned(event);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectSpawned(DecorativeObjectSpawned event)
+	{
+		SceneObjectIndex.onDecorativeObjectSpawned(event);
+	}
+
+	@Subscribe
+	public void onDecorativeObjectDespawned(DecorativeObjectDespawned event)
+	{
+		SceneObjectIndex.onDecorativeObjectDespawned(event);
+	}
+
 	@Subscribe
 	public void onVarbitChanged(VarbitChanged event)
 	{
 		Rs2Player.handlePotionTimers(event);
 		Rs2Player.handleTeleblockTimer(event);
 		Rs2RunePouch.onVarbitChanged(event);
+		WaiterRegistry.markChanged();
 	}
 
 	@Subscribe
 	public void onAnimationChanged(AnimationChanged event)
 	{
 		Rs2Player.handleAnimationChanged(event);
+		if (event.getActor() == Microbot.getClient().getLocalPlayer())
+		{
+			WaiterRegistry.markChanged();
+		}
 	}
 
 	@Subscribe(priority = 999)
@@ -338,6 +402,7 @@ public class MicrobotPlugin extends Plugin
 		}
 		Microbot.getPouchScript().onChatMessage(event);
 		Rs2Gembag.onChatMessage(event);
+		WaiterRegistry.markChanged();
 	}
 
 	@Subscribe
@@ -392,7 +457,7 @@ public class MicrobotPlugin extends Plugin
 	public void onWidgetLoaded(WidgetLoaded event)
 	{
 		Rs2RunePouch.onWidgetLoaded(event);
-		
+		WaiterRegistry.markChanged();
 	}
 
 	@Subscribe
@@ -451,7 +516,15 @@ public class MicrobotPlugin extends Plugin
 	@Subscribe
 	public void onGameTick(GameTick event)
 	{
+		ActorSnapshot.update();
 		Rs2Bank.loadInitialBankStateFromConfig();
+		WaiterRegistry.signal();
+	}
+
+	@Subscribe
+	public void onClientTick(ClientTick event)
+	{
+		WaiterRegistry.flush();
 	}
 
 	@Subscribe(priority = 100)
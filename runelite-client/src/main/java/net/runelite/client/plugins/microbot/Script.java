@@ -16,13 +16,13 @@ import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 import java.time.Duration;
 import java.time.LocalTime;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 
 @Slf4j
 public abstract class Script extends Global implements IScript {
-    protected ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    // Runs on the threads shared by all scripts, see ScriptRuntime
+    protected ScheduledExecutorService scheduledExecutorService = ScriptRuntime.newExecutor(getClass().getSimpleName());
     protected ScheduledFuture<?> scheduledFuture;
     protected ScheduledFuture<?> mainScheduledFuture;
     public static boolean hasLeveledUp = false;
@@ -47,6 +47,26 @@ public abstract class Script extends Global implements IScript {
         return Duration.between(startTime, currentTime);
     }
 
+    /**
+     * Get the wall time spent running the loops of the script, including the time they slept
+     *
+     * @return the time spent in the loops of the script
+     */
+    public Duration getLoopTime() {
+        if (!(scheduledExecutorService instanceof ScriptExecutor)) return Duration.ZERO;
+        return ((ScriptExecutor) scheduledExecutorService).getWallTime();
+    }
+
+    /**
+     * Get the CPU time used by the loops of the script
+     *
+     * @return the CPU time used by the script, zero when it cannot be measured
+     */
+    public Duration getCpuTime() {
+        if (!(scheduledExecutorService instanceof ScriptExecutor)) return Duration.ZERO;
+        return ((ScriptExecutor) scheduledExecutorService).getCpuTime();
+    }
+
     public void shutdown() {
         if (mainScheduledFuture != null && !mainScheduledFuture.isDone()) {
             mainScheduledFuture.cancel(true);
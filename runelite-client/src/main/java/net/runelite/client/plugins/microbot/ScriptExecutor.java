@@ -0,0 +1,257 @@
+package net.runelite.client.plugins.microbot;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The tasks of one script, run on the shared threads of the {@link ScriptRuntime}.
+ * <p>
+ * Behaves like a {@link java.util.concurrent.ScheduledThreadPoolExecutor}: cancelling a future with interruption
+ * interrupts the task while it runs, a periodic task never runs concurrently with itself and stops after it throws,
+ * and {@link #shutdown()} cancels the periodic tasks but lets delayed one-shot tasks run.
+ * The wall and CPU time spent running the tasks is counted, so expensive scripts can be found.
+ */
+public class ScriptExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    @Getter
+    private final String name;
+    private final ScheduledExecutorService timer;
+    private final Executor workers;
+    private final Set<ScriptTask<?>> tasks = ConcurrentHashMap.newKeySet();
+    private final Object termination = new Object();
+    private volatile boolean shutdown;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder wallNanos = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    ScriptExecutor(String name, ScheduledExecutorService timer, Executor workers) {
+        this.name = name;
+        this.timer = timer;
+        this.workers = workers;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return start(new ScriptTask<>(command, unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return start(new ScriptTask<>(callable, unit.toNanos(delay)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return start(new ScriptTask<>(command, unit.toNanos(initialDelay), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return start(new ScriptTask<>(command, unit.toNanos(initialDelay), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    private <V> ScriptTask<V> start(ScriptTask<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException(name + " has been shut down");
+        }
+        tasks.add(task);
+        task.dispatch();
+        return task;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (ScriptTask<?> task : tasks) {
+            if (task.isPeriodic()) {
+                task.cancel(false);
+            }
+        }
+        signalTermination();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> notStarted = new ArrayList<>();
+        for (ScriptTask<?> task : tasks) {
+            if (task.runs == 0) {
+                notStarted.add(task);
+            }
+            task.cancel(true);
+        }
+        signalTermination();
+        return notStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (termination) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(termination, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void signalTermination() {
+        if (isTerminated()) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    /** The number of times a task of this script has run */
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    /** The wall time spent running the tasks of this script, including the time they slept */
+    public Duration getWallTime() {
+        return Duration.ofNanos(wallNanos.sum());
+    }
+
+    /** The CPU time used by the tasks of this script, zero when the JVM cannot measure it */
+    public Duration getCpuTime() {
+        return Duration.ofNanos(cpuNanos.sum());
+    }
+
+    private class ScriptTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        /** Positive for a fixed rate, negative for a fixed delay, zero when the task only runs once */
+        private final long period;
+        private volatile long time;
+        private volatile Future<?> timerFuture;
+        private volatile int runs;
+
+        ScriptTask(Runnable command, long delayNanos, long period) {
+            super(command, null);
+            this.period = period;
+            this.time = System.nanoTime() + delayNanos;
+        }
+
+        ScriptTask(Callable<V> callable, long delayNanos) {
+            super(callable);
+            this.period = 0;
+            this.time = System.nanoTime() + delayNanos;
+        }
+
+        boolean isPeriodic() {
+            return period != 0;
+        }
+
+        void dispatch() {
+            timerFuture = timer.schedule(() -> workers.execute(this), time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                // Cancelled after it was handed to a worker
+                return;
+            }
+
+            Thread thread = Thread.currentThread();
+            String threadName = thread.getName();
+            thread.setName(threadName + " " + name);
+            long wallStart = System.nanoTime();
+            long cpuStart = ScriptRuntime.currentThreadCpuTime();
+            boolean reschedule;
+            try {
+                runs++;
+                if (isPeriodic()) {
+                    reschedule = runAndReset();
+                } else {
+                    super.run();
+                    reschedule = false;
+                }
+            } finally {
+                long now = System.nanoTime();
+                ScriptExecutor.this.runs.increment();
+                wallNanos.add(now - wallStart);
+                cpuNanos.add(ScriptRuntime.currentThreadCpuTime() - cpuStart);
+                thread.setName(threadName);
+            }
+
+            if (reschedule) {
+                if (shutdown) {
+                    cancel(false);
+                    return;
+                }
+                time = period > 0 ? time + period : System.nanoTime() - period;
+                dispatch();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> future = timerFuture;
+            if (cancelled && future != null) {
+                future.cancel(false);
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void done() {
+            tasks.remove(this);
+            signalTermination();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.runelite.client.plugins.microbot;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the loops of every {@link Script} on shared threads instead of a thread pool per script.
+ * <p>
+ * A single timer thread waits for the next run of any script, and hands it to a worker pool which only keeps
+ * threads while loops are running. A script which is waiting for its next run holds no thread, so many loaded
+ * scripts with one loop each cost about as many threads as are running at the same time.
+ */
+@Slf4j
+public final class ScriptRuntime {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private static final ScheduledThreadPoolExecutor timer;
+    private static final ExecutorService workers;
+    private static final Map<ScriptExecutor, Boolean> executors = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static {
+        timer = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("script-timer").setDaemon(true).build());
+        timer.setRemoveOnCancelPolicy(true);
+        // Loops block while they sleep, so the pool grows with the number of loops running at the same time
+        workers = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("script-%d").setDaemon(true).build());
+    }
+
+    private ScriptRuntime() {
+    }
+
+    /**
+     * An executor for the tasks of one script, e.g. {@link Script#scheduledExecutorService}
+     */
+    public static ScriptExecutor newExecutor(String name) {
+        ScriptExecutor executor = new ScriptExecutor(name, timer, workers);
+        executors.put(executor, Boolean.TRUE);
+        return executor;
+    }
+
+    /**
+     * The executors of the scripts which are still loaded
+     */
+    public static List<ScriptExecutor> getExecutors() {
+        synchronized (executors) {
+            return new ArrayList<>(executors.keySet());
+        }
+    }
+
+    /**
+     * Threads held by the worker pool, running loops or waiting to be reused
+     */
+    public static int getWorkerThreads() {
+        return ((ThreadPoolExecutor) workers).getPoolSize();
+    }
+
+    static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+}
@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath;
 
 import lombok.Getter;
 import lombok.Setter;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathCache;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -69,12 +70,31 @@ public class DebugOverlayPanel extends OverlayPanel {
         String totalNodes = Integer.toString(stats.getTotalNodesChecked());
         components.add(makeLine("Total:", totalNodes));
 
+        if (stats.getGraphRoutes() > 0) {
+            components.add(makeLine("Route:", "Transport graph"));
+        } else if (stats.isCachedPath()) {
+            components.add(makeLine("Route:", "Path cache"));
+        }
+
+        PathCache pathCache = ShortestPathPlugin.getPathfinderConfig().getPathCache();
+        String cache = pathCache.getHits() + " / " + pathCache.getMisses();
+        components.add(makeLine("Cache hit/miss:", cache));
+
+        String poolSize = Integer.toString(stats.getPeakPoolSize());
+        components.add(makeLine("Pool:", poolSize));
+
+        String allocated = String.format("%.1fKB", stats.getAllocatedBytes() / 1024.0);
+        components.add(makeLine("Allocated:", allocated));
+
         components.add(separator);
 
         double milliTime = stats.getElapsedTimeNanos() / 1000000.0;
         String time = String.format("%.2fms", milliTime);
         components.add(makeLine("Time:", time));
 
+        String nodesPerSecond = String.format("%.0fk", stats.getNodesPerSecond() / 1000.0);
+        components.add(makeLine("Nodes/s:", nodesPerSecond));
+
         return super.render(graphics);
     }
 
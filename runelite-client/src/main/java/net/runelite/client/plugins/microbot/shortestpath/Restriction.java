@@ -3,6 +3,7 @@ package net.runelite.client.plugins.microbot.shortestpath;
 import lombok.Getter;
 import net.runelite.api.Quest;
 import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -57,6 +58,30 @@ public class Restriction {
         packedWorldPoint = WorldPointUtil.packWorldPoint(x, y, z);
     }
 
+    /**
+     * Creates a restriction from a row of the compiled transport table
+     */
+    Restriction(TransportTable.Row row) {
+        WorldPoint origin = row.origin;
+        if (origin == null || Transport.LOCATION_PERMUTATION.equals(origin)) {
+            throw new IllegalArgumentException("Restriction without an origin");
+        }
+        packedWorldPoint = WorldPointUtil.packWorldPoint(origin.getX(), origin.getY(), origin.getPlane());
+
+        quests.addAll(row.quests);
+
+        for (int[] skillLevel : row.skillLevels) {
+            if (skillLevel[0] >= 0) {
+                skillLevels[skillLevel[0]] = skillLevel[1];
+            }
+        }
+
+        itemIdRequirements.addAll(row.itemIdRequirements);
+        isMembers = row.members;
+        varbits.addAll(row.varbits);
+        varplayers.addAll(row.varplayers);
+    }
+
     public Restriction(Map<String, String> fieldMap) {
         final String DELIM = " ";
         final String DELIM_MULTI = ";";
@@ -180,18 +205,31 @@ public class Restriction {
         String[] questNames = questNamesCombined.split(";");
         List<Quest> quests = new ArrayList<>();
         for (String questName : questNames) {
-            for (Quest quest : Quest.values()) {
-                if (quest.getName().equals(questName)) {
-                    quests.add(quest);
-                    break;
-                }
+            Quest quest = Transport.findQuest(questName);
+            if (quest != null) {
+                quests.add(quest);
             }
         }
         return quests;
     }
 
     public static List<Restriction> loadAllFromResources() {
+        return loadAllFromResources(TransportTable.load());
+    }
+
+    /**
+     * Loads the restrictions from the compiled transport table, or from the TSV file if the table is null
+     */
+    static List<Restriction> loadAllFromResources(TransportTable table) {
         List<Restriction> restrictions = new ArrayList<>();
+        List<TransportTable.Row> rows = table == null ? null : table.getRows("restrictions.tsv");
+        if (rows != null) {
+            for (TransportTable.Row row : rows) {
+                restrictions.add(new Restriction(row));
+            }
+            return restrictions;
+        }
+
         final String DELIM_COLUMN = "\t";
         final String PREFIX_COMMENT = "#";
 
@@ -353,6 +353,32 @@ public interface ShortestPathConfig extends Config {
         return 5;
     }
 
+    @ConfigItem(
+            keyName = "pathfinderAlgorithm",
+            name = "Search algorithm",
+            description = "The search used to calculate paths.<br>" +
+                    "A* expands far fewer tiles on long walks, bidirectional also searches back from a single target",
+            position = 28,
+            section = sectionSettings
+    )
+    default PathfinderAlgorithm pathfinderAlgorithm()
+    {
+        return PathfinderAlgorithm.BREADTH_FIRST;
+    }
+
+    @ConfigItem(
+            keyName = "useTransportGraph",
+            name = "Use transport graph",
+            description = "Whether long walks between regions should first be routed over a precomputed graph<br>" +
+                    "of region crossings and transports. The graph is built in the background when enabled",
+            position = 29,
+            section = sectionSettings
+    )
+    default boolean useTransportGraph()
+    {
+        return false;
+    }
+
     @ConfigSection(
             name = "Display",
             description = "Options for displaying the path on the world map, minimap and scene tiles",
@@ -19,7 +19,6 @@
 
 package net.runelite.client.plugins.microbot.shortestpath;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provides;
 import lombok.AccessLevel;
@@ -28,9 +27,15 @@ import lombok.Setter;
 import net.runelite.api.Point;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.WorldMap;
@@ -48,6 +53,7 @@ import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.CollisionMap;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfindingService;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.SplitFlagMap;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
@@ -68,10 +74,7 @@ import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
 import java.util.regex.Pattern;
 
 @PluginDescriptor(
@@ -171,7 +174,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
     @Getter
     @Setter
-    public static ExecutorService pathfindingExecutor = Executors.newSingleThreadExecutor();
+    public static PathfindingService pathfindingService = new PathfindingService();
     @Getter
     @Setter
     public static Future<?> pathfinderFuture;
@@ -199,8 +202,9 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
     protected void startUp() {
 		cacheConfigValues();
         SplitFlagMap map = SplitFlagMap.fromResources();
-        Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources();
-        List<Restriction> restrictions = Restriction.loadAllFromResources();
+        TransportTable transportTable = TransportTable.load();
+        Map<WorldPoint, Set<Transport>> transports = Transport.loadAllFromResources(transportTable);
+        List<Restriction> restrictions = Restriction.loadAllFromResources(transportTable);
         pathfinderConfig = new PathfinderConfig(map, transports, restrictions, client, config);
 
         panel = injector.getInstance(ShortestPathPanel.class);
@@ -250,10 +254,10 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 
     //Method from microbot
     public static void exit() {
-        if (pathfindingExecutor != null) {
+        if (pathfindingService != null) {
             Rs2Walker.setTarget(null);
-            pathfindingExecutor.shutdownNow();
-            pathfindingExecutor = null;
+            pathfindingService.shutdown();
+            pathfindingService = null;
         }
     }
 
@@ -264,9 +268,8 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
                 pathfinderFuture.cancel(true);
             }
 
-            if (pathfindingExecutor == null) {
-                ThreadFactory shortestPathNaming = new ThreadFactoryBuilder().setNameFormat("shortest-path-%d").build();
-                pathfindingExecutor = Executors.newSingleThreadExecutor(shortestPathNaming);
+            if (pathfindingService == null) {
+                pathfindingService = new PathfindingService();
             }
         }
 
@@ -278,7 +281,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
                     setTarget(null);
                 } else {
                     pathfinder = new Pathfinder(pathfinderConfig, start, ends);
-                    pathfinderFuture = pathfindingExecutor.submit(pathfinder);
+                    pathfinderFuture = pathfindingService.submit(pathfinder);
                 }
             }
         });
@@ -308,7 +311,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
         return false;
     }
 
-    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems)$");
+    private final Pattern TRANSPORT_OPTIONS_REGEX = Pattern.compile("^(avoidWilderness|use\\w+|useTeleportationItems|pathfinderAlgorithm)$");
 
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
@@ -334,8 +337,11 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
             return;
         }
 
+        pathfinderConfig.markDirty(PathfinderConfig.Dependency.SETTINGS);
+
         // Transport option changed; rerun pathfinding
         if (TRANSPORT_OPTIONS_REGEX.matcher(event.getKey()).find()) {
+            pathfinderConfig.getPathCache().invalidate();
             if (pathfinder != null) {
                 restartPathfinding(pathfinder.getStart(), pathfinder.getTargets());
             }
@@ -363,6 +369,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 					this.configOverride.put(key, configOverride.get(key));
 				}
 				cacheConfigValues();
+				pathfinderConfig.markDirty(PathfinderConfig.Dependency.SETTINGS);
 			}
 
 			if (objStart == null && objTarget == null) {
@@ -414,6 +421,7 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		} else if (PLUGIN_MESSAGE_CLEAR.equals(action)) {
 			this.configOverride.clear();
 			cacheConfigValues();
+			pathfinderConfig.markDirty(PathfinderConfig.Dependency.SETTINGS);
 			setTarget(null);
 		}
 	}
@@ -438,6 +446,67 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		pathStyle = override("pathStyle", config.pathStyle());
 	}
 
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        if (pathfinderConfig == null) {
+            return;
+        }
+
+        // Cached paths may take transports which this varbit enables or disables
+        boolean relevant = event.getVarbitId() != -1
+                ? pathfinderConfig.updateVarbit(event.getVarbitId(), event.getValue())
+                : pathfinderConfig.updateVarplayer(event.getVarpId(), event.getValue());
+        if (relevant) {
+            pathfinderConfig.getPathCache().invalidate();
+        }
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        if (pathfinderConfig == null) {
+            return;
+        }
+
+        int containerId = event.getContainerId();
+        if (containerId != InventoryID.INVENTORY.getId()
+                && containerId != InventoryID.EQUIPMENT.getId()
+                && containerId != InventoryID.BANK.getId()) {
+            return;
+        }
+
+        // Only gaining or losing a teleport item, rune or coins can change which transports are usable
+        if (pathfinderConfig.updateTransportItems(containerId, event.getItemContainer())) {
+            pathfinderConfig.getPathCache().invalidate();
+        }
+    }
+
+    @Subscribe
+    public void onStatChanged(StatChanged event) {
+        if (pathfinderConfig != null) {
+            pathfinderConfig.updateBoostedLevel(event.getSkill(), event.getBoostedLevel());
+        }
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event) {
+        // Completing a quest may unlock transports
+        if (pathfinderConfig != null && event.getGroupId() == InterfaceID.QUESTSCROLL) {
+            pathfinderConfig.markDirty(PathfinderConfig.Dependency.QUESTS);
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        if (pathfinderConfig == null) {
+            return;
+        }
+
+        // Another account or world may have other levels, quests, items and membership
+        if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING) {
+            pathfinderConfig.reset();
+        }
+    }
+
     @Subscribe
     public void onMenuOpened(MenuOpened event) {
         lastMenuOpenedPoint = client.getMouseCanvasPosition();
@@ -582,6 +651,19 @@ public class ShortestPathPlugin extends Plugin implements KeyListener {
 		return defaultValue;
 	}
 
+	public static PathfinderAlgorithm override(String configOverrideKey, PathfinderAlgorithm defaultValue) {
+		if (!configOverride.isEmpty()) {
+			Object value = configOverride.get(configOverrideKey);
+			if (value instanceof String) {
+				PathfinderAlgorithm algorithm = PathfinderAlgorithm.fromType((String) value);
+				if (algorithm != null) {
+					return algorithm;
+				}
+			}
+		}
+		return defaultValue;
+	}
+
 	private TileCounter override(String configOverrideKey, TileCounter defaultValue) {
 		if (!configOverride.isEmpty()) {
 			Object value = configOverride.get(configOverrideKey);
@@ -27,7 +27,7 @@ public class Transport {
     /**
      * A location placeholder different from null to use for permutation transports
      */
-    private static final WorldPoint LOCATION_PERMUTATION = new WorldPoint(-1, -1, -1);
+    static final WorldPoint LOCATION_PERMUTATION = new WorldPoint(-1, -1, -1);
 
     /**
      * The starting point of this transport
@@ -167,6 +167,52 @@ public class Transport {
         //END microbot variables
     }
 
+    /**
+     * Creates a transport from a row of the compiled transport table
+     */
+    Transport(TransportTable.Row row, TransportType transportType) {
+        origin = row.origin;
+        destination = row.destination;
+
+        //START microbot variables
+        action = row.action;
+        name = row.name;
+        objectId = row.objectId;
+        currencyName = row.currencyName;
+        currencyAmount = row.currencyAmount;
+        //END microbot variables
+
+        for (int[] skillLevel : row.skillLevels) {
+            if (skillLevel[0] >= 0) {
+                skillLevels[skillLevel[0]] = skillLevel[1];
+            }
+        }
+
+        itemIdRequirements.addAll(row.itemIdRequirements);
+
+        quests.addAll(row.quests);
+
+        duration = row.duration;
+        if (TransportType.isTeleport(transportType)) {
+            // Teleports should always have a non-zero wait,
+            // so the pathfinder doesn't calculate the cost by distance
+            duration = Math.max(duration, 1);
+        }
+
+        displayInfo = row.displayInfo;
+        isConsumable = row.consumable;
+        maxWildernessLevel = row.maxWildernessLevel;
+        isMembers = row.members;
+        varbits.addAll(row.varbits);
+        varplayers.addAll(row.varplayers);
+
+        type = transportType;
+        if (TransportType.AGILITY_SHORTCUT.equals(transportType) &&
+                (getRequiredLevel(Skill.RANGED) > 1 || getRequiredLevel(Skill.STRENGTH) > 1)) {
+            type = TransportType.GRAPPLE_SHORTCUT;
+        }
+    }
+
     Transport(Map<String, String> fieldMap, TransportType transportType) {
         final String DELIM = " ";
         final String DELIM_MULTI = ";";
@@ -375,21 +421,96 @@ public class Transport {
         String[] questNames = questNamesCombined.split(";");
         Set<Quest> quests = new HashSet<>();
         for (String questName : questNames) {
-            for (Quest quest : Quest.values()) {
-                if (quest.getName().equalsIgnoreCase(questName.trim())) {
-                    quests.add(quest);
-                    break;
-                }
+            Quest quest = findQuest(questName);
+            if (quest != null) {
+                quests.add(quest);
             }
         }
         return quests;
     }
 
-    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, String path, TransportType transportType) {
-        addTransports(transports, path, transportType, 0);
+    /**
+     * Finds a quest by the name written in a transport or restriction file, ignoring case and surrounding spaces
+     */
+    static Quest findQuest(String questName) {
+        for (Quest quest : Quest.values()) {
+            if (quest.getName().equalsIgnoreCase(questName.trim())) {
+                return quest;
+            }
+        }
+        return null;
+    }
+
+    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, TransportTable table, String path, TransportType transportType) {
+        addTransports(transports, table, path, transportType, 0);
+    }
+
+    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, TransportTable table, String path, TransportType transportType, int radiusThreshold) {
+        Set<Transport> newTransports;
+        List<TransportTable.Row> rows = table == null ? null : table.getRows(path);
+        if (rows != null) {
+            newTransports = new HashSet<>(rows.size() * 2);
+            for (TransportTable.Row row : rows) {
+                newTransports.add(new Transport(row, transportType));
+            }
+        } else {
+            newTransports = readTransports(path, transportType);
+        }
+
+        /*
+         * A transport with origin A and destination B is one-way and must
+         * be duplicated as origin B and destination A to become two-way.
+         * Example: key-locked doors
+         *
+         * A transport with origin A and a missing destination is one-way,
+         * but can go from origin A to all destinations with a missing origin.
+         * Example: fairy ring AIQ -> <blank>
+         *
+         * A transport with a missing origin and destination B is one-way,
+         * but can go from all origins with a missing destination to destination B.
+         * Example: fairy ring <blank> -> AIQ
+         *
+         * Identical transports from origin A to destination A are skipped, and
+         * non-identical transports from origin A to destination A can be skipped
+         * by specifying a radius threshold to ignore almost identical coordinates.
+         * Example: fairy ring AIQ -> AIQ
+         */
+        Set<Transport> transportOrigins = new HashSet<>();
+        Set<Transport> transportDestinations = new HashSet<>();
+        for (Transport transport : newTransports) {
+            WorldPoint origin = transport.getOrigin();
+            WorldPoint destination = transport.getDestination();
+            // Logic to determine ordinary transport vs teleport vs permutation (e.g. fairy ring)
+            if ((origin == null && destination == null)
+                    || (LOCATION_PERMUTATION.equals(origin) && LOCATION_PERMUTATION.equals(destination))) {
+                continue;
+            } else if (!LOCATION_PERMUTATION.equals(origin) && origin != null
+                    && LOCATION_PERMUTATION.equals(destination)) {
+                transportOrigins.add(transport);
+            } else if (LOCATION_PERMUTATION.equals(origin)
+                    && !LOCATION_PERMUTATION.equals(destination) && destination != null) {
+                transportDestinations.add(transport);
+            }
+            if (!LOCATION_PERMUTATION.equals(origin)
+                    && destination != null && !LOCATION_PERMUTATION.equals(destination)
+                    && (origin == null || !origin.equals(destination))) {
+                transports.computeIfAbsent(origin, k -> new HashSet<>()).add(transport);
+            }
+        }
+        for (Transport origin : transportOrigins) {
+            for (Transport destination : transportDestinations) {
+                if (origin.getOrigin().distanceTo2D(destination.getDestination()) > radiusThreshold) {
+                    transports.computeIfAbsent(origin.getOrigin(), k -> new HashSet<>())
+                            .add(new Transport(origin, destination));
+                }
+            }
+        }
     }
 
-    private static void addTransports(Map<WorldPoint, Set<Transport>> transports, String path, TransportType transportType, int radiusThreshold) {
+    /**
+     * Parses a transport TSV file, for runs without the compiled transport table
+     */
+    private static Set<Transport> readTransports(String path, TransportType transportType) {
         final String DELIM_COLUMN = "\t";
         final String PREFIX_COMMENT = "#";
 
@@ -426,55 +547,7 @@ public class Transport {
 
             }
             scanner.close();
-
-            /*
-             * A transport with origin A and destination B is one-way and must
-             * be duplicated as origin B and destination A to become two-way.
-             * Example: key-locked doors
-             *
-             * A transport with origin A and a missing destination is one-way,
-             * but can go from origin A to all destinations with a missing origin.
-             * Example: fairy ring AIQ -> <blank>
-             *
-             * A transport with a missing origin and destination B is one-way,
-             * but can go from all origins with a missing destination to destination B.
-             * Example: fairy ring <blank> -> AIQ
-             *
-             * Identical transports from origin A to destination A are skipped, and
-             * non-identical transports from origin A to destination A can be skipped
-             * by specifying a radius threshold to ignore almost identical coordinates.
-             * Example: fairy ring AIQ -> AIQ
-             */
-            Set<Transport> transportOrigins = new HashSet<>();
-            Set<Transport> transportDestinations = new HashSet<>();
-            for (Transport transport : newTransports) {
-                WorldPoint origin = transport.getOrigin();
-                WorldPoint destination = transport.getDestination();
-                // Logic to determine ordinary transport vs teleport vs permutation (e.g. fairy ring)
-                if ((origin == null && destination == null)
-                        || (LOCATION_PERMUTATION.equals(origin) && LOCATION_PERMUTATION.equals(destination))) {
-                    continue;
-                } else if (!LOCATION_PERMUTATION.equals(origin) && origin != null
-                        && LOCATION_PERMUTATION.equals(destination)) {
-                    transportOrigins.add(transport);
-                } else if (LOCATION_PERMUTATION.equals(origin)
-                        && !LOCATION_PERMUTATION.equals(destination) && destination != null) {
-                    transportDestinations.add(transport);
-                }
-                if (!LOCATION_PERMUTATION.equals(origin)
-                        && destination != null && !LOCATION_PERMUTATION.equals(destination)
-                        && (origin == null || !origin.equals(destination))) {
-                    transports.computeIfAbsent(origin, k -> new HashSet<>()).add(transport);
-                }
-            }
-            for (Transport origin : transportOrigins) {
-                for (Transport destination : transportDestinations) {
-                    if (origin.getOrigin().distanceTo2D(destination.getDestination()) > radiusThreshold) {
-                        transports.computeIfAbsent(origin.getOrigin(), k -> new HashSet<>())
-                                .add(new Transport(origin, destination));
-                    }
-                }
-            }
+            return newTransports;
         } catch (IOException e) {
             Microbot.log(e.getMessage());
             e.printStackTrace();
@@ -483,26 +556,33 @@ public class Transport {
     }
 
     public static HashMap<WorldPoint, Set<Transport>> loadAllFromResources() {
+        return loadAllFromResources(TransportTable.load());
+    }
+
+    /**
+     * Loads the transports from the compiled transport table, or from the TSV files if the table is null
+     */
+    static HashMap<WorldPoint, Set<Transport>> loadAllFromResources(TransportTable table) {
         HashMap<WorldPoint, Set<Transport>> transports = new HashMap<>();
-        addTransports(transports, "transports.tsv", TransportType.TRANSPORT);
-        addTransports(transports, "agility_shortcuts.tsv", TransportType.AGILITY_SHORTCUT);
-        addTransports(transports, "boats.tsv", TransportType.BOAT);
-        addTransports(transports, "canoes.tsv", TransportType.CANOE);
-        addTransports(transports, "charter_ships.tsv", TransportType.CHARTER_SHIP);
-        addTransports(transports, "ships.tsv", TransportType.SHIP);
-        addTransports(transports, "fairy_rings.tsv", TransportType.FAIRY_RING);
-        addTransports(transports, "gnome_gliders.tsv", TransportType.GNOME_GLIDER, 6);
-        addTransports(transports, "minecarts.tsv", TransportType.MINECART);
-        addTransports(transports, "spirit_trees.tsv", TransportType.SPIRIT_TREE, 5);
-        addTransports(transports, "quetzals.tsv", TransportType.QUETZAL, 6);
-        addTransports(transports, "teleportation_items.tsv", TransportType.TELEPORTATION_ITEM);
-        addTransports(transports, "teleportation_minigames.tsv", TransportType.TELEPORTATION_MINIGAME);
-        addTransports(transports, "teleportation_levers.tsv", TransportType.TELEPORTATION_LEVER);
-        addTransports(transports, "teleportation_portals.tsv", TransportType.TELEPORTATION_PORTAL);
-        addTransports(transports, "teleportation_spells.tsv", TransportType.TELEPORTATION_SPELL);
-        addTransports(transports, "wilderness_obelisks.tsv", TransportType.WILDERNESS_OBELISK);
-        addTransports(transports, "magic_carpets.tsv", TransportType.MAGIC_CARPET);
-        addTransports(transports, "npcs.tsv", TransportType.NPC);
+        addTransports(transports, table, "transports.tsv", TransportType.TRANSPORT);
+        addTransports(transports, table, "agility_shortcuts.tsv", TransportType.AGILITY_SHORTCUT);
+        addTransports(transports, table, "boats.tsv", TransportType.BOAT);
+        addTransports(transports, table, "canoes.tsv", TransportType.CANOE);
+        addTransports(transports, table, "charter_ships.tsv", TransportType.CHARTER_SHIP);
+        addTransports(transports, table, "ships.tsv", TransportType.SHIP);
+        addTransports(transports, table, "fairy_rings.tsv", TransportType.FAIRY_RING);
+        addTransports(transports, table, "gnome_gliders.tsv", TransportType.GNOME_GLIDER, 6);
+        addTransports(transports, table, "minecarts.tsv", TransportType.MINECART);
+        addTransports(transports, table, "spirit_trees.tsv", TransportType.SPIRIT_TREE, 5);
+        addTransports(transports, table, "quetzals.tsv", TransportType.QUETZAL, 6);
+        addTransports(transports, table, "teleportation_items.tsv", TransportType.TELEPORTATION_ITEM);
+        addTransports(transports, table, "teleportation_minigames.tsv", TransportType.TELEPORTATION_MINIGAME);
+        addTransports(transports, table, "teleportation_levers.tsv", TransportType.TELEPORTATION_LEVER);
+        addTransports(transports, table, "teleportation_portals.tsv", TransportType.TELEPORTATION_PORTAL);
+        addTransports(transports, table, "teleportation_spells.tsv", TransportType.TELEPORTATION_SPELL);
+        addTransports(transports, table, "wilderness_obelisks.tsv", TransportType.WILDERNESS_OBELISK);
+        addTransports(transports, table, "magic_carpets.tsv", TransportType.MAGIC_CARPET);
+        addTransports(transports, table, "npcs.tsv", TransportType.NPC);
         return transports;
     }
 
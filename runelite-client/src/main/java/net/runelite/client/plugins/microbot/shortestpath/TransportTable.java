@@ -0,0 +1,276 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The transport and restriction TSV files, compiled at build time by the pack-transports goal of the runelite maven
+ * plugin. Cells are parsed already, and strings, item groups, var checks and skill requirements are stored once and
+ * shared by every row using them.
+ */
+@Slf4j
+final class TransportTable {
+    static final String RESOURCE = "transports.bin";
+
+    // keep in sync with TransportTableMojo
+    private static final int MAGIC = 0x53505442;
+    private static final int VERSION = 1;
+
+    private static final int FIELD_END = 0;
+    private static final int FIELD_ORIGIN = 1;
+    private static final int FIELD_DESTINATION = 2;
+    private static final int FIELD_MENU = 3;
+    private static final int FIELD_CURRENCY = 4;
+    private static final int FIELD_SKILLS = 5;
+    private static final int FIELD_ITEMS = 6;
+    private static final int FIELD_QUESTS = 7;
+    private static final int FIELD_DURATION = 8;
+    private static final int FIELD_DISPLAY_INFO = 9;
+    private static final int FIELD_CONSUMABLE = 10;
+    private static final int FIELD_WILDERNESS_LEVEL = 11;
+    private static final int FIELD_MEMBERS = 12;
+    private static final int FIELD_VARBITS = 13;
+    private static final int FIELD_VARPLAYERS = 14;
+
+    /**
+     * The cells of one row, with the defaults of {@link Transport} for missing cells
+     */
+    static final class Row {
+        WorldPoint origin;
+        WorldPoint destination;
+        String action;
+        String name;
+        int objectId;
+        String currencyName = "";
+        int currencyAmount;
+        /** {skill ordinal, level} pairs in file order, the ordinal is -1 for an unknown skill */
+        List<int[]> skillLevels = Collections.emptyList();
+        List<Set<Integer>> itemIdRequirements = Collections.emptyList();
+        List<Quest> quests = Collections.emptyList();
+        int duration;
+        String displayInfo;
+        boolean consumable;
+        int maxWildernessLevel = -1;
+        boolean members;
+        List<TransportVarbit> varbits = Collections.emptyList();
+        List<TransportVarPlayer> varplayers = Collections.emptyList();
+    }
+
+    private final String[] strings;
+    private final Set<Integer>[] itemGroups;
+    private final TransportVarbit[] varbits;
+    private final TransportVarPlayer[] varplayers;
+    private final int[][] skillRequirements;
+    private final Map<String, List<Row>> tables = new HashMap<>();
+
+    /**
+     * Reads the compiled table, or returns null if it is missing or unreadable so the TSV files are parsed instead
+     */
+    static TransportTable load() {
+        InputStream in = ShortestPathPlugin.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            log.debug("No compiled transport table, reading the transport files");
+            return null;
+        }
+
+        try {
+            return read(in);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read the compiled transport table, reading the transport files", e);
+            return null;
+        }
+    }
+
+    static TransportTable read(InputStream in) throws IOException {
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            return new TransportTable(data);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransportTable(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a transport table");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported transport table version " + version);
+        }
+
+        strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+
+        itemGroups = new Set[in.readInt()];
+        for (int i = 0; i < itemGroups.length; i++) {
+            int size = in.readUnsignedShort();
+            Set<Integer> group = new HashSet<>(size * 2);
+            for (int j = 0; j < size; j++) {
+                group.add(in.readInt());
+            }
+            itemGroups[i] = Collections.unmodifiableSet(group);
+        }
+
+        int checks = in.readInt();
+        varbits = new TransportVarbit[checks];
+        varplayers = new TransportVarPlayer[checks];
+        for (int i = 0; i < checks; i++) {
+            int id = in.readInt();
+            char operator = (char) in.readUnsignedByte();
+            int value = in.readInt();
+            varbits[i] = new TransportVarbit(id, value, TransportVarbit.Operator.valueOf(operatorName(operator)));
+            varplayers[i] = new TransportVarPlayer(id, value, TransportVarPlayer.Operator.valueOf(operatorName(operator)));
+        }
+
+        skillRequirements = new int[in.readInt()][];
+        Skill[] skills = Skill.values();
+        for (int i = 0; i < skillRequirements.length; i++) {
+            String skillName = strings[in.readInt()];
+            int level = in.readUnsignedShort();
+            int ordinal = -1;
+            for (int j = 0; j < skills.length; j++) {
+                if (skills[j].getName().equals(skillName)) {
+                    ordinal = j;
+                    break;
+                }
+            }
+            skillRequirements[i] = new int[]{ordinal, level};
+        }
+
+        int tableCount = in.readInt();
+        for (int i = 0; i < tableCount; i++) {
+            String file = strings[in.readInt()];
+            int rowCount = in.readInt();
+            List<Row> rows = new ArrayList<>(rowCount);
+            for (int j = 0; j < rowCount; j++) {
+                rows.add(readRow(in));
+            }
+            tables.put(file, rows);
+        }
+    }
+
+    /**
+     * The rows of a TSV file, or null if the file was not compiled into the table
+     */
+    List<Row> getRows(String file) {
+        return tables.get(file);
+    }
+
+    private Row readRow(DataInputStream in) throws IOException {
+        Row row = new Row();
+        for (int field = in.readUnsignedByte(); field != FIELD_END; field = in.readUnsignedByte()) {
+            switch (field) {
+                case FIELD_ORIGIN:
+                    row.origin = readPoint(in);
+                    break;
+                case FIELD_DESTINATION:
+                    row.destination = readPoint(in);
+                    break;
+                case FIELD_MENU:
+                    row.action = strings[in.readInt()];
+                    row.name = strings[in.readInt()];
+                    row.objectId = in.readInt();
+                    break;
+                case FIELD_CURRENCY:
+                    row.currencyAmount = in.readInt();
+                    row.currencyName = strings[in.readInt()];
+                    break;
+                case FIELD_SKILLS:
+                    row.skillLevels = readIndexed(in, skillRequirements);
+                    break;
+                case FIELD_ITEMS:
+                    row.itemIdRequirements = readIndexed(in, itemGroups);
+                    break;
+                case FIELD_QUESTS:
+                    row.quests = readQuests(in);
+                    break;
+                case FIELD_DURATION:
+                    row.duration = in.readInt();
+                    break;
+                case FIELD_DISPLAY_INFO:
+                    row.displayInfo = strings[in.readInt()];
+                    break;
+                case FIELD_CONSUMABLE:
+                    row.consumable = in.readBoolean();
+                    break;
+                case FIELD_WILDERNESS_LEVEL:
+                    row.maxWildernessLevel = in.readInt();
+                    break;
+                case FIELD_MEMBERS:
+                    row.members = in.readBoolean();
+                    break;
+                case FIELD_VARBITS:
+                    row.varbits = readIndexed(in, varbits);
+                    break;
+                case FIELD_VARPLAYERS:
+                    row.varplayers = readIndexed(in, varplayers);
+                    break;
+                default:
+                    throw new IOException("unknown transport field " + field);
+            }
+        }
+        return row;
+    }
+
+    private static WorldPoint readPoint(DataInputStream in) throws IOException {
+        if (in.readUnsignedByte() == 0) {
+            return Transport.LOCATION_PERMUTATION;
+        }
+        int x = in.readUnsignedShort();
+        int y = in.readUnsignedShort();
+        int plane = in.readUnsignedByte();
+        return new WorldPoint(x, y, plane);
+    }
+
+    private static <T> List<T> readIndexed(DataInputStream in, T[] pool) throws IOException {
+        int size = in.readUnsignedShort();
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(pool[in.readInt()]);
+        }
+        return values;
+    }
+
+    private List<Quest> readQuests(DataInputStream in) throws IOException {
+        List<Quest> quests = new ArrayList<>();
+        for (String questName : readIndexed(in, strings)) {
+            Quest quest = Transport.findQuest(questName);
+            if (quest != null) {
+                quests.add(quest);
+            }
+        }
+        return quests;
+    }
+
+    private static String operatorName(char operator) throws IOException {
+        switch (operator) {
+            case '>':
+                return "GREATER_THAN";
+            case '<':
+                return "LESS_THAN";
+            case '=':
+                return "EQUAL";
+            case '&':
+                return "BIT_SET";
+            case '@':
+                return "COOLDOWN_MINUTES";
+            default:
+                throw new IOException("unknown var operator " + operator);
+        }
+    }
+}
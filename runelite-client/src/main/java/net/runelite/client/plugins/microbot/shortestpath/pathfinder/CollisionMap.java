@@ -15,8 +15,27 @@ public class CollisionMap {
     // Enum.values() makes copies every time which hurts performance in the hotpath
     private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
 
+    // Bits of the word returned by SplitFlagMap.getNeighborhood, see neighborhoodBit
+    private static final int CENTER_FLAGS = neighborhoodBit(0, 0, 0) | neighborhoodBit(0, 0, 1)
+            | neighborhoodBit(0, -1, 0) | neighborhoodBit(-1, 0, 1);
+    // The traversable mask of every possible neighbourhood of a tile which is not blocked
+    private static final byte[] TRAVERSABLE_MASKS = new byte[1 << 18];
+
+    static {
+        for (int word = 0; word < TRAVERSABLE_MASKS.length; word++) {
+            TRAVERSABLE_MASKS[word] = (byte) traversableMask(word);
+        }
+    }
+
     private final SplitFlagMap collisionData;
 
+    // Per search state, see prepare
+    private PathfinderConfig preparedConfig;
+    private final IntHashSet restrictedTiles = new IntHashSet(256);
+    private boolean inPuzzleRoom;
+    // Whether a tile of the ToA puzzle room has to be dodged, 1 or 0 by packed position
+    private final IntIntHashMap puzzleTiles = new IntIntHashMap(64);
+
     public byte[] getPlanes() {
         return collisionData.getRegionMapPlaneCounts();
     }
@@ -65,16 +84,63 @@ public class CollisionMap {
         return !n(x, y, z) && !s(x, y, z) && !e(x, y, z) && !w(x, y, z);
     }
 
-    private static int packedPointFromOrdinal(int startPacked, OrdinalDirection direction) {
-        final int x = WorldPointUtil.unpackWorldX(startPacked);
-        final int y = WorldPointUtil.unpackWorldY(startPacked);
-        final int plane = WorldPointUtil.unpackWorldPlane(startPacked);
-        return WorldPointUtil.packWorldPoint(x + direction.x, y + direction.y, plane);
+    /**
+     * The directions a tile can be left in, with bit i set for {@code OrdinalDirection.values()[i]}.
+     * A blocked tile (e.g. a fairy ring) can be left towards any neighbour that is not blocked itself.
+     */
+    public int traversableMask(int x, int y, int z) {
+        final int neighborhood = collisionData.getNeighborhood(x, y, z);
+        if ((neighborhood & CENTER_FLAGS) != 0) {
+            return TRAVERSABLE_MASKS[neighborhood] & 0xFF;
+        }
+
+        // Whether the neighbours are blocked depends on tiles outside of the 3x3 neighbourhood
+        int mask = 0;
+        boolean westBlocked = isBlocked(x - 1, y, z);
+        boolean eastBlocked = isBlocked(x + 1, y, z);
+        boolean southBlocked = isBlocked(x, y - 1, z);
+        boolean northBlocked = isBlocked(x, y + 1, z);
+        boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
+        boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
+        boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
+        boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
+        if (!westBlocked) mask |= 1;
+        if (!eastBlocked) mask |= 1 << 1;
+        if (!southBlocked) mask |= 1 << 2;
+        if (!northBlocked) mask |= 1 << 3;
+        if (!southWestBlocked && !westBlocked && !southBlocked) mask |= 1 << 4;
+        if (!southEastBlocked && !eastBlocked && !southBlocked) mask |= 1 << 5;
+        if (!northWestBlocked && !westBlocked && !northBlocked) mask |= 1 << 6;
+        if (!northEastBlocked && !eastBlocked && !northBlocked) mask |= 1 << 7;
+        return mask;
     }
 
-    // This is only safe if pathfinding is single-threaded
-    private final List<Node> neighbors = new ArrayList<>(16);
-    private final boolean[] traversable = new boolean[8];
+    /** The bit of the north (0) or east (1) flag of the tile at an offset from the middle of a neighbourhood */
+    private static int neighborhoodBit(int dx, int dy, int flag) {
+        return 1 << (((dy + 1) * 3 + (dx + 1)) * 2 + flag);
+    }
+
+    /** The traversable mask of a tile which is not blocked, from the flags of its neighbourhood */
+    private static int traversableMask(int neighborhood) {
+        final boolean n = (neighborhood & neighborhoodBit(0, 0, 0)) != 0;
+        final boolean e = (neighborhood & neighborhoodBit(0, 0, 1)) != 0;
+        final boolean s = (neighborhood & neighborhoodBit(0, -1, 0)) != 0;
+        final boolean w = (neighborhood & neighborhoodBit(-1, 0, 1)) != 0;
+        int mask = 0;
+        if (w) mask |= 1;
+        if (e) mask |= 1 << 1;
+        if (s) mask |= 1 << 2;
+        if (n) mask |= 1 << 3;
+        if (s && w && (neighborhood & neighborhoodBit(-1, -1, 1)) != 0
+                && (neighborhood & neighborhoodBit(-1, -1, 0)) != 0) mask |= 1 << 4;
+        if (s && e && (neighborhood & neighborhoodBit(0, -1, 1)) != 0
+                && (neighborhood & neighborhoodBit(1, -1, 0)) != 0) mask |= 1 << 5;
+        if (n && w && (neighborhood & neighborhoodBit(-1, 1, 1)) != 0
+                && (neighborhood & neighborhoodBit(-1, 0, 0)) != 0) mask |= 1 << 6;
+        if (n && e && (neighborhood & neighborhoodBit(0, 1, 1)) != 0
+                && (neighborhood & neighborhoodBit(1, 0, 0)) != 0) mask |= 1 << 7;
+        return mask;
+    }
 
     public static final List<WorldPoint> ignoreCollision = Arrays.asList(
             new WorldPoint(3142, 3457, 0),
@@ -97,15 +163,59 @@ public class CollisionMap {
             new WorldPoint(3672, 3862, 0)
     );
 
-    public List<Node> getNeighbors(Node node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets) {
-        final int x = WorldPointUtil.unpackWorldX(node.packedPosition);
-        final int y = WorldPointUtil.unpackWorldY(node.packedPosition);
-        final int z = WorldPointUtil.unpackWorldPlane(node.packedPosition);
+    private static final IntHashSet ignoreCollisionPacked = new IntHashSet(ignoreCollision.size());
+
+    static {
+        for (WorldPoint point : ignoreCollision) {
+            ignoreCollisionPacked.add(WorldPointUtil.packWorldPoint(point));
+        }
+    }
+
+    /**
+     * Sets up the special case tiles of a search: the restricted tiles of the config, and the tiles of the ToA
+     * puzzle room when the player is in it. Called when a search starts, and by addNeighbors for another config.
+     */
+    public void prepare(PathfinderConfig config) {
+        preparedConfig = config;
+        restrictedTiles.clear();
+        restrictedTiles.addAll(config.getRestrictedPointsPacked());
+        puzzleTiles.clear();
+        WorldPoint playerLocation = Rs2Player.getWorldLocation();
+        inPuzzleRoom = playerLocation != null && playerLocation.getRegionID() == 14162;
+    }
 
-        neighbors.clear();
+    public void addNeighbors(NodePool pool, int node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets) {
+        addNeighbors(pool, node, visited, config, targets, false);
+    }
+
+    /**
+     * Adds the neighbours of a node to the pool, so they are the nodes from the pool size before the call up to
+     * the pool size after it.
+     * When {@code reverse} is set the transport edges are followed from destination to origin, which is used by the
+     * backwards half of a bidirectional search. Walking edges are symmetric so they are the same in both directions.
+     */
+    public void addNeighbors(NodePool pool, int node, VisitedTiles visited, PathfinderConfig config, Set<WorldPoint> targets, boolean reverse) {
+        final int packedPosition = pool.position(node);
+        final int x = WorldPointUtil.unpackWorldX(packedPosition);
+        final int y = WorldPointUtil.unpackWorldY(packedPosition);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPosition);
+        if (preparedConfig != config) {
+            prepare(config);
+        }
+
+        if (reverse) {
+            @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
+            Set<Transport> arriving = config.getTransportsByDestinationPacked().getOrDefault(packedPosition, (Set<Transport>)Collections.EMPTY_SET);
+            for (Transport transport : arriving) {
+                if (visited.get(transport.getOrigin())) continue;
+                pool.addTransport(WorldPointUtil.packWorldPoint(transport.getOrigin()), node, config.getTravelTime(transport));
+            }
+        }
 
         @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-        Set<Transport> transports = config.getTransportsPacked().getOrDefault(node.packedPosition, (Set<Transport>)Collections.EMPTY_SET);
+        Set<Transport> transports = reverse
+                ? (Set<Transport>)Collections.EMPTY_SET
+                : config.getTransportsPacked().getOrDefault(packedPosition, (Set<Transport>)Collections.EMPTY_SET);
 
         // Transports are pre-filtered by PathfinderConfig.refreshTransports
         // Thus any transports in the list are guaranteed to be valid per the user's settings
@@ -113,89 +223,70 @@ public class CollisionMap {
             //START microbot variables
             if (visited.get(transport.getDestination())) continue;
             if (config.isIgnoreTeleportAndItems() && TransportType.isTeleport(transport.getType())) continue;
-            if (TransportType.isTeleport(transport.getType())) {
-                neighbors.add(new TransportNode(transport.getDestination(), node, config.getDistanceBeforeUsingTeleport() + transport.getDuration()));
-            } else {
-                neighbors.add(new TransportNode(transport.getDestination(), node, transport.getDuration()));
-            }
+            pool.addTransport(WorldPointUtil.packWorldPoint(transport.getDestination()), node, config.getTravelTime(transport));
             //END microbot variables
         }
 
-        if (isBlocked(x, y, z)) {
-            boolean westBlocked = isBlocked(x - 1, y, z);
-            boolean eastBlocked = isBlocked(x + 1, y, z);
-            boolean southBlocked = isBlocked(x, y - 1, z);
-            boolean northBlocked = isBlocked(x, y + 1, z);
-            boolean southWestBlocked = isBlocked(x - 1, y - 1, z);
-            boolean southEastBlocked = isBlocked(x + 1, y - 1, z);
-            boolean northWestBlocked = isBlocked(x - 1, y + 1, z);
-            boolean northEastBlocked = isBlocked(x + 1, y + 1, z);
-            traversable[0] = !westBlocked;
-            traversable[1] = !eastBlocked;
-            traversable[2] = !southBlocked;
-            traversable[3] = !northBlocked;
-            traversable[4] = !southWestBlocked && !westBlocked && !southBlocked;
-            traversable[5] = !southEastBlocked && !eastBlocked && !southBlocked;
-            traversable[6] = !northWestBlocked && !westBlocked && !northBlocked;
-            traversable[7] = !northEastBlocked && !eastBlocked && !northBlocked;
-        } else {
-            traversable[0] = w(x, y, z);
-            traversable[1] = e(x, y, z);
-            traversable[2] = s(x, y, z);
-            traversable[3] = n(x, y, z);
-            traversable[4] = sw(x, y, z);
-            traversable[5] = se(x, y, z);
-            traversable[6] = nw(x, y, z);
-            traversable[7] = ne(x, y, z);
-        }
+        final int traversable = traversableMask(x, y, z);
+        final boolean ignoresCollision = ignoreCollisionPacked.contains(packedPosition);
 
-        for (int i = 0; i < traversable.length; i++) {
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
             OrdinalDirection d = ORDINAL_VALUES[i];
-            int neighborPacked = packedPointFromOrdinal(node.packedPosition, d);
+            int neighborPacked = WorldPointUtil.packWorldPoint(x + d.x, y + d.y, z);
             if (visited.get(neighborPacked)) continue;
-            if (config.getRestrictedPointsPacked().contains(neighborPacked)) continue;
-            if (config.getCustomRestrictions().contains(neighborPacked)) continue;
+            // Custom restrictions are included in the restricted points of the config
+            if (restrictedTiles.contains(neighborPacked)) continue;
 
-            if (ignoreCollision.contains(new WorldPoint(x, y, z))) {
-                neighbors.add(new Node(neighborPacked, node));
+            if (ignoresCollision) {
+                pool.addWalk(neighborPacked, node);
                 continue;
             }
 
-            /**
-             * This piece of code is designed to allow web walker to be used in toa puzzle room
-             * it will dodge specific tiles in the sequence room
-             */
-            if (Rs2Player.getWorldLocation().getRegionID() == 14162) { //toa puzzle room
-                final int lx = WorldPointUtil.unpackWorldX(neighborPacked);
-                final int ly = WorldPointUtil.unpackWorldY(neighborPacked);
-                final int lz = WorldPointUtil.unpackWorldPlane(neighborPacked);
-                if (targets.stream().noneMatch(tgts -> Objects.equals(tgts, new WorldPoint(lx, ly, lz)))) {
-                    WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(new WorldPoint(lx, ly, lz));
-                    if (globalWorldPoint != null) {
-                        TileObject go = Rs2GameObject.getGroundObject(globalWorldPoint);
-                        if (go != null && go.getId() == 45340) {
-                            continue;
-                        }
-                    }
-                }
+            if (inPuzzleRoom && isPuzzleTile(neighborPacked, targets)) {
+                continue;
             }
 
-            if (traversable[i]) {
-                neighbors.add(new Node(neighborPacked, node));
-            } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
+            if ((traversable & (1 << i)) != 0) {
+                pool.addWalk(neighborPacked, node);
+            } else if (Math.abs(d.x + d.y) == 1) {
                 // The transport starts from a blocked adjacent tile, e.g. fairy ring
                 // Only checks non-teleport transports (includes portals and levers, but not items and spells)
-                @SuppressWarnings("unchecked") // Casting EMPTY_LIST to List<Transport> is safe here
-                Set<Transport> neighborTransports = config.getTransportsPacked().getOrDefault(neighborPacked, (Set<Transport>)Collections.EMPTY_SET);
+                Set<Transport> neighborTransports = config.getTransportsPacked().get(neighborPacked);
+                if (neighborTransports == null || !isBlocked(x + d.x, y + d.y, z)) {
+                    continue;
+                }
                 for (Transport transport : neighborTransports) {
                     if (transport.getOrigin() == null || visited.get(transport.getOrigin())) {
                         continue;
                     }
-                    neighbors.add(new Node(transport.getOrigin(), node));
+                    pool.addWalk(WorldPointUtil.packWorldPoint(transport.getOrigin()), node);
                 }
             }
         }
+    }
+
+    /**
+     * This piece of code is designed to allow web walker to be used in toa puzzle room
+     * it will dodge specific tiles in the sequence room
+     */
+    private boolean isPuzzleTile(int packedPoint, Set<WorldPoint> targets) {
+        WorldPoint point = WorldPointUtil.unpackWorldPoint(packedPoint);
+        if (targets.contains(point)) {
+            return false;
+        }
 
-        return neighbors;
+        int puzzleTile = puzzleTiles.get(packedPoint, -1);
+        if (puzzleTile == -1) {
+            puzzleTile = 0;
+            WorldPoint globalWorldPoint = Rs2WorldPoint.convertInstancedWorldPoint(point);
+            if (globalWorldPoint != null) {
+                TileObject go = Rs2GameObject.getGroundObject(globalWorldPoint);
+                if (go != null && go.getId() == 45340) {
+                    puzzleTile = 1;
+                }
+            }
+            puzzleTiles.put(packedPoint, puzzleTile);
+        }
+        return puzzleTile == 1;
     }
 }
@@ -0,0 +1,113 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Converts a collision-map.zip into the uncompressed collision map file which {@link SplitFlagMap#fromFile} maps
+ * into memory.
+ * <p>
+ * The file starts with a header: the magic "SPCM", the format version, the CRC32 of the zip it was converted from,
+ * the region extents (min x, min y, max x, max y) and the region count, followed by an index entry per region of
+ * its packed position, plane count and file offset. The flags of the regions follow from the first page boundary
+ * after the header, {@link FlagMap#PLANE_BYTES} per plane, so no region straddles more pages than it needs to.
+ * <p>
+ * Usage: {@code CollisionMapConverter <collision-map.zip> <collision-map.bin>}
+ */
+public class CollisionMapConverter {
+    static final int HEADER_SIZE = 36;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final int PAGE_SIZE = 4096;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CollisionMapConverter <collision-map.zip> <collision-map.bin>");
+            System.exit(1);
+        }
+
+        byte[] zip = Files.readAllBytes(Paths.get(args[0]));
+        convert(new ByteArrayInputStream(zip), checksum(zip), Paths.get(args[1]));
+    }
+
+    public static long checksum(byte[] zip) {
+        CRC32 crc = new CRC32();
+        crc.update(zip);
+        return crc.getValue();
+    }
+
+    /**
+     * Writes the regions of a collision map zip to the output file. The file is written next to the output and then
+     * moved over it, so a client mapping the old file never sees it half written.
+     */
+    public static void convert(InputStream zip, long checksum, Path output) throws IOException {
+        Map<Integer, byte[]> regions = SplitFlagMap.readRegions(zip);
+        SplitFlagMap.RegionExtent extents = SplitFlagMap.RegionExtent.of(regions.keySet());
+        List<Integer> positions = new ArrayList<>(regions.keySet());
+        positions.sort(null);
+
+        int headerSize = HEADER_SIZE + positions.size() * INDEX_ENTRY_SIZE;
+        int dataStart = (headerSize + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+
+        ByteBuffer header = ByteBuffer.allocate(dataStart);
+        header.putInt(SplitFlagMap.MAGIC);
+        header.putInt(SplitFlagMap.VERSION);
+        header.putLong(checksum);
+        header.putInt(extents.getMinX());
+        header.putInt(extents.getMinY());
+        header.putInt(extents.getMaxX());
+        header.putInt(extents.getMaxY());
+        header.putInt(positions.size());
+
+        int offset = dataStart;
+        for (int pos : positions) {
+            int planeCount = planeCount(regions.get(pos));
+            header.putInt(pos);
+            header.putInt(planeCount);
+            header.putInt(offset);
+            offset += planeCount * FlagMap.PLANE_BYTES;
+        }
+        header.rewind();
+
+        Path parent = output.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, output.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                for (int pos : positions) {
+                    byte[] flags = regions.get(pos);
+                    // Regions are padded to whole planes, the zip leaves out trailing zero bytes
+                    ByteBuffer region = ByteBuffer.allocate(planeCount(flags) * FlagMap.PLANE_BYTES);
+                    region.put(flags).rewind();
+                    writeFully(channel, region);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int planeCount(byte[] flags) {
+        return (flags.length + FlagMap.PLANE_BYTES - 1) / FlagMap.PLANE_BYTES;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
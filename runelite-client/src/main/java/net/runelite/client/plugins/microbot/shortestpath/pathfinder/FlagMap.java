@@ -2,6 +2,7 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 import java.util.Locale;
 
@@ -9,7 +10,11 @@ import static net.runelite.api.Constants.REGION_SIZE;
 
 public class FlagMap {
     private static final byte FLAG_COUNT = 2;
-    private final BitSet flags;
+    /** Bytes needed for the flags of one plane of a region */
+    public static final int PLANE_BYTES = REGION_SIZE * REGION_SIZE * FLAG_COUNT / Byte.SIZE;
+    // Bits are in the order of BitSet#toByteArray, so the flags can be read from a mapped collision map file as is
+    private final ByteBuffer flags;
+    private final int offset;
     @Getter
     private final byte planeCount;
     private final int minX;
@@ -19,19 +24,36 @@ public class FlagMap {
         this.minX = minX;
         this.minY = minY;
         this.planeCount = planeCount;
-        flags = new BitSet(REGION_SIZE * REGION_SIZE * planeCount * FLAG_COUNT);
+        this.flags = ByteBuffer.allocate(planeCount * PLANE_BYTES);
+        this.offset = 0;
     }
 
     public FlagMap(int minX, int minY, byte[] bytes) {
         this.minX = minX;
         this.minY = minY;
-        flags = BitSet.valueOf(bytes);
-        int scale = REGION_SIZE * REGION_SIZE * FLAG_COUNT;
-        this.planeCount = (byte) ((flags.size() + scale - 1) / scale);
+        this.planeCount = (byte) ((bytes.length + PLANE_BYTES - 1) / PLANE_BYTES);
+        // Trailing zero bytes are left out of the region data, so the buffer is padded to whole planes
+        this.flags = ByteBuffer.allocate(planeCount * PLANE_BYTES).put(bytes);
+        this.offset = 0;
+    }
+
+    /**
+     * Reads the flags of a region straight from a buffer, e.g. a memory mapped collision map file
+     */
+    public FlagMap(int minX, int minY, byte planeCount, ByteBuffer flags, int offset) {
+        this.minX = minX;
+        this.minY = minY;
+        this.planeCount = planeCount;
+        this.flags = flags;
+        this.offset = offset;
     }
 
     public byte[] toBytes() {
-        return flags.toByteArray();
+        byte[] bytes = new byte[planeCount * PLANE_BYTES];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = flags.get(offset + i);
+        }
+        return BitSet.valueOf(bytes).toByteArray();
     }
 
     public boolean get(int x, int y, int z, int flag) {
@@ -39,11 +61,38 @@ public class FlagMap {
             return false;
         }
 
-        return flags.get(index(x, y, z, flag));
+        int bit = index(x, y, z, flag);
+        return (flags.get(offset + (bit >>> 3)) & (1 << (bit & 7))) != 0;
+    }
+
+    /**
+     * The flags of the 3x3 tiles around a tile in one word, two bits (north, east) per tile, row by row from the
+     * south west tile. The tile must not be on the edge of the region, so that the neighbourhood is in this region.
+     */
+    public int getNeighborhood(int x, int y, int z) {
+        if (z < 0 || z >= planeCount) {
+            return 0;
+        }
+
+        int word = 0;
+        int bit = ((z * REGION_SIZE + (y - 1 - minY)) * REGION_SIZE + (x - 1 - minX)) * FLAG_COUNT;
+        for (int row = 0; row < 3; row++, bit += REGION_SIZE * FLAG_COUNT) {
+            // A row of three tiles is six consecutive bits, which span at most two bytes
+            int position = offset + (bit >>> 3);
+            int bytes = flags.get(position) & 0xFF;
+            if ((bit & 7) > 2) {
+                bytes |= (flags.get(position + 1) & 0xFF) << 8;
+            }
+            word |= ((bytes >>> (bit & 7)) & 0x3F) << (row * 6);
+        }
+        return word;
     }
 
     public void set(int x, int y, int z, int flag, boolean value) {
-        flags.set(index(x, y, z, flag), value);
+        int bit = index(x, y, z, flag);
+        int position = offset + (bit >>> 3);
+        int current = flags.get(position);
+        flags.put(position, (byte) (value ? current | (1 << (bit & 7)) : current & ~(1 << (bit & 7))));
     }
 
     private int index(int x, int y, int z, int flag) {
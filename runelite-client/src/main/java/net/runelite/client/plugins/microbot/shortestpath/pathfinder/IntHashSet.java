@@ -0,0 +1,87 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing set of ints with linear probing, used to look up packed positions without boxing.
+ * Entries cannot be removed individually, only cleared all at once.
+ */
+public class IntHashSet {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private boolean[] used;
+    private int size;
+
+    public IntHashSet(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+        keys = new int[capacity];
+        used = new boolean[capacity];
+    }
+
+    private static int hash(int key) {
+        // Packed positions differ mostly in their low bits, spread them over the whole table
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public boolean contains(int key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns true when the key was not in the set yet */
+    public boolean add(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return false;
+            }
+        }
+
+        used[i] = true;
+        keys[i] = key;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash();
+        }
+        return true;
+    }
+
+    public void addAll(Iterable<Integer> keys) {
+        for (int key : keys) {
+            add(key);
+        }
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                add(oldKeys[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+}
@@ -0,0 +1,100 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of int values ordered by an int priority, stored in two parallel arrays.
+ */
+public class IntMinHeap {
+    private int[] priorities;
+    private int[] values;
+    private int size;
+    private long allocatedBytes;
+
+    public IntMinHeap(int initialCapacity) {
+        priorities = new int[initialCapacity];
+        values = new int[initialCapacity];
+        allocatedBytes = (long) initialCapacity * 2 * Integer.BYTES;
+    }
+
+    public void add(int priority, int value) {
+        if (size == priorities.length) {
+            int capacity = priorities.length * 2;
+            priorities = Arrays.copyOf(priorities, capacity);
+            values = Arrays.copyOf(values, capacity);
+            allocatedBytes += (long) capacity * 2 * Integer.BYTES;
+        }
+
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            priorities[i] = priorities[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+    }
+
+    public int peekPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return priorities[0];
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[0];
+    }
+
+    public int poll() {
+        int result = peek();
+        int priority = priorities[--size];
+        int value = values[size];
+
+        // Sift down the last element from the root
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && priorities[right] < priorities[child]) {
+                child = right;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            priorities[i] = priorities[child];
+            values[i] = values[child];
+            i = child;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
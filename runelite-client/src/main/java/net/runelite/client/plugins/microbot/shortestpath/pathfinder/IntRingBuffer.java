@@ -0,0 +1,69 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in first-out queue of ints backed by a power of two sized array, which doubles when full.
+ */
+public class IntRingBuffer {
+    private int[] elements;
+    private int head;
+    private int tail;
+    private long allocatedBytes;
+
+    public IntRingBuffer(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+        elements = new int[capacity];
+        allocatedBytes = (long) capacity * Integer.BYTES;
+    }
+
+    public void addLast(int value) {
+        elements[tail] = value;
+        tail = (tail + 1) & (elements.length - 1);
+        if (tail == head) {
+            grow();
+        }
+    }
+
+    public int peekFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    public int removeFirst() {
+        int value = peekFirst();
+        head = (head + 1) & (elements.length - 1);
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public int size() {
+        return (tail - head) & (elements.length - 1);
+    }
+
+    public void clear() {
+        head = 0;
+        tail = 0;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    private void grow() {
+        // The buffer is full and head == tail, unroll it into a larger array starting at index 0
+        int[] larger = new int[elements.length * 2];
+        int headLength = elements.length - head;
+        System.arraycopy(elements, head, larger, 0, headLength);
+        System.arraycopy(elements, 0, larger, headLength, head);
+        head = 0;
+        tail = elements.length;
+        elements = larger;
+        allocatedBytes += (long) larger.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,111 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays storage for search nodes. A node is an index into parallel arrays holding its packed position,
+ * the index of the node it was reached from and its cost, so expanding a tile allocates nothing once the arrays have
+ * grown to fit the search. A pool is cleared and reused by every search that runs on the same thread.
+ */
+public class NodePool {
+    public static final int NONE = -1;
+
+    private int[] positions;
+    private int[] parents;
+    private int[] costs;
+    private boolean[] transports;
+    private int size;
+    private long allocatedBytes;
+
+    public NodePool(int initialCapacity) {
+        positions = new int[initialCapacity];
+        parents = new int[initialCapacity];
+        costs = new int[initialCapacity];
+        transports = new boolean[initialCapacity];
+        allocatedBytes = (long) initialCapacity * (3 * Integer.BYTES + 1);
+    }
+
+    /** Adds a node reached by walking, with the cost of the parent plus the distance walked */
+    public int addWalk(int packedPosition, int parent) {
+        int cost = 0;
+        if (parent != NONE) {
+            // Travel wait time in transport nodes and distance is compared as if the player is walking 1 tile/tick.
+            // TODO: reduce the distance if the player is currently running and has enough run energy for the distance?
+            cost = costs[parent] + WorldPointUtil.distanceBetween(positions[parent], packedPosition);
+        }
+        return add(packedPosition, parent, cost, false);
+    }
+
+    /** Adds a node reached by a transport, with the cost of the parent plus the travel time */
+    public int addTransport(int packedPosition, int parent, int travelTime) {
+        return add(packedPosition, parent, (parent != NONE ? costs[parent] : 0) + travelTime, true);
+    }
+
+    public int add(int packedPosition, int parent, int cost, boolean transport) {
+        if (size == positions.length) {
+            grow();
+        }
+        positions[size] = packedPosition;
+        parents[size] = parent;
+        costs[size] = cost;
+        transports[size] = transport;
+        return size++;
+    }
+
+    private void grow() {
+        int capacity = positions.length * 2;
+        positions = Arrays.copyOf(positions, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        costs = Arrays.copyOf(costs, capacity);
+        transports = Arrays.copyOf(transports, capacity);
+        allocatedBytes += (long) capacity * (3 * Integer.BYTES + 1);
+    }
+
+    public int position(int node) {
+        return positions[node];
+    }
+
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    public int cost(int node) {
+        return costs[node];
+    }
+
+    public boolean isTransport(int node) {
+        return transports[node];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** The total number of bytes allocated for the node arrays since the pool was created */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public List<WorldPoint> getPath(int node) {
+        int length = 0;
+        for (int n = node; n != NONE; n = parents[n]) {
+            length++;
+        }
+
+        WorldPoint[] path = new WorldPoint[length];
+        for (int n = node, i = length - 1; n != NONE; n = parents[n], i--) {
+            path[i] = WorldPointUtil.unpackWorldPoint(positions[n]);
+        }
+
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,203 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Least recently used cache of complete paths, keyed by the start tile, the targets and the fingerprint of the
+ * usable transports and restrictions the path was found with (see {@link PathfinderConfig#getFingerprint()}).
+ * A cached path is checked step by step against the collision map before it is reused.
+ */
+public class PathCache {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<Key, List<WorldPoint>> paths;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PathCache(int capacity) {
+        paths = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<WorldPoint>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached path from the start to the targets, or null when there is none or it is no longer walkable.
+     */
+    public List<WorldPoint> get(int start, Set<WorldPoint> targets, long fingerprint, CollisionMap map, PathfinderConfig config) {
+        Key key = new Key(start, targets, fingerprint);
+        List<WorldPoint> path;
+        synchronized (paths) {
+            path = paths.get(key);
+        }
+
+        if (path != null && !isWalkable(path, map, config)) {
+            synchronized (paths) {
+                paths.remove(key);
+            }
+            path = null;
+        }
+
+        (path == null ? misses : hits).incrementAndGet();
+        return path;
+    }
+
+    public void put(int start, Set<WorldPoint> targets, long fingerprint, List<WorldPoint> path) {
+        Key key = new Key(start, Set.copyOf(targets), fingerprint);
+        List<WorldPoint> copy = Collections.unmodifiableList(List.copyOf(path));
+        synchronized (paths) {
+            paths.put(key, copy);
+        }
+    }
+
+    /**
+     * Drops every cached path, e.g. when a varbit or the teleport items the transports depend on change
+     */
+    public void invalidate() {
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (paths) {
+            return paths.size();
+        }
+    }
+
+    /**
+     * Checks every step of a path: walking steps must still be possible according to the collision map and
+     * must not enter restricted tiles, and longer steps must still be covered by a usable transport.
+     */
+    private static boolean isWalkable(List<WorldPoint> path, CollisionMap map, PathfinderConfig config) {
+        for (int i = 1; i < path.size(); i++) {
+            WorldPoint from = path.get(i - 1);
+            WorldPoint to = path.get(i);
+            int packedFrom = WorldPointUtil.packWorldPoint(from);
+            int packedTo = WorldPointUtil.packWorldPoint(to);
+
+            if (config.getRestrictedPointsPacked().contains(packedTo)) {
+                return false;
+            }
+
+            int dx = to.getX() - from.getX();
+            int dy = to.getY() - from.getY();
+            if (from.getPlane() == to.getPlane() && Math.abs(dx) <= 1 && Math.abs(dy) <= 1) {
+                if (canStep(map, from, dx, dy)
+                        || CollisionMap.ignoreCollision.contains(from)
+                        || canStepOntoTransport(map, config, to, packedTo, dx, dy)) {
+                    continue;
+                }
+            }
+
+            if (!hasTransport(config, packedFrom, to)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean canStep(CollisionMap map, WorldPoint from, int dx, int dy) {
+        int traversable = map.traversableMask(from.getX(), from.getY(), from.getPlane());
+        OrdinalDirection[] directions = OrdinalDirection.values();
+        for (int i = 0; i < directions.length; i++) {
+            if (directions[i].x == dx && directions[i].y == dy) {
+                return (traversable & (1 << i)) != 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stepping onto a blocked adjacent tile is only allowed when a usable transport starts from it, e.g. a fairy
+     * ring, the same as when the path was searched in {@link CollisionMap#addNeighbors}
+     */
+    private static boolean canStepOntoTransport(CollisionMap map, PathfinderConfig config, WorldPoint to, int packedTo, int dx, int dy) {
+        if (Math.abs(dx + dy) != 1 || !map.isBlocked(to.getX(), to.getY(), to.getPlane())) {
+            return false;
+        }
+
+        Set<Transport> transports = config.getTransportsPacked().get(packedTo);
+        if (transports != null) {
+            for (Transport transport : transports) {
+                if (transport.getOrigin() != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasTransport(PathfinderConfig config, int packedFrom, WorldPoint to) {
+        Set<Transport> transports = config.getTransportsPacked().get(packedFrom);
+        if (transports != null) {
+            for (Transport transport : transports) {
+                if (to.equals(transport.getDestination())) {
+                    return true;
+                }
+            }
+        }
+
+        if (!config.isIgnoreTeleportAndItems()) {
+            for (Transport teleport : config.getUsableTeleports()) {
+                if (to.equals(teleport.getDestination())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Key {
+        private final int start;
+        private final Set<WorldPoint> targets;
+        private final long fingerprint;
+
+        private Key(int start, Set<WorldPoint> targets, long fingerprint) {
+            this.start = start;
+            this.targets = targets;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return start == other.start && fingerprint == other.fingerprint && targets.equals(other.targets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, targets, fingerprint);
+        }
+    }
+}
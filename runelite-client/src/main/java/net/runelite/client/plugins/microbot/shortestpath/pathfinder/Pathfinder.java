@@ -2,6 +2,8 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PathfinderAlgorithm;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
 
 import java.util.*;
@@ -17,19 +19,30 @@ public class Pathfinder implements Runnable {
     private final Set<WorldPoint> targets;
 
     private final PathfinderConfig config;
-    private final CollisionMap map;
     private final boolean targetInWilderness;
 
-    // Capacities should be enough to store all nodes without requiring the queue to grow
-    // They were found by checking the max queue size
-    private final Deque<Node> boundary = new ArrayDeque<>(4096);
-    private final Queue<Node> pending = new PriorityQueue<>(256);
-    private final VisitedTiles visited;
+    // The collision map and visited tiles of the thread running the search
+    private CollisionMap map;
+    private VisitedTiles visited;
+
+    // Search nodes and queues are kept per thread and reused by every search that runs on it,
+    // so a search only allocates when it needs more room than any previous search on the thread
+    private static final ThreadLocal<SearchBuffers> searchBuffers = ThreadLocal.withInitial(SearchBuffers::new);
+    private NodePool pool;
 
     @SuppressWarnings("unchecked") // Casting EMPTY_LIST is safe here
-    private List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
+    private volatile List<WorldPoint> path = (List<WorldPoint>)Collections.EMPTY_LIST;
+    private volatile boolean pathRequested = false;
     private boolean pathNeedsUpdate = false;
-    private Node bestLastNode;
+    private int bestLastNode = NodePool.NONE;
+    private boolean targetReached;
+    private int bestDistance;
+    private long bestHeuristic;
+    private long cutoffDurationMillis;
+    private long cutoffTimeMillis;
+    // Packed targets and, per target, a lower bound on the cost of reaching it by taking any transport (A* only)
+    private int[] packedTargets;
+    private int[] transportLowerBounds;
     /**
      * Teleportation transports are updated when this changes.
      * Can be either:
@@ -41,22 +54,18 @@ public class Pathfinder implements Runnable {
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, WorldPoint target) {
         stats = new PathfinderStats();
-        this.config = config;
-        this.map = config.getMap();
+        this.config = config.isSnapshot() ? config : config.snapshot();
         this.start = start;
         this.targets = Set.of(target);
-        visited = new VisitedTiles(map);
         targetInWilderness = PathfinderConfig.isInWilderness(target);
         wildernessLevel = 31;
     }
 
     public Pathfinder(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets) {
         stats = new PathfinderStats();
-        this.config = config;
-        this.map = config.getMap();
+        this.config = config.isSnapshot() ? config : config.snapshot();
         this.start = start;
         this.targets = targets;
-        visited = new VisitedTiles(map);
         targetInWilderness = PathfinderConfig.isInWilderness(targets);
         wildernessLevel = 31;
     }
@@ -79,29 +88,36 @@ public class Pathfinder implements Runnable {
     }
 
     public List<WorldPoint> getPath() {
-        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
-        if (lastNode == null) {
-            return path;
+        // The nodes belong to the searching thread, so the path is built there and published once it is asked for
+        if (!done) {
+            pathRequested = true;
         }
+        return path;
+    }
 
-        if (pathNeedsUpdate) {
-            path = lastNode.getPath();
+    /**
+     * Builds the path to the best node so far. Must only be called by the thread running the search.
+     */
+    private void publishPath() {
+        if (pathNeedsUpdate && bestLastNode != NodePool.NONE) {
+            path = pool.getPath(bestLastNode);
             pathNeedsUpdate = false;
         }
-
-        return path;
+        pathRequested = false;
     }
 
-    private void addNeighbors(Node node) {
-        List<Node> nodes = map.getNeighbors(node, visited, config, targets);
-        for (Node neighbor : nodes) {
-            if (config.avoidWilderness(node.packedPosition, neighbor.packedPosition, targetInWilderness)) {
+    private void addNeighbors(int node, IntRingBuffer boundary, IntMinHeap pending) {
+        final int first = pool.size();
+        map.addNeighbors(pool, node, visited, config, targets);
+        for (int neighbor = first, end = pool.size(); neighbor < end; neighbor++) {
+            int packedNeighbor = pool.position(neighbor);
+            if (config.avoidWilderness(pool.position(node), packedNeighbor, targetInWilderness)) {
                 continue;
             }
 
-            visited.set(neighbor.packedPosition);
-            if (neighbor instanceof TransportNode) {
-                pending.add(neighbor);
+            visited.set(packedNeighbor);
+            if (pool.isTransport(neighbor)) {
+                pending.add(pool.cost(neighbor), neighbor);
                 ++stats.transportsChecked;
             } else {
                 boundary.addLast(neighbor);
@@ -113,88 +129,362 @@ public class Pathfinder implements Runnable {
     @Override
     public void run() {
         stats.start();
-        boundary.addFirst(new Node(start, null));
 
-        int bestDistance = Integer.MAX_VALUE;
-        long bestHeuristic = Integer.MAX_VALUE;
-        long cutoffDurationMillis = config.getCalculationCutoffMillis();
-        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+        SearchBuffers buffers = searchBuffers.get();
+        long allocatedBefore = buffers.getAllocatedBytes();
+        pool = buffers.pool;
+        map = config.getMap();
+        map.prepare(config);
+        visited = buffers.visited(map);
+
+        targetReached = false;
+        bestDistance = Integer.MAX_VALUE;
+        bestHeuristic = Integer.MAX_VALUE;
+        cutoffDurationMillis = config.getCalculationCutoffMillis();
+        cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+        packedTargets = new int[targets.size()];
+        int i = 0;
+        for (WorldPoint target : targets) {
+            packedTargets[i++] = WorldPointUtil.packWorldPoint(target);
+        }
+
+        final int packedStart = WorldPointUtil.packWorldPoint(start);
+        final long fingerprint = config.getFingerprint();
+        try {
+            PathfinderAlgorithm algorithm = config.getAlgorithm();
+            List<WorldPoint> cachedPath = config.getPathCache().get(packedStart, targets, fingerprint, map, config);
+            if (cachedPath != null) {
+                path = new ArrayList<>(cachedPath);
+                targetReached = true;
+                stats.cachedPath = true;
+            } else if (routeOverTransportGraph()) {
+                ++stats.graphRoutes;
+            } else if (algorithm == PathfinderAlgorithm.BIDIRECTIONAL && targets.size() == 1) {
+                runBidirectional(buffers);
+            } else if (algorithm == PathfinderAlgorithm.A_STAR || algorithm == PathfinderAlgorithm.BIDIRECTIONAL) {
+                runAStar(buffers.open);
+            } else {
+                runBreadthFirst(buffers.boundary, buffers.pending);
+            }
+
+            publishPath();
+            if (targetReached && !cancelled && !stats.cachedPath) {
+                config.getPathCache().put(packedStart, targets, fingerprint, path);
+            }
+            done = !cancelled;
+        } finally {
+            stats.peakPoolSize = pool.size();
+            bestLastNode = NodePool.NONE;
+            pool = null;
+            buffers.clear();
+            stats.allocatedBytes = buffers.getAllocatedBytes() - allocatedBefore;
+        }
+
+        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    }
+
+    /**
+     * Routes a single target over the precomputed transport graph, so only the tiles of the regions walked through
+     * are searched. Returns false when the graph is unavailable or cannot route between the two tiles.
+     */
+    private boolean routeOverTransportGraph() {
+        TransportGraph graph = config.getTransportGraph();
+        if (graph == null || targets.size() != 1) {
+            return false;
+        }
+
+        int last = graph.findPath(config, map, pool, WorldPointUtil.packWorldPoint(start), packedTargets[0]);
+        if (last == NodePool.NONE) {
+            pool.clear();
+            return false;
+        }
+
+        bestLastNode = last;
+        pathNeedsUpdate = true;
+        targetReached = true;
+        return true;
+    }
+
+    private void runBreadthFirst(IntRingBuffer boundary, IntMinHeap pending) {
+        boundary.addLast(pool.addWalk(WorldPointUtil.packWorldPoint(start), NodePool.NONE));
 
         while (!cancelled && (!boundary.isEmpty() || !pending.isEmpty())) {
-            Node node = boundary.peekFirst();
-            Node p = pending.peek();
-            
-            if (p != null && (node == null || p.cost < node.cost)) {
+            int node;
+            if (!pending.isEmpty() && (boundary.isEmpty() || pending.peekPriority() < pool.cost(boundary.peekFirst()))) {
                 node = pending.poll();
             } else {
                 node = boundary.removeFirst();
             }
 
-            if (wildernessLevel > 0) {
-                // We don't need to remove teleports when going from 20 to 21 or higher,
-                // because the teleport is either used at the very start of the
-                // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+            if (visit(node)) {
+                break;
+            }
+
+            addNeighbors(node, boundary, pending);
+        }
+    }
+
+    /**
+     * Best-first search ordered by cost plus an admissible estimate of the remaining cost.
+     * Tiles are only closed once they are polled, so a tile reached again with a lower cost still gets expanded.
+     */
+    private void runAStar(IntMinHeap open) {
+        computeTransportLowerBounds();
+        int startNode = pool.addWalk(WorldPointUtil.packWorldPoint(start), NodePool.NONE);
+        open.add(heuristic(pool.position(startNode)), startNode);
+
+        while (!cancelled && !open.isEmpty()) {
+            int node = open.poll();
+            if (!visited.set(pool.position(node))) {
+                continue; // Already expanded with a lower or equal cost
+            }
+
+            if (visit(node)) {
+                break;
+            }
 
-                boolean update = false;
+            final int first = pool.size();
+            map.addNeighbors(pool, node, visited, config, targets);
+            for (int neighbor = first, end = pool.size(); neighbor < end; neighbor++) {
+                int packedNeighbor = pool.position(neighbor);
+                if (config.avoidWilderness(pool.position(node), packedNeighbor, targetInWilderness)) {
+                    continue;
+                }
 
-                // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
-                // likewise, if the node isn't in level 20, it's in 0-19
-                if (wildernessLevel > 29 && !config.isInLevel29Wilderness(node.packedPosition)) {
-                    wildernessLevel = 29;
-                    update = true;
+                open.add(pool.cost(neighbor) + heuristic(packedNeighbor), neighbor);
+                if (pool.isTransport(neighbor)) {
+                    ++stats.transportsChecked;
+                } else {
+                    ++stats.nodesChecked;
                 }
-                if (wildernessLevel > 19 && !config.isInLevel19Wilderness(node.packedPosition)) {
-                    wildernessLevel = 19;
-                    update = true;
+            }
+        }
+    }
+
+    /**
+     * Bidirectional Dijkstra for a single target. The backwards search follows walking edges and non-teleport
+     * transports in reverse, while teleports are only taken by the forwards search since they can start anywhere.
+     * The search stops once the cheapest open nodes on both sides can no longer improve the best meeting point.
+     */
+    private void runBidirectional(SearchBuffers buffers) {
+        final Set<WorldPoint> backwardTargets = Set.of(start);
+        final VisitedTiles backwardVisited = buffers.backwardVisited(map);
+        final IntMinHeap forwardOpen = buffers.open;
+        final IntMinHeap backwardOpen = buffers.backwardOpen;
+        final IntIntHashMap forwardReached = buffers.forwardReached;
+        final IntIntHashMap backwardReached = buffers.backwardReached;
+
+        int forwardStart = pool.addWalk(WorldPointUtil.packWorldPoint(start), NodePool.NONE);
+        int backwardStart = pool.addWalk(packedTargets[0], NodePool.NONE);
+        forwardOpen.add(0, forwardStart);
+        forwardReached.put(pool.position(forwardStart), forwardStart);
+        backwardOpen.add(0, backwardStart);
+        backwardReached.put(pool.position(backwardStart), backwardStart);
+
+        int meetForward = NodePool.NONE;
+        int meetBackward = NodePool.NONE;
+        long bestMeetCost = Long.MAX_VALUE;
+        if (pool.position(forwardStart) == packedTargets[0]) {
+            meetForward = forwardStart;
+            meetBackward = backwardStart;
+            bestMeetCost = 0;
+        }
+
+        while (!cancelled && !forwardOpen.isEmpty()) {
+            int forwardTop = forwardOpen.peekPriority();
+            int backwardTop = backwardOpen.isEmpty() ? 0 : backwardOpen.peekPriority();
+            if ((long) forwardTop + backwardTop >= bestMeetCost) {
+                break;
+            }
+
+            // Expand the side with the cheaper frontier so both searches grow at the same rate
+            boolean forward = backwardOpen.isEmpty() || forwardTop <= backwardTop;
+            int node = forward ? forwardOpen.poll() : backwardOpen.poll();
+            VisitedTiles closed = forward ? visited : backwardVisited;
+            if (!closed.set(pool.position(node))) {
+                continue;
+            }
+
+            if (forward && visit(node)) {
+                break;
+            }
+
+            IntMinHeap open = forward ? forwardOpen : backwardOpen;
+            IntIntHashMap reached = forward ? forwardReached : backwardReached;
+            IntIntHashMap otherReached = forward ? backwardReached : forwardReached;
+            final int first = pool.size();
+            map.addNeighbors(pool, node, closed, config, forward ? targets : backwardTargets, !forward);
+            for (int neighbor = first, end = pool.size(); neighbor < end; neighbor++) {
+                int packedNeighbor = pool.position(neighbor);
+                boolean avoid = forward
+                        ? config.avoidWilderness(pool.position(node), packedNeighbor, targetInWilderness)
+                        : config.avoidWilderness(packedNeighbor, pool.position(node), targetInWilderness);
+                if (avoid) {
+                    continue;
+                }
+
+                int cost = pool.cost(neighbor);
+                int existing = reached.get(packedNeighbor, NodePool.NONE);
+                if (existing != NodePool.NONE && pool.cost(existing) <= cost) {
+                    continue;
                 }
-                if (wildernessLevel > 0 && !config.isInWilderness(node.packedPosition)) {
-                    wildernessLevel = 0;
-                    update = true;
+                reached.put(packedNeighbor, neighbor);
+                open.add(cost, neighbor);
+                if (pool.isTransport(neighbor)) {
+                    ++stats.transportsChecked;
+                } else {
+                    ++stats.nodesChecked;
                 }
-                if (update) {
-                    config.refreshTeleports(node.packedPosition, wildernessLevel);
+
+                int other = otherReached.get(packedNeighbor, NodePool.NONE);
+                if (other != NodePool.NONE && (long) cost + pool.cost(other) < bestMeetCost) {
+                    bestMeetCost = (long) cost + pool.cost(other);
+                    meetForward = forward ? neighbor : other;
+                    meetBackward = forward ? other : neighbor;
                 }
             }
+        }
+
+        // A target polled by the forwards search is never more expensive than the best meeting point
+        if (meetForward != NodePool.NONE && !targetReached && !cancelled) {
+            bestLastNode = joinPaths(meetForward, meetBackward);
+            pathNeedsUpdate = true;
+            targetReached = true;
+        }
+    }
+
+    /**
+     * Appends the backwards search chain behind a forward node so {@link NodePool#getPath(int)} yields the whole path.
+     */
+    private int joinPaths(int forward, int backward) {
+        int node = forward;
+        for (int b = backward; pool.parent(b) != NodePool.NONE; b = pool.parent(b)) {
+            int previous = pool.parent(b);
+            node = pool.add(pool.position(previous), node, pool.cost(node) + (pool.cost(b) - pool.cost(previous)), pool.isTransport(b));
+        }
+        return node;
+    }
+
+    /**
+     * Updates the wilderness teleports and the best partial path for a polled node.
+     * Returns true when the search should stop, either because a target was reached or the cutoff elapsed.
+     */
+    private boolean visit(int node) {
+        final int packedPosition = pool.position(node);
+
+        if (wildernessLevel > 0) {
+            // We don't need to remove teleports when going from 20 to 21 or higher,
+            // because the teleport is either used at the very start of the
+            // path or when going from 31 or higher to 30, or from 21 or higher to 20.
+
+            boolean update = false;
+
+            // These are overlapping boundaries, so if the node isn't in level 30, it's in 0-29
+            // likewise, if the node isn't in level 20, it's in 0-19
+            if (wildernessLevel > 29 && !config.isInLevel29Wilderness(packedPosition)) {
+                wildernessLevel = 29;
+                update = true;
+            }
+            if (wildernessLevel > 19 && !config.isInLevel19Wilderness(packedPosition)) {
+                wildernessLevel = 19;
+                update = true;
+            }
+            if (wildernessLevel > 0 && !config.isInWilderness(packedPosition)) {
+                wildernessLevel = 0;
+                update = true;
+            }
+            if (update) {
+                config.refreshTeleports(packedPosition, wildernessLevel);
+            }
+        }
 
-            if (targets.contains(WorldPointUtil.unpackWorldPoint(node.packedPosition))) {
+        for (int target : packedTargets) {
+            if (target == packedPosition) {
                 bestLastNode = node;
                 pathNeedsUpdate = true;
-                break;
+                targetReached = true;
+                return true;
             }
+        }
 
-            for (WorldPoint target : targets) {
-                int distance = WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target));
-                long heuristic = distance + (long) WorldPointUtil.distanceBetween(node.packedPosition, WorldPointUtil.packWorldPoint(target), 2);
+        for (int target : packedTargets) {
+            int distance = WorldPointUtil.distanceBetween(packedPosition, target);
+            long heuristic = distance + (long) WorldPointUtil.distanceBetween(packedPosition, target, 2);
 
-                if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
+            if (heuristic < bestHeuristic || (heuristic <= bestHeuristic && distance < bestDistance)) {
 
-                    bestLastNode = node;
-                    pathNeedsUpdate = true;
-                    bestDistance = distance;
-                    bestHeuristic = heuristic;
-                    cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
-                }
+                bestLastNode = node;
+                pathNeedsUpdate = true;
+                bestDistance = distance;
+                bestHeuristic = heuristic;
+                cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
             }
+        }
 
-            if (System.currentTimeMillis() > cutoffTimeMillis) {
-                break;
-            }
-            
-            addNeighbors(node);
+        if (pathRequested) {
+            publishPath();
         }
 
-        done = !cancelled;
+        return System.currentTimeMillis() > cutoffTimeMillis;
+    }
+
+    /**
+     * For every target, finds the cheapest way of arriving near it by transport: the travel time of the transport
+     * plus the straight line distance from its destination. Any path that uses a transport costs at least this much.
+     */
+    private void computeTransportLowerBounds() {
+        transportLowerBounds = new int[packedTargets.length];
+        for (int i = 0; i < packedTargets.length; i++) {
+            transportLowerBounds[i] = Integer.MAX_VALUE;
+            for (Set<Transport> transports : config.getTransports().values()) {
+                for (Transport transport : transports) {
+                    lowerTransportBound(i, transport);
+                }
+            }
+            if (!config.isIgnoreTeleportAndItems()) {
+                for (Transport teleport : config.getUsableTeleports()) {
+                    lowerTransportBound(i, teleport);
+                }
+            }
+        }
+    }
 
-        boundary.clear();
-        visited.clear();
-        pending.clear();
+    private void lowerTransportBound(int targetIndex, Transport transport) {
+        if (transport.getDestination() == null) {
+            return;
+        }
+        int bound = config.getTravelTime(transport)
+                + WorldPointUtil.distanceBetween2D(WorldPointUtil.packWorldPoint(transport.getDestination()), packedTargets[targetIndex]);
+        transportLowerBounds[targetIndex] = Math.min(transportLowerBounds[targetIndex], bound);
+    }
 
-        stats.end(); // Include cleanup in stats to get the total cost of pathfinding
+    /**
+     * Admissible and consistent estimate of the remaining cost: either walk straight to the nearest target, ignoring
+     * planes and collision, or take the cheapest transport towards it.
+     */
+    private int heuristic(int packedPosition) {
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < packedTargets.length; i++) {
+            int walk = WorldPointUtil.distanceBetween2D(packedPosition, packedTargets[i]);
+            best = Math.min(best, Math.min(walk, transportLowerBounds[i]));
+        }
+        return best;
     }
 
     public static class PathfinderStats {
         @Getter
         private int nodesChecked = 0, transportsChecked = 0;
+        @Getter
+        private int graphRoutes = 0;
+        /** Whether the path was taken from the path cache instead of being searched */
+        @Getter
+        private boolean cachedPath = false;
+        /** Nodes held by the node pool at the end of the search */
+        @Getter
+        private int peakPoolSize = 0;
+        /** Bytes allocated for growing the reused node pool and queues during the search */
+        @Getter
+        private long allocatedBytes = 0;
         private long startNanos, endNanos;
         private volatile boolean started = false, ended = false;
 
@@ -206,10 +496,20 @@ public class Pathfinder implements Runnable {
             return endNanos - startNanos;
         }
 
+        /** Nodes and transports checked per second of the search */
+        public double getNodesPerSecond() {
+            long elapsed = getElapsedTimeNanos();
+            return elapsed > 0 ? getTotalNodesChecked() * 1_000_000_000.0 / elapsed : 0;
+        }
+
         private void start() {
             started = true;
             nodesChecked = 0;
             transportsChecked = 0;
+            graphRoutes = 0;
+            cachedPath = false;
+            peakPoolSize = 0;
+            allocatedBytes = 0;
             startNanos = System.nanoTime();
         }
 
@@ -218,4 +518,57 @@ public class Pathfinder implements Runnable {
             ended = true;
         }
     }
+
+    /**
+     * The node pool, queues and visited tiles used by the searches on one thread.
+     */
+    private static class SearchBuffers {
+        // Capacities should be enough to store all nodes without requiring the buffers to grow
+        // They were found by checking the max queue size
+        private final NodePool pool = new NodePool(16384);
+        private final IntRingBuffer boundary = new IntRingBuffer(4096);
+        private final IntMinHeap pending = new IntMinHeap(256);
+        private final IntMinHeap open = new IntMinHeap(4096);
+        private final IntMinHeap backwardOpen = new IntMinHeap(4096);
+        private final IntIntHashMap forwardReached = new IntIntHashMap(4096);
+        private final IntIntHashMap backwardReached = new IntIntHashMap(4096);
+        private VisitedTiles visited;
+        private VisitedTiles backwardVisited;
+
+        private VisitedTiles visited(CollisionMap map) {
+            if (visited == null) {
+                visited = new VisitedTiles(map);
+            }
+            return visited;
+        }
+
+        private VisitedTiles backwardVisited(CollisionMap map) {
+            if (backwardVisited == null) {
+                backwardVisited = new VisitedTiles(map);
+            }
+            return backwardVisited;
+        }
+
+        private long getAllocatedBytes() {
+            return pool.getAllocatedBytes() + boundary.getAllocatedBytes() + pending.getAllocatedBytes()
+                    + open.getAllocatedBytes() + backwardOpen.getAllocatedBytes()
+                    + forwardReached.getAllocatedBytes() + backwardReached.getAllocatedBytes();
+        }
+
+        private void clear() {
+            pool.clear();
+            boundary.clear();
+            pending.clear();
+            open.clear();
+            backwardOpen.clear();
+            forwardReached.clear();
+            backwardReached.clear();
+            if (visited != null) {
+                visited.clear();
+            }
+            if (backwardVisited != null) {
+                backwardVisited.clear();
+            }
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -14,18 +16,23 @@ import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.magic.Rs2Magic;
 import net.runelite.client.plugins.microbot.util.magic.Rs2Spells;
 import net.runelite.client.plugins.microbot.util.magic.RuneFilter;
+import net.runelite.client.plugins.microbot.util.magic.Runes;
 import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static net.runelite.client.plugins.microbot.shortestpath.TransportType.TELEPORTATION_ITEM;
 import static net.runelite.client.plugins.microbot.shortestpath.TransportType.TELEPORTATION_SPELL;
 
+@Slf4j
 public class PathfinderConfig {
     private static final WorldArea WILDERNESS_ABOVE_GROUND = new WorldArea(2944, 3523, 448, 448, 0);
     private static final WorldArea WILDERNESS_ABOVE_GROUND_LEVEL_19 = new WorldArea(2944, 3672, 448, 448, 0);
@@ -48,16 +55,20 @@ public class PathfinderConfig {
     /** All transports by origin {@link WorldPoint}. The null key is used for transports centered on the player. */
 	@Getter
     private final Map<WorldPoint, Set<Transport>> allTransports;
-    @Setter
-    private Set<Transport> usableTeleports;
+    // The usable transports are rebuilt into new collections and swapped in by refresh, so a snapshot taken
+    // on another thread never sees them half built. Only the teleports added by refreshTeleports change a snapshot.
+    @Getter
+    private volatile Set<Transport> usableTeleports;
     private final List<WorldPoint> filteredTargets = new ArrayList<>(4);
 
     @Getter
-    private ConcurrentHashMap<WorldPoint, Set<Transport>> transports;
+    private volatile ConcurrentHashMap<WorldPoint, Set<Transport>> transports;
     // Copy of transports with packed positions for the hotpath; lists are not copied and are the same reference in both maps
     @Getter
-    @Setter
-    private PrimitiveIntHashMap<Set<Transport>> transportsPacked;
+    private volatile PrimitiveIntHashMap<Set<Transport>> transportsPacked;
+    // Usable non-teleport transports by packed destination, used when searching backwards from a target
+    @Getter
+    private volatile PrimitiveIntHashMap<Set<Transport>> transportsByDestinationPacked;
 
     private final Client client;
     private final ShortestPathConfig config;
@@ -66,6 +77,11 @@ public class PathfinderConfig {
     private long calculationCutoffMillis;
     @Getter
     private boolean avoidWilderness;
+    @Getter
+    private PathfinderAlgorithm algorithm;
+    private boolean useTransportGraph;
+    private volatile TransportGraph transportGraph;
+    private ExecutorService transportGraphExecutor;
     private boolean useAgilityShortcuts,
             useGrappleShortcuts,
             useBoats,
@@ -91,14 +107,14 @@ public class PathfinderConfig {
     @Getter
     private List<Restriction> customRestrictions;
     @Getter
-    private Set<Integer> restrictedPointsPacked;
+    private volatile Set<Integer> restrictedPointsPacked;
     private boolean useNpcs;
     //END microbot variables
     private TeleportationItem useTeleportationItems;
     private final int[] boostedLevels = new int[Skill.values().length];
-    private Map<Quest, QuestState> questStates = new HashMap<>();
-    private Map<Integer, Integer> varbitValues = new HashMap<>();
-    private Map<Integer, Integer> varplayerValues = new HashMap<>();
+    private final Map<Quest, QuestState> questStates = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> varbitValues = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> varplayerValues = new ConcurrentHashMap<>();
 
     @Getter
     @Setter
@@ -106,10 +122,55 @@ public class PathfinderConfig {
     private boolean ignoreTeleportAndItems = false;
     
     @Getter
-    @Setter
     // Used to include bank items when searching for item requirements
     private boolean useBankItems = false;
 
+    // Whether this config is a copy for a single search, see snapshot()
+    @Getter
+    private final boolean snapshot;
+    // The config a snapshot was taken from
+    private final PathfinderConfig source;
+
+    // Complete paths found with this config and its snapshots
+    @Getter
+    private final PathCache pathCache;
+    // Hash of the usable transports and restricted tiles, see getFingerprint()
+    private volatile long transportFingerprint;
+    // Bumped whenever the transport maps of the shared config are rebuilt, see setUsableTransports
+    private volatile long transportGeneration;
+    // Items which can change the usable transports when they are gained or lost, see updateTransportItems
+    private final Set<Integer> transportItemIds;
+    private final Map<Integer, Map<Integer, Integer>> heldTransportItems = new ConcurrentHashMap<>();
+
+    // The player state which changed since the usable transports were last worked out, see refresh()
+    private final Set<Dependency> dirty = EnumSet.allOf(Dependency.class);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // The transports which have to be checked again when a dependency changes
+    private final Map<Dependency, List<Transport>> dependentTransports;
+    private final Set<Quest> trackedQuests;
+    private final Set<Integer> trackedVarbits;
+    private final Set<Integer> trackedVarplayers;
+    // Every usable transport, including the teleports, which the transport maps are built from
+    private volatile Set<Transport> usableTransports = Collections.emptySet();
+    private boolean teleportsDisabled;
+    private boolean fairyRingsUnlocked,
+            gnomeGlidersUnlocked,
+            spiritTreesUnlocked,
+            quetzalsUnlocked;
+
+    /**
+     * The player state the usable transports depend on. Events mark what changed and the next refresh only checks
+     * the transports depending on it again.
+     */
+    public enum Dependency {
+        /** Plugin settings and overrides, the world type or the teleport switch; every transport is checked again */
+        SETTINGS,
+        LEVELS,
+        VARS,
+        QUESTS,
+        ITEMS
+    }
+
     public PathfinderConfig(SplitFlagMap mapData, Map<WorldPoint, Set<Transport>> transports,
                             List<Restriction> restrictions,
                             Client client, ShortestPathConfig config) {
@@ -119,6 +180,7 @@ public class PathfinderConfig {
         this.usableTeleports = new HashSet<>(allTransports.size() / 20);
         this.transports = new ConcurrentHashMap<>(allTransports.size() / 2);
         this.transportsPacked = new PrimitiveIntHashMap<>(allTransports.size() / 2);
+        this.transportsByDestinationPacked = new PrimitiveIntHashMap<>(allTransports.size() / 2);
         this.client = client;
         this.config = config;
         //START microbot variables
@@ -126,15 +188,442 @@ public class PathfinderConfig {
         this.customRestrictions = new ArrayList<>();
         this.restrictedPointsPacked = new HashSet<>();
         //END microbot variables
+        this.snapshot = false;
+        this.source = null;
+        this.pathCache = new PathCache();
+        this.transportItemIds = collectTransportItemIds(allTransports);
+        this.dependentTransports = collectDependentTransports(allTransports);
+        this.trackedQuests = ConcurrentHashMap.newKeySet();
+        this.trackedVarbits = ConcurrentHashMap.newKeySet();
+        this.trackedVarplayers = ConcurrentHashMap.newKeySet();
+        for (Set<Transport> transportSet : allTransports.values()) {
+            for (Transport transport : transportSet) {
+                trackedQuests.addAll(transport.getQuests());
+                transport.getVarbits().forEach(varbit -> trackedVarbits.add(varbit.getVarbitId()));
+                transport.getVarplayers().forEach(varplayer -> trackedVarplayers.add(varplayer.getVarplayerId()));
+            }
+        }
+        trackRestrictions(resourceRestrictions);
+        // Fairy rings, gnome gliders, spirit trees and quetzals are unlocked by these, see refreshUnlocks
+        trackedQuests.addAll(List.of(Quest.FAIRYTALE_II__CURE_A_QUEEN, Quest.THE_GRAND_TREE,
+                Quest.TREE_GNOME_VILLAGE, Quest.TWILIGHTS_PROMISE));
+        trackedVarbits.add(Varbits.DIARY_LUMBRIDGE_ELITE);
+    }
+
+    /**
+     * Copies the settings and usable transports of another config, for a single search.
+     */
+    private PathfinderConfig(PathfinderConfig other, boolean useBankItems, boolean ignoreTeleportAndItems) {
+        this.mapData = other.mapData;
+        this.map = other.map;
+        this.allTransports = other.allTransports;
+        this.client = other.client;
+        this.config = other.config;
+        this.resourceRestrictions = other.resourceRestrictions;
+        this.customRestrictions = new ArrayList<>(other.customRestrictions);
+        this.useBankItems = useBankItems;
+        this.ignoreTeleportAndItems = ignoreTeleportAndItems;
+        this.snapshot = true;
+        this.source = other.isSnapshot() ? other.source : other;
+        this.pathCache = other.pathCache;
+        this.transportItemIds = other.transportItemIds;
+        this.dependentTransports = other.dependentTransports;
+        this.trackedQuests = other.trackedQuests;
+        this.trackedVarbits = other.trackedVarbits;
+        this.trackedVarplayers = other.trackedVarplayers;
+        this.dirty.clear();
+        this.transportFingerprint = other.transportFingerprint;
+        this.transportGeneration = other.transportGeneration;
+        this.transportGraph = other.transportGraph;
+        System.arraycopy(other.boostedLevels, 0, boostedLevels, 0, boostedLevels.length);
+        questStates.putAll(other.questStates);
+        varbitValues.putAll(other.varbitValues);
+        varplayerValues.putAll(other.varplayerValues);
+        copySettings(other);
+        this.usableTransports = other.usableTransports;
+
+        if (useBankItems != other.useBankItems && GameState.LOGGED_IN.equals(client.getGameState())) {
+            // Items in the bank change which transports and restrictions apply, so check those again
+            refreshUnlocks();
+            refreshTransports(EnumSet.of(Dependency.ITEMS));
+            refreshRestrictionData();
+            updateFingerprint();
+            return;
+        }
+
+        this.usableTeleports = other.usableTeleports;
+        this.transportsByDestinationPacked = other.transportsByDestinationPacked;
+        this.restrictedPointsPacked = other.restrictedPointsPacked;
+
+        // refreshTeleports adds to the transports on the tiles searched from, so these sets are copied
+        ConcurrentHashMap<WorldPoint, Set<Transport>> otherTransports = other.transports;
+        this.transports = new ConcurrentHashMap<>(otherTransports.size());
+        this.transportsPacked = new PrimitiveIntHashMap<>(Math.max(otherTransports.size(), 16));
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : otherTransports.entrySet()) {
+            Set<Transport> copy = new HashSet<>(entry.getValue());
+            transports.put(entry.getKey(), copy);
+            transportsPacked.put(WorldPointUtil.packWorldPoint(entry.getKey()), copy);
+        }
+    }
+
+    private void copySettings(PathfinderConfig other) {
+        calculationCutoffMillis = other.calculationCutoffMillis;
+        avoidWilderness = other.avoidWilderness;
+        algorithm = other.algorithm;
+        useTransportGraph = other.useTransportGraph;
+        useAgilityShortcuts = other.useAgilityShortcuts;
+        useGrappleShortcuts = other.useGrappleShortcuts;
+        useBoats = other.useBoats;
+        useCanoes = other.useCanoes;
+        useCharterShips = other.useCharterShips;
+        useShips = other.useShips;
+        useFairyRings = other.useFairyRings;
+        useGnomeGliders = other.useGnomeGliders;
+        useMinecarts = other.useMinecarts;
+        useQuetzals = other.useQuetzals;
+        useSpiritTrees = other.useSpiritTrees;
+        useTeleportationItems = other.useTeleportationItems;
+        useTeleportationMinigames = other.useTeleportationMinigames;
+        useTeleportationLevers = other.useTeleportationLevers;
+        useTeleportationPortals = other.useTeleportationPortals;
+        useTeleportationSpells = other.useTeleportationSpells;
+        useWildernessObelisks = other.useWildernessObelisks;
+        useMagicCarpets = other.useMagicCarpets;
+        distanceBeforeUsingTeleport = other.distanceBeforeUsingTeleport;
+        useNpcs = other.useNpcs;
+        teleportsDisabled = other.teleportsDisabled;
+        fairyRingsUnlocked = other.fairyRingsUnlocked;
+        gnomeGlidersUnlocked = other.gnomeGlidersUnlocked;
+        spiritTreesUnlocked = other.spiritTreesUnlocked;
+        quetzalsUnlocked = other.quetzalsUnlocked;
+    }
+
+    /**
+     * A copy of this config for a single search. Searches may change the transports of the config they run with,
+     * so every search gets its own snapshot and any number of them can run at the same time.
+     */
+    public PathfinderConfig snapshot() {
+        return new PathfinderConfig(this, useBankItems, ignoreTeleportAndItems);
+    }
+
+    /**
+     * A copy of this config for a single search, with the bank items and teleports settings of the search.
+     * When {@code useBankItems} differs from this config the usable transports are worked out again for the copy.
+     */
+    public PathfinderConfig snapshot(boolean useBankItems, boolean ignoreTeleportAndItems) {
+        return new PathfinderConfig(this, useBankItems, ignoreTeleportAndItems);
+    }
+
+    /**
+     * Identifies the usable transports, restrictions and path settings, so cached paths are only reused by
+     * searches which would be allowed to take the same transports.
+     */
+    public long getFingerprint() {
+        long hash = transportFingerprint;
+        hash = 31 * hash + distanceBeforeUsingTeleport;
+        hash = 31 * hash + (avoidWilderness ? 1 : 0);
+        hash = 31 * hash + (ignoreTeleportAndItems ? 1 : 0);
+        hash = 31 * hash + (useBankItems ? 1 : 0);
+        return hash;
+    }
+
+    private void updateFingerprint() {
+        // Summing mixed hashes does not depend on the iteration order of the sets
+        long hash = 0;
+        for (Set<Transport> transportSet : transports.values()) {
+            for (Transport transport : transportSet) {
+                hash += mix(System.identityHashCode(transport));
+            }
+        }
+        for (Transport teleport : usableTeleports) {
+            hash += mix(~System.identityHashCode(teleport));
+        }
+        for (int packedPoint : restrictedPointsPacked) {
+            hash += mix(packedPoint * 0x9E3779B97F4A7C15L);
+        }
+        // A rebuild drops the teleports refreshTeleports added for earlier searches, which the walker looks up
+        // along cached paths, even when the same transports are usable again
+        hash = 31 * hash + transportGeneration;
+        transportFingerprint = hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Marks player state as changed, so the transports depending on it are checked again by the next refresh
+     */
+    public void markDirty(Dependency... dependencies) {
+        synchronized (dirty) {
+            dirty.addAll(Arrays.asList(dependencies));
+        }
+    }
+
+    /**
+     * Forgets the player state, e.g. when logging out or hopping worlds, so it is read again on the next refresh
+     */
+    public void reset() {
+        questStates.clear();
+        varbitValues.clear();
+        varplayerValues.clear();
+        heldTransportItems.clear();
+        markDirty(Dependency.values());
+    }
+
+    /**
+     * Records the new value of a varbit. Returns true when the usable transports or restrictions depend on it.
+     */
+    public boolean updateVarbit(int varbitId, int value) {
+        if (!trackedVarbits.contains(varbitId)) {
+            return false;
+        }
+        Integer previous = varbitValues.put(varbitId, value);
+        if (previous == null || previous != value) {
+            markDirty(Dependency.VARS);
+        }
+        return true;
+    }
+
+    /**
+     * Records the new value of a varplayer. Returns true when the usable transports or restrictions depend on it.
+     */
+    public boolean updateVarplayer(int varplayerId, int value) {
+        if (!trackedVarplayers.contains(varplayerId)) {
+            return false;
+        }
+        Integer previous = varplayerValues.put(varplayerId, value);
+        if (previous == null || previous != value) {
+            markDirty(Dependency.VARS);
+        }
+        return true;
+    }
+
+    /**
+     * Records the new boosted level of a skill. Returns true when it changed.
+     */
+    public boolean updateBoostedLevel(Skill skill, int boostedLevel) {
+        if (boostedLevels[skill.ordinal()] == boostedLevel) {
+            return false;
+        }
+        boostedLevels[skill.ordinal()] = boostedLevel;
+        markDirty(Dependency.LEVELS);
+        return true;
+    }
+
+    /**
+     * Records how many transport items, runes and coins are held in a container.
+     * Returns true when that changed, i.e. when a transport may have become usable or unusable.
+     */
+    public boolean updateTransportItems(int containerId, ItemContainer container) {
+        Map<Integer, Integer> held = new HashMap<>();
+        if (container != null) {
+            for (Item item : container.getItems()) {
+                if (transportItemIds.contains(item.getId())) {
+                    held.merge(item.getId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        Map<Integer, Integer> previous = heldTransportItems.put(containerId, held);
+        if (held.equals(previous)) {
+            return false;
+        }
+        markDirty(Dependency.ITEMS);
+        return true;
+    }
+
+    public void setUseBankItems(boolean useBankItems) {
+        if (this.useBankItems != useBankItems) {
+            this.useBankItems = useBankItems;
+            markDirty(Dependency.ITEMS);
+        }
+    }
+
+    private static Set<Integer> collectTransportItemIds(Map<WorldPoint, Set<Transport>> allTransports) {
+        Set<Integer> itemIds = ConcurrentHashMap.newKeySet();
+        for (Set<Transport> transportSet : allTransports.values()) {
+            for (Transport transport : transportSet) {
+                for (Set<Integer> alternatives : transport.getItemIdRequirements()) {
+                    itemIds.addAll(alternatives);
+                }
+            }
+        }
+        for (Runes rune : Runes.values()) {
+            itemIds.add(rune.getItemId());
+        }
+        itemIds.add(ItemID.COINS_995);
+        // Fairy rings need a staff, see refreshUnlocks
+        itemIds.add(ItemID.DRAMEN_STAFF);
+        itemIds.add(ItemID.LUNAR_STAFF);
+        return itemIds;
+    }
+
+    private static Map<Dependency, List<Transport>> collectDependentTransports(Map<WorldPoint, Set<Transport>> allTransports) {
+        Map<Dependency, List<Transport>> dependentTransports = new EnumMap<>(Dependency.class);
+        for (Dependency dependency : Dependency.values()) {
+            dependentTransports.put(dependency, new ArrayList<>());
+        }
+        for (Set<Transport> transportSet : allTransports.values()) {
+            for (Transport transport : transportSet) {
+                for (Dependency dependency : dependenciesOf(transport)) {
+                    dependentTransports.get(dependency).add(transport);
+                }
+            }
+        }
+        return dependentTransports;
+    }
+
+    /** The player state which decides whether the transport is usable, see useTransport */
+    private static Set<Dependency> dependenciesOf(Transport transport) {
+        Set<Dependency> dependencies = EnumSet.noneOf(Dependency.class);
+        for (int level : transport.getSkillLevels()) {
+            if (level > 0) {
+                dependencies.add(Dependency.LEVELS);
+                break;
+            }
+        }
+        if (!transport.getVarbits().isEmpty() || !transport.getVarplayers().isEmpty()) {
+            dependencies.add(Dependency.VARS);
+        }
+        if (!transport.getQuests().isEmpty()) {
+            dependencies.add(Dependency.QUESTS);
+        }
+        if (!transport.getItemIdRequirements().isEmpty() || transport.getCurrencyAmount() > 0
+                || transport.getType() == TELEPORTATION_ITEM || transport.getType() == TELEPORTATION_SPELL) {
+            dependencies.add(Dependency.ITEMS);
+        }
+        if (transport.getType() != null) {
+            switch (transport.getType()) {
+                case FAIRY_RING:
+                    dependencies.add(Dependency.VARS);
+                    dependencies.add(Dependency.ITEMS);
+                    // fall through
+                case GNOME_GLIDER:
+                case SPIRIT_TREE:
+                case QUETZAL:
+                    dependencies.add(Dependency.QUESTS);
+                    break;
+            }
+        }
+        return dependencies;
+    }
+
+    private void trackRestrictions(List<Restriction> restrictions) {
+        for (Restriction restriction : restrictions) {
+            trackedQuests.addAll(restriction.getQuests());
+            restriction.getVarbits().forEach(varbit -> trackedVarbits.add(varbit.getVarbitId()));
+            restriction.getVarplayers().forEach(varplayer -> trackedVarplayers.add(varplayer.getVarplayerId()));
+            restriction.getItemIdRequirements().forEach(transportItemIds::addAll);
+        }
     }
 
     public CollisionMap getMap() {
         return map.get();
     }
 
+    /**
+     * The precomputed transport graph, or null when it is disabled or still being built
+     */
+    public TransportGraph getTransportGraph() {
+        return useTransportGraph ? transportGraph : null;
+    }
+
+    private synchronized void buildTransportGraph() {
+        if (transportGraphExecutor != null) {
+            return;
+        }
+
+        transportGraphExecutor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("shortest-path-graph").setDaemon(true).build());
+        transportGraphExecutor.submit(() -> {
+            try {
+                transportGraph = TransportGraph.build(new CollisionMap(mapData), allTransports);
+            } catch (Exception e) {
+                log.warn("Unable to build the transport graph", e);
+            } finally {
+                transportGraphExecutor.shutdown();
+            }
+        });
+    }
+
+    /**
+     * Works out the usable transports and restrictions again from the player state which changed since the last
+     * refresh, see {@link #markDirty(Dependency...)}. Does nothing when nothing changed.
+     */
     public void refresh() {
+        // The client thread never waits for a refresh on another thread, as that one may be waiting for the client thread
+        if (client.isClientThread()) {
+            if (!refreshLock.tryLock()) {
+                return;
+            }
+        } else {
+            refreshLock.lock();
+        }
+
+        try {
+            refreshDirty();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshDirty() {
+        if (teleportsDisabled != Rs2Walker.disableTeleports) {
+            teleportsDisabled = Rs2Walker.disableTeleports;
+            markDirty(Dependency.SETTINGS);
+        }
+
+        boolean loggedIn = GameState.LOGGED_IN.equals(client.getGameState());
+        Set<Dependency> changed;
+        synchronized (dirty) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            changed = dirty.contains(Dependency.SETTINGS) ? EnumSet.allOf(Dependency.class) : EnumSet.copyOf(dirty);
+            // The transports are only worked out when logged in, until then they stay dirty
+            if (loggedIn) {
+                dirty.clear();
+            }
+        }
+
+        if (changed.contains(Dependency.SETTINGS)) {
+            refreshSettings();
+            if (useTransportGraph) {
+                buildTransportGraph();
+            }
+        }
+
+        if (!loggedIn) {
+            return;
+        }
+
+        if (changed.contains(Dependency.SETTINGS)) {
+            for (int i = 0; i < Skill.values().length; i++) {
+                boostedLevels[i] = client.getBoostedSkillLevel(Skill.values()[i]);
+            }
+        }
+        refreshPlayerState(changed.contains(Dependency.QUESTS));
+        refreshUnlocks();
+        refreshTransports(changed);
+        //START microbot variables
+        refreshRestrictionData();
+        updateFingerprint();
+
+        // Checking teleport items and spells may open other tabs
+        // Do not switch back to inventory tab if we are inside of the telekinetic room in Mage Training Arena
+        if (changed.contains(Dependency.ITEMS) && Rs2Player.getWorldLocation().getRegionID() != 13463) {
+            Rs2Tab.switchToInventoryTab();
+        }
+        //END microbot variables
+    }
+
+    private void refreshSettings() {
         calculationCutoffMillis = config.calculationCutoff() * Constants.GAME_TICK_LENGTH;
         avoidWilderness = ShortestPathPlugin.override("avoidWilderness", config.avoidWilderness());
+        algorithm = ShortestPathPlugin.override("pathfinderAlgorithm", config.pathfinderAlgorithm());
+        useTransportGraph = ShortestPathPlugin.override("useTransportGraph", config.useTransportGraph());
         useAgilityShortcuts = ShortestPathPlugin.override("useAgilityShortcuts", config.useAgilityShortcuts());
         useGrappleShortcuts = ShortestPathPlugin.override("useGrappleShortcuts", config.useGrappleShortcuts());
         useBoats = ShortestPathPlugin.override("useBoats", config.useBoats());
@@ -158,22 +647,6 @@ public class PathfinderConfig {
         //START microbot variables
         useNpcs = config.useNpcs();
         //END microbot variables
-
-        if (GameState.LOGGED_IN.equals(client.getGameState())) {
-            for (int i = 0; i < Skill.values().length; i++) {
-                boostedLevels[i] = client.getBoostedSkillLevel(Skill.values()[i]);
-            }
-
-            refreshTransports();
-            //START microbot variables
-            refreshRestrictionData();
-            
-            // Do not switch back to inventory tab if we are inside of the telekinetic room in Mage Training Arena
-            if (Rs2Player.getWorldLocation().getRegionID() != 13463) {
-                Rs2Tab.switchToInventoryTab();
-            }
-            //END microbot variables
-        }
     }
 
     /** Specialized method for only updating player-held item and spell transports */
@@ -196,11 +669,22 @@ public class PathfinderConfig {
             WorldPoint key = WorldPointUtil.unpackWorldPoint(packedLocation);
             Set<Transport> existingTeleports = transports.get(key);
             if (existingTeleports != null) {
+                // The same set is in transportsPacked
                 existingTeleports.addAll(usableWildyTeleports);
             } else {
                 transports.put(key, usableWildyTeleports);
+                transportsPacked.put(packedLocation, usableWildyTeleports);
+            }
+
+            if (source != null) {
+                // The walker looks up the transports along a path on the shared config, so the teleports are
+                // recorded there as well. The sets are replaced instead of changed as other searches may read them.
+                source.transports.merge(key, new HashSet<>(usableWildyTeleports), (current, added) -> {
+                    Set<Transport> merged = new HashSet<>(current);
+                    merged.addAll(added);
+                    return merged;
+                });
             }
-            transportsPacked.put(packedLocation, usableWildyTeleports);
         }
     }
 
@@ -224,110 +708,150 @@ public class PathfinderConfig {
         }
     }
 
-    private void refreshTransports() {
-        useFairyRings &= !QuestState.NOT_STARTED.equals(Rs2Player.getQuestState(Quest.FAIRYTALE_II__CURE_A_QUEEN))
-                && (Rs2Inventory.contains(ItemID.DRAMEN_STAFF, ItemID.LUNAR_STAFF)
-                || Rs2Equipment.isWearing(ItemID.DRAMEN_STAFF)
-                || Rs2Equipment.isWearing(ItemID.LUNAR_STAFF)
-                || (ShortestPathPlugin.getPathfinderConfig().useBankItems && (Rs2Bank.hasItem(ItemID.DRAMEN_STAFF)|| Rs2Bank.hasItem(ItemID.LUNAR_STAFF)))
-                || Microbot.getVarbitValue(Varbits.DIARY_LUMBRIDGE_ELITE)  == 1);
-        useGnomeGliders &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.THE_GRAND_TREE));
-        useSpiritTrees &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TREE_GNOME_VILLAGE));
-        useQuetzals &= QuestState.FINISHED.equals(Rs2Player.getQuestState(Quest.TWILIGHTS_PROMISE));
-
-        transports.clear();
-        transportsPacked.clear();
-        usableTeleports.clear();
-         Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
-                for (Transport transport : entry.getValue()) {
-                    for (Quest quest : transport.getQuests()) {
-                        try {
-                            QuestState currentState = questStates.get(quest);
-                            QuestState newState = Rs2Player.getQuestState(quest);
-
-                            // Only update if the new state is more progressed
-                            if (currentState == null || isMoreProgressed(newState, currentState)) {
-                                questStates.put(quest, newState);
-                            }
-                        } catch (NullPointerException ignored) {
-                            System.out.println(ignored.getMessage());
+    /**
+     * Reads the quest states and the varbits and varplayers no event has been received for yet
+     */
+    private void refreshPlayerState(boolean refreshQuests) {
+        if (!refreshQuests && varbitValues.size() >= trackedVarbits.size()
+                && varplayerValues.size() >= trackedVarplayers.size()) {
+            return;
+        }
+
+        Microbot.getClientThread().runOnClientThreadOptional(() -> {
+            if (refreshQuests) {
+                for (Quest quest : trackedQuests) {
+                    try {
+                        QuestState currentState = questStates.get(quest);
+                        QuestState newState = Rs2Player.getQuestState(quest);
+
+                        // Only update if the new state is more progressed
+                        if (currentState == null || isMoreProgressed(newState, currentState)) {
+                            questStates.put(quest, newState);
                         }
+                    } catch (NullPointerException ignored) {
+                        // Handle exceptions if necessary
                     }
-                    for (TransportVarbit varbitCheck : transport.getVarbits()) {
-                        varbitValues.put(varbitCheck.getVarbitId(), Microbot.getVarbitValue(varbitCheck.getVarbitId()));
-                    }
-                    
-                    for (TransportVarPlayer varplayerCheck : transport.getVarplayers()) {
-                        varplayerValues.put(varplayerCheck.getVarplayerId(), Microbot.getVarbitPlayerValue(varplayerCheck.getVarplayerId()));
-                    }
+                }
+            }
+            for (int varbitId : trackedVarbits) {
+                if (!varbitValues.containsKey(varbitId)) {
+                    varbitValues.put(varbitId, Microbot.getVarbitValue(varbitId));
+                }
+            }
+            for (int varplayerId : trackedVarplayers) {
+                if (!varplayerValues.containsKey(varplayerId)) {
+                    varplayerValues.put(varplayerId, Microbot.getVarbitPlayerValue(varplayerId));
                 }
             }
             return true;
         });
+    }
 
-        for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
-            WorldPoint point = entry.getKey();
-            Set<Transport> usableTransports = new HashSet<>(entry.getValue().size());
-            for (Transport transport : entry.getValue()) {
+    private void refreshUnlocks() {
+        fairyRingsUnlocked = !QuestState.NOT_STARTED.equals(questStates.getOrDefault(Quest.FAIRYTALE_II__CURE_A_QUEEN, QuestState.NOT_STARTED))
+                && (Rs2Inventory.contains(ItemID.DRAMEN_STAFF, ItemID.LUNAR_STAFF)
+                || Rs2Equipment.isWearing(ItemID.DRAMEN_STAFF)
+                || Rs2Equipment.isWearing(ItemID.LUNAR_STAFF)
+                || (useBankItems && (Rs2Bank.hasItem(ItemID.DRAMEN_STAFF)|| Rs2Bank.hasItem(ItemID.LUNAR_STAFF)))
+                || varbitValues.getOrDefault(Varbits.DIARY_LUMBRIDGE_ELITE, 0) == 1);
+        gnomeGlidersUnlocked = QuestState.FINISHED.equals(questStates.get(Quest.THE_GRAND_TREE));
+        spiritTreesUnlocked = QuestState.FINISHED.equals(questStates.get(Quest.TREE_GNOME_VILLAGE));
+        quetzalsUnlocked = QuestState.FINISHED.equals(questStates.get(Quest.TWILIGHTS_PROMISE));
+    }
 
-                if (point == null && useTransport(transport)) {
-                    usableTeleports.add(transport);
-                } else if (useTransport(transport)) {
-                    usableTransports.add(transport);
+    /**
+     * Checks the transports depending on the changed player state again and rebuilds the usable transports from them
+     */
+    private void refreshTransports(Set<Dependency> changed) {
+        Set<Transport> usableTransports;
+        if (changed.contains(Dependency.SETTINGS)) {
+            usableTransports = new HashSet<>(allTransports.size());
+            for (Set<Transport> transportSet : allTransports.values()) {
+                for (Transport transport : transportSet) {
+                    if (useTransport(transport)) {
+                        usableTransports.add(transport);
+                    }
                 }
             }
-
-            if (point != null && !usableTransports.isEmpty()) {
-                transports.put(point, usableTransports);
-                transportsPacked.put(WorldPointUtil.packWorldPoint(point), usableTransports);
+        } else {
+            Set<Transport> dependent = new HashSet<>();
+            for (Dependency dependency : changed) {
+                dependent.addAll(dependentTransports.get(dependency));
+            }
+            usableTransports = new HashSet<>(this.usableTransports);
+            for (Transport transport : dependent) {
+                if (useTransport(transport)) {
+                    usableTransports.add(transport);
+                } else {
+                    usableTransports.remove(transport);
+                }
             }
         }
-    }
 
-    private void refreshRestrictionData() {
-        restrictedPointsPacked.clear();
-
-        Set<Quest> questsToFetch = new HashSet<>();
-        Set<Integer> varbitsToFetch = new HashSet<>();
-        Set<Integer> varplayersToFetch = new HashSet<>();
-        List<Restriction> allRestrictions = Stream.concat(resourceRestrictions.stream(), customRestrictions.stream())
-                .collect(Collectors.toList());
+        setUsableTransports(usableTransports);
+    }
 
-        for (Restriction entry : allRestrictions) {
-            questsToFetch.addAll(entry.getQuests());
-            
-            for (TransportVarbit varbitCheck : entry.getVarbits()) {
-                varbitsToFetch.add(varbitCheck.getVarbitId());
+    /**
+     * Builds the transport maps searched by the pathfinder from the usable transports. Package-private so the
+     * usable transports can also be given directly, e.g. by benchmarks which run without a logged in client.
+     */
+    void setUsableTransports(Set<Transport> usableTransports) {
+        ConcurrentHashMap<WorldPoint, Set<Transport>> transports = new ConcurrentHashMap<>(allTransports.size() / 2);
+        PrimitiveIntHashMap<Set<Transport>> transportsPacked = new PrimitiveIntHashMap<>(allTransports.size() / 2);
+        PrimitiveIntHashMap<Set<Transport>> transportsByDestinationPacked = new PrimitiveIntHashMap<>(allTransports.size() / 2);
+        Set<Transport> usableTeleports = new HashSet<>(allTransports.size() / 20);
+        for (Transport transport : usableTransports) {
+            WorldPoint origin = transport.getOrigin();
+            if (origin == null) {
+                usableTeleports.add(transport);
+                continue;
             }
 
-            for (TransportVarPlayer varplayerCheck : entry.getVarplayers()) {
-                varplayersToFetch.add(varplayerCheck.getVarplayerId());
+            Set<Transport> atOrigin = transports.get(origin);
+            if (atOrigin == null) {
+                atOrigin = new HashSet<>(4);
+                transports.put(origin, atOrigin);
+                transportsPacked.put(WorldPointUtil.packWorldPoint(origin), atOrigin);
             }
-        }
+            atOrigin.add(transport);
 
-        // Fetch quest states and varbit values directly
-        for (Quest quest : questsToFetch) {
-            try {
-                QuestState currentState = questStates.get(quest);
-                QuestState newState = Rs2Player.getQuestState(quest);
-
-                // Only update if the new state is more progressed
-                if (currentState == null || isMoreProgressed(newState, currentState)) {
-                    questStates.put(quest, newState);
-                }
-            } catch (NullPointerException ignored) {
-                // Handle exceptions if necessary
+            if (transport.getDestination() == null || TransportType.isTeleport(transport.getType())) {
+                continue;
             }
+            Set<Transport> arriving = new HashSet<>(2);
+            arriving.add(transport);
+            // Sets are appended to when the destination already has transports arriving at it
+            transportsByDestinationPacked.put(WorldPointUtil.packWorldPoint(transport.getDestination()), arriving);
         }
-        for (Integer varbitId : varbitsToFetch) {
-            varbitValues.put(varbitId, Microbot.getVarbitValue(varbitId));
+
+        if (!snapshot) {
+            transportGeneration++;
+            pathCache.invalidate();
         }
+        this.usableTransports = usableTransports;
+        this.transports = transports;
+        this.transportsPacked = transportsPacked;
+        this.transportsByDestinationPacked = transportsByDestinationPacked;
+        this.usableTeleports = usableTeleports;
+    }
 
-        for (Integer varplayerId : varplayersToFetch) {
-            varplayerValues.put(varplayerId, Microbot.getVarbitPlayerValue(varplayerId));
+    /**
+     * The cost of taking a transport, as if the player is walking 1 tile/tick.
+     * Teleports are penalised by the teleport distance so short walks are not replaced by a teleport.
+     */
+    public int getTravelTime(Transport transport) {
+        if (TransportType.isTeleport(transport.getType())) {
+            return distanceBeforeUsingTeleport + transport.getDuration();
         }
+        return transport.getDuration();
+    }
 
+    private void refreshRestrictionData() {
+        Set<Integer> restrictedPointsPacked = new HashSet<>();
+        List<Restriction> allRestrictions = Stream.concat(resourceRestrictions.stream(), customRestrictions.stream())
+                .collect(Collectors.toList());
+
+        // The quest states, varbits and varplayers of the restrictions are tracked with those of the transports
         for (Restriction entry : allRestrictions) {
             boolean restrictionApplies = false;
 
@@ -392,6 +916,8 @@ public class PathfinderConfig {
                 restrictedPointsPacked.add(entry.getPackedWorldPoint());
             }
         }
+
+        this.restrictedPointsPacked = restrictedPointsPacked;
     }
 
     public static boolean isInWilderness(WorldPoint p) {
@@ -495,7 +1021,7 @@ public class PathfinderConfig {
         // If you don't have the required currency & amount for transport
         if (transport.getCurrencyAmount() > 0 
             && !Rs2Inventory.hasItemAmount(transport.getCurrencyName(), transport.getCurrencyAmount())
-            && !(ShortestPathPlugin.getPathfinderConfig().useBankItems && Rs2Bank.count(transport.getCurrencyName()) >= transport.getCurrencyAmount())
+            && !(useBankItems && Rs2Bank.count(transport.getCurrencyName()) >= transport.getCurrencyAmount())
             ) return false;
         // Check if Teleports are globally disabled
         if (TransportType.isTeleport(transport.getType()) && Rs2Walker.disableTeleports) return false;
@@ -576,17 +1102,17 @@ public class PathfinderConfig {
             case SHIP:
                 return useShips;
             case FAIRY_RING:
-                return useFairyRings;
+                return useFairyRings && fairyRingsUnlocked;
             case GNOME_GLIDER:
-                return useGnomeGliders;
+                return useGnomeGliders && gnomeGlidersUnlocked;
             case MINECART:
                 return useMinecarts;
             case NPC:
                 return useNpcs;
             case QUETZAL:
-                return useQuetzals;
+                return useQuetzals && quetzalsUnlocked;
             case SPIRIT_TREE:
-                return useSpiritTrees;
+                return useSpiritTrees && spiritTreesUnlocked;
             case TELEPORTATION_ITEM:
                 return useTeleportationItems != TeleportationItem.NONE;
             case TELEPORTATION_MINIGAME:
@@ -627,7 +1153,7 @@ public class PathfinderConfig {
         return transport.getItemIdRequirements()
                 .stream()
                 .flatMap(Collection::stream)
-                .anyMatch(itemId -> Rs2Equipment.isWearing(itemId) || Rs2Inventory.hasItem(itemId) || (ShortestPathPlugin.getPathfinderConfig().useBankItems && Rs2Bank.hasItem(itemId)));
+                .anyMatch(itemId -> Rs2Equipment.isWearing(itemId) || Rs2Inventory.hasItem(itemId) || (useBankItems && Rs2Bank.hasItem(itemId)));
     }
 
     /** Checks if the player has any of the required equipment and inventory items for the restriction */
@@ -701,5 +1227,7 @@ public class PathfinderConfig {
     @Deprecated(since = "1.6.2 - Add Restrictions to restrictions.tsv", forRemoval = true)
     public void setRestrictedTiles(Restriction... restrictions){
         this.customRestrictions = List.of(restrictions);
+        trackRestrictions(customRestrictions);
+        markDirty(Dependency.SETTINGS);
     }
 }
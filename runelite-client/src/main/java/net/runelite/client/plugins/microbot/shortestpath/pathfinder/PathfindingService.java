@@ -0,0 +1,89 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs pathfinding queries on a pool of threads, so independent searches (e.g. with and without teleports, or with
+ * and without bank items) run at the same time. Every query searches with its own {@link PathfinderConfig#snapshot()}
+ * and the collision map, visited tiles and node storage of the thread it runs on, so queries share no mutable state.
+ */
+@Slf4j
+public class PathfindingService {
+    private final ExecutorService executor;
+
+    public PathfindingService() {
+        this(Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+    }
+
+    public PathfindingService(int threads) {
+        executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("shortest-path-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Starts a search. Cancelling the returned future also stops the search.
+     */
+    public Future<Pathfinder> submit(Pathfinder pathfinder) {
+        FutureTask<Pathfinder> task = new FutureTask<>(pathfinder, pathfinder) {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                pathfinder.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        executor.execute(task);
+        return task;
+    }
+
+    public Future<Pathfinder> submit(PathfinderConfig config, WorldPoint start, Set<WorldPoint> targets) {
+        return submit(new Pathfinder(config, start, targets));
+    }
+
+    /**
+     * Runs the searches in parallel and waits for all of them to finish.
+     * If the calling thread is interrupted the remaining searches are cancelled.
+     */
+    public List<Pathfinder> runAll(List<Pathfinder> pathfinders) throws InterruptedException {
+        List<Future<Pathfinder>> futures = new ArrayList<>(pathfinders.size());
+        for (Pathfinder pathfinder : pathfinders) {
+            futures.add(submit(pathfinder));
+        }
+
+        try {
+            for (Future<Pathfinder> future : futures) {
+                try {
+                    future.get();
+                } catch (CancellationException e) {
+                    // The search was cancelled and keeps the best path found until then
+                } catch (ExecutionException e) {
+                    log.warn("Pathfinding failed", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        return pathfinders;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+}
@@ -2,11 +2,22 @@ package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Util;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.zip.ZipEntry;
@@ -14,7 +25,16 @@ import java.util.zip.ZipInputStream;
 
 import static net.runelite.api.Constants.REGION_SIZE;
 
+@Slf4j
 public class SplitFlagMap {
+    /**
+     * Memory mapped collision map file, see {@link CollisionMapConverter} for the format.
+     * It is converted from the collision-map.zip resource when missing or out of date.
+     */
+    static final Path MAPPED_FILE = new File(RuneLite.CACHE_DIR, "shortest-path-collision-map.bin").toPath();
+    static final int MAGIC = 0x5350434D; // "SPCM"
+    static final int VERSION = 1;
+
     @Getter
     private static RegionExtent regionExtents;
 
@@ -41,6 +61,17 @@ public class SplitFlagMap {
         }
     }
 
+    private SplitFlagMap(FlagMap[] regionMaps, int widthInclusive) {
+        this.regionMaps = regionMaps;
+        this.widthInclusive = widthInclusive;
+        regionMapPlaneCounts = new byte[regionMaps.length];
+        for (int i = 0; i < regionMaps.length; i++) {
+            if (regionMaps[i] != null) {
+                regionMapPlaneCounts[i] = regionMaps[i].getPlaneCount();
+            }
+        }
+    }
+
     public boolean get(int x, int y, int z, int flag) {
         final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
         if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
@@ -69,6 +100,31 @@ public class SplitFlagMap {
         return regionMaps[index].get(x, y, z, flag);
     }
 
+    /**
+     * The flags of the 3x3 tiles around a tile in one word, see {@link FlagMap#getNeighborhood}
+     */
+    public int getNeighborhood(int x, int y, int z) {
+        final int localX = x % REGION_SIZE;
+        final int localY = y % REGION_SIZE;
+        if (localX > 0 && localX < REGION_SIZE - 1 && localY > 0 && localY < REGION_SIZE - 1) {
+            final int index = getIndex(x / REGION_SIZE, y / REGION_SIZE);
+            if (index < 0 || index >= regionMaps.length || regionMaps[index] == null) {
+                return 0;
+            }
+            return regionMaps[index].getNeighborhood(x, y, z);
+        }
+
+        // The neighbourhood crosses into other regions
+        int word = 0;
+        for (int dy = -1, bit = 0; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++, bit += 2) {
+                if (get(x + dx, y + dy, z, 0)) word |= 1 << bit;
+                if (get(x + dx, y + dy, z, 1)) word |= 1 << (bit + 1);
+            }
+        }
+        return word;
+    }
+
     private int getIndex(int regionX, int regionY) {
         return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
     }
@@ -85,33 +141,112 @@ public class SplitFlagMap {
         return (x & 0xFFFF) | ((y & 0xFFFF) << 16);
     }
 
+    /**
+     * Loads the collision map from the memory mapped file, converting the collision-map.zip resource into it first
+     * when needed. The flags are then read from the file by the OS page cache instead of being held on the heap.
+     */
     public static SplitFlagMap fromResources() {
-        Map<Integer, byte[]> compressedRegions = new HashMap<>();
-        try (ZipInputStream in = new ZipInputStream(ShortestPathPlugin.class.getResourceAsStream("collision-map.zip"))) {
-            int minX = Integer.MAX_VALUE;
-            int minY = Integer.MAX_VALUE;
-            int maxX = 0;
-            int maxY = 0;
+        byte[] zip;
+        try (InputStream in = ShortestPathPlugin.class.getResourceAsStream("collision-map.zip")) {
+            zip = Util.readAllBytes(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long checksum = CollisionMapConverter.checksum(zip);
+        try {
+            SplitFlagMap map = fromFile(MAPPED_FILE, checksum);
+            if (map == null) {
+                CollisionMapConverter.convert(new ByteArrayInputStream(zip), checksum, MAPPED_FILE);
+                map = fromFile(MAPPED_FILE, checksum);
+            }
+            if (map != null) {
+                return map;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to map the collision map file {}, loading the collision map onto the heap", MAPPED_FILE, e);
+        }
+
+        try {
+            return fromZip(new ByteArrayInputStream(zip));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    /**
+     * Maps a collision map file written by {@link CollisionMapConverter}.
+     * Returns null when the file is missing, has another format version or was converted from other data.
+     */
+    public static SplitFlagMap fromFile(Path file, long expectedChecksum) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The header is checked before mapping, as a mapped file cannot be replaced on every OS
+            ByteBuffer start = ByteBuffer.allocate(CollisionMapConverter.HEADER_SIZE);
+            while (start.hasRemaining() && channel.read(start) != -1) {
+                // Read until the header is complete or the file ends
+            }
+            if (start.hasRemaining() || start.getInt(0) != MAGIC || start.getInt(4) != VERSION
+                    || start.getLong(8) != expectedChecksum) {
+                return null;
+            }
+
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer header = buffer.duplicate();
+        header.position(16);
+        RegionExtent extents = new RegionExtent(header.getInt(), header.getInt(), header.getInt(), header.getInt());
+        int regionCount = header.getInt();
+
+        int widthInclusive = extents.getWidth() + 1;
+        FlagMap[] regionMaps = new FlagMap[widthInclusive * (extents.getHeight() + 1)];
+        for (int i = 0; i < regionCount; i++) {
+            int pos = header.getInt();
+            byte planeCount = (byte) header.getInt();
+            int offset = header.getInt();
+            int x = unpackX(pos);
+            int y = unpackY(pos);
+            if (offset < 0 || offset + planeCount * FlagMap.PLANE_BYTES > buffer.capacity()) {
+                throw new IOException("Region " + x + "_" + y + " is outside of the collision map file");
+            }
+            int index = (x - extents.getMinX()) + (y - extents.getMinY()) * widthInclusive;
+            regionMaps[index] = new FlagMap(x * REGION_SIZE, y * REGION_SIZE, planeCount, buffer, offset);
+        }
+
+        regionExtents = extents;
+        return new SplitFlagMap(regionMaps, widthInclusive);
+    }
+
+    /**
+     * Inflates every region of a collision map zip onto the heap
+     */
+    public static SplitFlagMap fromZip(InputStream zip) throws IOException {
+        Map<Integer, byte[]> compressedRegions = readRegions(zip);
+        regionExtents = RegionExtent.of(compressedRegions.keySet());
+        return new SplitFlagMap(compressedRegions);
+    }
+
+    /**
+     * Reads the flags of every region in a collision map zip by packed region position
+     */
+    static Map<Integer, byte[]> readRegions(InputStream zip) throws IOException {
+        Map<Integer, byte[]> compressedRegions = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(zip)) {
             ZipEntry entry;
             while ((entry = in.getNextEntry()) != null) {
                 String[] n = entry.getName().split("_");
                 final int x = Integer.parseInt(n[0]);
                 final int y = Integer.parseInt(n[1]);
-                minX = Math.min(minX, x);
-                minY = Math.min(minY, y);
-                maxX = Math.max(maxX, x);
-                maxY = Math.max(maxY, y);
-
                 compressedRegions.put(SplitFlagMap.packPosition(x, y), Util.readAllBytes(in));
             }
-
-            regionExtents = new RegionExtent(minX, minY, maxX, maxY);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
         }
-
-        return new SplitFlagMap(compressedRegions);
+        return compressedRegions;
     }
 
     @RequiredArgsConstructor
@@ -126,5 +261,19 @@ public class SplitFlagMap {
         public int getHeight() {
             return maxY - minY;
         }
+
+        static RegionExtent of(Iterable<Integer> packedPositions) {
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = 0;
+            int maxY = 0;
+            for (int pos : packedPositions) {
+                minX = Math.min(minX, unpackX(pos));
+                minY = Math.min(minY, unpackY(pos));
+                maxX = Math.max(maxX, unpackX(pos));
+                maxY = Math.max(maxY, unpackY(pos));
+            }
+            return new RegionExtent(minX, minY, maxX, maxY);
+        }
     }
 }
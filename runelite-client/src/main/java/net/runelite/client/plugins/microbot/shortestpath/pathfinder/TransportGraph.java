@@ -0,0 +1,694 @@
+package net.runelite.client.plugins.microbot.shortestpath.pathfinder;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.microbot.shortestpath.PrimitiveIntHashMap;
+import net.runelite.client.plugins.microbot.shortestpath.Transport;
+import net.runelite.client.plugins.microbot.shortestpath.WorldPointUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * An abstract graph over the whole map. The nodes are region border crossings ("portals") and the origin and
+ * destination of every transport. Walking edges connect the nodes that share a region and plane, and transport
+ * edges connect origins to destinations.
+ * <p>
+ * Landmark distance tables (ALT) are built over the graph, so long routes can be found by expanding a few hundred
+ * abstract nodes instead of every tile in between. The walking sections are then filled in with tile searches that
+ * never leave a single region.
+ * <p>
+ * The graph is built from every transport regardless of requirements; usability is checked per query against
+ * {@link PathfinderConfig#getTransportsPacked()}, which keeps the landmark distances admissible.
+ */
+@Slf4j
+public class TransportGraph {
+    private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
+    private static final int LANDMARK_COUNT = 12;
+    // Long open region borders are split so the crossing is never more than half this far from the shortest one
+    private static final int MAX_PORTAL_WIDTH = 32;
+    private static final int TILES = REGION_SIZE * REGION_SIZE;
+    private static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    private final int nodeCount;
+    private final int[] nodePacked;
+    private final PrimitiveIntHashMap<Integer> nodeIds;
+    /** Node ids by region and plane, see {@link #groupKey(int)} */
+    private final Map<Integer, int[]> groupNodes;
+
+    // Outgoing edges in compressed sparse row form; edges of node i are in [edgeStart[i], edgeStart[i + 1])
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeCost;
+    /** The transport taken by an edge, or null for walking edges */
+    private final Transport[] edgeTransport;
+    /** Transports without an origin, which can only be taken at the start of a route */
+    private final List<Transport> teleports;
+
+    /** Distance from each landmark to every node */
+    private final int[][] fromLandmark;
+    /** Distance from every node to each landmark */
+    private final int[][] toLandmark;
+
+    @Getter
+    private final long buildTimeNanos;
+
+    private TransportGraph(Builder builder, long startNanos) {
+        this.nodeCount = builder.nodeCount;
+        this.nodePacked = Arrays.copyOf(builder.nodePacked, builder.nodeCount);
+        this.nodeIds = builder.nodeIds;
+        this.groupNodes = builder.groupNodes;
+        this.teleports = builder.teleports;
+
+        // Counting sort the edges by their origin node
+        final int edgeCount = builder.edgeCount;
+        edgeStart = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            edgeStart[builder.edgeFrom[i] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+        edgeTarget = new int[edgeCount];
+        edgeCost = new int[edgeCount];
+        edgeTransport = new Transport[edgeCount];
+        int[] fill = Arrays.copyOf(edgeStart, nodeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = fill[builder.edgeFrom[i]]++;
+            edgeTarget[slot] = builder.edgeTo[i];
+            edgeCost[slot] = builder.edgeCost[i];
+            edgeTransport[slot] = builder.edgeTransports.get(i);
+        }
+
+        // The reverse graph is only needed to build the distances towards each landmark
+        int[] reverseStart = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            reverseStart[builder.edgeTo[i] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            reverseStart[i + 1] += reverseStart[i];
+        }
+        int[] reverseTarget = new int[edgeCount];
+        int[] reverseCost = new int[edgeCount];
+        fill = Arrays.copyOf(reverseStart, nodeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            int slot = fill[builder.edgeTo[i]]++;
+            reverseTarget[slot] = builder.edgeFrom[i];
+            reverseCost[slot] = builder.edgeCost[i];
+        }
+
+        // Farthest-point landmark selection: each landmark is the node furthest from all landmarks picked so far
+        List<int[]> from = new ArrayList<>(LANDMARK_COUNT);
+        List<int[]> to = new ArrayList<>(LANDMARK_COUNT);
+        int[] nearestLandmark = new int[nodeCount];
+        Arrays.fill(nearestLandmark, INFINITY);
+        int landmark = 0;
+        while (nodeCount > 0 && from.size() < LANDMARK_COUNT) {
+            int[] distances = dijkstra(edgeStart, edgeTarget, edgeCost, landmark);
+            from.add(distances);
+            to.add(dijkstra(reverseStart, reverseTarget, reverseCost, landmark));
+
+            int farthest = -1;
+            for (int v = 0; v < nodeCount; v++) {
+                nearestLandmark[v] = Math.min(nearestLandmark[v], distances[v]);
+                if (nearestLandmark[v] < INFINITY && (farthest == -1 || nearestLandmark[v] > nearestLandmark[farthest])) {
+                    farthest = v;
+                }
+            }
+            if (farthest == -1 || nearestLandmark[farthest] == 0) {
+                break; // Every reachable node is already a landmark
+            }
+            landmark = farthest;
+        }
+        fromLandmark = from.toArray(new int[0][]);
+        toLandmark = to.toArray(new int[0][]);
+
+        this.buildTimeNanos = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Builds the graph from the collision map and every known transport. This walks every region of the map and
+     * should not be called on the client thread.
+     */
+    public static TransportGraph build(CollisionMap map, Map<WorldPoint, Set<Transport>> allTransports) {
+        final long startNanos = System.nanoTime();
+        Builder builder = new Builder(map);
+        builder.addPortals();
+        builder.addTransports(allTransports);
+        builder.addRegionEdges();
+        TransportGraph graph = new TransportGraph(builder, startNanos);
+        log.debug("Built transport graph with {} nodes, {} edges and {} landmarks in {}ms",
+                graph.nodeCount, graph.edgeTarget.length, graph.fromLandmark.length, graph.buildTimeNanos / 1_000_000);
+        return graph;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Finds a route between two tiles over the graph and fills in the walking sections with region-bounded tile
+     * searches, adding the path to {@code pool}. Returns the index of the last node of the path, or
+     * {@link NodePool#NONE} when the graph cannot help and the caller should fall back to a tile-level search: both
+     * tiles in the same region, either end in the wilderness, or no route.
+     */
+    public int findPath(PathfinderConfig config, CollisionMap map, NodePool pool, int start, int target) {
+        final int startGroup = groupKey(start);
+        final int targetGroup = groupKey(target);
+        if (startGroup == targetGroup
+                || PathfinderConfig.isInWilderness(start)
+                || PathfinderConfig.isInWilderness(target)) {
+            // Wilderness teleport limits depend on the path taken, leave those to the tile search
+            return NodePool.NONE;
+        }
+
+        final int[] targetNodes = groupNodes.get(targetGroup);
+        if (targetNodes == null) {
+            return NodePool.NONE;
+        }
+
+        final int[] dist = new int[TILES];
+        final int[] queue = new int[TILES];
+
+        // Walking costs from the start tile to the nodes of its region
+        final int[] startNodes = groupNodes.get(startGroup);
+        final int[] startCosts = startNodes == null ? null : new int[startNodes.length];
+        if (startNodes != null) {
+            regionSearch(regionMasks(map, start), localIndex(start), dist, null, queue, null, -1);
+            for (int i = 0; i < startNodes.length; i++) {
+                int d = dist[localIndex(nodePacked[startNodes[i]])];
+                startCosts[i] = d < 0 ? INFINITY : d;
+            }
+        }
+
+        // Walking costs between the nodes of the target region and the target tile; walking is symmetric
+        final int[] targetCost = new int[nodeCount];
+        Arrays.fill(targetCost, -1);
+        regionSearch(regionMasks(map, target), localIndex(target), dist, null, queue, null, -1);
+        final int landmarks = fromLandmark.length;
+        final int[] targetFromLandmark = new int[landmarks];
+        final int[] targetToLandmark = new int[landmarks];
+        Arrays.fill(targetFromLandmark, INFINITY);
+        Arrays.fill(targetToLandmark, INFINITY);
+        for (int node : targetNodes) {
+            int d = dist[localIndex(nodePacked[node])];
+            if (d < 0) {
+                continue;
+            }
+            targetCost[node] = d;
+            for (int k = 0; k < landmarks; k++) {
+                targetFromLandmark[k] = Math.min(targetFromLandmark[k], fromLandmark[k][node] + d);
+                targetToLandmark[k] = Math.min(targetToLandmark[k], toLandmark[k][node] + d);
+            }
+        }
+
+        // A* over the graph, with two virtual nodes for the start and target tiles
+        final int startNode = nodeCount;
+        final int targetNode = nodeCount + 1;
+        final int[] g = new int[nodeCount + 2];
+        final int[] parent = new int[nodeCount + 2];
+        final Transport[] via = new Transport[nodeCount + 2];
+        final boolean[] closed = new boolean[nodeCount + 2];
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(parent, -1);
+        final boolean avoidWilderness = config.isAvoidWilderness();
+
+        PriorityQueue<Long> open = new PriorityQueue<>(256);
+        g[startNode] = 0;
+        open.add((long) startNode);
+
+        while (!open.isEmpty()) {
+            int node = (int) (open.poll() & 0xFFFFFFFFL);
+            if (closed[node]) {
+                continue;
+            }
+            closed[node] = true;
+
+            if (node == targetNode) {
+                break;
+            }
+
+            if (node == startNode) {
+                if (startNodes != null) {
+                    for (int i = 0; i < startNodes.length; i++) {
+                        relax(open, g, parent, via, startNode, startNodes[i], startCosts[i], null, targetFromLandmark, targetToLandmark);
+                    }
+                }
+                if (!config.isIgnoreTeleportAndItems()) {
+                    Set<Transport> usableTeleports = config.getUsableTeleports();
+                    for (Transport teleport : teleports) {
+                        if (usableTeleports.contains(teleport)) {
+                            int destination = nodeIds.get(WorldPointUtil.packWorldPoint(teleport.getDestination()));
+                            relax(open, g, parent, via, startNode, destination, config.getTravelTime(teleport), teleport, targetFromLandmark, targetToLandmark);
+                        }
+                    }
+                }
+                continue;
+            }
+
+            if (avoidWilderness && PathfinderConfig.isInWilderness(nodePacked[node])) {
+                continue;
+            }
+
+            if (targetCost[node] >= 0) {
+                relax(open, g, parent, via, node, targetNode, targetCost[node], null, targetFromLandmark, targetToLandmark);
+            }
+
+            Set<Transport> usable = null;
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                Transport transport = edgeTransport[e];
+                int cost = edgeCost[e];
+                if (transport != null) {
+                    if (usable == null) {
+                        usable = config.getTransportsPacked().get(nodePacked[node]);
+                    }
+                    if (usable == null || !usable.contains(transport)) {
+                        continue;
+                    }
+                    cost = config.getTravelTime(transport);
+                }
+                relax(open, g, parent, via, node, edgeTarget[e], cost, transport, targetFromLandmark, targetToLandmark);
+            }
+        }
+
+        if (!closed[targetNode]) {
+            return NodePool.NONE;
+        }
+
+        // Collect the route from start to target
+        int length = 0;
+        for (int node = targetNode; node != -1; node = parent[node]) {
+            length++;
+        }
+        int[] route = new int[length];
+        for (int node = targetNode, i = length - 1; node != -1; node = parent[node], i--) {
+            route[i] = node;
+        }
+
+        return refine(config, map, pool, start, target, route, via, dist, queue);
+    }
+
+    private void relax(PriorityQueue<Long> open, int[] g, int[] parent, Transport[] via,
+                       int from, int to, int cost, Transport transport, int[] targetFromLandmark, int[] targetToLandmark) {
+        if (cost >= INFINITY) {
+            return;
+        }
+        int candidate = g[from] + cost;
+        if (candidate >= g[to]) {
+            return;
+        }
+        g[to] = candidate;
+        parent[to] = from;
+        via[to] = transport;
+        long estimate = candidate + (long) heuristic(to, targetFromLandmark, targetToLandmark);
+        open.add((estimate << 32) | to);
+    }
+
+    /** The ALT lower bound from the triangle inequality over every landmark */
+    private int heuristic(int node, int[] targetFromLandmark, int[] targetToLandmark) {
+        if (node >= nodeCount) {
+            return 0;
+        }
+        int best = 0;
+        for (int k = 0; k < fromLandmark.length; k++) {
+            int fromL = fromLandmark[k][node];
+            int toL = toLandmark[k][node];
+            if (fromL < INFINITY && targetFromLandmark[k] < INFINITY) {
+                best = Math.max(best, targetFromLandmark[k] - fromL);
+            }
+            if (toL < INFINITY && targetToLandmark[k] < INFINITY) {
+                best = Math.max(best, toL - targetToLandmark[k]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Turns a route of graph nodes into a chain of tile nodes. Transports are kept as single hops and walking
+     * sections are searched tile by tile inside the region they belong to.
+     */
+    private int refine(PathfinderConfig config, CollisionMap map, NodePool pool, int start, int target, int[] route,
+                       Transport[] via, int[] dist, int[] queue) {
+        final int[] parent = new int[TILES];
+        final int[] steps = new int[TILES];
+        int node = pool.addWalk(start, NodePool.NONE);
+
+        for (int i = 1; i < route.length; i++) {
+            int id = route[i];
+            Transport transport = via[id];
+            if (transport != null) {
+                node = pool.addTransport(WorldPointUtil.packWorldPoint(transport.getDestination()), node, config.getTravelTime(transport));
+                continue;
+            }
+
+            int to = id == nodeCount + 1 ? target : nodePacked[id];
+            int from = pool.position(node);
+            if (from == to) {
+                continue;
+            }
+            if (groupKey(from) != groupKey(to)) {
+                // Portal crossing between two neighbouring regions
+                node = pool.addWalk(to, node);
+                continue;
+            }
+
+            int[] masks = regionMasks(map, from);
+            int count = regionPath(config, masks, from, to, dist, parent, queue, steps, false);
+            if (count < 0) {
+                // Blocked tiles can be left but not entered, so try the walk from the other end
+                count = regionPath(config, masks, to, from, dist, parent, queue, steps, true);
+            }
+            if (count < 0) {
+                return NodePool.NONE;
+            }
+
+            final int baseX = WorldPointUtil.unpackWorldX(from) & ~(REGION_SIZE - 1);
+            final int baseY = WorldPointUtil.unpackWorldY(from) & ~(REGION_SIZE - 1);
+            final int plane = WorldPointUtil.unpackWorldPlane(from);
+            for (int s = 0; s < count; s++) {
+                int local = steps[s];
+                node = pool.addWalk(WorldPointUtil.packWorldPoint(baseX + local % REGION_SIZE, baseY + local / REGION_SIZE, plane), node);
+            }
+        }
+
+        return pool.position(node) == target ? node : NodePool.NONE;
+    }
+
+    /**
+     * Finds the tiles walked from one tile to another in the same region, excluding the first tile.
+     * Returns the number of steps written to {@code steps}, or -1 when the tile cannot be reached.
+     */
+    private static int regionPath(PathfinderConfig config, int[] masks, int from, int to, int[] dist, int[] parent,
+                                  int[] queue, int[] steps, boolean reversed) {
+        final int baseX = WorldPointUtil.unpackWorldX(from) & ~(REGION_SIZE - 1);
+        final int baseY = WorldPointUtil.unpackWorldY(from) & ~(REGION_SIZE - 1);
+        final int plane = WorldPointUtil.unpackWorldPlane(from);
+        final Set<Integer> restricted = config.getRestrictedPointsPacked();
+        final boolean avoidWilderness = config.isAvoidWilderness();
+        final int fromLocal = localIndex(from);
+        final int toLocal = localIndex(to);
+
+        regionSearch(masks, fromLocal, dist, parent, queue, local -> {
+            int packed = WorldPointUtil.packWorldPoint(baseX + local % REGION_SIZE, baseY + local / REGION_SIZE, plane);
+            return restricted.contains(packed) || (avoidWilderness && PathfinderConfig.isInWilderness(packed));
+        }, toLocal);
+        if (dist[toLocal] < 0) {
+            return -1;
+        }
+
+        int count = dist[toLocal];
+        if (!reversed) {
+            for (int local = toLocal, i = count - 1; local != fromLocal; local = parent[local], i--) {
+                steps[i] = local;
+            }
+        } else {
+            // Walked from the target back to the origin, so read the parents in order and end on the target
+            int i = 0;
+            for (int local = parent[toLocal]; local != -1; local = parent[local]) {
+                steps[i++] = local;
+            }
+            count = i;
+        }
+        return count;
+    }
+
+    private interface TileFilter {
+        boolean blocked(int local);
+    }
+
+    /**
+     * Breadth-first search over a single region and plane. Fills {@code dist} with the number of steps from the start
+     * tile, or -1 when unreachable, and {@code parent} with the tile each tile was reached from.
+     * Stops early once the {@code stopAt} tile is expanded, pass -1 to search the whole region.
+     */
+    private static void regionSearch(int[] masks, int startLocal, int[] dist, int[] parent, int[] queue,
+                                     TileFilter filter, int stopAt) {
+        Arrays.fill(dist, -1);
+        int head = 0;
+        int tail = 0;
+        dist[startLocal] = 0;
+        if (parent != null) {
+            parent[startLocal] = -1;
+        }
+        queue[tail++] = startLocal;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == stopAt) {
+                return;
+            }
+
+            int mask = masks[current];
+            int x = current % REGION_SIZE;
+            int y = current / REGION_SIZE;
+            for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+                if ((mask & (1 << i)) == 0) {
+                    continue;
+                }
+                int nx = x + ORDINAL_VALUES[i].x;
+                int ny = y + ORDINAL_VALUES[i].y;
+                if (nx < 0 || ny < 0 || nx >= REGION_SIZE || ny >= REGION_SIZE) {
+                    continue;
+                }
+                int next = ny * REGION_SIZE + nx;
+                if (dist[next] >= 0 || (filter != null && filter.blocked(next))) {
+                    continue;
+                }
+                dist[next] = dist[current] + 1;
+                if (parent != null) {
+                    parent[next] = current;
+                }
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /** The traversable directions of every tile in the region and plane of a packed point */
+    private static int[] regionMasks(CollisionMap map, int packedPoint) {
+        final int baseX = WorldPointUtil.unpackWorldX(packedPoint) & ~(REGION_SIZE - 1);
+        final int baseY = WorldPointUtil.unpackWorldY(packedPoint) & ~(REGION_SIZE - 1);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        int[] masks = new int[TILES];
+        for (int y = 0; y < REGION_SIZE; y++) {
+            for (int x = 0; x < REGION_SIZE; x++) {
+                masks[y * REGION_SIZE + x] = map.traversableMask(baseX + x, baseY + y, plane);
+            }
+        }
+        return masks;
+    }
+
+    private static int localIndex(int packedPoint) {
+        return (WorldPointUtil.unpackWorldY(packedPoint) % REGION_SIZE) * REGION_SIZE
+                + WorldPointUtil.unpackWorldX(packedPoint) % REGION_SIZE;
+    }
+
+    /** Region id, as in {@link WorldPoint#getRegionID()}, combined with the plane */
+    private static int groupKey(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        return ((x >> 6) << 8 | (y >> 6)) | (WorldPointUtil.unpackWorldPlane(packedPoint) << 16);
+    }
+
+    private static int[] dijkstra(int[] start, int[] target, int[] cost, int source) {
+        int[] dist = new int[start.length - 1];
+        Arrays.fill(dist, INFINITY);
+        dist[source] = 0;
+        PriorityQueue<Long> queue = new PriorityQueue<>(1024);
+        queue.add((long) source);
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int node = (int) (entry & 0xFFFFFFFFL);
+            int d = (int) (entry >>> 32);
+            if (d > dist[node]) {
+                continue;
+            }
+            for (int e = start[node]; e < start[node + 1]; e++) {
+                int next = target[e];
+                int candidate = d + cost[e];
+                if (candidate < dist[next]) {
+                    dist[next] = candidate;
+                    queue.add(((long) candidate << 32) | next);
+                }
+            }
+        }
+        return dist;
+    }
+
+    private static class Builder {
+        private final CollisionMap map;
+        private final SplitFlagMap.RegionExtent extents = SplitFlagMap.getRegionExtents();
+        private final byte[] planes;
+
+        private int nodeCount;
+        private int[] nodePacked = new int[1024];
+        private final PrimitiveIntHashMap<Integer> nodeIds = new PrimitiveIntHashMap<>(1024);
+        private final Map<Integer, int[]> groupNodes = new HashMap<>();
+        private final List<Transport> teleports = new ArrayList<>();
+
+        private int edgeCount;
+        private int[] edgeFrom = new int[4096];
+        private int[] edgeTo = new int[4096];
+        private int[] edgeCost = new int[4096];
+        private final List<Transport> edgeTransports = new ArrayList<>(4096);
+
+        Builder(CollisionMap map) {
+            this.map = map;
+            this.planes = map.getPlanes();
+        }
+
+        private int planeCount(int regionX, int regionY) {
+            if (regionX < extents.getMinX() || regionX > extents.getMaxX()
+                    || regionY < extents.getMinY() || regionY > extents.getMaxY()) {
+                return 0;
+            }
+            return planes[(regionX - extents.getMinX()) + (regionY - extents.getMinY()) * (extents.getWidth() + 1)];
+        }
+
+        private int node(int packedPoint) {
+            Integer id = nodeIds.get(packedPoint);
+            if (id != null) {
+                return id;
+            }
+            if (nodeCount == nodePacked.length) {
+                nodePacked = Arrays.copyOf(nodePacked, nodeCount * 2);
+            }
+            nodePacked[nodeCount] = packedPoint;
+            nodeIds.put(packedPoint, nodeCount);
+            return nodeCount++;
+        }
+
+        private void edge(int from, int to, int cost, Transport transport) {
+            if (edgeCount == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+                edgeCost = Arrays.copyOf(edgeCost, edgeCount * 2);
+            }
+            edgeFrom[edgeCount] = from;
+            edgeTo[edgeCount] = to;
+            edgeCost[edgeCount] = cost;
+            edgeTransports.add(transport);
+            edgeCount++;
+        }
+
+        /** Adds a node pair for every open stretch of the east and north border of each region */
+        void addPortals() {
+            for (int regionY = extents.getMinY(); regionY <= extents.getMaxY(); regionY++) {
+                for (int regionX = extents.getMinX(); regionX <= extents.getMaxX(); regionX++) {
+                    int planeCount = planeCount(regionX, regionY);
+                    for (int z = 0; z < planeCount; z++) {
+                        if (planeCount(regionX + 1, regionY) > z) {
+                            addBorder(regionX * REGION_SIZE + REGION_SIZE - 1, regionY * REGION_SIZE, z, true);
+                        }
+                        if (planeCount(regionX, regionY + 1) > z) {
+                            addBorder(regionX * REGION_SIZE, regionY * REGION_SIZE + REGION_SIZE - 1, z, false);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addBorder(int x, int y, int z, boolean east) {
+            int runStart = -1;
+            for (int i = 0; i < REGION_SIZE; i++) {
+                boolean open = east ? map.e(x, y + i, z) : map.n(x + i, y, z);
+                if (open) {
+                    if (runStart < 0) {
+                        runStart = i;
+                    }
+                    if (i - runStart + 1 == MAX_PORTAL_WIDTH) {
+                        addPortal(x, y, z, east, (runStart + i) / 2);
+                        runStart = -1;
+                    }
+                } else if (runStart >= 0) {
+                    addPortal(x, y, z, east, (runStart + i - 1) / 2);
+                    runStart = -1;
+                }
+            }
+            if (runStart >= 0) {
+                addPortal(x, y, z, east, (runStart + REGION_SIZE - 1) / 2);
+            }
+        }
+
+        private void addPortal(int x, int y, int z, boolean east, int offset) {
+            int inside = east
+                    ? WorldPointUtil.packWorldPoint(x, y + offset, z)
+                    : WorldPointUtil.packWorldPoint(x + offset, y, z);
+            int outside = east
+                    ? WorldPointUtil.packWorldPoint(x + 1, y + offset, z)
+                    : WorldPointUtil.packWorldPoint(x + offset, y + 1, z);
+            int a = node(inside);
+            int b = node(outside);
+            edge(a, b, 1, null);
+            edge(b, a, 1, null);
+        }
+
+        void addTransports(Map<WorldPoint, Set<Transport>> allTransports) {
+            for (Map.Entry<WorldPoint, Set<Transport>> entry : allTransports.entrySet()) {
+                for (Transport transport : entry.getValue()) {
+                    WorldPoint origin = transport.getOrigin();
+                    WorldPoint destination = transport.getDestination();
+                    if (destination == null || destination.getX() < 0) {
+                        continue;
+                    }
+                    int to = node(WorldPointUtil.packWorldPoint(destination));
+                    if (entry.getKey() == null || origin == null) {
+                        teleports.add(transport);
+                    } else if (origin.getX() >= 0) {
+                        edge(node(WorldPointUtil.packWorldPoint(origin)), to, transport.getDuration(), transport);
+                    }
+                }
+            }
+        }
+
+        /** Connects every pair of nodes that can walk to each other without leaving their region and plane */
+        void addRegionEdges() {
+            Map<Integer, List<Integer>> groups = new HashMap<>();
+            for (int i = 0; i < nodeCount; i++) {
+                groups.computeIfAbsent(groupKey(nodePacked[i]), k -> new ArrayList<>()).add(i);
+            }
+
+            final int[] dist = new int[TILES];
+            final int[] queue = new int[TILES];
+            for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+                List<Integer> members = group.getValue();
+                int[] ids = new int[members.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = members.get(i);
+                }
+                groupNodes.put(group.getKey(), ids);
+                if (ids.length < 2) {
+                    continue;
+                }
+
+                int[] masks = regionMasks(map, nodePacked[ids[0]]);
+                int[][] costs = new int[ids.length][ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    regionSearch(masks, localIndex(nodePacked[ids[i]]), dist, null, queue, null, -1);
+                    for (int j = 0; j < ids.length; j++) {
+                        int d = dist[localIndex(nodePacked[ids[j]])];
+                        costs[i][j] = d < 0 ? INFINITY : d;
+                    }
+                }
+
+                // Blocked tiles such as fairy rings can be walked off but not onto, so walking edges are made
+                // symmetric with the cheapest direction found
+                for (int i = 0; i < ids.length; i++) {
+                    for (int j = 0; j < ids.length; j++) {
+                        int cost = Math.min(costs[i][j], costs[j][i]);
+                        if (i != j && cost < INFINITY) {
+                            edge(ids[i], ids[j], cost, null);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
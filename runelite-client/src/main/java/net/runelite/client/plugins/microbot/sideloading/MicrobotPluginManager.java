@@ -5,7 +5,6 @@ import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
-import com.google.common.reflect.ClassPath;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
@@ -66,11 +65,7 @@ public class MicrobotPluginManager {
                 {
                     MicrobotPluginClassLoader classLoader = new MicrobotPluginClassLoader(f, getClass().getClassLoader());
 
-                    List<Class<?>> plugins = ClassPath.from(classLoader)
-                            .getAllClasses()
-                            .stream()
-                            .map(ClassPath.ClassInfo::load)
-                            .collect(Collectors.toList());
+                    List<Class<?>> plugins = PluginManifest.loadJar(f, classLoader);
 
                     loadPlugins(plugins, null);
                 }
@@ -242,12 +237,7 @@ public class MicrobotPluginManager {
     public void loadCorePlugins(List<String> packages) throws IOException, PluginInstantiationException
     {
         SplashScreen.stage(.59, null, "Loading plugins");
-        ClassPath classPath = ClassPath.from(getClass().getClassLoader());
-
-        List<Class<?>> plugins = packages.stream()
-                .flatMap(packageName -> classPath.getTopLevelClassesRecursive(packageName).stream())
-                .map(ClassPath.ClassInfo::load)
-                .collect(Collectors.toList());
+        List<Class<?>> plugins = PluginManifest.loadPackages(getClass().getClassLoader(), packages, entry -> true);
 
         loadPlugins(plugins, (loaded, total) ->
                 SplashScreen.stage(.60, .70, null, "Loading plugins", loaded, total, false));
@@ -4,6 +4,7 @@ import java.awt.Graphics2D;
 import java.awt.Polygon;
 import java.awt.Shape;
 import java.awt.image.BufferedImage;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.runelite.api.Actor;
@@ -27,6 +28,47 @@ public class ActorModel implements Actor
 
 	private final Actor actor;
 
+	// Values read on the client thread when the model was added to an ActorSnapshot, so their getters do not wait
+	// for the client thread. They are only used during the tick they were read in, models kept for longer read
+	// the actor again.
+	@Getter(AccessLevel.NONE)
+	private volatile int capturedTick = -1;
+	@Getter(AccessLevel.NONE)
+	private String capturedName;
+	@Getter(AccessLevel.NONE)
+	private int capturedCombatLevel;
+	@Getter(AccessLevel.NONE)
+	private Actor capturedInteracting;
+	@Getter(AccessLevel.NONE)
+	private int capturedHealthRatio;
+	@Getter(AccessLevel.NONE)
+	private int capturedHealthScale;
+	@Getter(AccessLevel.NONE)
+	private WorldPoint capturedWorldLocation;
+	@Getter(AccessLevel.NONE)
+	private LocalPoint capturedLocalLocation;
+
+	/**
+	 * Reads the values which would otherwise be read on the client thread by every call of their getters.
+	 * Must be called on the client thread. The model returns these values until the next game tick.
+	 */
+	void capture(int tick)
+	{
+		capturedName = actor.getName();
+		capturedCombatLevel = actor.getCombatLevel();
+		capturedInteracting = actor.getInteracting();
+		capturedHealthRatio = actor.getHealthRatio();
+		capturedHealthScale = actor.getHealthScale();
+		capturedWorldLocation = actor.getWorldLocation();
+		capturedLocalLocation = actor.getLocalLocation();
+		capturedTick = tick;
+	}
+
+	private boolean isCaptured()
+	{
+		return capturedTick == Microbot.getClient().getTickCount();
+	}
+
 	@Override
 	public WorldView getWorldView()
 	{
@@ -36,12 +78,14 @@ public class ActorModel implements Actor
 	@Override
 	public int getCombatLevel()
 	{
+		if (isCaptured()) return capturedCombatLevel;
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getCombatLevel).orElse(0);
 	}
 
 	@Override
 	public @Nullable String getName()
 	{
+		if (isCaptured()) return capturedName;
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getName).orElse(null);
 	}
 
@@ -54,30 +98,35 @@ public class ActorModel implements Actor
 	@Override
 	public Actor getInteracting()
 	{
+		if (isCaptured()) return capturedInteracting;
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getInteracting).orElse(null);
 	}
 
 	@Override
 	public int getHealthRatio()
 	{
+		if (isCaptured()) return capturedHealthRatio;
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getHealthRatio).orElse(0);
 	}
 
 	@Override
 	public int getHealthScale()
 	{
+		if (isCaptured()) return capturedHealthScale;
 		return Microbot.getClientThread().runOnClientThreadOptional(actor::getHealthScale).orElse(0);
 	}
 
 	@Override
 	public WorldPoint getWorldLocation()
 	{
+		if (isCaptured()) return capturedWorldLocation;
 		return actor.getWorldLocation();
 	}
 
 	@Override
 	public LocalPoint getLocalLocation()
 	{
+		if (isCaptured()) return capturedLocalLocation;
 		return actor.getLocalLocation();
 	}
 
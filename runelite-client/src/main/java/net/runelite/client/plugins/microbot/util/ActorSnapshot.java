@@ -0,0 +1,138 @@
+package net.runelite.client.plugins.microbot.util;
+
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.npc.Rs2NpcModel;
+import net.runelite.client.plugins.microbot.util.player.Rs2PlayerModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The NPCs and players of the top level world view, read once per game tick on the client thread.
+ * <p>
+ * The models have their name, combat level, interacting target, health and location read in advance, so queries
+ * by {@link net.runelite.client.plugins.microbot.util.npc.Rs2Npc} and
+ * {@link net.runelite.client.plugins.microbot.util.player.Rs2Player} do not wait for the client thread. NPCs are
+ * sorted by distance to the local player and indexed by id and lower case name.
+ */
+public class ActorSnapshot {
+    private static final ActorSnapshot EMPTY = new ActorSnapshot(-1, Collections.emptyList(), Collections.emptyList());
+
+    private static volatile ActorSnapshot current = EMPTY;
+
+    @Getter
+    private final int tick;
+    /** NPCs with a name, closest to the local player first */
+    @Getter
+    private final List<Rs2NpcModel> npcs;
+    /** Players including the local player, closest to the local player first */
+    @Getter
+    private final List<Rs2PlayerModel> players;
+    private final Map<Integer, List<Rs2NpcModel>> npcsById = new HashMap<>();
+    private final Map<String, List<Rs2NpcModel>> npcsByName = new HashMap<>();
+
+    private ActorSnapshot(int tick, List<Rs2NpcModel> npcs, List<Rs2PlayerModel> players) {
+        this.tick = tick;
+        this.npcs = Collections.unmodifiableList(npcs);
+        this.players = Collections.unmodifiableList(players);
+        for (Rs2NpcModel npc : npcs) {
+            npcsById.computeIfAbsent(npc.getId(), k -> new ArrayList<>(2)).add(npc);
+            npcsByName.computeIfAbsent(npc.getName().toLowerCase(), k -> new ArrayList<>(2)).add(npc);
+        }
+    }
+
+    /**
+     * The snapshot of the current tick. When no snapshot was taken this tick yet, e.g. right after logging in, it is
+     * taken on the client thread first.
+     */
+    public static ActorSnapshot get() {
+        ActorSnapshot snapshot = current;
+        Client client = Microbot.getClient();
+        if (snapshot.tick == client.getTickCount()) {
+            return snapshot;
+        }
+        if (client.getGameState() != GameState.LOGGED_IN) {
+            return EMPTY;
+        }
+        return Microbot.getClientThread().runOnClientThreadOptional(ActorSnapshot::update).orElse(EMPTY);
+    }
+
+    /**
+     * Takes the snapshot of the current tick. Must be called on the client thread, MicrobotPlugin calls it on every
+     * game tick.
+     */
+    public static ActorSnapshot update() {
+        Client client = Microbot.getClient();
+        int tick = client.getTickCount();
+        if (current.tick == tick) {
+            return current;
+        }
+
+        WorldView worldView = client.getTopLevelWorldView();
+        Player localPlayer = client.getLocalPlayer();
+        if (worldView == null || localPlayer == null) {
+            return EMPTY;
+        }
+        LocalPoint origin = localPlayer.getLocalLocation();
+
+        List<Rs2NpcModel> npcs = new ArrayList<>();
+        for (NPC npc : worldView.npcs()) {
+            if (npc == null || npc.getName() == null) {
+                continue;
+            }
+            Rs2NpcModel model = new Rs2NpcModel(npc);
+            model.capture(tick);
+            npcs.add(model);
+        }
+
+        List<Rs2PlayerModel> players = new ArrayList<>();
+        for (Player player : worldView.players()) {
+            if (player == null) {
+                continue;
+            }
+            Rs2PlayerModel model = new Rs2PlayerModel(player);
+            model.capture(tick);
+            players.add(model);
+        }
+
+        Comparator<ActorModel> byDistance = Comparator.comparingInt(actor -> distance(origin, actor.getLocalLocation()));
+        npcs.sort(byDistance);
+        players.sort(byDistance);
+
+        ActorSnapshot snapshot = new ActorSnapshot(tick, npcs, players);
+        current = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Discards the snapshot, e.g. when logging out
+     */
+    public static void clear() {
+        current = EMPTY;
+    }
+
+    private static int distance(LocalPoint origin, LocalPoint location) {
+        return location == null ? Integer.MAX_VALUE : origin.distanceTo(location);
+    }
+
+    /** The NPCs with the id, closest first */
+    public List<Rs2NpcModel> getNpcs(int id) {
+        return npcsById.getOrDefault(id, Collections.emptyList());
+    }
+
+    /** The NPCs whose name equals the name, ignoring case, closest first */
+    public List<Rs2NpcModel> getNpcs(String name) {
+        return npcsByName.getOrDefault(name.toLowerCase(), Collections.emptyList());
+    }
+}
@@ -3,13 +3,15 @@ package net.runelite.client.plugins.microbot.util;
 import com.google.common.util.concurrent.Uninterruptibles;
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.ScriptRuntime;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
 
 public class Global {
-    static ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(10);
+    static ScheduledExecutorService scheduledExecutorService = ScriptRuntime.newExecutor("Global");
     static ScheduledFuture<?> scheduledFuture;
 
     public static ScheduledFuture<?> awaitExecutionUntil(Runnable callback, BooleanSupplier awaitedCondition, int time) {
@@ -45,15 +47,17 @@ public class Global {
     @SneakyThrows
     public static <T> T sleepUntilNotNull(Callable<T> method, int time) {
         if (Microbot.getClient().isClientThread()) return null;
-        boolean done;
-        T methodResponse;
-        long startTime = System.currentTimeMillis();
-        do {
-            methodResponse = method.call();
-            done = methodResponse != null;
-            sleep(100);
-        } while (!done && System.currentTimeMillis() - startTime < time);
-        return methodResponse;
+        AtomicReference<T> methodResponse = new AtomicReference<>();
+        WaiterRegistry.await(() -> {
+            methodResponse.set(call(method));
+            return methodResponse.get() != null;
+        }, null, 100, time);
+        return methodResponse.get();
+    }
+
+    @SneakyThrows
+    private static <T> T call(Callable<T> method) {
+        return method.call();
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition) {
@@ -62,17 +66,12 @@ public class Global {
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, int time) {
         if (Microbot.getClient().isClientThread()) return false;
-        boolean done = false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                done = awaitedCondition.getAsBoolean();
-                sleep(100);
-            } while (!done && System.currentTimeMillis() - startTime < time);
+            return WaiterRegistry.await(awaitedCondition, null, 100, time);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
-        return done;
+        return false;
     }
 
     public static boolean sleepUntil(BooleanSupplier awaitedCondition, Runnable action, long timeoutMillis, int sleepMillis) {
@@ -95,14 +94,8 @@ public class Global {
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                if (awaitedCondition.getAsBoolean()) {
-                    return true;
-                }
-                sleep(100);
-            } while (System.currentTimeMillis() - startTime < 5000);
+            return WaiterRegistry.await(awaitedCondition, null, 100, 5000);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
@@ -111,14 +104,8 @@ public class Global {
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                if (awaitedCondition.getAsBoolean()) {
-                    return true;
-                }
-                sleep(time);
-            } while (System.currentTimeMillis() - startTime < timeout);
+            return WaiterRegistry.await(awaitedCondition, null, time, timeout);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
@@ -127,17 +114,8 @@ public class Global {
 
     public static boolean sleepUntilTrue(BooleanSupplier awaitedCondition, BooleanSupplier resetCondition, int time, int timeout) {
         if (Microbot.getClient().isClientThread()) return false;
-        long startTime = System.currentTimeMillis();
         try {
-            do {
-                if (resetCondition.getAsBoolean()) {
-                    startTime = System.currentTimeMillis();
-                }
-                if (awaitedCondition.getAsBoolean()) {
-                    return true;
-                }
-                sleep(time);
-            } while (System.currentTimeMillis() - startTime < timeout);
+            return WaiterRegistry.await(awaitedCondition, resetCondition, time, timeout);
         } catch (Exception e) {
             Microbot.logStackTrace("Global Sleep: ", e);
         }
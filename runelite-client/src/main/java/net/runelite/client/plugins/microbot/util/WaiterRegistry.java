@@ -0,0 +1,97 @@
+package net.runelite.client.plugins.microbot.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The threads waiting in {@link Global#sleepUntil} and its variants.
+ * <p>
+ * A waiting thread parks instead of sleeping, and is unparked to check its condition again whenever
+ * {@link #signal()} is called, which MicrobotPlugin does every game tick. The other game events most conditions
+ * depend on, item container, varbit and local player animation changes, loaded widgets and chat messages, only
+ * {@link #markChanged()}, and the waiters are woken once for all of them on the next client tick by {@link #flush()}.
+ * Every waiter condition is therefore checked at most once per client tick however busy the area is, and a condition
+ * which holds after an event is still seen long before the rest of the poll interval. The condition is also checked
+ * every poll interval, for state which changes without any of these events.
+ */
+public final class WaiterRegistry {
+    private static final Set<Thread> waiting = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean changed = new AtomicBoolean();
+
+    private WaiterRegistry() {
+    }
+
+    /**
+     * Waits until the condition holds or the timeout passes, checking it on the calling thread after every event and
+     * at least every poll interval.
+     *
+     * @param condition      the condition to wait for
+     * @param resetCondition restarts the timeout whenever it holds, may be null
+     * @param pollMillis     the longest time between two checks
+     * @param timeoutMillis  the time to wait for the condition
+     * @return whether the condition holds
+     */
+    public static boolean await(BooleanSupplier condition, BooleanSupplier resetCondition, long pollMillis, long timeoutMillis) {
+        Thread thread = Thread.currentThread();
+        long pollNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(pollMillis, 1));
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long start = System.nanoTime();
+        waiting.add(thread);
+        try {
+            while (true) {
+                if (resetCondition != null && resetCondition.getAsBoolean()) {
+                    start = System.nanoTime();
+                }
+                if (condition.getAsBoolean()) {
+                    return true;
+                }
+                long remaining = timeoutNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(WaiterRegistry.class, Math.min(remaining, pollNanos));
+                // Like the sleep this replaces, an interrupt does not end the wait
+                Thread.interrupted();
+            }
+        } finally {
+            waiting.remove(thread);
+        }
+    }
+
+    /**
+     * Wakes the waiting threads to check their conditions
+     */
+    public static void signal() {
+        changed.set(false);
+        for (Thread thread : waiting) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Records that the game state changed, so the waiting threads are woken by the next {@link #flush()}
+     */
+    public static void markChanged() {
+        changed.set(true);
+    }
+
+    /**
+     * Wakes the waiting threads if the game state changed since they were last woken
+     */
+    public static void flush() {
+        if (changed.compareAndSet(true, false)) {
+            signal();
+        }
+    }
+
+    /**
+     * The number of threads waiting for a condition
+     */
+    public static int getWaiting() {
+        return waiting.size();
+    }
+}
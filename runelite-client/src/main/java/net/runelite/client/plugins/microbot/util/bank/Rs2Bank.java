@@ -23,6 +23,8 @@ import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
 import net.runelite.client.plugins.microbot.util.grandexchange.Rs2GrandExchange;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerMirror;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2Inventory;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.inventory.RunePouchType;
@@ -36,12 +38,14 @@ import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.security.Encryption;
 import net.runelite.client.plugins.microbot.util.security.Login;
 import net.runelite.client.plugins.microbot.util.settings.Rs2Settings;
+import net.runelite.client.plugins.microbot.util.state.AccountStateStore;
 import net.runelite.client.plugins.microbot.util.tile.Rs2Tile;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 import net.runelite.client.plugins.microbot.util.widget.Rs2Widget;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
 import java.util.List;
 import java.util.*;
 import java.util.function.IntPredicate;
@@ -52,7 +56,6 @@ import java.util.stream.Stream;
 import static net.runelite.api.Varbits.*;
 import static net.runelite.api.widgets.ComponentID.BANK_INVENTORY_ITEM_CONTAINER;
 import static net.runelite.api.widgets.ComponentID.BANK_ITEM_CONTAINER;
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.*;
 import static net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject.hoverOverObject;
 import static net.runelite.client.plugins.microbot.util.npc.Rs2Npc.hoverOverActor;
@@ -72,7 +75,10 @@ public class Rs2Bank {
     // Bank data caching system
     private static final String CONFIG_GROUP = "microbot";
     private static final String BANK_KEY = "bankitems";
+    private static final String BANK_STATE_KEY = "bank";
+    private static final int BANK_STATE_SCHEMA = 1;
     private static final Rs2BankData rs2BankData = new Rs2BankData();
+    private static final ItemContainerMirror bankMirror = new ItemContainerMirror(Integer.MAX_VALUE, true);
     private static final Gson gson = new Gson();
     private static String rsProfileKey;
     private static RuneScapeProfileType worldType;
@@ -1402,15 +1408,8 @@ public class Rs2Bank {
      *
      * @return bankItem
      */
-    @SuppressWarnings("UnnecessaryLocalVariable")
     private static Rs2ItemModel findBankItem(int id) {
-        List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-        if (bankItems == null) return null;
-        if (bankItems.stream().findAny().isEmpty()) return null;
-
-        Rs2ItemModel bankItem = bankItems.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
-
-        return bankItem;
+        return rs2BankData.getSnapshot().get(id);
     }
 
     /**
@@ -1435,19 +1434,12 @@ public class Rs2Bank {
      *
      * @return The item widget, or null if the item isn't found.
      */
-    @SuppressWarnings("UnnecessaryLocalVariable")
     private static Rs2ItemModel findBankItem(String name, boolean exact, int amount) {
-    List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-    if (bankItems == null || bankItems.isEmpty()) {
-        return null;
+        return rs2BankData.getSnapshot().getAll(name, exact)
+                .filter(x -> x.getQuantity() >= amount)
+                .findFirst()
+                .orElse(null);
     }
-    final String lowerCaseName = name.toLowerCase();
-    return bankItems.stream()
-            .filter(x -> exact ? x.getName().equalsIgnoreCase(lowerCaseName) : x.getName().toLowerCase().contains(lowerCaseName))
-            .filter(x -> x.getQuantity() >= amount)
-            .findAny()
-            .orElse(null);
-}
 
     /**
      * Finds an item in the bank based on a list of names.
@@ -1458,15 +1450,16 @@ public class Rs2Bank {
      * @return The first matching item widget, or null if no matching item is found.
      */
     private static Rs2ItemModel findBankItem(List<String> names, boolean exact, int amount) {
-        List<Rs2ItemModel> bankItems = rs2BankData.getBankItems();
-        if (bankItems == null || bankItems.isEmpty()) return null;
-
-        return bankItems.stream()
-                .filter(item -> names.stream().anyMatch(name -> exact
-                        ? item.getName().equalsIgnoreCase(name)
-                        : item.getName().toLowerCase().contains(name.toLowerCase())))
-                .filter(item -> item.getQuantity() >= amount)
-                .findFirst()
+        ItemContainerSnapshot bankItems = rs2BankData.getSnapshot();
+        if (bankItems.isEmpty()) return null;
+
+        return names.stream()
+                .map(name -> bankItems.getAll(name, exact)
+                        .filter(item -> item.getQuantity() >= amount)
+                        .findFirst()
+                        .orElse(null))
+                .filter(Objects::nonNull)
+                .min(Comparator.comparingInt(Rs2ItemModel::getSlot))
                 .orElse(null);
     }
 
@@ -1761,16 +1754,14 @@ public class Rs2Bank {
      * @param e The event containing the latest bank items.
      */
     public static void updateLocalBank(ItemContainerChanged e) {
-        List<Rs2ItemModel> list = updateItemContainer(InventoryID.BANK.getId(), e);
-        if (list != null) {
-            // Update the centralized bank data
-            rs2BankData.set(list);
-        }
+        if (e.getContainerId() != InventoryID.BANK.getId()) return;
+        // Update the centralized bank data, only the changed slots are read again
+        rs2BankData.set(bankMirror.update(e.getContainerId(), e.getItemContainer()));
     }
 
      
     /**
-     * Updates the cached bank data with the latest bank items and saves to config.
+     * Updates the cached bank data with the latest bank items and saves it to the state store.
      * 
      * @param items The current bank items
      */
@@ -1782,7 +1773,7 @@ public class Rs2Bank {
     }
 
     /**
-     * Loads the initial bank state from config. Should be called when a player logs in.
+     * Loads the initial bank state from the state store. Should be called when a player logs in.
      * Similar to QuestBankManager.loadInitialStateFromConfig().
      */
     public static void loadInitialBankStateFromConfig() {
@@ -1803,7 +1794,7 @@ public class Rs2Bank {
     }
 
     /**
-     * Loads bank state from config, handling profile changes.
+     * Loads bank state from the state store, handling profile changes.
      * Similar to QuestBank.loadState().
      */
     public static void loadState() {
@@ -1818,50 +1809,79 @@ public class Rs2Bank {
     }
 
     /**
-     * Loads bank data from RuneLite config system.
+     * Loads bank data from the state store of the account. A bank still cached in the RuneLite config by an older
+     * client is moved into the store.
      * Similar to QuestBank.loadBankFromConfig().
      */
     private static void loadBankFromConfig() {
         rsProfileKey = Microbot.getConfigManager().getRSProfileKey();
         worldType = RuneScapeProfileType.getCurrent(Microbot.getClient());
+        if (rsProfileKey == null) {
+            rs2BankData.setEmpty();
+            return;
+        }
+
+        AccountStateStore store = AccountStateStore.forAccount(rsProfileKey);
+        AccountStateStore.Reader reader = store.get(BANK_STATE_KEY);
+        if (reader == null) {
+            migrateBankFromConfig();
+            return;
+        }
 
-        String json = Microbot.getConfigManager().getRSProfileConfiguration(CONFIG_GROUP, BANK_KEY);
         try {
-            if (json != null && !json.isEmpty()) {
-                int[] data = gson.fromJson(json, int[].class);
-                rs2BankData.setIdQuantityAndSlot(data);
-                
-                // Load cached items if no live bank data
-                if (rs2BankData.getBankItems().isEmpty()) {
-                    // Cache is already loaded via setIdQuantityAndSlot
-                    log.info("Loaded {} cached bank items from config", rs2BankData.size());
-                }
-            } else {
-                rs2BankData.setEmpty();
-                log.debug("No cached bank data found in config");
+            if (reader.getSchemaVersion() != BANK_STATE_SCHEMA) {
+                throw new IllegalStateException("unknown bank schema " + reader.getSchemaVersion());
             }
+            rs2BankData.setIdQuantityAndSlot(Rs2BankData.decode(reader));
+            log.info("Loaded {} cached bank items", rs2BankData.size());
+        } catch (RuntimeException err) {
+            log.warn("Failed to read cached bank data, resetting cache", err);
+            rs2BankData.setEmpty();
+            saveBankToConfig();
+        }
+    }
+
+    /**
+     * Moves the bank cached as json in the RuneScape profile config into the state store
+     */
+    private static void migrateBankFromConfig() {
+        String json = Microbot.getConfigManager().getRSProfileConfiguration(CONFIG_GROUP, BANK_KEY);
+        if (json == null || json.isEmpty()) {
+            rs2BankData.setEmpty();
+            log.debug("No cached bank data found");
+            return;
+        }
+
+        try {
+            rs2BankData.setIdQuantityAndSlot(gson.fromJson(json, int[].class));
+            log.info("Loaded {} cached bank items from config", rs2BankData.size());
         } catch (JsonSyntaxException err) {
             log.warn("Failed to parse cached bank data from config, resetting cache", err);
             rs2BankData.setEmpty();
-            saveBankToConfig();
+        }
+
+        try {
+            AccountStateStore.forAccount(rsProfileKey).put(BANK_STATE_KEY, BANK_STATE_SCHEMA, Rs2BankData.encode(rs2BankData.getIdQuantityAndSlot()));
+            Microbot.getConfigManager().unsetRSProfileConfiguration(CONFIG_GROUP, BANK_KEY);
+        } catch (IOException e) {
+            log.warn("Failed to move cached bank data out of config", e);
         }
     }
 
     /**
-     * Saves the current bank state to RuneLite config system.
+     * Saves the current bank state to the state store of the account. Unchanged banks are not written again.
      * Similar to QuestBank.saveBankToConfig().
      */
     public static void saveBankToConfig() {
-        if (rsProfileKey == null || Microbot.getConfigManager() == null) {
+        if (rsProfileKey == null) {
             return;
         }
 
         try {
-            String json = gson.toJson(rs2BankData.getIdQuantityAndSlot());
-            Microbot.getConfigManager().setConfiguration(CONFIG_GROUP, rsProfileKey, BANK_KEY, json);
-            log.debug("Saved {} bank items to config cache", rs2BankData.size());
+            AccountStateStore.forAccount(rsProfileKey).put(BANK_STATE_KEY, BANK_STATE_SCHEMA, Rs2BankData.encode(rs2BankData.getIdQuantityAndSlot()));
+            log.debug("Saved {} bank items to the state store", rs2BankData.size());
         } catch (Exception e) {
-            log.error("Failed to save bank data to config", e);
+            log.error("Failed to save bank data", e);
         }
     }
 
@@ -1872,6 +1892,7 @@ public class Rs2Bank {
         rsProfileKey = null;
         worldType = null;
         rs2BankData.setEmpty();
+        bankMirror.clear();
         loggedInStateKnown = false;
         log.debug("Emptied bank state and cache");
     }
@@ -2226,10 +2247,7 @@ public class Rs2Bank {
      * @return the Rs2Item matching the item ID, or null if not found.
      */
     public static Rs2ItemModel getBankItem(int itemId) {
-        return bankItems().stream()
-                .filter(item -> item.getId() == itemId)
-                .findFirst()
-                .orElse(null);
+        return rs2BankData.getSnapshot().get(itemId);
     }
 
     /**
@@ -2240,12 +2258,7 @@ public class Rs2Bank {
      * @return the Rs2Item matching the item name, or null if not found.
      */
     public static Rs2ItemModel getBankItem(String itemName, boolean exact) {
-        return rs2BankData.getBankItems().stream()
-                .filter(item -> exact
-                        ? item.getName().equalsIgnoreCase(itemName)
-                        : item.getName().toLowerCase().contains(itemName.toLowerCase()))
-                .findFirst()
-                .orElse(null);
+        return rs2BankData.getSnapshot().get(itemName, exact);
     }
 
     /**
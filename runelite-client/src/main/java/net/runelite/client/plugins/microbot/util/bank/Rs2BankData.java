@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.microbot.util.bank;
 
 import lombok.Data;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerSnapshot;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
+import net.runelite.client.plugins.microbot.util.state.AccountStateStore;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,6 +15,8 @@ import java.util.List;
  */
 @Data
 public class Rs2BankData {
+    private static final int MAX_BANK_ITEMS = 0xFFFF;
+
     /**
      * Array storing bank item data in triplets: [id, quantity, slot, id, quantity, slot, ...]
      * Each item uses 3 consecutive array positions for complete bank state tracking.
@@ -20,19 +24,19 @@ public class Rs2BankData {
     int[] idQuantityAndSlot;
     
     /**
-     * Cached live list of bank items. Only rebuilt when idQuantityAndSlot changes.
-     * This prevents unnecessary rebuilding on every access.
+     * Indexed, immutable snapshot of the bank items. Only rebuilt when idQuantityAndSlot changes.
+     * A new snapshot is published on every change, so readers never see a half updated bank.
      */
-    private List<Rs2ItemModel> bankItems;
+    private volatile ItemContainerSnapshot snapshot;
     
     /**
-     * Flag to track if the cached bankItems list needs to be rebuilt.
+     * Flag to track if the cached snapshot needs to be rebuilt.
      */
-    private boolean needsRebuild = true;
+    private volatile boolean needsRebuild = true;
 
     public Rs2BankData() {
         idQuantityAndSlot = new int[0];
-        bankItems = new ArrayList<>();
+        snapshot = ItemContainerSnapshot.EMPTY;
         needsRebuild = true;
     }
 
@@ -46,7 +50,16 @@ public class Rs2BankData {
             setEmpty();
             return;
         }
-        
+        set(new ItemContainerSnapshot(items));
+    }
+
+    /**
+     * Sets bank data from a snapshot of the bank container.
+     *
+     * @param snapshot The current bank items
+     */
+    void set(ItemContainerSnapshot snapshot) {
+        List<Rs2ItemModel> items = snapshot.getItems();
         int[] newIdQuantityAndSlot = new int[items.size() * 3];
         for (int i = 0; i < items.size(); i++) {
             Rs2ItemModel item = items.get(i);
@@ -56,10 +69,7 @@ public class Rs2BankData {
             newIdQuantityAndSlot[baseIndex + 2] = item.getSlot();
         }
         idQuantityAndSlot = newIdQuantityAndSlot;
-        
-        // Update the live bankItems list directly to avoid rebuilding
-        bankItems.clear();
-        bankItems.addAll(items);
+        this.snapshot = snapshot;
         needsRebuild = false;
     }
 
@@ -81,7 +91,7 @@ public class Rs2BankData {
      */
     void setEmpty() {
         idQuantityAndSlot = new int[0];
-        bankItems.clear();
+        snapshot = ItemContainerSnapshot.EMPTY;
         needsRebuild = false;
     }
 
@@ -105,30 +115,44 @@ public class Rs2BankData {
     }
 
     /**
-     * Gets the live bank items list. This is the primary access method that avoids rebuilding.
+     * Gets the bank items. This is the primary access method that avoids rebuilding.
      * Only rebuilds the list if the cache data has changed since last access.
      * 
-     * @return Live list of Rs2ItemModel objects representing the cached bank items
+     * @return Immutable list of Rs2ItemModel objects representing the cached bank items
      */
     public List<Rs2ItemModel> getBankItems() {
+        return getSnapshot().getItems();
+    }
+
+    /**
+     * Gets the bank items indexed by id and name, rebuilding them if the cache data has changed since last access.
+     *
+     * @return Immutable snapshot of the cached bank items
+     */
+    public ItemContainerSnapshot getSnapshot() {
         if (needsRebuild) {
-            rebuildBankItemsList();
+            rebuildSnapshot();
         }
-        return bankItems;
+        return snapshot;
     }
 
     /**
-     * Rebuilds the bankItems list from the cached array data.
+     * Rebuilds the snapshot from the cached array data.
      * Called only when needsRebuild is true to minimize performance impact.
      */
-    private void rebuildBankItemsList() {
-        bankItems.clear();
-
+    private synchronized void rebuildSnapshot() {
+        if (!needsRebuild) {
+            return;
+        }
+        int[] idQuantityAndSlot = this.idQuantityAndSlot;
         if (idQuantityAndSlot == null || idQuantityAndSlot.length < 3) {
+            snapshot = ItemContainerSnapshot.EMPTY;
             needsRebuild = false;
             return;
         }
 
+        List<Rs2ItemModel> bankItems = new ArrayList<>(idQuantityAndSlot.length / 3);
+
         // Process items in triplets: [id, quantity, slot]
         for (int i = 0; i < idQuantityAndSlot.length - 2; i += 3) {
             int id = idQuantityAndSlot[i];
@@ -144,6 +168,7 @@ public class Rs2BankData {
                 continue;
             }
         }
+        snapshot = new ItemContainerSnapshot(bankItems);
         needsRebuild = false;
     }
 
@@ -175,4 +200,41 @@ public class Rs2BankData {
     public boolean isEmpty() {
         return size() == 0;
     }
+
+    /**
+     * Encodes [id, quantity, slot, ...] as the item count, then per item the slot and id as differences to the
+     * previous item and the quantity. Banks are stored in slot order, so most items take three or four bytes.
+     */
+    static AccountStateStore.Writer encode(int[] idQuantityAndSlot) {
+        AccountStateStore.Writer writer = new AccountStateStore.Writer();
+        writer.writeVarInt(idQuantityAndSlot.length / 3);
+        int slot = 0;
+        int id = 0;
+        for (int i = 0; i + 2 < idQuantityAndSlot.length; i += 3) {
+            writer.writeSignedVarInt(idQuantityAndSlot[i + 2] - slot);
+            writer.writeSignedVarInt(idQuantityAndSlot[i] - id);
+            writer.writeVarInt(idQuantityAndSlot[i + 1]);
+            slot = idQuantityAndSlot[i + 2];
+            id = idQuantityAndSlot[i];
+        }
+        return writer;
+    }
+
+    static int[] decode(AccountStateStore.Reader reader) {
+        int count = reader.readVarInt();
+        if (count < 0 || count > MAX_BANK_ITEMS) {
+            throw new IllegalStateException("bad bank item count " + count);
+        }
+        int[] idQuantityAndSlot = new int[count * 3];
+        int slot = 0;
+        int id = 0;
+        for (int i = 0; i < idQuantityAndSlot.length; i += 3) {
+            slot += reader.readSignedVarInt();
+            id += reader.readSignedVarInt();
+            idQuantityAndSlot[i] = id;
+            idQuantityAndSlot[i + 1] = reader.readVarInt();
+            idQuantityAndSlot[i + 2] = slot;
+        }
+        return idQuantityAndSlot;
+    }
 }
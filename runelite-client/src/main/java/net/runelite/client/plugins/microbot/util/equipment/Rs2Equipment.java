@@ -1,23 +1,20 @@
 package net.runelite.client.plugins.microbot.util.equipment;
 
 import net.runelite.api.EquipmentInventorySlot;
-import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.MenuAction;
 import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.globval.enums.InterfaceTab;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerMirror;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
 import net.runelite.client.plugins.microbot.util.tabs.Rs2Tab;
 import org.slf4j.event.Level;
 
 import java.awt.Rectangle;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -25,14 +22,14 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public class Rs2Equipment {
-    private static List<Rs2ItemModel> equipmentItems = Collections.emptyList();
+    private static final ItemContainerMirror equipmentMirror = new ItemContainerMirror(EquipmentInventorySlot.values().length, false);
 
     public static ItemContainer equipment() {
         return Microbot.getClient().getItemContainer(InventoryID.WORN);
     }
 
     public static List<Rs2ItemModel> items() {
-        return equipmentItems;
+        return equipmentMirror.getSnapshot().getItems();
     }
 
     public static void storeEquipmentItemsInMemory(ItemContainerChanged e) {
@@ -42,14 +39,7 @@ public class Rs2Equipment {
         final ItemContainer itemContainer = e.getItemContainer();
         if (itemContainer == null) return;
 
-        List<Rs2ItemModel> _equipmentItems = new ArrayList<>();
-        for (int i = 0; i < Math.min(itemContainer.getItems().length, EquipmentInventorySlot.values().length); i++) {
-            Item item = itemContainer.getItems()[i];
-            if (item.getId() == -1) continue;
-            ItemComposition itemComposition = Microbot.getClient().getItemDefinition(item.getId());
-            _equipmentItems.add(new Rs2ItemModel(item, itemComposition, i));
-        }
-        equipmentItems = Collections.unmodifiableList(_equipmentItems);
+        equipmentMirror.update(InventoryID.WORN, itemContainer);
     }
 
     @Deprecated(since = "Use interact", forRemoval = true)
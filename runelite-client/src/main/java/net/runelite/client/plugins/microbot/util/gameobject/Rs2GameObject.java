@@ -91,6 +91,17 @@ public class Rs2GameObject {
 			tile.getWallObject()
 		);
 
+	/**
+	 * The {@link SceneObjectIndex} object types returned by each extractor, so queries can be answered from the index.
+	 */
+	private static final Map<Function<Tile, ? extends Collection<? extends TileObject>>, Set<SceneObjectIndex.ObjectType>> EXTRACTOR_TYPES = Map.of(
+		GAMEOBJECT_EXTRACTOR, EnumSet.of(SceneObjectIndex.ObjectType.GAME_OBJECT),
+		GROUNDOBJECT_EXTRACTOR, EnumSet.of(SceneObjectIndex.ObjectType.GROUND_OBJECT),
+		DECORATIVEOBJECT_EXTRACTOR, EnumSet.of(SceneObjectIndex.ObjectType.DECORATIVE_OBJECT),
+		WALLOBJECT_EXTRACTOR, EnumSet.of(SceneObjectIndex.ObjectType.WALL_OBJECT),
+		TILEOBJECT_EXTRACTOR, EnumSet.of(SceneObjectIndex.ObjectType.DECORATIVE_OBJECT, SceneObjectIndex.ObjectType.GROUND_OBJECT, SceneObjectIndex.ObjectType.WALL_OBJECT)
+	);
+
 
     public static boolean interact(WorldPoint worldPoint) {
         return interact(worldPoint, "");
@@ -213,7 +224,7 @@ public class Rs2GameObject {
 
 	@Deprecated
     public static TileObject findObjectById(int id) {
-        return getAll(o -> o.getId() == id).stream().findFirst().orElse(null);
+        return getAll(idMatches(id)).stream().findFirst().orElse(null);
     }
 
     @Deprecated
@@ -242,17 +253,17 @@ public class Rs2GameObject {
         Player player = Microbot.getClient().getLocalPlayer();
         if (player == null) return null;
         LocalPoint anchor = player.getLocalLocation();
-        return getAll(o -> o.getId() == id).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
+        return getAll(idMatches(id)).stream().filter(withinTilesPredicate(Rs2LocalPoint.worldToLocalDistance(distance), anchor)).findFirst().orElse(null);
     }
 
     @Deprecated
     public static GameObject findObjectById(int id, int x) {
-        return getGameObject(o -> o.getId() == id && o.getWorldLocation().getX() == x);
+        return getGameObject(Rs2GameObject.<GameObject>idMatches(id).and(o -> o.getWorldLocation().getX() == x));
     }
 
     @Deprecated
     public static GameObject findObject(int id, WorldPoint worldPoint) {
-        return getGameObject(o -> o.getId() == id && o.getWorldLocation().equals(worldPoint));
+        return getGameObject(Rs2GameObject.<GameObject>idMatches(id).and(o -> o.getWorldLocation().equals(worldPoint)));
     }
     
     @Deprecated
@@ -352,7 +363,7 @@ public class Rs2GameObject {
 
     @Deprecated
     public static GameObject findObjectByImposter(int id, String optionName, boolean exact) {
-        return getGameObjects(o -> o.getId() == id)
+        return getGameObjects(idMatches(id))
                 .stream()
                 .filter(o -> {
                     ObjectComposition comp = convertToObjectComposition(o);
@@ -394,7 +405,7 @@ public class Rs2GameObject {
             return hasAction(comp, "Bank", false) || hasAction(comp, "Collect", false);
         };
 
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(Rs2BankID.bankIds), maxSearchRadius).stream()
                 .filter(bankableFilter)
                 .findFirst()
                 .orElse(null);
@@ -419,7 +430,7 @@ public class Rs2GameObject {
             if (comp == null) return false;
             return hasAction(comp, "Deposit", false);
         };
-        return getGameObjects(o -> Arrays.stream(Rs2BankID.bankIds).anyMatch(bid -> o.getId() == bid), maxSearchRadius).stream()
+        return getGameObjects(idMatches(Rs2BankID.bankIds), maxSearchRadius).stream()
                 .filter(depositableFilter)
                 .findFirst()
                 .orElse(null);
@@ -427,7 +438,7 @@ public class Rs2GameObject {
 
     public static WallObject findGrandExchangeBooth(int maxSearchRadius) {
         Integer[] grandExchangeBoothIds = new Integer[]{10060, 30389};
-        return getWallObjects(o -> Arrays.stream(grandExchangeBoothIds).anyMatch(gid -> o.getId() == gid) && Rs2Tile.isTileReachable(o.getWorldLocation()), maxSearchRadius).stream()
+        return getWallObjects(Rs2GameObject.<WallObject>idMatches(grandExchangeBoothIds).and(o -> Rs2Tile.isTileReachable(o.getWorldLocation())), maxSearchRadius).stream()
                 .findFirst()
                 .orElse(null);
     }
@@ -522,7 +533,7 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id) {
-        return getTileObject(o -> o.getId() == id);
+        return getTileObject(idMatches(id));
     }
 
     public static TileObject getTileObject(int id, int distance) {
@@ -538,17 +549,15 @@ public class Rs2GameObject {
     }
 
     public static TileObject getTileObject(int id, WorldPoint anchor, int distance) {
-        return getTileObject(o -> o.getId() == id, anchor, distance);
+        return getTileObject(idMatches(id), anchor, distance);
     }
 
     public static TileObject getTileObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()));
+        return getTileObject(idMatches(ids));
     }
 
     public static TileObject getTileObject(Integer[] ids, int distance) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getTileObject(o -> idSet.contains(o.getId()), distance);
+        return getTileObject(idMatches(ids), distance);
     }
 
     public static TileObject getTileObject(String objectName, boolean exact) {
@@ -728,23 +737,20 @@ public class Rs2GameObject {
     }
 
     public static GameObject getGameObject(int id, WorldPoint anchor, int distance) {
-        return getGameObject(o -> o.getId() == id, anchor, distance);
+        return getGameObject(idMatches(id), anchor, distance);
     }
 
     public static GameObject getGameObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(ids));
     }
 
     @Deprecated
     public static GameObject findObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()));
+        return getGameObject(idMatches(ids));
     }
 
     public static GameObject getGameObject(Integer[] ids, int distance) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGameObject(o -> idSet.contains(o.getId()), distance);
+        return getGameObject(idMatches(ids), distance);
     }
 
     public static GameObject getGameObject(String objectName, boolean exact, int distance) {
@@ -924,17 +930,15 @@ public class Rs2GameObject {
     }
 
     public static GroundObject getGroundObject(int id, WorldPoint anchor, int distance) {
-        return getGroundObject(o -> o.getId() == id, anchor, distance);
+        return getGroundObject(idMatches(id), anchor, distance);
     }
 
     public static GroundObject getGroundObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()));
+        return getGroundObject(idMatches(ids));
     }
 
     public static GroundObject getGroundObject(Integer[] ids, int distance) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getGroundObject(o -> idSet.contains(o.getId()), distance);
+        return getGroundObject(idMatches(ids), distance);
     }
 
     public static GroundObject getGroundObject(String objectName, boolean exact, int distance) {
@@ -1114,17 +1118,15 @@ public class Rs2GameObject {
     }
 
     public static WallObject getWallObject(int id, WorldPoint anchor, int distance) {
-        return getWallObject(o -> o.getId() == id, anchor, distance);
+        return getWallObject(idMatches(id), anchor, distance);
     }
 
     public static WallObject getWallObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()));
+        return getWallObject(idMatches(ids));
     }
 
     public static WallObject getWallObject(Integer[] ids, int distance) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getWallObject(o -> idSet.contains(o.getId()), distance);
+        return getWallObject(idMatches(ids), distance);
     }
 
     public static WallObject getWallObject(String objectName, boolean exact, int distance) {
@@ -1304,17 +1306,15 @@ public class Rs2GameObject {
     }
 
     public static DecorativeObject getDecorativeObject(int id, WorldPoint anchor, int distance) {
-        return getDecorativeObject(o -> o.getId() == id, anchor, distance);
+        return getDecorativeObject(idMatches(id), anchor, distance);
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()));
+        return getDecorativeObject(idMatches(ids));
     }
 
     public static DecorativeObject getDecorativeObject(Integer[] ids, int distance) {
-        Set<Integer> idSet = Stream.of(ids).collect(Collectors.toSet());
-        return getDecorativeObject(o -> idSet.contains(o.getId()), distance);
+        return getDecorativeObject(idMatches(ids), distance);
     }
 
     public static DecorativeObject getDecorativeObject(String objectName, boolean exact, int distance) {
@@ -1548,7 +1548,12 @@ public class Rs2GameObject {
             distance = Rs2LocalPoint.worldToLocalDistance(Constants.SCENE_SIZE);
         }
 
-        return getSceneObjects(extractor)
+        Player player = Microbot.getClient().getLocalPlayer();
+        if (player == null) return Collections.emptyList();
+
+        List<T> indexed = SceneObjectIndex.find(player.getWorldView(), EXTRACTOR_TYPES.get(extractor), predicate, anchorLocal, distance);
+        Stream<T> candidates = indexed != null ? indexed.stream() : getSceneObjects(extractor);
+        return candidates
                 .filter(withinTilesPredicate(distance, anchorLocal))
                 .filter(predicate)
                 .sorted(Comparator.comparingInt(o -> o.getLocalLocation().distanceTo(anchorLocal)))
@@ -1590,6 +1595,44 @@ public class Rs2GameObject {
                 : Optional.of(Rs2UiHelper.stripColTags(name));
     }
 
+	/**
+	 * Creates a predicate that matches TileObjects with the given id.
+	 * Queries with this predicate only look at the objects with the id instead of the whole scene.
+	 *
+	 * @param id  The object id to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object has the given id.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(int id)
+	{
+		return SceneObjectIndex.idFilter(new int[]{id}, obj -> obj.getId() == id);
+	}
+
+	/**
+	 * Creates a predicate that matches TileObjects with any of the given ids.
+	 *
+	 * @param ids The object ids to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object has one of the given ids.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(Integer[] ids)
+	{
+		return idMatches(Arrays.asList(ids));
+	}
+
+	/**
+	 * Creates a predicate that matches TileObjects with any of the given ids.
+	 *
+	 * @param ids The object ids to match.
+	 * @param <T> A type that extends TileObject.
+	 * @return A predicate that returns true if the object has one of the given ids.
+	 */
+	public static <T extends TileObject> Predicate<T> idMatches(Collection<Integer> ids)
+	{
+		Set<Integer> idSet = new HashSet<>(ids);
+		return SceneObjectIndex.idFilter(idSet.stream().mapToInt(Integer::intValue).toArray(), obj -> idSet.contains(obj.getId()));
+	}
+
 	/**
 	 * Creates a predicate that matches TileObjects whose name matches the given name.
 	 * Optionally, it can require an exact match or allow partial (contains) match.
@@ -1607,7 +1650,7 @@ public class Rs2GameObject {
 
         String lower = objectName.toLowerCase();
 
-        return obj -> {
+        return SceneObjectIndex.nameFilter(objectName, exact, obj -> {
             if (!ids.isEmpty() && !ids.contains(obj.getId())) {
                 return false;
             }
@@ -1615,7 +1658,7 @@ public class Rs2GameObject {
             return getCompositionName(obj)
                     .map(compName -> exact ? compName.equalsIgnoreCase(objectName) : compName.toLowerCase().contains(lower))
                     .orElse(false);
-        };
+        });
     }
 
 	/**
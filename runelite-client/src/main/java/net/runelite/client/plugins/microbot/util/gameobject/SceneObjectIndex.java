@@ -0,0 +1,399 @@
+package net.runelite.client.plugins.microbot.util.gameobject;
+
+import net.runelite.api.Client;
+import net.runelite.api.Constants;
+import net.runelite.api.GameObject;
+import net.runelite.api.GameState;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Perspective;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.TileObject;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.DecorativeObjectDespawned;
+import net.runelite.api.events.DecorativeObjectSpawned;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GroundObjectDespawned;
+import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.misc.Rs2UiHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * An index of the objects in the top level scene, so {@link Rs2GameObject} queries only look at the objects which
+ * can match instead of every tile of the scene.
+ * <p>
+ * Objects are indexed by id, by lower case name and in buckets of {@value #BUCKET_SIZE}x{@value #BUCKET_SIZE} tiles.
+ * The index is kept up to date from the object spawn and despawn events forwarded by the MicrobotPlugin, and rebuilt
+ * from the scene when a scene has loaded. Objects with impostors can change their name, so they are candidates for
+ * every name lookup.
+ */
+public class SceneObjectIndex {
+    public enum ObjectType {
+        GAME_OBJECT,
+        WALL_OBJECT,
+        GROUND_OBJECT,
+        DECORATIVE_OBJECT
+    }
+
+    private static final int BUCKET_SHIFT = 3;
+    private static final int BUCKET_SIZE = 1 << BUCKET_SHIFT;
+    private static final int BUCKETS = (Constants.SCENE_SIZE + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+
+    private static final Object lock = new Object();
+    private static final Map<TileObject, Entry> entries = new IdentityHashMap<>();
+    private static final Map<Integer, List<TileObject>> byId = new HashMap<>();
+    private static final Map<String, List<TileObject>> byName = new HashMap<>();
+    private static final List<TileObject> impostors = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private static final List<TileObject>[] buckets = new List[Constants.MAX_Z * BUCKETS * BUCKETS];
+    private static boolean built = false;
+
+    private static class Entry {
+        private final ObjectType type;
+        private final int plane;
+        private final int bucket;
+        private final String name;
+        private final boolean impostor;
+
+        private Entry(ObjectType type, int plane, int bucket, String name, boolean impostor) {
+            this.type = type;
+            this.plane = plane;
+            this.bucket = bucket;
+            this.name = name;
+            this.impostor = impostor;
+        }
+    }
+
+    /**
+     * A predicate which can be answered from the index, by the ids or the name of the objects it matches.
+     * Combining it with {@link #and} keeps the ids and name, so the combination is still looked up by them.
+     */
+    public static class Filter<T extends TileObject> implements Predicate<T> {
+        private final int[] ids;
+        private final String name;
+        private final boolean exact;
+        private final Predicate<T> test;
+
+        private Filter(int[] ids, String name, boolean exact, Predicate<T> test) {
+            this.ids = ids;
+            this.name = name;
+            this.exact = exact;
+            this.test = test;
+        }
+
+        @Override
+        public boolean test(T object) {
+            return test.test(object);
+        }
+
+        @Override
+        public Filter<T> and(Predicate<? super T> other) {
+            return new Filter<>(ids, name, exact, test.and(other));
+        }
+    }
+
+    public static <T extends TileObject> Filter<T> idFilter(int[] ids, Predicate<T> test) {
+        return new Filter<>(IntStream.of(ids).distinct().toArray(), null, false, test);
+    }
+
+    /**
+     * @param exact whether the names of the matching objects equal the name, or only contain it
+     */
+    public static <T extends TileObject> Filter<T> nameFilter(String name, boolean exact, Predicate<T> test) {
+        return new Filter<>(null, name.toLowerCase(), exact, test);
+    }
+
+    public static void onGameStateChanged(GameStateChanged event) {
+        switch (event.getGameState()) {
+            case LOGGED_IN:
+                rebuild();
+                break;
+            case LOADING:
+            case HOPPING:
+            case LOGIN_SCREEN:
+            case CONNECTION_LOST:
+                clear();
+                break;
+        }
+    }
+
+    public static void onGameObjectSpawned(GameObjectSpawned event) {
+        add(event.getTile(), event.getGameObject(), ObjectType.GAME_OBJECT);
+    }
+
+    public static void onGameObjectDespawned(GameObjectDespawned event) {
+        remove(event.getGameObject());
+    }
+
+    public static void onWallObjectSpawned(WallObjectSpawned event) {
+        add(event.getTile(), event.getWallObject(), ObjectType.WALL_OBJECT);
+    }
+
+    public static void onWallObjectDespawned(WallObjectDespawned event) {
+        remove(event.getWallObject());
+    }
+
+    public static void onGroundObjectSpawned(GroundObjectSpawned event) {
+        add(event.getTile(), event.getGroundObject(), ObjectType.GROUND_OBJECT);
+    }
+
+    public static void onGroundObjectDespawned(GroundObjectDespawned event) {
+        remove(event.getGroundObject());
+    }
+
+    public static void onDecorativeObjectSpawned(DecorativeObjectSpawned event) {
+        add(event.getTile(), event.getDecorativeObject(), ObjectType.DECORATIVE_OBJECT);
+    }
+
+    public static void onDecorativeObjectDespawned(DecorativeObjectDespawned event) {
+        remove(event.getDecorativeObject());
+    }
+
+    /**
+     * The objects of the given types on the plane of the world view which may match the predicate and may be within
+     * the distance of the anchor. The caller still has to test the predicate and distance of every object.
+     *
+     * @param distance the distance in local units
+     * @return the candidates, or null when the index cannot answer the query and the scene has to be searched
+     */
+    static <T extends TileObject> List<T> find(WorldView worldView, Set<ObjectType> types, Predicate<? super T> predicate,
+                                               LocalPoint anchor, int distance) {
+        if (!worldView.isTopLevel() || !ensureBuilt()) {
+            return null;
+        }
+
+        int plane = worldView.getPlane();
+        List<T> result = new ArrayList<>();
+        synchronized (lock) {
+            if (predicate instanceof Filter && ((Filter<?>) predicate).ids != null) {
+                for (int id : ((Filter<?>) predicate).ids) {
+                    collect(byId.get(id), types, plane, result);
+                }
+            } else if (predicate instanceof Filter && ((Filter<?>) predicate).name != null) {
+                Filter<?> filter = (Filter<?>) predicate;
+                if (filter.exact) {
+                    collect(byName.get(filter.name), types, plane, result);
+                } else {
+                    for (Map.Entry<String, List<TileObject>> named : byName.entrySet()) {
+                        if (named.getKey().contains(filter.name)) {
+                            collect(named.getValue(), types, plane, result);
+                        }
+                    }
+                }
+                collect(impostors, types, plane, result);
+            } else {
+                // The distance check of the caller counts a distance of 0 as the tiles next to the anchor
+                int radius = Math.max(distance, Perspective.LOCAL_TILE_SIZE) / Perspective.LOCAL_TILE_SIZE + 1;
+                int sceneX = anchor.getSceneX();
+                int sceneY = anchor.getSceneY();
+                int minBucketX = Math.max(0, (sceneX - radius) >> BUCKET_SHIFT);
+                int maxBucketX = Math.min(BUCKETS - 1, (sceneX + radius) >> BUCKET_SHIFT);
+                int minBucketY = Math.max(0, (sceneY - radius) >> BUCKET_SHIFT);
+                int maxBucketY = Math.min(BUCKETS - 1, (sceneY + radius) >> BUCKET_SHIFT);
+                for (int bucketX = minBucketX; bucketX <= maxBucketX; bucketX++) {
+                    for (int bucketY = minBucketY; bucketY <= maxBucketY; bucketY++) {
+                        collect(buckets[bucketIndex(plane, bucketX, bucketY)], types, plane, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends TileObject> void collect(List<TileObject> objects, Set<ObjectType> types, int plane, List<T> result) {
+        if (objects == null) {
+            return;
+        }
+        for (TileObject object : objects) {
+            Entry entry = entries.get(object);
+            if (entry.plane == plane && types.contains(entry.type)) {
+                result.add((T) object);
+            }
+        }
+    }
+
+    private static boolean ensureBuilt() {
+        synchronized (lock) {
+            if (built) {
+                return true;
+            }
+        }
+        if (Microbot.getClient().getGameState() != GameState.LOGGED_IN) {
+            return false;
+        }
+        // Object names are read from the object definitions, which has to happen on the client thread
+        return Microbot.getClientThread().runOnClientThreadOptional(() -> {
+            rebuild();
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Indexes every object of the top level scene again. Must be called on the client thread.
+     */
+    public static void rebuild() {
+        Client client = Microbot.getClient();
+        Scene scene = client.getTopLevelWorldView().getScene();
+        Tile[][][] tiles = scene.getTiles();
+        synchronized (lock) {
+            clear();
+            if (tiles == null) {
+                return;
+            }
+            for (int z = 0; z < Constants.MAX_Z; z++) {
+                for (int x = 0; x < Constants.SCENE_SIZE; x++) {
+                    for (int y = 0; y < Constants.SCENE_SIZE; y++) {
+                        Tile tile = tiles[z][x][y];
+                        if (tile == null) {
+                            continue;
+                        }
+                        for (GameObject gameObject : tile.getGameObjects()) {
+                            // Objects larger than a tile are on every tile they cover, index them once
+                            if (gameObject != null && gameObject.getSceneMinLocation().equals(tile.getSceneLocation())) {
+                                index(tile, gameObject, ObjectType.GAME_OBJECT);
+                            }
+                        }
+                        index(tile, tile.getWallObject(), ObjectType.WALL_OBJECT);
+                        index(tile, tile.getGroundObject(), ObjectType.GROUND_OBJECT);
+                        index(tile, tile.getDecorativeObject(), ObjectType.DECORATIVE_OBJECT);
+                    }
+                }
+            }
+            built = true;
+        }
+    }
+
+    public static void clear() {
+        synchronized (lock) {
+            built = false;
+            entries.clear();
+            byId.clear();
+            byName.clear();
+            impostors.clear();
+            for (List<TileObject> bucket : buckets) {
+                if (bucket != null) {
+                    bucket.clear();
+                }
+            }
+        }
+    }
+
+    private static void add(Tile tile, TileObject object, ObjectType type) {
+        synchronized (lock) {
+            // Objects spawned while the scene loads are indexed by the rebuild once it has loaded
+            if (built) {
+                index(tile, object, type);
+            }
+        }
+    }
+
+    private static void index(Tile tile, TileObject object, ObjectType type) {
+        if (object == null || entries.containsKey(object)) {
+            return;
+        }
+        WorldView worldView = object.getWorldView();
+        if (worldView != null && !worldView.isTopLevel()) {
+            return;
+        }
+        LocalPoint location = object.getLocalLocation();
+        int sceneX = location.getSceneX();
+        int sceneY = location.getSceneY();
+        if (sceneX < 0 || sceneY < 0 || sceneX >= Constants.SCENE_SIZE || sceneY >= Constants.SCENE_SIZE) {
+            return;
+        }
+
+        ObjectComposition composition = Microbot.getClient().getObjectDefinition(object.getId());
+        boolean impostor = composition != null && composition.getImpostorIds() != null;
+        String name = null;
+        if (composition != null && !impostor && composition.getName() != null && !composition.getName().equals("null")) {
+            name = Rs2UiHelper.stripColTags(composition.getName()).toLowerCase();
+        }
+
+        int plane = tile.getPlane();
+        int bucket = bucketIndex(plane, sceneX >> BUCKET_SHIFT, sceneY >> BUCKET_SHIFT);
+        entries.put(object, new Entry(type, plane, bucket, name, impostor));
+        byId.computeIfAbsent(object.getId(), k -> new ArrayList<>(2)).add(object);
+        if (impostor) {
+            impostors.add(object);
+        } else if (name != null) {
+            byName.computeIfAbsent(name, k -> new ArrayList<>(2)).add(object);
+        }
+        if (buckets[bucket] == null) {
+            buckets[bucket] = new ArrayList<>();
+        }
+        buckets[bucket].add(object);
+    }
+
+    private static void remove(TileObject object) {
+        synchronized (lock) {
+            Entry entry = entries.remove(object);
+            if (entry == null) {
+                return;
+            }
+            removeFrom(byId, object.getId(), object);
+            if (entry.impostor) {
+                removeIdentity(impostors, object);
+            } else if (entry.name != null) {
+                removeFrom(byName, entry.name, object);
+            }
+            removeIdentity(buckets[entry.bucket], object);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, List<TileObject>> map, K key, TileObject object) {
+        List<TileObject> objects = map.get(key);
+        if (objects != null && removeIdentity(objects, object) && objects.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    private static boolean removeIdentity(List<TileObject> objects, TileObject object) {
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                // Order does not matter, so move the last object into the gap
+                objects.set(i, objects.get(objects.size() - 1));
+                objects.remove(objects.size() - 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bucketIndex(int plane, int bucketX, int bucketY) {
+        return (plane * BUCKETS + bucketX) * BUCKETS + bucketY;
+    }
+
+    /**
+     * The number of indexed objects, for debugging
+     */
+    public static int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * All indexed objects, for debugging
+     */
+    public static List<TileObject> getAll() {
+        synchronized (lock) {
+            return Collections.unmodifiableList(new ArrayList<>(entries.keySet()));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import lombok.Getter;
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps an {@link ItemContainerSnapshot} of an item container up to date from {@code ItemContainerChanged} events.
+ * <p>
+ * Only the slots which changed are read again: an unchanged slot keeps its item, a slot whose quantity changed copies
+ * its item with the new quantity, and only a slot with a new item id looks up the item composition. This keeps a bank
+ * of hundreds of items cheap to update when a few of them move. Must be updated on the client thread.
+ */
+public class ItemContainerMirror {
+    private final int maxSlots;
+    private final boolean skipPlaceholders;
+
+    private int containerId = -1;
+    private int[] ids = new int[0];
+    private int[] quantities = new int[0];
+    /** The item of every slot, null for empty slots and skipped placeholders */
+    private Rs2ItemModel[] items = new Rs2ItemModel[0];
+
+    @Getter
+    private volatile ItemContainerSnapshot snapshot = ItemContainerSnapshot.EMPTY;
+
+    /**
+     * @param maxSlots         the slots to read, slots past it are ignored
+     * @param skipPlaceholders whether bank placeholders are left out of the snapshot
+     */
+    public ItemContainerMirror(int maxSlots, boolean skipPlaceholders) {
+        this.maxSlots = maxSlots;
+        this.skipPlaceholders = skipPlaceholders;
+    }
+
+    public ItemContainerMirror() {
+        this(Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Applies the changed slots of the container and publishes a new snapshot if anything changed
+     *
+     * @return the current snapshot
+     */
+    public ItemContainerSnapshot update(int containerId, ItemContainer container) {
+        assert Microbot.getClient().isClientThread();
+
+        if (containerId != this.containerId) {
+            // Another container, e.g. a different shop, shares nothing with the last one
+            clear();
+            this.containerId = containerId;
+        }
+
+        Item[] containerItems = container.getItems();
+        int size = Math.min(containerItems.length, maxSlots);
+        boolean changed = size < ids.length;
+        if (size != ids.length) {
+            int previousSize = ids.length;
+            ids = Arrays.copyOf(ids, size);
+            quantities = Arrays.copyOf(quantities, size);
+            items = Arrays.copyOf(items, size);
+            if (size > previousSize) {
+                Arrays.fill(ids, previousSize, size, -1);
+            }
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            Item item = containerItems[slot];
+            int id = item == null ? -1 : item.getId();
+            int quantity = item == null ? 0 : item.getQuantity();
+            if (id == ids[slot] && quantity == quantities[slot]) {
+                continue;
+            }
+            changed = true;
+
+            if (id == -1) {
+                items[slot] = null;
+            } else if (id == ids[slot]) {
+                // A skipped placeholder stays skipped
+                if (items[slot] != null) {
+                    items[slot] = items[slot].withQuantity(quantity);
+                }
+            } else {
+                ItemComposition composition = Microbot.getItemManager().getItemComposition(id);
+                boolean placeholder = skipPlaceholders && composition.getPlaceholderTemplateId() > 0;
+                items[slot] = placeholder ? null : new Rs2ItemModel(item, composition, slot);
+            }
+            ids[slot] = id;
+            quantities[slot] = quantity;
+        }
+
+        if (changed) {
+            List<Rs2ItemModel> list = new ArrayList<>(size);
+            for (Rs2ItemModel item : items) {
+                if (item != null) {
+                    list.add(item);
+                }
+            }
+            snapshot = new ItemContainerSnapshot(list);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Forgets the container, e.g. when logging out
+     */
+    public void clear() {
+        containerId = -1;
+        ids = new int[0];
+        quantities = new int[0];
+        items = new Rs2ItemModel[0];
+        snapshot = ItemContainerSnapshot.EMPTY;
+    }
+}
@@ -0,0 +1,214 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable copy of the items of an item container, indexed by id and name.
+ * <p>
+ * Ids are kept in a sorted primitive array with the slots and total quantity of every id, so id lookups are a binary
+ * search instead of a scan over every item. Names are indexed on the first name lookup, lower cased, because items
+ * loaded from the bank cache only read their name when it is asked for, see {@link ItemMetadataCache}. Script threads read a snapshot without
+ * locking, a changed container is published as a new snapshot by its {@link ItemContainerMirror}.
+ */
+public final class ItemContainerSnapshot {
+    public static final ItemContainerSnapshot EMPTY = new ItemContainerSnapshot(Collections.emptyList());
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    /** The items, in slot order */
+    @Getter
+    private final List<Rs2ItemModel> items;
+    /** The distinct item ids, sorted */
+    private final int[] ids;
+    /** The indexes into {@link #items} of {@code ids[i]} are {@code indexes[offsets[i]]} up to {@code indexes[offsets[i + 1]]} */
+    private final int[] offsets;
+    private final int[] indexes;
+    private final long[] quantities;
+    /** The sum of the quantities of all items */
+    @Getter
+    private final long totalQuantity;
+    /** Lower case name to the indexes into {@link #ids}, built on first use */
+    private volatile Map<String, int[]> names;
+
+    public ItemContainerSnapshot(List<Rs2ItemModel> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+
+        int size = items.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable, so the indexes of an id stay in slot order
+        Arrays.sort(order, (a, b) -> Integer.compare(items.get(a).getId(), items.get(b).getId()));
+
+        int[] ids = new int[size];
+        int[] offsets = new int[size + 1];
+        int[] indexes = new int[size];
+        long[] quantities = new long[size];
+        long totalQuantity = 0;
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            Rs2ItemModel item = items.get(order[i]);
+            if (distinct == 0 || ids[distinct - 1] != item.getId()) {
+                ids[distinct] = item.getId();
+                offsets[distinct] = i;
+                distinct++;
+            }
+            indexes[i] = order[i];
+            quantities[distinct - 1] += item.getQuantity();
+            totalQuantity += item.getQuantity();
+        }
+        offsets[distinct] = size;
+
+        this.ids = Arrays.copyOf(ids, distinct);
+        this.offsets = Arrays.copyOf(offsets, distinct + 1);
+        this.indexes = indexes;
+        this.quantities = Arrays.copyOf(quantities, distinct);
+        this.totalQuantity = totalQuantity;
+    }
+
+    /** The number of occupied slots */
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public Stream<Rs2ItemModel> stream() {
+        return items.stream();
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /** The first item with the id in slot order, or null */
+    public Rs2ItemModel get(int id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i < 0 ? null : items.get(indexes[offsets[i]]);
+    }
+
+    /** The items with any of the ids, in slot order */
+    public Stream<Rs2ItemModel> getAll(int... ids) {
+        int[] found = new int[0];
+        for (int id : ids) {
+            int i = Arrays.binarySearch(this.ids, id);
+            if (i >= 0 && IntStream.of(found).noneMatch(j -> j == i)) {
+                found = append(found, i);
+            }
+        }
+        return itemsOf(found);
+    }
+
+    /** The number of slots holding the id */
+    public int count(int id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i < 0 ? 0 : offsets[i + 1] - offsets[i];
+    }
+
+    /** The total quantity of the id over all slots */
+    public long quantity(int id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i < 0 ? 0 : quantities[i];
+    }
+
+    /**
+     * The items whose name equals the name, or contains it when not exact, ignoring case, in slot order
+     */
+    public Stream<Rs2ItemModel> getAll(String name, boolean exact) {
+        return itemsOf(idIndexes(name, exact));
+    }
+
+    /** The first item in slot order whose name matches, or null */
+    public Rs2ItemModel get(String name, boolean exact) {
+        return getAll(name, exact).findFirst().orElse(null);
+    }
+
+    public boolean contains(String name, boolean exact) {
+        return idIndexes(name, exact).length > 0;
+    }
+
+    /** The number of slots whose item name matches */
+    public int count(String name, boolean exact) {
+        int count = 0;
+        for (int i : idIndexes(name, exact)) {
+            count += offsets[i + 1] - offsets[i];
+        }
+        return count;
+    }
+
+    /** The total quantity of the items whose name matches */
+    public long quantity(String name, boolean exact) {
+        long quantity = 0;
+        for (int i : idIndexes(name, exact)) {
+            quantity += quantities[i];
+        }
+        return quantity;
+    }
+
+    private int[] idIndexes(String name, boolean exact) {
+        if (name == null) {
+            return NO_INDEXES;
+        }
+        Map<String, int[]> names = names();
+        String key = name.toLowerCase();
+        if (exact) {
+            return names.getOrDefault(key, NO_INDEXES);
+        }
+        int[] found = NO_INDEXES;
+        for (Map.Entry<String, int[]> entry : names.entrySet()) {
+            if (entry.getKey().contains(key)) {
+                for (int i : entry.getValue()) {
+                    found = append(found, i);
+                }
+            }
+        }
+        return found;
+    }
+
+    private Map<String, int[]> names() {
+        Map<String, int[]> names = this.names;
+        if (names == null) {
+            // Items restored from the bank cache read their names here, all in one client thread hand-off
+            ItemMetadataCache.load(ids);
+            names = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                String name = items.get(indexes[offsets[i]]).getName().toLowerCase();
+                names.put(name, append(names.getOrDefault(name, NO_INDEXES), i));
+            }
+            this.names = names;
+        }
+        return names;
+    }
+
+    private Stream<Rs2ItemModel> itemsOf(int[] idIndexes) {
+        if (idIndexes.length == 0) {
+            return Stream.empty();
+        }
+        if (idIndexes.length == 1) {
+            int i = idIndexes[0];
+            return IntStream.range(offsets[i], offsets[i + 1]).mapToObj(j -> items.get(indexes[j]));
+        }
+        return Arrays.stream(idIndexes)
+                .flatMap(i -> Arrays.stream(indexes, offsets[i], offsets[i + 1]))
+                .sorted()
+                .mapToObj(items::get);
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+}
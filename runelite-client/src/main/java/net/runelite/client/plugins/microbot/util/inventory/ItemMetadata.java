@@ -0,0 +1,78 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ParamID;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parts of an {@link ItemComposition} scripts ask for, read once on the client thread.
+ * Shared by every {@link Rs2ItemModel} of the item, see {@link ItemMetadataCache}.
+ */
+@Slf4j
+@Getter
+public final class ItemMetadata {
+    private static final int[] WEARABLE_ACTION_PARAMS = new int[]{
+            ParamID.OC_ITEM_OP1,
+            ParamID.OC_ITEM_OP2,
+            ParamID.OC_ITEM_OP3,
+            ParamID.OC_ITEM_OP4,
+            ParamID.OC_ITEM_OP5,
+            ParamID.OC_ITEM_OP6,
+            ParamID.OC_ITEM_OP7,
+            ParamID.OC_ITEM_OP8
+    };
+
+    private final int id;
+    private final String name;
+    private final boolean stackable;
+    private final boolean noted;
+    /** The unnoted item of a note, or the note of an unnoted item, -1 if there is none */
+    private final int linkedNoteId;
+    /** Whether the item can be traded, for a note whether the unnoted item can be traded */
+    private final boolean tradeable;
+    private final int haPrice;
+    /** The inventory actions, must not be modified */
+    private final String[] inventoryActions;
+    private final List<String> equipmentActions;
+    private final ItemComposition composition;
+
+    private ItemMetadata(ItemComposition composition, boolean tradeable, List<String> equipmentActions) {
+        this.id = composition.getId();
+        this.name = composition.getName();
+        this.stackable = composition.isStackable();
+        this.noted = composition.getNote() == 799;
+        this.linkedNoteId = composition.getLinkedNoteId();
+        this.tradeable = tradeable;
+        this.haPrice = composition.getHaPrice();
+        String[] inventoryActions = composition.getInventoryActions();
+        this.inventoryActions = inventoryActions == null ? new String[0] : inventoryActions.clone();
+        this.equipmentActions = equipmentActions;
+        this.composition = composition;
+    }
+
+    /**
+     * Reads the metadata of the composition, must be called on the client thread.
+     */
+    static ItemMetadata read(ItemComposition composition) {
+        boolean tradeable = composition.getNote() == 799
+                ? Microbot.getClient().getItemDefinition(composition.getLinkedNoteId()).isTradeable()
+                : composition.isTradeable();
+
+        List<String> equipmentActions = new ArrayList<>(WEARABLE_ACTION_PARAMS.length);
+        for (int param : WEARABLE_ACTION_PARAMS) {
+            try {
+                equipmentActions.add(composition.getStringValue(param));
+            } catch (Exception ex) {
+                equipmentActions.add("");
+                log.warn("Failed to get wearable action for index {} on item {}: {}", param, composition.getId(), ex.getMessage());
+            }
+        }
+        return new ItemMetadata(composition, tradeable, Collections.unmodifiableList(equipmentActions));
+    }
+}
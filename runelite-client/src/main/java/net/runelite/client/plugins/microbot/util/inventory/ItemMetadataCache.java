@@ -0,0 +1,90 @@
+package net.runelite.client.plugins.microbot.util.inventory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.runelite.api.ItemComposition;
+import net.runelite.client.callback.ClientThreadBatch;
+import net.runelite.client.plugins.microbot.Microbot;
+
+import java.util.Arrays;
+
+/**
+ * A bounded, process wide cache of {@link ItemMetadata} by item id.
+ * <p>
+ * Reading a cached item never waits for the client thread. Missing items are read on the client thread, several at
+ * once in a {@link ClientThreadBatch} with {@link #load(int...)}, so e.g. indexing the names of a bank restored from
+ * the config cache costs one client thread hand-off instead of one per item.
+ */
+public final class ItemMetadataCache {
+    /** Comfortably more than a full bank and every container open next to it */
+    private static final int MAXIMUM_SIZE = 16384;
+
+    private static final Cache<Integer, ItemMetadata> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    private ItemMetadataCache() {
+    }
+
+    /**
+     * The cached metadata of the item, or null without reading it
+     */
+    public static ItemMetadata getIfPresent(int id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * The metadata of the item, read on the client thread if it is not cached
+     *
+     * @return the metadata, or null if the item could not be read
+     */
+    public static ItemMetadata get(int id) {
+        ItemMetadata metadata = cache.getIfPresent(id);
+        if (metadata == null) {
+            load(id);
+            metadata = cache.getIfPresent(id);
+        }
+        return metadata;
+    }
+
+    /**
+     * The metadata of the item of the composition, read from the composition if it is not cached. Must be called on
+     * the client thread.
+     */
+    public static ItemMetadata get(ItemComposition composition) {
+        ItemMetadata metadata = cache.getIfPresent(composition.getId());
+        if (metadata == null) {
+            metadata = ItemMetadata.read(composition);
+            cache.put(composition.getId(), metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Reads the items which are not cached yet, all in one client thread hand-off
+     */
+    public static void load(int... ids) {
+        int[] missing = Arrays.stream(ids)
+                .filter(id -> id >= 0 && cache.getIfPresent(id) == null)
+                .distinct()
+                .toArray();
+        if (missing.length == 0) {
+            return;
+        }
+        // One read per item, each reads the composition, its linked note and equipment actions, and an item which
+        // fails to read does not drop the others
+        ClientThreadBatch batch = Microbot.getClientThread().batch();
+        for (int id : missing) {
+            batch.add(() -> get(Microbot.getItemManager().getItemComposition(id)));
+        }
+        batch.run();
+    }
+
+    public static long size() {
+        return cache.size();
+    }
+
+    public static void clear() {
+        cache.invalidateAll();
+    }
+}
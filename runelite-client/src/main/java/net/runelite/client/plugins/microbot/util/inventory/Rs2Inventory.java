@@ -1,7 +1,5 @@
 package net.runelite.client.plugins.microbot.util.inventory;
 
-import net.runelite.api.Item;
-import net.runelite.api.ItemComposition;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.MenuAction;
 import net.runelite.api.NPC;
@@ -63,7 +61,7 @@ public class Rs2Inventory {
     private static final int CAPACITY = COLUMNS * ROWS;
     private static final String[] EMPTY_ARRAY = new String[0];
 
-    private static List<Rs2ItemModel> inventoryItems = Collections.emptyList();
+    private static final ItemContainerMirror inventoryMirror = new ItemContainerMirror();
 
     public static ItemContainer inventory() {
         return Microbot.getClient().getItemContainer(InventoryID.INV);
@@ -76,18 +74,20 @@ public class Rs2Inventory {
         final ItemContainer itemContainer = e.getItemContainer();
         if (itemContainer == null) return;
 
-        List<Rs2ItemModel> _inventoryItems = new ArrayList<>();
-        for (int i = 0; i < itemContainer.getItems().length; i++) {
-            final Item item = itemContainer.getItems()[i];
-            if (item.getId() == -1) continue;
-            final ItemComposition itemComposition = Microbot.getClient().getItemDefinition(item.getId());
-            _inventoryItems.add(new Rs2ItemModel(item, itemComposition, i));
-        }
-        inventoryItems = Collections.unmodifiableList(_inventoryItems);
+        inventoryMirror.update(InventoryID.INV, itemContainer);
+    }
+
+    /**
+     * The items in the inventory, indexed by id and name.
+     *
+     * @return An immutable snapshot of the inventory as of the last change.
+     */
+    public static ItemContainerSnapshot snapshot() {
+        return inventoryMirror.getSnapshot();
     }
 
     public static Stream<Rs2ItemModel> items() {
-        return inventoryItems.stream();
+        return snapshot().stream();
     }
 
     public static Stream<Rs2ItemModel> items(Predicate<Rs2ItemModel> predicate) {
@@ -284,7 +284,8 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified IDs, false otherwise.
      */
     public static boolean contains(int... ids) {
-        return contains(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        ItemContainerSnapshot snapshot = snapshot();
+        return Arrays.stream(ids).anyMatch(snapshot::contains);
     }
 
     /**
@@ -295,7 +296,8 @@ public class Rs2Inventory {
      * @return True if the inventory contains all the specified names, false otherwise.
      */
     public static boolean contains(String... names) {
-        return contains(item -> Arrays.stream(names).anyMatch(name -> name.equalsIgnoreCase(item.getName())));
+        ItemContainerSnapshot snapshot = snapshot();
+        return Arrays.stream(names).anyMatch(name -> snapshot.contains(name, true));
     }
 
     /**
@@ -326,7 +328,7 @@ public class Rs2Inventory {
      * @return The count of items
      */
     public static int count() {
-        return (int) items().count();
+        return snapshot().size();
     }
 
     /**
@@ -348,7 +350,7 @@ public class Rs2Inventory {
      * @return The count of items that match the ID.
      */
     public static int count(int id) {
-        return count(item -> item.getId() == id);
+        return snapshot().count(id);
     }
 
     /**
@@ -359,8 +361,7 @@ public class Rs2Inventory {
      * @return The count of items that match the name.
      */
     public static int count(String name, boolean exact) {
-        return count(exact ? item -> item.getName().equalsIgnoreCase(name) :
-                item -> item.getName().toLowerCase().contains(name.toLowerCase()));
+        return snapshot().count(name, exact);
     }
 
     /**
@@ -371,7 +372,7 @@ public class Rs2Inventory {
      * @return The count of items that match the name.
      */
     public static int count(String name) {
-        return count(item -> item.getName().toLowerCase().contains(name.toLowerCase()));
+        return count(name, false);
     }
 
     /**
@@ -640,7 +641,7 @@ public class Rs2Inventory {
      * @return The first item that matches one of the IDs, or null if not found.
      */
     public static Rs2ItemModel get(int... ids) {
-        return get(item -> Arrays.stream(ids).anyMatch(id -> id == item.getId()));
+        return snapshot().getAll(ids).findFirst().orElse(null);
     }
 
     /**
@@ -664,8 +665,7 @@ public class Rs2Inventory {
      * @return The item with the specified name, or null if not found.
      */
     public static Rs2ItemModel get(String name, boolean exact) {
-        return get(exact ? x -> x.getName().equalsIgnoreCase(name) :
-                x -> x.getName().toLowerCase().contains(name.toLowerCase()));
+        return snapshot().get(name, exact);
     }
 
     /**
@@ -677,10 +677,9 @@ public class Rs2Inventory {
      * @return The item with the specified name, or null if not found.
      */
     public static Rs2ItemModel get(String name, boolean stackable, boolean exact) {
-        Predicate<Rs2ItemModel> filter = exact ? item -> item.getName().equalsIgnoreCase(name) :
-                item -> item.getName().toLowerCase().contains(name.toLowerCase());
-        if (stackable) filter = filter.and(Rs2ItemModel::isStackable);
-        return get(filter);
+        Stream<Rs2ItemModel> items = snapshot().getAll(name, exact);
+        if (stackable) items = items.filter(Rs2ItemModel::isStackable);
+        return items.findFirst().orElse(null);
     }
 
     /**
@@ -738,7 +737,7 @@ public class Rs2Inventory {
      * @return The quantity of the item if found, otherwise 0.
      */
     public static int itemQuantity(int id) {
-        return itemQuantity(item -> item.getId() == id);
+        return (int) snapshot().quantity(id);
     }
 
     /**
@@ -749,8 +748,7 @@ public class Rs2Inventory {
      * @return The quantity of the item if found, otherwise 0.
      */
     public static int itemQuantity(String itemName, boolean exact) {
-        return itemQuantity(exact ? item -> item.getName().equalsIgnoreCase(itemName) :
-                item -> item.getName().toLowerCase().contains(itemName.toLowerCase()));
+        return (int) snapshot().quantity(itemName, exact);
     }
 
     /**
@@ -1947,7 +1945,7 @@ public class Rs2Inventory {
      * @return True if the inventory changes within the specified timeout, false otherwise.
      */
     public static boolean waitForInventoryChanges(Runnable actionWhileWaiting, int time, int timeout) {
-        final List<Rs2ItemModel> initialInventory = inventoryItems;
+        final ItemContainerSnapshot initialInventory = snapshot();
 
         return sleepUntilTrue(() -> {
             actionWhileWaiting.run();
@@ -1959,13 +1957,13 @@ public class Rs2Inventory {
      * Checks whether the inventory has changed.
      *
      * @param initialInventory The snapshot of the inventory to compare against
-     *                         initially initialInventory == inventoryItems must be true, otherwise this check won't work
+     *                         initially initialInventory == snapshot() must be true, otherwise this check won't work
      *                         additionally two inventories which are identical can still count as changed i.e.
      *                         adding and removing a log
      * @return True if the inventory is unchanged, false otherwise.
      */
-    private static boolean hasInventoryChanged(List<Rs2ItemModel> initialInventory) {
-        return inventoryItems != initialInventory; // TODO: && !inventoryItems.equals(initialInventory);
+    private static boolean hasInventoryChanged(ItemContainerSnapshot initialInventory) {
+        return snapshot() != initialInventory;
     }
 
     /**
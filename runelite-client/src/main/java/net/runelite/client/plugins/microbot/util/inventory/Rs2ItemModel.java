@@ -7,11 +7,11 @@ import net.runelite.api.EquipmentInventorySlot;
 import net.runelite.api.Item;
 import net.runelite.api.ItemComposition;
 import net.runelite.api.gameval.ItemID;
-import net.runelite.api.ParamID;
+import net.runelite.client.callback.ClientThreadBatch;
 import net.runelite.client.plugins.microbot.Microbot;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiPredicate;
@@ -28,44 +28,38 @@ public class Rs2ItemModel {
 	private int slot = -1;
 	private String name;
 	private String[] inventoryActions;
-    @Getter
-	private List<String> equipmentActions = new ArrayList<>();
+	private List<String> equipmentActions = Collections.emptyList();
 	private boolean isStackable;
 	private boolean isNoted;
 	private boolean isTradeable;
+	private int haPrice;
 	private ItemComposition itemComposition;
-	private int[] wearableActionIndexes = new int[]{
-            ParamID.OC_ITEM_OP1,
-            ParamID.OC_ITEM_OP2,
-            ParamID.OC_ITEM_OP3,
-            ParamID.OC_ITEM_OP4,
-            ParamID.OC_ITEM_OP5,
-            ParamID.OC_ITEM_OP6,
-            ParamID.OC_ITEM_OP7,
-            ParamID.OC_ITEM_OP8
-	};
 
 
     public Rs2ItemModel(Item item, ItemComposition itemComposition, int slot) {
         this.id = item.getId();
         this.quantity = item.getQuantity();
-        this.name = itemComposition.getName();
         this.slot = slot;
-        this.isStackable = itemComposition.isStackable();
-        this.isNoted = itemComposition.getNote() == 799;
-        // This is to ensure the item is linked correctly if it's noted
-        if (this.isNoted) {
-            Microbot.getClientThread().runOnClientThreadOptional(() ->
-                    Microbot.getClient().getItemDefinition(itemComposition.getLinkedNoteId())).ifPresent(itemDefinition -> this.isTradeable = itemDefinition.isTradeable());
-        } else {
-            this.isTradeable = itemComposition.isTradeable();
-        }
-        this.inventoryActions = itemComposition.getInventoryActions();
-        this.itemComposition = itemComposition;
-        Microbot.getClientThread().runOnClientThreadOptional(() -> {
-            addEquipmentActions(itemComposition);
-       	    return true;
-        });
+        // Items of the same id share their metadata, so only the first one reads the linked note and equipment actions
+        apply(Microbot.getClient().isClientThread()
+                ? ItemMetadataCache.get(itemComposition)
+                : ItemMetadataCache.get(id));
+    }
+
+    /**
+     * Copies the item with another quantity, without reading its composition again.
+     */
+    Rs2ItemModel withQuantity(int quantity) {
+        Rs2ItemModel copy = new Rs2ItemModel(id, quantity, slot);
+        copy.name = name;
+        copy.inventoryActions = inventoryActions;
+        copy.equipmentActions = equipmentActions;
+        copy.isStackable = isStackable;
+        copy.isNoted = isNoted;
+        copy.isTradeable = isTradeable;
+        copy.haPrice = haPrice;
+        copy.itemComposition = itemComposition;
+        return copy;
     }
 
     /**
@@ -98,36 +92,34 @@ public class Rs2ItemModel {
         this.isTradeable = false;
         this.inventoryActions = new String[0];
         this.itemComposition = null;
-        this.equipmentActions = new ArrayList<>();
+        this.equipmentActions = Collections.emptyList();
     }
 
     /**
      * Lazy loads the ItemComposition if not already loaded.
      * This ensures we can work with cached items while minimizing performance impact.
+     * Items already in the {@link ItemMetadataCache} load without waiting for the client thread.
      */
     private void ensureCompositionLoaded() {
-        
         if (itemComposition == null && id > 0) {
-            itemComposition = Microbot.getClientThread().runOnClientThreadOptional(()->Microbot.getItemManager().getItemComposition(id)).orElse(null);
-            if (itemComposition != null) {
-                this.name = itemComposition.getName();
-                this.isStackable = itemComposition.isStackable();
-                this.isNoted = itemComposition.getNote() == 799;
-                if (this.isNoted) {
-                    Microbot.getClientThread().runOnClientThreadOptional(() ->
-                            Microbot.getClient().getItemDefinition(itemComposition.getLinkedNoteId())).ifPresent(itemDefinition -> this.isTradeable = itemDefinition.isTradeable());
-                } else {
-                    this.isTradeable = itemComposition.isTradeable();
-                }
-                this.inventoryActions = itemComposition.getInventoryActions();
-				Microbot.getClientThread().runOnClientThreadOptional(() -> {
-					addEquipmentActions(itemComposition);
-					return true;
-				});
-            }
+            apply(ItemMetadataCache.get(id));
         }
     }
 
+    private void apply(ItemMetadata metadata) {
+        if (metadata == null) {
+            return;
+        }
+        this.name = metadata.getName();
+        this.isStackable = metadata.isStackable();
+        this.isNoted = metadata.isNoted();
+        this.isTradeable = metadata.isTradeable();
+        this.haPrice = metadata.getHaPrice();
+        this.inventoryActions = metadata.getInventoryActions();
+        this.equipmentActions = metadata.getEquipmentActions();
+        this.itemComposition = metadata.getComposition();
+    }
+
     /**
      * Gets the item name, loading composition if needed.
      */
@@ -208,32 +200,24 @@ public class Rs2ItemModel {
 		return (isEdible || lowerName.contains("jug of wine")) && !lowerName.contains("rock cake");
 	}
 
-    private void addEquipmentActions(ItemComposition itemComposition) {
-        for (int i = 0; i < wearableActionIndexes.length; i++) {
-            try {
-                String value = itemComposition.getStringValue(wearableActionIndexes[i]);
-                this.equipmentActions.add(value);
-            } catch (Exception ex) {
-                this.equipmentActions.add("");
-                log.warn("Failed to get wearable action for index {} on item {}: {}", wearableActionIndexes[i], id, ex.getMessage());
-                ex.printStackTrace();
-            }
-        }
-    }
-
     public int getPrice() {
         return Microbot.getClientThread().runOnClientThreadOptional(() ->
                 Microbot.getItemManager().getItemPrice(id) * quantity).orElse(0);
     }
 
     public int getHaPrice() {
-        return itemComposition.getHaPrice();
+        if (itemComposition == null) {
+            ensureCompositionLoaded();
+        }
+        return haPrice;
     }
 
     public boolean isHaProfitable() {
-        int natureRunePrice = Microbot.getClientThread().runOnClientThreadOptional(() ->
-                Microbot.getItemManager().getItemPrice(ItemID.NATURERUNE)).orElse(0);
-        return (getHaPrice() - natureRunePrice) > (getPrice()/quantity) && isTradeable;
+        ClientThreadBatch batch = Microbot.getClientThread().batch();
+        ClientThreadBatch.Read<Integer> natureRunePrice = batch.add(() -> Microbot.getItemManager().getItemPrice(ItemID.NATURERUNE));
+        ClientThreadBatch.Read<Integer> price = batch.add(() -> Microbot.getItemManager().getItemPrice(id));
+        batch.run();
+        return (getHaPrice() - natureRunePrice.orElse(0)) > price.orElse(0) && isTradeable;
 
     }
 
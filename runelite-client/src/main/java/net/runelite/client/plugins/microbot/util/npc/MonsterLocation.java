@@ -8,12 +8,13 @@ import java.util.Comparator;
 import java.util.List;
 
 /**
- * Represents one location entry, holding a name, optional mapID,
- * and a list of actual WorldPoints for coords.
+ * Represents one location entry, holding the npc name, a location name,
+ * optional mapID, and a list of actual WorldPoints for coords.
  */
 @Data
 public class MonsterLocation
 {
+    private String npcName;
     private String locationName;
     private Integer mapID;
     private List<WorldPoint> coords = new ArrayList<>();
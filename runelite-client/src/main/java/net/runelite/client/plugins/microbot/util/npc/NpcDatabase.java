@@ -0,0 +1,398 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The NPC json files, compiled at build time by the pack-npcs goal of the runelite maven plugin.
+ * <p>
+ * The file is kept as one buffer of tables sorted by their keys, and lookups binary search it, so nothing is decoded
+ * until it is asked for. Stats records are parsed with {@link Rs2NpcStats#NPC_STATS_TYPE_ADAPTER} on first lookup and
+ * then cached.
+ */
+@Slf4j
+final class NpcDatabase {
+    static final String RESOURCE = "/npc/npcs.bin";
+
+    // keep in sync with NpcDatabaseMojo
+    private static final int MAGIC = 0x4e504344;
+    private static final int VERSION = 1;
+    private static final int NO_MAP_ID = Integer.MIN_VALUE;
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Rs2NpcStats.class, Rs2NpcStats.NPC_STATS_TYPE_ADAPTER)
+            .create();
+
+    private final byte[] data;
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private final int stringOffsets;
+    private final int stringBytes;
+    private final Table stats;
+    private final int statsBytes;
+    private final Table slayerMonsters;
+    private final Table categories;
+    private final Table categoryNames;
+    private final Table attackStyles;
+    private final Table attackAnimations;
+    private final Table npcNames;
+    private final Table locations;
+    private final Table coords;
+    private final Table regions;
+    private final Table regionLocations;
+    private final Map<Integer, Rs2NpcStats> statsCache = new ConcurrentHashMap<>();
+
+    /**
+     * A table of {@code count} records of {@code size} bytes starting at {@code offset}
+     */
+    private static final class Table {
+        final int offset;
+        final int count;
+        final int size;
+
+        Table(int offset, int count, int size) {
+            this.offset = offset;
+            this.count = count;
+            this.size = size;
+        }
+
+        int record(int i) {
+            return offset + i * size;
+        }
+
+        int end() {
+            return record(count);
+        }
+    }
+
+    /**
+     * Reads the compiled database, or returns null if it is missing or unreadable so the json files are read instead
+     */
+    static NpcDatabase load() {
+        try (InputStream in = NpcDatabase.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                log.debug("No compiled npc database, reading the npc json files");
+                return null;
+            }
+            return new NpcDatabase(in.readAllBytes());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unable to read the compiled npc database, reading the npc json files", e);
+            return null;
+        }
+    }
+
+    NpcDatabase(byte[] data) throws IOException {
+        this.data = data;
+        this.buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("not an npc database");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported npc database version " + version);
+        }
+
+        int stringCount = buffer.getInt(8);
+        strings = new String[stringCount];
+        stringOffsets = 12;
+        int stringLength = buffer.getInt(stringOffsets + stringCount * 4);
+        stringBytes = stringOffsets + stringCount * 4 + 4;
+
+        stats = table(stringBytes + stringLength, 12);
+        statsBytes = stats.end() + 4;
+        slayerMonsters = table(statsBytes + buffer.getInt(stats.end()), 4);
+        categories = table(slayerMonsters.end(), 12);
+        categoryNames = table(categories.end(), 4);
+        attackStyles = table(categoryNames.end(), 8);
+        attackAnimations = table(attackStyles.end(), 8);
+        npcNames = table(attackAnimations.end(), 12);
+        locations = table(npcNames.end(), 20);
+        coords = table(locations.end(), 4);
+        regions = table(coords.end(), 12);
+        regionLocations = table(regions.end(), 4);
+        if (regionLocations.end() != data.length) {
+            throw new IOException("npc database is truncated");
+        }
+    }
+
+    private Table table(int countOffset, int size) {
+        return new Table(countOffset + 4, buffer.getInt(countOffset), size);
+    }
+
+    Rs2NpcStats getStats(int npcId) {
+        Rs2NpcStats cached = statsCache.get(npcId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int i = find(stats, npcId);
+        if (i < 0) {
+            return null;
+        }
+        int record = stats.record(i);
+        int offset = statsBytes + buffer.getInt(record + 4);
+        int length = buffer.getInt(record + 8);
+        Rs2NpcStats npcStats = GSON.fromJson(new InputStreamReader(
+                new ByteArrayInputStream(data, offset, length), StandardCharsets.UTF_8), Rs2NpcStats.class);
+        statsCache.put(npcId, npcStats);
+        return npcStats;
+    }
+
+    /** The ids of all slayer monsters, in id order */
+    List<Integer> getSlayerMonsters() {
+        List<Integer> ids = new ArrayList<>(slayerMonsters.count);
+        for (int i = 0; i < slayerMonsters.count; i++) {
+            ids.add(buffer.getInt(slayerMonsters.record(i)));
+        }
+        return ids;
+    }
+
+    /** The distinct names of the monsters of a slayer category, ignoring case */
+    List<String> getSlayerMonstersByCategory(String category) {
+        int i = findString(categories, category.toLowerCase(Locale.ROOT));
+        if (i < 0) {
+            return new ArrayList<>();
+        }
+        int record = categories.record(i);
+        int first = buffer.getInt(record + 4);
+        int count = buffer.getInt(record + 8);
+        List<String> names = new ArrayList<>(count);
+        for (int j = first; j < first + count; j++) {
+            names.add(string(buffer.getInt(categoryNames.record(j))));
+        }
+        return names;
+    }
+
+    String getAttackStyle(int npcId) {
+        return idString(attackStyles, npcId);
+    }
+
+    /** A read only map view of the attack styles */
+    Map<Integer, String> getAttackStyles() {
+        return new IdStringMap(attackStyles);
+    }
+
+    /** A read only map view of the attack animations */
+    Map<Integer, String> getAttackAnimations() {
+        return new IdStringMap(attackAnimations);
+    }
+
+    /**
+     * The locations of an npc by name, as written in the location json file
+     */
+    List<MonsterLocation> getNpcLocations(String npcName) {
+        int i = findString(npcNames, npcName);
+        if (i < 0) {
+            return Collections.emptyList();
+        }
+        int record = npcNames.record(i);
+        int first = buffer.getInt(record + 4);
+        int count = buffer.getInt(record + 8);
+        List<MonsterLocation> result = new ArrayList<>(count);
+        for (int j = first; j < first + count; j++) {
+            result.add(location(j));
+        }
+        return result;
+    }
+
+    /**
+     * The locations with a coordinate on the plane of the point and within the distance of it, of every npc
+     */
+    List<MonsterLocation> getNpcLocationsNear(WorldPoint point, int distance) {
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int regionX = (point.getX() - distance) >> 6; regionX <= (point.getX() + distance) >> 6; regionX++) {
+            for (int regionY = (point.getY() - distance) >> 6; regionY <= (point.getY() + distance) >> 6; regionY++) {
+                int i = find(regions, regionX << 8 | regionY);
+                if (i < 0) {
+                    continue;
+                }
+                int record = regions.record(i);
+                int first = buffer.getInt(record + 4);
+                int count = buffer.getInt(record + 8);
+                for (int j = first; j < first + count; j++) {
+                    candidates.add(buffer.getInt(regionLocations.record(j)));
+                }
+            }
+        }
+
+        List<MonsterLocation> result = new ArrayList<>();
+        for (int location : candidates) {
+            int record = locations.record(location);
+            int first = buffer.getInt(record + 12);
+            int count = buffer.getInt(record + 16);
+            for (int j = first; j < first + count; j++) {
+                int packed = buffer.getInt(coords.record(j));
+                if (unpackPlane(packed) == point.getPlane()
+                        && Math.abs(unpackX(packed) - point.getX()) <= distance
+                        && Math.abs(unpackY(packed) - point.getY()) <= distance) {
+                    result.add(location(location));
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private MonsterLocation location(int i) {
+        int record = locations.record(i);
+        int locationName = buffer.getInt(record + 4);
+        int mapId = buffer.getInt(record + 8);
+        int first = buffer.getInt(record + 12);
+        int count = buffer.getInt(record + 16);
+
+        MonsterLocation location = new MonsterLocation();
+        location.setNpcName(string(buffer.getInt(record)));
+        location.setLocationName(locationName == -1 ? null : string(locationName));
+        location.setMapID(mapId == NO_MAP_ID ? null : mapId);
+        for (int j = first; j < first + count; j++) {
+            int packed = buffer.getInt(coords.record(j));
+            location.getCoords().add(new WorldPoint(unpackX(packed), unpackY(packed), unpackPlane(packed)));
+        }
+        return location;
+    }
+
+    private String idString(Table table, int id) {
+        int i = find(table, id);
+        if (i < 0) {
+            return null;
+        }
+        int string = buffer.getInt(table.record(i) + 4);
+        return string == -1 ? null : string(string);
+    }
+
+    private String string(int i) {
+        String s = strings[i];
+        if (s == null) {
+            // the offsets are followed by the total length, which is the end of the last string
+            int start = buffer.getInt(stringOffsets + i * 4);
+            int end = buffer.getInt(stringOffsets + (i + 1) * 4);
+            s = new String(data, stringBytes + start, end - start, StandardCharsets.UTF_8);
+            strings[i] = s;
+        }
+        return s;
+    }
+
+    /** Binary searches a table whose records start with an int key */
+    private int find(Table table, int key) {
+        int low = 0;
+        int high = table.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = buffer.getInt(table.record(mid));
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Binary searches a table whose records start with a string index, sorted by the strings */
+    private int findString(Table table, String key) {
+        int low = 0;
+        int high = table.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = string(buffer.getInt(table.record(mid))).compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int unpackX(int packed) {
+        return packed & 0x7FFF;
+    }
+
+    private static int unpackY(int packed) {
+        return (packed >> 15) & 0x7FFF;
+    }
+
+    private static int unpackPlane(int packed) {
+        return (packed >> 30) & 0x3;
+    }
+
+    private final class IdStringMap extends AbstractMap<Integer, String> {
+        private final Table table;
+
+        IdStringMap(Table table) {
+            this.table = table;
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof Integer ? idString(table, (Integer) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && find(table, (Integer) key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return table.count;
+        }
+
+        @Override
+        public Set<Entry<Integer, String>> entrySet() {
+            return new AbstractSet<Entry<Integer, String>>() {
+                @Override
+                public Iterator<Entry<Integer, String>> iterator() {
+                    return new Iterator<Entry<Integer, String>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < table.count;
+                        }
+
+                        @Override
+                        public Entry<Integer, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int record = table.record(next++);
+                            int string = buffer.getInt(record + 4);
+                            return new SimpleImmutableEntry<>(buffer.getInt(record), string == -1 ? null : string(string));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return table.count;
+                }
+            };
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.game.npcoverlay.HighlightedNpc;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.util.ActorModel;
+import net.runelite.client.plugins.microbot.util.ActorSnapshot;
 import net.runelite.client.plugins.microbot.util.antiban.Rs2AntibanSettings;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
 import net.runelite.client.plugins.microbot.util.combat.Rs2Combat;
@@ -118,14 +119,9 @@ public class Rs2Npc {
      * @return A sorted list of {@link Rs2NpcModel} objects matching the given criteria.
      */
     public static Stream<Rs2NpcModel> getNpcsForPlayer(Predicate<Rs2NpcModel> predicate) {
-        List<Rs2NpcModel> npcs = getNpcs(x -> Objects.equals(x.getInteracting(), Microbot.getClient().getLocalPlayer()))
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList());
-
-        return npcs.stream();
+        Player localPlayer = Microbot.getClient().getLocalPlayer();
+        return getNpcs(x -> Objects.equals(x.getInteracting(), localPlayer))
+                .filter(predicate);
     }
 
     /**
@@ -150,8 +146,7 @@ public class Rs2Npc {
             String npcName = x.getName();
             if (npcName == null || npcName.isEmpty()) return false;
             return (exact ? npcName.equalsIgnoreCase(name) : npcName.toLowerCase().contains(name.toLowerCase()));
-        }).sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-          .collect(Collectors.toList());
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -193,20 +188,15 @@ public class Rs2Npc {
      * <p>This method filters NPCs based on the specified predicate, allowing for flexible
      * selection of NPCs based on various attributes such as name, interaction status, health, etc.</p>
      *
+     * <p>The NPCs are read from the {@link ActorSnapshot} of the current game tick, so their name, location,
+     * interacting target and health are the values at the start of the tick.</p>
+     *
      * @param predicate A {@link Predicate} that defines the filtering condition for NPCs.
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that match the given predicate.
      */
     public static Stream<Rs2NpcModel> getNpcs(Predicate<Rs2NpcModel> predicate) {
-        List<Rs2NpcModel> npcList = Optional.of(Microbot.getClient().getTopLevelWorldView().npcs().stream()
-                .filter(Objects::nonNull)
-                .map(Rs2NpcModel::new)
-                .filter(x -> x.getName() != null)
-                .filter(predicate)
-                .sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
-                .collect(Collectors.toList()))
-                .orElse(new ArrayList<>());
-
-        return npcList.stream();
+        return ActorSnapshot.get().getNpcs().stream()
+                .filter(predicate);
     }
 
     /**
@@ -239,6 +229,7 @@ public class Rs2Npc {
      */
     public static Stream<Rs2NpcModel> getNpcs(String name, boolean exact) {
         if (name == null || name.isEmpty()) return Stream.empty();
+        if (exact) return ActorSnapshot.get().getNpcs(name).stream();
         return getNpcs(npc -> {
             String npcName = npc.getName();
             if (npcName == null || npcName.isEmpty()) return false;
@@ -265,7 +256,7 @@ public class Rs2Npc {
      * @return A {@link Stream} of {@link Rs2NpcModel} objects that match the given NPC ID.
      */
     public static Stream<Rs2NpcModel> getNpcs(int id) {
-        return getNpcs().filter(x -> x.getId() == id);
+        return ActorSnapshot.get().getNpcs(id).stream();
     }
 
     /**
@@ -283,11 +274,9 @@ public class Rs2Npc {
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that the player can attack.
      */
     public static Stream<Rs2NpcModel> getAttackableNpcs() {
+        boolean inMulti = Rs2Player.isInMulti();
         return getNpcs(npc -> npc.getCombatLevel() > 0 && !npc.isDead())
-                .filter(npc -> Rs2Player.isInMulti() || !npc.isInteracting())
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+                .filter(npc -> inMulti || !npc.isInteracting());
     }
 
     /**
@@ -308,15 +297,13 @@ public class Rs2Npc {
      * @return A sorted {@link Stream} of {@link Rs2NpcModel} objects that the player can attack.
      */
     public static Stream<Rs2NpcModel> getAttackableNpcs(boolean reachable) {
-        Rs2WorldPoint playerLocation = new Rs2WorldPoint(Microbot.getClient().getLocalPlayer().getWorldLocation());
+        Player localPlayer = Microbot.getClient().getLocalPlayer();
+        Rs2WorldPoint playerLocation = new Rs2WorldPoint(localPlayer.getWorldLocation());
 
         return getNpcs(npc -> npc.getCombatLevel() > 0
                 && !npc.isDead()
-                && (!reachable || playerLocation.distanceToPath(npc.getWorldLocation()) < Integer.MAX_VALUE)
-                && (!npc.isInteracting() || Objects.equals(npc.getInteracting(), Microbot.getClient().getLocalPlayer())))
-                .sorted(Comparator.comparingInt(value ->
-                        value.getLocalLocation().distanceTo(
-                                Microbot.getClient().getLocalPlayer().getLocalLocation())));
+                && (!npc.isInteracting() || Objects.equals(npc.getInteracting(), localPlayer))
+                && (!reachable || playerLocation.distanceToPath(npc.getWorldLocation()) < Integer.MAX_VALUE));
     }
 
     /**
@@ -363,7 +350,6 @@ public class Rs2Npc {
     public static Rs2NpcModel[] getPestControlPortals() {
         return getNpcs("portal", false)
                 .filter(npc -> !npc.isDead() && npc.getHealthRatio() > 0)
-                .sorted(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())))
                 .toArray(Rs2NpcModel[]::new);
     }
 
@@ -407,7 +393,7 @@ public class Rs2Npc {
      * @return The first {@link Rs2NpcModel} that matches the given ID, or {@code null} if no match is found.
      */
     public static Rs2NpcModel getNpc(int id) {
-        return getNpcs(x -> x.getId() == id)
+        return getNpcs(id)
                 .findFirst()
                 .orElse(null);
     }
@@ -428,8 +414,9 @@ public class Rs2Npc {
      * @return An {@link Optional} containing the closest matching {@link Rs2NpcModel}, or empty if no match is found.
      */
     public static Optional<Rs2NpcModel> getNpc(int id, List<Integer> excludedIndexes) {
-        return getNpcs(x -> x.getId() == id && !excludedIndexes.contains(x.getIndex()))
-                .min(Comparator.comparingInt(value -> value.getLocalLocation().distanceTo(Microbot.getClient().getLocalPlayer().getLocalLocation())));
+        return getNpcs(id)
+                .filter(x -> !excludedIndexes.contains(x.getIndex()))
+                .findFirst();
     }
 
     /**
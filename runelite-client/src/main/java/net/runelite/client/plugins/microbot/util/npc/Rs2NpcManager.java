@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
+import net.runelite.client.plugins.microbot.util.player.Rs2Player;
 import net.runelite.client.plugins.microbot.util.walker.Rs2Walker;
 
 import javax.annotation.Nullable;
@@ -16,14 +17,17 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * This class is responsible for managing NPCs in the game.
- * It provides utility methods for loading NPC data from JSON files and retrieving NPC stats.
+ * It provides utility methods for loading NPC data from the compiled npc database or JSON files and retrieving NPC stats.
  */
 @Slf4j
 public class Rs2NpcManager {
+    // How far from the player the locations of an NPC are ranked before any location further away
+    private static final int NEARBY_DISTANCE = 20;
     private static final Set<Integer> blacklistXpMultiplier = Set.of(8026, 8058, 8059, 8060, 8061, 7850, 7852, 7853, 7884, 7885, 7849, 7851, 7854, 7855, 7882, 7883, 7886, 7887, 7888, 7889, 494, 6640, 6656, 2042, 2043, 2044);
     public static Map<Integer, String> attackStyleMap;
     public static Map<Integer, String> attackAnimationMap;
@@ -32,11 +36,21 @@ public class Rs2NpcManager {
     // NEW: A map keyed by NPC name, with a list of location objects
     private static Map<String, List<MonsterLocation>> locationMap;
 
+    // The compiled npc database, null when it is not on the classpath and the JSON files are read instead
+    private static NpcDatabase database;
+    private static boolean databaseLoaded;
+
     /**
-     * Loads NPC data from JSON files.
+     * Loads NPC data from the compiled npc database, or from the JSON files if there is none.
      * This method should be called before using any other methods in this class.
      */
     public static void loadJson() throws Exception {
+        NpcDatabase database = database();
+        if (database != null) {
+            attackStyleMap = database.getAttackStyles();
+            attackAnimationMap = database.getAttackAnimations();
+            return;
+        }
         if (statsMap != null) {
             return;
         }
@@ -53,6 +67,17 @@ public class Rs2NpcManager {
         loadNpcLocationsByName();
     }
 
+    /**
+     * The compiled npc database, opened on first use. Its tables are only decoded when they are queried.
+     */
+    private static synchronized NpcDatabase database() {
+        if (!databaseLoaded) {
+            database = NpcDatabase.load();
+            databaseLoaded = true;
+        }
+        return database;
+    }
+
     /**
      * Loads a JSON file and deserializes it into a map.
      * @param filename The name of the JSON file to load.
@@ -154,7 +179,7 @@ public class Rs2NpcManager {
             List<MonsterLocationDTO> dtoList = entry.getValue();
 
             List<MonsterLocation> converted = dtoList.stream()
-                    .map(Rs2NpcManager::dtoToMonsterLocation)
+                    .map(dto -> dtoToMonsterLocation(npcName, dto))
                     .collect(Collectors.toList());
 
             locationMap.put(npcName, converted);
@@ -167,9 +192,10 @@ public class Rs2NpcManager {
      * Converts a MonsterLocationDTO to our MonsterLocation model,
      * turning coords into WorldPoints.
      */
-    private static MonsterLocation dtoToMonsterLocation(MonsterLocationDTO dto)
+    private static MonsterLocation dtoToMonsterLocation(String npcName, MonsterLocationDTO dto)
     {
         MonsterLocation loc = new MonsterLocation();
+        loc.setNpcName(npcName);
         loc.setLocationName(dto.getLocation_name());
         loc.setMapID(dto.getMapID());
 
@@ -197,6 +223,10 @@ public class Rs2NpcManager {
      */
     @Nullable
     public static Rs2NpcStats getStats(int npcId) {
+        NpcDatabase database = database();
+        if (database != null) {
+            return database.getStats(npcId);
+        }
         return statsMap.get(npcId);
     }
 
@@ -206,7 +236,7 @@ public class Rs2NpcManager {
      * @return The health of the NPC, or -1 if the NPC does not exist or its health is unknown.
      */
     public static int getHealth(int npcId) {
-        Rs2NpcStats s = statsMap.get(npcId);
+        Rs2NpcStats s = getStats(npcId);
         return s != null && s.getHitpoints() != -1 ? s.getHitpoints() : -1;
     }
 
@@ -216,7 +246,7 @@ public class Rs2NpcManager {
      * @return The attack speed of the NPC, or -1 if the NPC does not exist or its attack speed is unknown.
      */
     public static int getAttackSpeed(int npcId) {
-        Rs2NpcStats s = statsMap.get(npcId);
+        Rs2NpcStats s = getStats(npcId);
         log.info(s.toString());
         return s != null && s.getAttackSpeed() != -1 ? s.getAttackSpeed() : -1;
     }
@@ -230,7 +260,7 @@ public class Rs2NpcManager {
         if (blacklistXpMultiplier.contains(npcId)) {
             return 1.0;
         } else {
-            Rs2NpcStats s = statsMap.get(npcId);
+            Rs2NpcStats s = getStats(npcId);
             return s == null ? 1.0 : s.calculateXpModifier();
         }
     }
@@ -241,12 +271,21 @@ public class Rs2NpcManager {
      * @return The attack style of the NPC, or null if the NPC does not exist or its attack style is unknown.
      */
     public static String getAttackStyle(int npcId) {
+        NpcDatabase database = database();
+        if (database != null) {
+            return database.getAttackStyle(npcId);
+        }
         return attackStyleMap.get(npcId);
     }
 
     // Get all slayer monsters
     public static List<Integer> getSlayerMonsters()
     {
+        NpcDatabase database = database();
+        if (database != null)
+        {
+            return database.getSlayerMonsters();
+        }
         return statsMap.entrySet().stream()
                 .filter(e -> e.getValue().isSlayerMonster())
                 .map(Map.Entry::getKey)
@@ -259,6 +298,11 @@ public class Rs2NpcManager {
      */
     public static List<String> getSlayerMonstersByCategory(String category)
     {
+        NpcDatabase database = database();
+        if (database != null)
+        {
+            return database.getSlayerMonstersByCategory(category);
+        }
         return statsMap.values().stream()
                 .filter(rs2NpcStats -> rs2NpcStats.getCategory() != null &&
                         rs2NpcStats.getCategory().stream().anyMatch(c -> c.equalsIgnoreCase(category)))
@@ -276,6 +320,11 @@ public class Rs2NpcManager {
      */
     public static List<MonsterLocation> getNpcLocations(String npcName)
     {
+        NpcDatabase database = database();
+        if (database != null)
+        {
+            return database.getNpcLocations(npcName);
+        }
         if (locationMap == null)
         {
             return Collections.emptyList();
@@ -283,6 +332,29 @@ public class Rs2NpcManager {
         return locationMap.getOrDefault(npcName, Collections.emptyList());
     }
 
+    /**
+     * Gets the locations of every NPC with a coordinate on the plane of the point
+     * and at most the given number of tiles away from it on both axes.
+     */
+    public static List<MonsterLocation> getNpcLocationsNear(WorldPoint point, int distance)
+    {
+        NpcDatabase database = database();
+        if (database != null)
+        {
+            return database.getNpcLocationsNear(point, distance);
+        }
+        if (locationMap == null)
+        {
+            return Collections.emptyList();
+        }
+        return locationMap.values().stream()
+                .flatMap(List::stream)
+                .filter(loc -> loc.getCoords().stream().anyMatch(wp -> wp.getPlane() == point.getPlane()
+                        && Math.abs(wp.getX() - point.getX()) <= distance
+                        && Math.abs(wp.getY() - point.getY()) <= distance))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Gets the closest location for an NPC by its name, with an additional
      * filter for minimum clustering of NPCs to avoid stragglers and a filter to avoid the Wilderness.
@@ -293,7 +365,6 @@ public class Rs2NpcManager {
      */
     public static MonsterLocation getClosestLocation(String npcName, int minClustering, boolean avoidWilderness)
     {
-        ShortestPathPlugin.getPathfinderConfig().setUseBankItems(true);
         Microbot.log("Finding closest location for: " + npcName);
         var locs = getNpcLocations(npcName).stream().map(MonsterLocation::getLocationName).collect(Collectors.toList());
         if (locs.isEmpty())
@@ -301,12 +372,35 @@ public class Rs2NpcManager {
             Microbot.log("No locations found for " + npcName);
             return null;
         }
-        log.info("All locations for " + npcName + ": " + getNpcLocations(npcName).stream().map(MonsterLocation::getLocationName).collect(Collectors.toList()));
-        MonsterLocation closest = getNpcLocations(npcName).stream()
-                .filter(loc -> loc.getCoords().size() > minClustering && (!avoidWilderness || !loc.getLocationName().contains("Wilderness")))
-                .parallel()
-                .min(Comparator.comparingDouble(loc -> Rs2Walker.getTotalTiles(loc.getClosestToCenter())))
-                .orElse(null);
+        log.info("All locations for " + npcName + ": " + locs);
+        Predicate<MonsterLocation> usable = loc -> loc.getCoords().size() > minClustering
+                && (!avoidWilderness || !loc.getLocationName().contains("Wilderness"));
+
+        ShortestPathPlugin.getPathfinderConfig().setUseBankItems(true);
+
+        // Only the locations around the player are ranked by path length when one of them can be reached, so there
+        // is no need to find a path to every location of the NPC
+        MonsterLocation closest = null;
+        WorldPoint playerLocation = Rs2Player.getWorldLocation();
+        if (playerLocation != null)
+        {
+            closest = getNpcLocationsNear(playerLocation, NEARBY_DISTANCE).stream()
+                    .filter(loc -> npcName.equals(loc.getNpcName()) && usable.test(loc))
+                    .parallel()
+                    .map(loc -> new AbstractMap.SimpleEntry<>(loc, Rs2Walker.getTotalTiles(loc.getClosestToCenter())))
+                    .filter(entry -> entry.getValue() != Integer.MAX_VALUE)
+                    .min(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+        if (closest == null)
+        {
+            closest = getNpcLocations(npcName).stream()
+                    .filter(usable)
+                    .parallel()
+                    .min(Comparator.comparingDouble(loc -> Rs2Walker.getTotalTiles(loc.getClosestToCenter())))
+                    .orElse(null);
+        }
 
         ShortestPathPlugin.getPathfinderConfig().setUseBankItems(false);
 
@@ -6,7 +6,7 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
 public final class Rs2NpcStats {
@@ -64,11 +64,7 @@ public final class Rs2NpcStats {
                             builder.maxHit(in.nextInt());
                         break;
                     case "attack_type":
-                        in.beginArray();
-                        while (in.hasNext()) {
-                            builder.attackType(Collections.singletonList(in.nextString()));
-                        }
-                        in.endArray();
+                        builder.attackType(readStrings(in));
                         break;
                     case "attack_speed":
                         if (in.peek() == JsonToken.NULL) {
@@ -93,18 +89,10 @@ public final class Rs2NpcStats {
                         builder.immuneVenom(in.nextBoolean());
                         break;
                     case "attributes":
-                        in.beginArray();
-                        while (in.hasNext()) {
-                            builder.attributes(Collections.singletonList(in.nextString()));
-                        }
-                        in.endArray();
+                        builder.attributes(readStrings(in));
                         break;
                     case "category":
-                        in.beginArray();
-                        while (in.hasNext()) {
-                            builder.category(Collections.singletonList(in.nextString()));
-                        }
-                        in.endArray();
+                        builder.category(readStrings(in));
                         break;
                     case "slayer_monster":
                         builder.slayerMonster(in.nextBoolean());
@@ -127,11 +115,7 @@ public final class Rs2NpcStats {
                         }
                         break;
                     case "slayer_masters":
-                        in.beginArray();
-                        while (in.hasNext()) {
-                            builder.slayerMasters(Collections.singletonList(in.nextString()));
-                        }
-                        in.endArray();
+                        builder.slayerMasters(readStrings(in));
                         break;
                     case "duplicate":
                         builder.duplicate(in.nextBoolean());
@@ -194,6 +178,7 @@ public final class Rs2NpcStats {
                         builder.defenceRanged(in.nextInt());
                         break;
                     case "drops":
+                        List<Drop> drops = new ArrayList<>();
                         in.beginArray();
                         while (in.hasNext()) {
                             in.beginObject();
@@ -236,9 +221,10 @@ public final class Rs2NpcStats {
                                 }
                             }
                             in.endObject();
-                            builder.drops(Collections.singletonList(new Drop(dropId, dropName, dropMembers, dropQuantity, dropNoted, dropRarity, dropRolls)));
+                            drops.add(new Drop(dropId, dropName, dropMembers, dropQuantity, dropNoted, dropRarity, dropRolls));
                         }
                         in.endArray();
+                        builder.drops(drops);
                         break;
                     default:
                         in.skipValue();
@@ -249,6 +235,20 @@ public final class Rs2NpcStats {
             return builder.build();
         }
     };
+
+    /**
+     * Reads every string of an array, the builder keeps only the list it is given last
+     */
+    private static List<String> readStrings(JsonReader in) throws IOException {
+        List<String> strings = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            strings.add(in.nextString());
+        }
+        in.endArray();
+        return strings;
+    }
+
     private final int id;
     private final String name;
     private final String lastUpdated;
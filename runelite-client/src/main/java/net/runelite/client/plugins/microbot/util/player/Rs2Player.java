@@ -13,6 +13,7 @@ import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.plugins.microbot.Microbot;
 import net.runelite.client.plugins.microbot.globval.VarbitValues;
 import net.runelite.client.plugins.microbot.globval.enums.InterfaceTab;
+import net.runelite.client.plugins.microbot.util.ActorSnapshot;
 import net.runelite.client.plugins.microbot.util.coords.Rs2WorldPoint;
 import net.runelite.client.plugins.microbot.util.equipment.Rs2Equipment;
 import net.runelite.client.plugins.microbot.util.gameobject.Rs2GameObject;
@@ -701,21 +702,17 @@ public class Rs2Player {
     /**
      * Get a stream of players around you, optionally filtered by a predicate.
      *
+     * <p>The players are read from the {@link ActorSnapshot} of the current game tick, closest first.</p>
+     *
      * @param predicate A condition to filter players (optional).
      * @param includeLocalPlayer a flag on whether to include the local player within the stream
      * @return A stream of Rs2PlayerModel objects representing nearby players.
      */
     public static Stream<Rs2PlayerModel> getPlayers(Predicate<Rs2PlayerModel> predicate, boolean includeLocalPlayer) {
-        List<Rs2PlayerModel> players = Optional.of(Microbot.getClient().getTopLevelWorldView().players()
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .map(Rs2PlayerModel::new)
-                        .filter(x -> includeLocalPlayer || x.getPlayer() != Microbot.getClient().getLocalPlayer())
-                        .filter(predicate)
-                        .collect(Collectors.toList())
-        ).orElse(new ArrayList<>());
-
-        return players.stream();
+        Player localPlayer = Microbot.getClient().getLocalPlayer();
+        return ActorSnapshot.get().getPlayers().stream()
+                .filter(x -> includeLocalPlayer || x.getPlayer() != localPlayer)
+                .filter(predicate);
     }
 
     /**
@@ -6,6 +6,7 @@ import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.widgets.ComponentID;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.plugins.microbot.Microbot;
+import net.runelite.client.plugins.microbot.util.inventory.ItemContainerMirror;
 import net.runelite.client.plugins.microbot.util.inventory.Rs2ItemModel;
 import net.runelite.client.plugins.microbot.util.math.Rs2Random;
 import net.runelite.client.plugins.microbot.util.menu.NewMenuEntry;
@@ -17,7 +18,6 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 
-import static net.runelite.client.plugins.microbot.Microbot.updateItemContainer;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntil;
 import static net.runelite.client.plugins.microbot.util.Global.sleepUntilOnClientThread;
 
@@ -25,6 +25,7 @@ public class Rs2Shop {
     public static final int SHOP_INVENTORY_ITEM_CONTAINER = 19660800;
     public static final int SHOP_CLOSE_BUTTON = 196960801;
     public static List<Rs2ItemModel> shopItems = new ArrayList<Rs2ItemModel>();
+    private static final ItemContainerMirror shopMirror = new ItemContainerMirror();
 
 
     /**
@@ -177,21 +178,8 @@ public class Rs2Shop {
      * @param e The event containing the latest shop items.
      */
     public static void storeShopItemsInMemory(ItemContainerChanged e, int id) {
-        List<Rs2ItemModel> list = updateItemContainer(id, e);
-        if (list != null) {
-            System.out.println("Storing shopItems");
-            shopItems = list;
-
-            /*Print each item's name
-            System.out.println("Shop items:");
-            for (Rs2Item item : shopItems) {
-                System.out.println(item.name);
-                System.out.println(item.quantity);
-                System.out.println(item.slot);
-            }
-            */
-
-        }
+        if (e.getContainerId() != id) return;
+        shopItems = shopMirror.update(id, e.getItemContainer()).getItems();
     }
 
     /**
@@ -0,0 +1,480 @@
+package net.runelite.client.plugins.microbot.util.state;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * A per-account key to blob store for cached game state, kept under the RuneLite directory instead of the properties
+ * file of the config.
+ * <p>
+ * The file is a log of records, each {@code [varint key length][key][varint schema][varint payload length][payload]
+ * [int crc32]}. Opening the store maps the file read only and indexes the last record of every key, so payloads are
+ * read straight from the mapping. Writes append a record, and a record with schema 0 removes its key. A record with a
+ * bad checksum or cut short by a crash ends the log, and the live records are then copied into a new generation of
+ * the file: a mapped file cannot be truncated or replaced on every platform, so the store never rewrites a file in
+ * place.
+ * <p>
+ * The store is a cache, and appends are not forced to disk.
+ */
+@Slf4j
+public final class AccountStateStore {
+    private static final File STATE_DIR = new File(RuneLite.RUNELITE_DIR, "microbot-state");
+    private static final Map<String, AccountStateStore> STORES = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x4d425354; // MBST
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int TOMBSTONE = 0;
+    static final long COMPACTION_THRESHOLD = 64 * 1024;
+
+    private final File directory;
+    private final String account;
+    private final Pattern fileNamePattern;
+    private final Map<String, Entry> index = new HashMap<>();
+
+    private FileChannel channel;
+    private int generation;
+    private long liveBytes;
+    private boolean opened;
+
+    private static final class Entry {
+        final int schemaVersion;
+        final ByteBuffer payload;
+        final int recordSize;
+
+        Entry(int schemaVersion, ByteBuffer payload, int recordSize) {
+            this.schemaVersion = schemaVersion;
+            this.payload = payload;
+            this.recordSize = recordSize;
+        }
+    }
+
+    AccountStateStore(File directory, String account) {
+        this.directory = directory;
+        this.account = account;
+        this.fileNamePattern = Pattern.compile(Pattern.quote(account) + "\\.(\\d+)\\.state");
+    }
+
+    /**
+     * Gets the store of an account, keyed by its RuneScape profile key
+     */
+    public static AccountStateStore forAccount(String accountKey) {
+        return STORES.computeIfAbsent(accountKey.replaceAll("[^A-Za-z0-9_-]", "_"),
+                account -> new AccountStateStore(STATE_DIR, account));
+    }
+
+    /**
+     * Gets the payload stored under a key, or null if there is none. The schema version it was written with is
+     * available from the reader, so callers can still decode the payloads of older schemas.
+     */
+    public synchronized Reader get(String key) {
+        open();
+        Entry entry = index.get(key);
+        return entry == null ? null : new Reader(entry.schemaVersion, entry.payload.duplicate());
+    }
+
+    public synchronized boolean contains(String key) {
+        open();
+        return index.containsKey(key);
+    }
+
+    /**
+     * Stores a payload under a key. Nothing is written if the key already holds the same payload.
+     *
+     * @param schemaVersion the version of the payload encoding, at least 1
+     */
+    public synchronized void put(String key, int schemaVersion, Writer payload) throws IOException {
+        if (schemaVersion <= TOMBSTONE) {
+            throw new IllegalArgumentException("schema version must be at least 1");
+        }
+
+        open();
+        byte[] bytes = payload.toByteArray();
+        Entry current = index.get(key);
+        if (current != null && current.schemaVersion == schemaVersion
+                && current.payload.equals(ByteBuffer.wrap(bytes))) {
+            return;
+        }
+        append(key, schemaVersion, bytes);
+    }
+
+    public synchronized void remove(String key) throws IOException {
+        open();
+        if (index.containsKey(key)) {
+            append(key, TOMBSTONE, new byte[0]);
+        }
+    }
+
+    private void append(String key, int schemaVersion, byte[] payload) throws IOException {
+        byte[] record = record(key, schemaVersion, payload);
+        if (channel != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            long position = channel.size();
+            try {
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            } catch (IOException e) {
+                // a partly written record ends the log, so stop appending to it until the store is opened again
+                closeChannel();
+                throw e;
+            }
+        }
+
+        Entry previous = schemaVersion == TOMBSTONE
+                ? index.remove(key)
+                : index.put(key, new Entry(schemaVersion, ByteBuffer.wrap(payload).asReadOnlyBuffer(), record.length));
+        if (previous != null) {
+            liveBytes -= previous.recordSize;
+        }
+        if (schemaVersion != TOMBSTONE) {
+            liveBytes += record.length;
+        }
+
+        if (channel != null && channel.size() > COMPACTION_THRESHOLD && channel.size() > liveBytes * 2) {
+            compact();
+        }
+    }
+
+    private void open() {
+        if (opened) {
+            return;
+        }
+        opened = true;
+
+        try {
+            Files.createDirectories(directory.toPath());
+            File file = latestGeneration();
+            if (file == null) {
+                generation = 0;
+                channel = create(file(generation));
+                return;
+            }
+
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (!scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))) {
+                log.warn("State file {} is damaged, keeping the {} readable entries", file, index.size());
+                compact();
+            }
+        } catch (IOException e) {
+            // keep the state of this session in memory only
+            log.warn("Unable to open the state store of {}", account, e);
+            closeChannel();
+        }
+    }
+
+    /**
+     * Finds the newest generation of the file, deleting older generations and leftovers of an interrupted compaction
+     */
+    private File latestGeneration() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return null;
+        }
+
+        File latest = null;
+        for (File file : files) {
+            Matcher matcher = fileNamePattern.matcher(file.getName());
+            if (matcher.matches()) {
+                int gen = Integer.parseInt(matcher.group(1));
+                if (latest == null || gen > generation) {
+                    if (latest != null) {
+                        latest.delete();
+                    }
+                    latest = file;
+                    generation = gen;
+                } else {
+                    file.delete();
+                }
+            } else if (file.getName().startsWith(account + ".") && file.getName().endsWith(".tmp")) {
+                file.delete();
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Indexes the records of a mapped file
+     *
+     * @return false if the file is damaged
+     */
+    private boolean scan(MappedByteBuffer map) {
+        if (map.remaining() < HEADER_SIZE || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            return false;
+        }
+
+        ByteBuffer buffer = map.asReadOnlyBuffer();
+        buffer.position(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            try {
+                Reader reader = new Reader(0, buffer);
+                int keyLength = reader.readVarInt();
+                if (keyLength < 0 || keyLength > buffer.remaining()) {
+                    return false;
+                }
+                byte[] key = new byte[keyLength];
+                buffer.get(key);
+                int schemaVersion = reader.readVarInt();
+                int payloadLength = reader.readVarInt();
+                if (payloadLength < 0 || payloadLength > buffer.remaining() - 4) {
+                    return false;
+                }
+                ByteBuffer payload = buffer.slice();
+                payload.limit(payloadLength);
+                buffer.position(buffer.position() + payloadLength);
+
+                int end = buffer.position();
+                ByteBuffer checked = buffer.duplicate();
+                checked.position(start).limit(end);
+                crc.reset();
+                crc.update(checked);
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    return false;
+                }
+
+                String name = new String(key, StandardCharsets.UTF_8);
+                int recordSize = buffer.position() - start;
+                Entry previous = schemaVersion == TOMBSTONE
+                        ? index.remove(name)
+                        : index.put(name, new Entry(schemaVersion, payload, recordSize));
+                if (previous != null) {
+                    liveBytes -= previous.recordSize;
+                }
+                if (schemaVersion != TOMBSTONE) {
+                    liveBytes += recordSize;
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the live records into the next generation of the file and switches to it
+     */
+    private void compact() throws IOException {
+        File tmp = new File(directory, account + "." + (generation + 1) + ".tmp");
+        long size = HEADER_SIZE;
+        try (FileChannel out = create(tmp)) {
+            for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                ByteBuffer payload = entry.getValue().payload.duplicate();
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                ByteBuffer record = ByteBuffer.wrap(record(entry.getKey(), entry.getValue().schemaVersion, bytes));
+                while (record.hasRemaining()) {
+                    size += out.write(record, size);
+                }
+            }
+            out.force(true);
+        }
+
+        File next = file(generation + 1);
+        try {
+            Files.move(tmp.toPath(), next.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), next.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        File previous = file(generation);
+        closeChannel();
+        generation++;
+        // the old mapping may keep the previous file open, it is then deleted the next time the store is opened
+        previous.delete();
+
+        index.clear();
+        liveBytes = 0;
+        channel = FileChannel.open(next.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    private static FileChannel create(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        return channel;
+    }
+
+    private static byte[] record(String key, int schemaVersion, byte[] payload) {
+        byte[] name = key.getBytes(StandardCharsets.UTF_8);
+        Writer writer = new Writer();
+        writer.writeVarInt(name.length);
+        writer.writeBytes(name);
+        writer.writeVarInt(schemaVersion);
+        writer.writeVarInt(payload.length);
+        writer.writeBytes(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(writer.buffer, 0, writer.size);
+        int checksum = (int) crc.getValue();
+        writer.writeBytes(new byte[]{(byte) (checksum >>> 24), (byte) (checksum >>> 16), (byte) (checksum >>> 8), (byte) checksum});
+        return writer.toByteArray();
+    }
+
+    private File file(int gen) {
+        return new File(directory, account + "." + gen + ".state");
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Unable to close the state file of {}", account, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Encodes a payload. Ints are written as unsigned varints, or zigzag encoded when they may be negative, such as
+     * the difference to a previous value.
+     */
+    public static final class Writer {
+        private byte[] buffer = new byte[64];
+        private int size;
+
+        public Writer writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+            return this;
+        }
+
+        public Writer writeSignedVarInt(int value) {
+            return writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        public Writer writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+            return this;
+        }
+
+        public Writer writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            return writeBytes(bytes);
+        }
+
+        public Writer writeBytes(byte[] bytes) {
+            ensureCapacity(size + bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+            return this;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void write(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Decodes a payload written by {@link Writer}. Reading past the end of the payload throws a
+     * {@link BufferUnderflowException}.
+     */
+    public static final class Reader {
+        private final int schemaVersion;
+        private final ByteBuffer buffer;
+
+        Reader(int schemaVersion, ByteBuffer buffer) {
+            this.schemaVersion = schemaVersion;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads a payload taken from {@link Writer#toByteArray()}
+         */
+        public Reader(int schemaVersion, byte[] payload) {
+            this(schemaVersion, ByteBuffer.wrap(payload));
+        }
+
+        public int getSchemaVersion() {
+            return schemaVersion;
+        }
+
+        public int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("malformed varint");
+        }
+
+        public int readSignedVarInt() {
+            int value = readVarInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("malformed varint");
+        }
+
+        public String readString() {
+            int length = readVarInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public boolean hasRemaining() {
+            return buffer.hasRemaining();
+        }
+    }
+}
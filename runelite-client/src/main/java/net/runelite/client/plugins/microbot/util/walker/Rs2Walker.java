@@ -1,6 +1,5 @@
 package net.runelite.client.plugins.microbot.util.walker;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.Setter;
@@ -36,6 +35,8 @@ import net.runelite.client.plugins.microbot.shortestpath.ShortestPathPlugin;
 import net.runelite.client.plugins.microbot.shortestpath.Transport;
 import net.runelite.client.plugins.microbot.shortestpath.TransportType;
 import net.runelite.client.plugins.microbot.shortestpath.pathfinder.Pathfinder;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfinderConfig;
+import net.runelite.client.plugins.microbot.shortestpath.pathfinder.PathfindingService;
 import net.runelite.client.plugins.microbot.util.bank.Rs2Bank;
 import net.runelite.client.plugins.microbot.util.bank.enums.BankLocation;
 import net.runelite.client.plugins.microbot.util.camera.Rs2Camera;
@@ -69,8 +70,6 @@ import java.awt.*;
 import java.util.List;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -624,24 +623,18 @@ public class Rs2Walker {
     // takes an avg 200-300 ms
     // Used mainly for agility, might have to tweak this for other stuff
     public static boolean canReach(WorldPoint worldPoint, int sizeX, int sizeY, int pathSizeX, int pathSizeY,boolean useBankedItems) {
-		boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
         WorldArea pathArea = null;
         WorldArea objectArea = new WorldArea(worldPoint, sizeX + 2, sizeY + 2);
         try {                            
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankedItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
-            if (ShortestPathPlugin.getPathfinderConfig().getTransports().isEmpty()) {
-                ShortestPathPlugin.getPathfinderConfig().refresh();
-            }
-            Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), Rs2Player.getWorldLocation(), worldPoint);
+            PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+            pathfinderConfig.refresh();
+            Pathfinder pathfinder = new Pathfinder(pathfinderConfig.snapshot(useBankedItems, pathfinderConfig.isIgnoreTeleportAndItems()),
+                    Rs2Player.getWorldLocation(), worldPoint);
             pathfinder.run();
             pathArea = new WorldArea(pathfinder.getPath().get(pathfinder.getPath().size() - 1), pathSizeX, pathSizeY);                       
         } catch (Exception e) {
             Microbot.logStackTrace("Rs2Walker", e);
             return false;
-        } finally {
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
         }
         return pathArea != null ? pathArea
                 .intersectsWith2D(objectArea): false;
@@ -1277,31 +1270,49 @@ public class Rs2Walker {
             ShortestPathPlugin.getPathfinderFuture().cancel(true);
         }
 
-        if (ShortestPathPlugin.getPathfindingExecutor() == null) {
-            ThreadFactory shortestPathNaming = new ThreadFactoryBuilder().setNameFormat("shortest-path-%d").build();
-            ShortestPathPlugin.setPathfindingExecutor(Executors.newSingleThreadExecutor(shortestPathNaming));
+        if (ShortestPathPlugin.getPathfindingService() == null) {
+            ShortestPathPlugin.setPathfindingService(new PathfindingService());
         }
 
-        ShortestPathPlugin.getPathfinderConfig().refresh();
+        PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+        pathfinderConfig.refresh();
         if (Rs2Player.isInCave()) {
-            Pathfinder pathfinder = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
-            pathfinder.run();
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(true);
-            Pathfinder pathfinderWithoutTeleports = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends);
-            pathfinderWithoutTeleports.run();
-            if (pathfinder.getPath().size() >= pathfinderWithoutTeleports.getPath().size()) {
-                ShortestPathPlugin.setPathfinder(pathfinderWithoutTeleports);
-            } else {
-                ShortestPathPlugin.setPathfinder(pathfinder);
+            // Search with and without teleports at the same time and keep the shorter path
+            Pathfinder pathfinder = new Pathfinder(pathfinderConfig.snapshot(pathfinderConfig.isUseBankItems(), false), start, ends);
+            Pathfinder pathfinderWithoutTeleports = new Pathfinder(pathfinderConfig.snapshot(pathfinderConfig.isUseBankItems(), true), start, ends);
+            try {
+                runPathfinders(pathfinder, pathfinderWithoutTeleports);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
             }
-            ShortestPathPlugin.getPathfinderConfig().setIgnoreTeleportAndItems(false);
+            Pathfinder shortest = pathfinder.getPath().size() >= pathfinderWithoutTeleports.getPath().size()
+                    ? pathfinderWithoutTeleports
+                    : pathfinder;
+            ShortestPathPlugin.setPathfinder(shortest);
+            ShortestPathPlugin.setPathfinderFuture(CompletableFuture.completedFuture(shortest));
         } else {
-            ShortestPathPlugin.setPathfinder(new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), start, ends));
-            ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingExecutor().submit(ShortestPathPlugin.getPathfinder()));
+            ShortestPathPlugin.setPathfinder(new Pathfinder(pathfinderConfig, start, ends));
+            ShortestPathPlugin.setPathfinderFuture(ShortestPathPlugin.getPathfindingService().submit(ShortestPathPlugin.getPathfinder()));
         }
         return true;
     }
 
+    /**
+     * Runs the searches in parallel on the pathfinding service and waits for all of them.
+     * Falls back to running them one after another on this thread when the service has been shut down.
+     */
+    private static void runPathfinders(Pathfinder... pathfinders) throws InterruptedException {
+        PathfindingService service = ShortestPathPlugin.getPathfindingService();
+        if (service == null || service.isShutdown()) {
+            for (Pathfinder pathfinder : pathfinders) {
+                pathfinder.run();
+            }
+            return;
+        }
+        service.runAll(Arrays.asList(pathfinders));
+    }
+
     /**
      * @param point
      * @return
@@ -2538,44 +2549,35 @@ public class Rs2Walker {
         // Convert list to set for pathfinder
         Set<WorldPoint> targetSet = new HashSet<>(targets);
         
-        // Store original configuration to restore later
-        boolean originalUseBankItems =  ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
-        try {            
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(useBankItems);
-            // Configure pathfinder            
-            ShortestPathPlugin.getPathfinderConfig().refresh();                                              
-            // Run pathfinder
-            Pathfinder pf = new Pathfinder(ShortestPathPlugin.getPathfinderConfig(), startPoint, targetSet);
-            pf.run();
-            
-            List<WorldPoint> path = pf.getPath();
-            if (path.isEmpty()) {
-                log.debug("Unable to find path to any target from starting point: " + startPoint);
-                return -1;
-            }
-            
-            // Find which target corresponds to the end of the path
-            WorldPoint nearestTile = path.get(path.size() - 1);
-            WorldArea nearestTileArea = new WorldArea(nearestTile, tolerance, tolerance);
-            
-            // Find the target that matches the final path destination
-            for (int i = 0; i < targets.size(); i++) {
-                WorldPoint target = targets.get(i);
-                WorldArea targetArea = new WorldArea(target, tolerance, tolerance);
-                if (targetArea.intersectsWith2D(nearestTileArea)) {
-                    log.debug("Found nearest accessible target at index " + i + ": " + target + " (path ended at: " + nearestTile + ")");
-                    return i;
-                }
-            }
-            
-            log.debug("Path found but no target matched the destination: " + nearestTile);
+        // Configure pathfinder, the shared config is left as it is and the search gets its own copy
+        PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+        pathfinderConfig.refresh();
+        // Run pathfinder
+        Pathfinder pf = new Pathfinder(pathfinderConfig.snapshot(useBankItems, pathfinderConfig.isIgnoreTeleportAndItems()), startPoint, targetSet);
+        pf.run();
+        
+        List<WorldPoint> path = pf.getPath();
+        if (path.isEmpty()) {
+            log.debug("Unable to find path to any target from starting point: " + startPoint);
             return -1;
-            
-        } finally {
-            // Always restore original configuration
-            ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-            ShortestPathPlugin.getPathfinderConfig().refresh();
         }
+        
+        // Find which target corresponds to the end of the path
+        WorldPoint nearestTile = path.get(path.size() - 1);
+        WorldArea nearestTileArea = new WorldArea(nearestTile, tolerance, tolerance);
+        
+        // Find the target that matches the final path destination
+        for (int i = 0; i < targets.size(); i++) {
+            WorldPoint target = targets.get(i);
+            WorldArea targetArea = new WorldArea(target, tolerance, tolerance);
+            if (targetArea.intersectsWith2D(nearestTileArea)) {
+                log.debug("Found nearest accessible target at index " + i + ": " + target + " (path ended at: " + nearestTile + ")");
+                return i;
+            }
+        }
+        
+        log.debug("Path found but no target matched the destination: " + nearestTile);
+        return -1;
     }
     
     /**
@@ -2972,14 +2974,22 @@ public class Rs2Walker {
             // Get direct path distance with timing
             performanceLog.append("Start Point: ").append(startPoint).append(", Target: ").append(target).append("\n");
             
-            long directPathStartTime = System.nanoTime();
-            List<WorldPoint> directPath = getWalkPath(startPoint, target);
-            long directPathEndTime = System.nanoTime();
-            double directPathTimeMs = (directPathEndTime - directPathStartTime) / 1_000_000.0;
+            // The direct path and the path with banked items don't depend on each other, so search both at once
+            long pathsStartTime = System.nanoTime();
+            PathfinderConfig pathfinderConfig = ShortestPathPlugin.getPathfinderConfig();
+            pathfinderConfig.refresh();
+            boolean ignoreTeleportAndItems = pathfinderConfig.isIgnoreTeleportAndItems();
+            Pathfinder directPathfinder = new Pathfinder(pathfinderConfig.snapshot(pathfinderConfig.isUseBankItems(), ignoreTeleportAndItems), startPoint, target);
+            Pathfinder bankedItemsPathfinder = new Pathfinder(pathfinderConfig.snapshot(true, ignoreTeleportAndItems), startPoint, target);
+            runPathfinders(directPathfinder, bankedItemsPathfinder);
+            long pathsEndTime = System.nanoTime();
+            double pathsTimeMs = (pathsEndTime - pathsStartTime) / 1_000_000.0;
             
+            List<WorldPoint> directPath = directPathfinder.getPath();
             int directDistance = getTotalTilesFromPath(directPath, target);
-            performanceLog.append("Direct path calculation: ").append(String.format("%.2f ms", directPathTimeMs))
-                    .append(" (").append(directPath.size()).append(" waypoints, ").append(directDistance).append(" tiles)\n");
+            performanceLog.append("Direct and banked items path calculation: ").append(String.format("%.2f ms", pathsTimeMs)).append("\n");
+            performanceLog.append("Direct path: ")
+                    .append(directPath.size()).append(" waypoints, ").append(directDistance).append(" tiles\n");
             
             // Find nearest bank and calculate banking route distance
             BankLocation nearestBank = null;
@@ -2988,34 +2998,16 @@ public class Rs2Walker {
             int bankingRouteDistance = -1;            
             
             try {
+                performanceLog.append("\t-Bank items available: ").append(Rs2Bank.bankItems().size()).append("\n");
                 
-            
-             
+                pathWithBankedItemsToTarget = bankedItemsPathfinder.getPath();
+                int distanceWithBankedItemsToTarget = getTotalTilesFromPath(pathWithBankedItemsToTarget, target);
+                bankingRouteDistance = distanceWithBankedItemsToTarget;
                 
-                boolean originalUseBankItems = ShortestPathPlugin.getPathfinderConfig().isUseBankItems();
-                try {                            
-                    ShortestPathPlugin.getPathfinderConfig().setUseBankItems(true);
-                    ShortestPathPlugin.getPathfinderConfig().refresh();
-                    
-                    performanceLog.append("\t-Bank items available: ").append(Rs2Bank.bankItems().size()).append("\n");
-                    
-                    long pathWithBankedItemsStartTime = System.nanoTime();
-                    pathWithBankedItemsToTarget = getWalkPath(startPoint, target);
-                    long pathWithBankedItemsEndTime = System.nanoTime();
-                    double pathWithBankedItemsTimeMs = (pathWithBankedItemsEndTime - pathWithBankedItemsStartTime) / 1_000_000.0;
-                    
-                    int distanceWithBankedItemsToTarget = getTotalTilesFromPath(pathWithBankedItemsToTarget, target);
-                    bankingRouteDistance = distanceWithBankedItemsToTarget;
-                    
-                    performanceLog.append("\t-Path from start to target with banked items: ").append(String.format("%.2f ms", pathWithBankedItemsTimeMs))
-                            .append(" (").append(pathWithBankedItemsToTarget.size()).append(" waypoints, ").append(distanceWithBankedItemsToTarget).append(" tiles)\n");
-                    performanceLog.append("\t-Total banking route distance: ").append(bankingRouteDistance).append(" tiles\n");
-
-                } finally {
-                    // Always restore original configuration
-                    ShortestPathPlugin.getPathfinderConfig().setUseBankItems(originalUseBankItems);
-                    ShortestPathPlugin.getPathfinderConfig().refresh();                        
-                }
+                performanceLog.append("\t-Path from start to target with banked items: ")
+                        .append(pathWithBankedItemsToTarget.size()).append(" waypoints, ").append(distanceWithBankedItemsToTarget).append(" tiles\n");
+                performanceLog.append("\t-Total banking route distance: ").append(bankingRouteDistance).append(" tiles\n");
+
                 if (bankingRouteDistance<directDistance){
                     long bankSearchStartTime = System.nanoTime();
                     nearestBank = Rs2Bank.getNearestBank(startPoint);
@@ -3067,7 +3059,11 @@ public class Rs2Walker {
             
             return new TransportRouteAnalysis(directPath, 
                 nearestBank, nearestBank != null ? nearestBank.getWorldPoint() : null,pathToBank,pathWithBankedItemsToTarget, recommendation);
-                
+
+        } catch (InterruptedException e) {
+            // The script was stopped while searching, keep the interrupt so it stops instead of acting on the result
+            Thread.currentThread().interrupt();
+            return new TransportRouteAnalysis(new ArrayList<>(), null, null, new ArrayList<>(), new ArrayList<>(), "Route calculation interrupted");
         } catch (Exception e) {
             long totalEndTime = System.nanoTime();
             double totalTimeMs = (totalEndTime - totalStartTime) / 1_000_000.0;
@@ -3131,7 +3127,11 @@ public class Rs2Walker {
             return WalkerState.MOVING;
         setTarget(target);
         // Check what transport items are needed
-        TransportRouteAnalysis comparison = compareRoutes(target);        
+        TransportRouteAnalysis comparison = compareRoutes(target);
+        if (Thread.currentThread().isInterrupted()) {
+            setTarget(null);
+            return WalkerState.EXIT;
+        }
         List<Transport> missingTransports = getMissingTransports(getTransportsForDestination(target, true));
         log.info("\n\tFound {} missing req. for transports to destination in the bank: {}", 
                 missingTransports.size(), target);
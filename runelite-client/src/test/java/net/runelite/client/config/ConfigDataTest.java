@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.CRC32;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigDataTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File configFile;
+
+	@Before
+	public void before() throws IOException
+	{
+		configFile = new File(folder.getRoot(), "test.properties");
+	}
+
+	private void save(ConfigData data)
+	{
+		data.patch(data.swapChanges());
+	}
+
+	@Test
+	public void testJournalReplay()
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		data.setProperty("b", "2");
+		save(data);
+		assertTrue(configFile.exists());
+		assertFalse(ConfigData.journalFile(configFile).exists());
+
+		long length = configFile.length();
+		data.setProperty("a", "3");
+		data.unset("b");
+		data.setProperty("c", "multi\nline =value");
+		save(data);
+		assertEquals(length, configFile.length());
+		assertTrue(ConfigData.journalFile(configFile).exists());
+
+		Map<String, String> loaded = new ConfigData(configFile).get();
+		assertEquals("3", loaded.get("a"));
+		assertNull(loaded.get("b"));
+		assertEquals("multi\nline =value", loaded.get("c"));
+	}
+
+	@Test
+	public void testMergesClients()
+	{
+		ConfigData first = new ConfigData(configFile);
+		first.setProperty("a", "1");
+		save(first);
+
+		ConfigData second = new ConfigData(configFile);
+		first.setProperty("b", "2");
+		second.setProperty("c", "3");
+		save(first);
+		save(second);
+
+		Map<String, String> loaded = new ConfigData(configFile).get();
+		assertEquals("1", loaded.get("a"));
+		assertEquals("2", loaded.get("b"));
+		assertEquals("3", loaded.get("c"));
+	}
+
+	@Test
+	public void testTornRecord() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		save(data);
+		data.setProperty("a", "2");
+		save(data);
+
+		File journal = ConfigData.journalFile(configFile);
+		long length = journal.length();
+		data.setProperty("a", "3");
+		save(data);
+
+		// crash while appending the last record
+		try (RandomAccessFile raf = new RandomAccessFile(journal, "rw"))
+		{
+			raf.setLength(raf.length() - 2);
+		}
+		assertEquals("2", new ConfigData(configFile).getProperty("a"));
+
+		// the next append replaces the torn record
+		data.setProperty("b", "4");
+		save(data);
+		assertTrue(journal.length() > length);
+		Map<String, String> loaded = new ConfigData(configFile).get();
+		assertEquals("2", loaded.get("a"));
+		assertEquals("4", loaded.get("b"));
+	}
+
+	@Test
+	public void testMalformedRecord() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		save(data);
+		data.setProperty("a", "2");
+		save(data);
+
+		// a record with a valid checksum claiming one entry with a key longer than the record
+		byte[] record = {0, 0, 0, 1, 0, 0, 0, 100, 'a'};
+		CRC32 crc = new CRC32();
+		crc.update(record);
+		File journal = ConfigData.journalFile(configFile);
+		try (RandomAccessFile raf = new RandomAccessFile(journal, "rw"))
+		{
+			raf.seek(raf.length());
+			raf.writeInt(record.length);
+			raf.writeInt((int) crc.getValue());
+			raf.write(record);
+		}
+
+		// the records before it are kept and folded into the config file
+		ConfigData loaded = new ConfigData(configFile);
+		assertEquals("2", loaded.getProperty("a"));
+		assertFalse(journal.exists());
+
+		loaded.setProperty("b", "3");
+		save(loaded);
+		Map<String, String> reloaded = new ConfigData(configFile).get();
+		assertEquals("2", reloaded.get("a"));
+		assertEquals("3", reloaded.get("b"));
+	}
+
+	@Test
+	public void testCompact()
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		save(data);
+		data.setProperty("b", "2");
+		data.unset("a");
+		save(data);
+
+		ConfigData.compact(configFile);
+		assertFalse(ConfigData.journalFile(configFile).exists());
+		assertEquals(Collections.singletonMap("b", "2"), new ConfigData(configFile).get());
+	}
+
+	@Test
+	public void testCompactionNeeded()
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		save(data);
+
+		String large = String.join("", Collections.nCopies(1024 * 1024, "x"));
+		data.setProperty("large", large);
+		save(data);
+		assertTrue(data.isCompactionNeeded());
+
+		data.compact();
+		assertFalse(data.isCompactionNeeded());
+		assertEquals(large, new ConfigData(configFile).getProperty("large"));
+	}
+
+	@Test
+	public void testStaleJournalIgnored() throws IOException
+	{
+		ConfigData data = new ConfigData(configFile);
+		data.setProperty("a", "1");
+		save(data);
+		data.setProperty("a", "2");
+		save(data);
+
+		// config file rewritten without the journal, e.g. by an older client
+		Files.write(configFile.toPath(), "a=5\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals("5", new ConfigData(configFile).getProperty("a"));
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class EventBusTest
+{
+	public static class TestEvent
+	{
+	}
+
+	public static class Low
+	{
+		private final List<String> calls;
+
+		Low(List<String> calls)
+		{
+			this.calls = calls;
+		}
+
+		@Subscribe
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("low");
+		}
+	}
+
+	public static class High
+	{
+		private final List<String> calls;
+
+		High(List<String> calls)
+		{
+			this.calls = calls;
+		}
+
+		@Subscribe(priority = 1)
+		public void onTestEvent(TestEvent event)
+		{
+			calls.add("high");
+			throw new IllegalStateException();
+		}
+	}
+
+	@Test
+	public void testDispatchOrder()
+	{
+		final List<String> calls = new ArrayList<>();
+		final List<Throwable> exceptions = new ArrayList<>();
+		final EventBus eventBus = new EventBus(exceptions::add);
+
+		final Low low = new Low(calls);
+		eventBus.register(low);
+		eventBus.register(new High(calls));
+		eventBus.post(new TestEvent());
+
+		assertEquals(List.of("high", "low"), calls);
+		assertEquals(1, exceptions.size());
+
+		calls.clear();
+		eventBus.unregister(low);
+		eventBus.post(new TestEvent());
+		assertEquals(List.of("high"), calls);
+	}
+
+	@Test
+	public void testProfiling()
+	{
+		final EventBus eventBus = new EventBus(e ->
+		{
+		});
+		eventBus.register(new High(new ArrayList<>()));
+
+		eventBus.post(new TestEvent());
+		EventBus.SubscriberStats stats = eventBus.getSubscribers().get(TestEvent.class).get(0).getStats();
+		assertEquals(0, stats.getCalls());
+		assertEquals(1, stats.getExceptions());
+
+		eventBus.setProfiling(true);
+		eventBus.post(new TestEvent());
+		eventBus.post(new TestEvent());
+		assertEquals(2, stats.getCalls());
+		assertEquals(3, stats.getExceptions());
+		assertTrue(stats.getTotalNanos() >= stats.getMaxNanos());
+
+		eventBus.resetStats();
+		assertEquals(0, stats.getCalls());
+		assertFalse(eventBus.getSubscribers().isEmpty());
+	}
+}
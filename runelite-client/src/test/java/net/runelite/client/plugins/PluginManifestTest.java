@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.client.plugins;
+
+import com.google.gson.Gson;
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.runelite.client.pluginmanifest.BarPlugin;
+import net.runelite.client.pluginmanifest.BazPlugin;
+import net.runelite.client.pluginmanifest.FooConfig;
+import net.runelite.client.pluginmanifest.FooPlugin;
+import net.runelite.client.pluginmanifest.NotAPlugin;
+import net.runelite.mvn.Mojos;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginManifestTest
+{
+	private static final String FIXTURE_PACKAGE = "net.runelite.client.pluginmanifest";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testOf()
+	{
+		PluginManifest manifest = PluginManifest.of(Arrays.asList(FooPlugin.class, FooConfig.class, NotAPlugin.class));
+		assertEquals(1, manifest.getPlugins().size());
+
+		PluginManifest.Entry foo = manifest.getPlugins().get(0);
+		assertEquals(FooPlugin.class.getName(), foo.getClassName());
+		assertEquals("Foo", foo.getName());
+		assertEquals("fooConfig", foo.getConfigName());
+		assertEquals("fooGroup", foo.getConfigGroup());
+		assertEquals(Arrays.asList(BarPlugin.class.getName(), BazPlugin.class.getName()), foo.getDependencies());
+		assertTrue(foo.isEnabledByDefault());
+		assertFalse(foo.isDeveloperPlugin());
+		assertFalse(foo.isLoadInSafeMode());
+	}
+
+	@Test
+	public void testMojoMatchesLoadedClasses() throws Exception
+	{
+		File classesDirectory = new File(FooPlugin.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		File outputFile = new File(folder.getRoot(), "plugins.json");
+
+		Mojos.writePluginManifest(classesDirectory, FIXTURE_PACKAGE, outputFile);
+
+		PluginManifest manifest;
+		try (Reader reader = Files.newBufferedReader(outputFile.toPath(), StandardCharsets.UTF_8))
+		{
+			manifest = new Gson().fromJson(reader, PluginManifest.class);
+		}
+
+		// the mojo lists the plugins in class file name order
+		List<Class<?>> classes = Arrays.asList(BarPlugin.class, BazPlugin.class, FooConfig.class, FooPlugin.class, NotAPlugin.class);
+		assertEquals(PluginManifest.of(classes), manifest);
+		assertNull(manifest.getPlugins().get(1).getConfigGroup());
+	}
+
+	@Test
+	public void testScanOutsideManifest() throws Exception
+	{
+		// the test classes are not in the directory of the client manifest, so they are scanned and not filtered
+		List<Class<?>> classes = PluginManifest.loadPackages(getClass().getClassLoader(), Collections.singleton(FIXTURE_PACKAGE), entry -> false);
+		assertTrue(classes.contains(FooPlugin.class));
+		assertTrue(classes.contains(NotAPlugin.class));
+	}
+}
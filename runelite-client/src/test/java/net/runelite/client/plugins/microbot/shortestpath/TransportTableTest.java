@@ -0,0 +1,114 @@
+package net.runelite.client.plugins.microbot.shortestpath;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.mvn.Mojos;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TransportTableTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TransportTable packTable() throws Exception {
+        File inputDirectory = new File(ShortestPathPlugin.class.getResource("transports.tsv").toURI()).getParentFile();
+        File outputFile = new File(folder.getRoot(), TransportTable.RESOURCE);
+
+        Mojos.packTransports(inputDirectory, outputFile);
+
+        try (FileInputStream in = new FileInputStream(outputFile)) {
+            return TransportTable.read(in);
+        }
+    }
+
+    @Test
+    public void testTransportsMatchFiles() throws Exception {
+        Map<WorldPoint, Set<List<Object>>> expected = describeTransports(Transport.loadAllFromResources(null));
+        Map<WorldPoint, Set<List<Object>>> actual = describeTransports(Transport.loadAllFromResources(packTable()));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (WorldPoint origin : expected.keySet()) {
+            assertEquals(String.valueOf(origin), expected.get(origin), actual.get(origin));
+        }
+    }
+
+    @Test
+    public void testRestrictionsMatchFile() throws Exception {
+        List<List<Object>> expected = describeRestrictions(Restriction.loadAllFromResources(null));
+        List<List<Object>> actual = describeRestrictions(Restriction.loadAllFromResources(packTable()));
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    private static Map<WorldPoint, Set<List<Object>>> describeTransports(Map<WorldPoint, Set<Transport>> transports) {
+        Map<WorldPoint, Set<List<Object>>> described = new HashMap<>();
+        for (Map.Entry<WorldPoint, Set<Transport>> entry : transports.entrySet()) {
+            Set<List<Object>> set = new HashSet<>();
+            for (Transport transport : entry.getValue()) {
+                set.add(Arrays.asList(
+                        transport.getOrigin(),
+                        transport.getDestination(),
+                        transport.getAction(),
+                        transport.getName(),
+                        transport.getObjectId(),
+                        transport.getCurrencyName(),
+                        transport.getCurrencyAmount(),
+                        levels(transport.getSkillLevels()),
+                        transport.getQuests(),
+                        transport.getItemIdRequirements(),
+                        transport.getType(),
+                        transport.getDuration(),
+                        transport.getDisplayInfo(),
+                        transport.isConsumable(),
+                        transport.getMaxWildernessLevel(),
+                        transport.isMembers(),
+                        varbits(transport.getVarbits()),
+                        varplayers(transport.getVarplayers())));
+            }
+            described.put(entry.getKey(), set);
+        }
+        return described;
+    }
+
+    private static List<List<Object>> describeRestrictions(List<Restriction> restrictions) {
+        return restrictions.stream()
+                .map(restriction -> Arrays.<Object>asList(
+                        restriction.getPackedWorldPoint(),
+                        restriction.getQuests(),
+                        levels(restriction.getSkillLevels()),
+                        restriction.getItemIdRequirements(),
+                        restriction.isMembers(),
+                        varbits(restriction.getVarbits()),
+                        varplayers(restriction.getVarplayers())))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> levels(int[] skillLevels) {
+        return Arrays.stream(skillLevels).boxed().collect(Collectors.toList());
+    }
+
+    private static Set<List<Object>> varbits(Set<TransportVarbit> varbits) {
+        return varbits.stream()
+                .map(varbit -> Arrays.<Object>asList(varbit.getVarbitId(), varbit.getValue(), varbit.getOperator()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<List<Object>> varplayers(Set<TransportVarPlayer> varplayers) {
+        return varplayers.stream()
+                .map(varplayer -> Arrays.<Object>asList(varplayer.getVarplayerId(), varplayer.getValue(), varplayer.getOperator()))
+                .collect(Collectors.toSet());
+    }
+}
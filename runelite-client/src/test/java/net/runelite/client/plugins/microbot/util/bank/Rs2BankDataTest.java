@@ -0,0 +1,56 @@
+package net.runelite.client.plugins.microbot.util.bank;
+
+import net.runelite.client.plugins.microbot.util.state.AccountStateStore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Rs2BankDataTest {
+    private static int[] roundTrip(int[] idQuantityAndSlot) {
+        byte[] bytes = Rs2BankData.encode(idQuantityAndSlot).toByteArray();
+        return Rs2BankData.decode(new AccountStateStore.Reader(1, bytes));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertArrayEquals(new int[0], roundTrip(new int[0]));
+    }
+
+    @Test
+    public void testSlotOrder() {
+        int[] bank = {
+                995, 1_000_000, 0,
+                314, 2_147_483_647, 1,
+                20_000, 0, 2,
+                12, 1, 5
+        };
+        assertArrayEquals(bank, roundTrip(bank));
+    }
+
+    @Test
+    public void testNegativeDeltas() {
+        // slots out of order and ids going down
+        int[] bank = {
+                30_000, 5, 800,
+                1, 1, 3,
+                29_999, 2, 0,
+                0, 7, 801
+        };
+        assertArrayEquals(bank, roundTrip(bank));
+    }
+
+    @Test
+    public void testCompact() {
+        int[] bank = new int[800 * 3];
+        for (int i = 0; i < 800; i++) {
+            bank[i * 3] = 1000 + i * 2;
+            bank[i * 3 + 1] = 1;
+            bank[i * 3 + 2] = i;
+        }
+        byte[] bytes = Rs2BankData.encode(bank).toByteArray();
+        // count, then one byte for each of slot delta, id delta and quantity after the first item
+        assertEquals(2 + 4 + 799 * 3, bytes.length);
+        assertArrayEquals(bank, roundTrip(bank));
+    }
+}
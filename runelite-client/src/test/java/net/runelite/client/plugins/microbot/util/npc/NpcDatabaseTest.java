@@ -0,0 +1,131 @@
+package net.runelite.client.plugins.microbot.util.npc;
+
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.mvn.Mojos;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NpcDatabaseTest {
+    // in String.compareTo order these are "Ankou", "Goblin", "Zombie", "abyssal demon", "goblin", "Élite"
+    private static final List<String> NAMES = Arrays.asList("Zombie", "abyssal demon", "Ankou", "Élite", "goblin", "Goblin");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private NpcDatabase database;
+
+    @Before
+    public void before() throws Exception {
+        File input = folder.newFolder("npc");
+        write(input, "monsters_complete.json", "{"
+                + "\"2\": {\"id\": 2, \"name\": \"Goblin\", \"slayer_monster\": false, \"category\": [\"Goblins\"]},"
+                + "\"10\": {\"id\": 10, \"name\": \"Zombie\", \"slayer_monster\": true, \"category\": [\"Zombies\"]},"
+                + "\"9\": {\"id\": 9, \"name\": \"Zombie\", \"slayer_monster\": true, \"category\": [\"Zombies\", \"Undead\"]}"
+                + "}");
+        write(input, "npcs_attack_style.json", "{\"10\": null, \"2\": \"Crush\"}");
+        write(input, "npcs_attack_animation.json", "{\"2\": \"6184\"}");
+        write(input, "npcs_locations.json", "{"
+                + "\"Goblin\": [{\"location_name\": \"Lumbridge\", \"mapID\": 99, \"coords\": [[3245, 3245, 0], [3250, 3240, 0]]}],"
+                + "\"goblin\": [{\"location_name\": \"Corner\", \"mapID\": 0, \"coords\": [[32767, 32767, 3]]}],"
+                + "\"Zombie\": [{\"location_name\": \"Border\", \"mapID\": 1, \"coords\": [[3263, 3200, 0], [3264, 3300, 1]]}],"
+                + "\"Ankou\": [{\"location_name\": \"Border\", \"mapID\": 1, \"coords\": [[3264, 3200, 0]]}],"
+                + "\"abyssal demon\": [{\"location_name\": null, \"mapID\": null, \"coords\": [[3000, 3000], [3000, 3001, 2]]}],"
+                + "\"Élite\": [{\"location_name\": \"Origin\", \"mapID\": 2, \"coords\": [[0, 0, 0]]}]"
+                + "}");
+
+        File output = new File(folder.getRoot(), "npcs.bin");
+        Mojos.packNpcs(input, output);
+
+        database = new NpcDatabase(Files.readAllBytes(output.toPath()));
+    }
+
+    @Test
+    public void testFindString() {
+        for (String name : NAMES) {
+            List<MonsterLocation> locations = database.getNpcLocations(name);
+            assertEquals(name, 1, locations.size());
+            assertEquals(name, locations.get(0).getNpcName());
+        }
+        assertTrue(database.getNpcLocations("zombie").isEmpty());
+        assertTrue(database.getNpcLocations("Goblins").isEmpty());
+        assertTrue(database.getNpcLocations("").isEmpty());
+    }
+
+    @Test
+    public void testCoordinatePacking() {
+        MonsterLocation goblin = database.getNpcLocations("Goblin").get(0);
+        assertEquals("Lumbridge", goblin.getLocationName());
+        assertEquals(Integer.valueOf(99), goblin.getMapID());
+        assertEquals(Arrays.asList(new WorldPoint(3245, 3245, 0), new WorldPoint(3250, 3240, 0)), goblin.getCoords());
+
+        // the plane is in the sign bit
+        assertEquals(Collections.singletonList(new WorldPoint(32767, 32767, 3)), database.getNpcLocations("goblin").get(0).getCoords());
+        assertEquals(Collections.singletonList(new WorldPoint(0, 0, 0)), database.getNpcLocations("Élite").get(0).getCoords());
+
+        // coordinates without a plane are skipped, as when reading the json
+        MonsterLocation demon = database.getNpcLocations("abyssal demon").get(0);
+        assertNull(demon.getLocationName());
+        assertNull(demon.getMapID());
+        assertEquals(Collections.singletonList(new WorldPoint(3000, 3001, 2)), demon.getCoords());
+    }
+
+    @Test
+    public void testLocationsNear() {
+        // 3263 is the last column of a region and 3264 the first of the next one
+        assertEquals(Collections.singleton("Ankou"), namesNear(new WorldPoint(3265, 3200, 0), 1));
+        assertEquals(Set.of("Ankou", "Zombie"), namesNear(new WorldPoint(3265, 3200, 0), 2));
+        assertEquals(Set.of("Ankou", "Zombie"), namesNear(new WorldPoint(3262, 3199, 0), 2));
+        assertEquals(Collections.singleton("Zombie"), namesNear(new WorldPoint(3264, 3300, 1), 0));
+        assertEquals(Collections.emptySet(), namesNear(new WorldPoint(3263, 3200, 1), 0));
+        assertEquals(Collections.singleton("Goblin"), namesNear(new WorldPoint(3247, 3243, 0), 2));
+        assertEquals(Collections.singleton("goblin"), namesNear(new WorldPoint(32760, 32767, 3), 7));
+        assertEquals(Collections.singleton("abyssal demon"), namesNear(new WorldPoint(3000, 3001, 2), 5));
+    }
+
+    @Test
+    public void testStats() {
+        assertEquals("Zombie", database.getStats(9).getName());
+        assertEquals(10, database.getStats(10).getId());
+        assertEquals("Goblin", database.getStats(2).getName());
+        assertNull(database.getStats(3));
+
+        // ids are ordered as numbers, not as the strings of the json keys
+        assertEquals(Arrays.asList(9, 10), database.getSlayerMonsters());
+        assertEquals(Collections.singletonList("Zombie"), database.getSlayerMonstersByCategory("ZOMBIES"));
+        assertEquals(Collections.singletonList("Zombie"), database.getSlayerMonstersByCategory("undead"));
+        assertTrue(database.getSlayerMonstersByCategory("Ghosts").isEmpty());
+        // the json of the stats record has every category the index has
+        assertEquals(Arrays.asList("Zombies", "Undead"), database.getStats(9).getCategory());
+
+        assertEquals("Crush", database.getAttackStyle(2));
+        assertNull(database.getAttackStyle(10));
+        assertTrue(database.getAttackStyles().containsKey(10));
+        assertEquals(2, database.getAttackStyles().size());
+        assertEquals("6184", database.getAttackAnimations().get(2));
+    }
+
+    private Set<String> namesNear(WorldPoint point, int distance) {
+        return database.getNpcLocationsNear(point, distance).stream()
+                .map(MonsterLocation::getNpcName)
+                .collect(Collectors.toSet());
+    }
+
+    private static void write(File directory, String name, String json) throws Exception {
+        Files.write(new File(directory, name).toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,210 @@
+package net.runelite.client.plugins.microbot.util.state;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AccountStateStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void before() {
+        directory = folder.getRoot();
+    }
+
+    private AccountStateStore open() {
+        return new AccountStateStore(directory, "account");
+    }
+
+    private File generation(int gen) {
+        return new File(directory, "account." + gen + ".state");
+    }
+
+    private static AccountStateStore.Writer value(int value) {
+        return new AccountStateStore.Writer().writeVarInt(value);
+    }
+
+    private static int read(AccountStateStore store, String key) {
+        AccountStateStore.Reader reader = store.get(key);
+        assertNotNull(key, reader);
+        return reader.readVarInt();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        AccountStateStore store = open();
+        assertNull(store.get("missing"));
+        store.put("key", 3, new AccountStateStore.Writer()
+                .writeVarInt(0)
+                .writeVarInt(300)
+                .writeVarInt(-1)
+                .writeSignedVarInt(-5)
+                .writeSignedVarInt(Integer.MIN_VALUE)
+                .writeVarLong(Long.MAX_VALUE)
+                .writeString("héllo"));
+
+        AccountStateStore.Reader reader = open().get("key");
+        assertEquals(3, reader.getSchemaVersion());
+        assertEquals(0, reader.readVarInt());
+        assertEquals(300, reader.readVarInt());
+        assertEquals(-1, reader.readVarInt());
+        assertEquals(-5, reader.readSignedVarInt());
+        assertEquals(Integer.MIN_VALUE, reader.readSignedVarInt());
+        assertEquals(Long.MAX_VALUE, reader.readVarLong());
+        assertEquals("héllo", reader.readString());
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    public void testUnchangedPayloadNotWritten() throws IOException {
+        AccountStateStore store = open();
+        store.put("key", 1, value(7));
+        long length = generation(0).length();
+
+        store.put("key", 1, value(7));
+        assertEquals(length, generation(0).length());
+
+        // a new schema version is a change even with the same bytes
+        store.put("key", 2, value(7));
+        assertTrue(generation(0).length() > length);
+        assertEquals(2, open().get("key").getSchemaVersion());
+    }
+
+    @Test
+    public void testTombstone() throws IOException {
+        AccountStateStore store = open();
+        store.put("a", 1, value(1));
+        store.put("b", 1, value(2));
+        store.remove("a");
+        assertFalse(store.contains("a"));
+
+        AccountStateStore reopened = open();
+        assertFalse(reopened.contains("a"));
+        assertEquals(2, read(reopened, "b"));
+
+        reopened.put("a", 1, value(3));
+        assertEquals(3, read(open(), "a"));
+    }
+
+    @Test
+    public void testTruncatedRecord() throws IOException {
+        AccountStateStore store = open();
+        store.put("a", 1, value(1));
+        store.put("b", 1, value(2));
+        store.put("c", 1, value(3));
+
+        // crash while appending the last record
+        try (RandomAccessFile raf = new RandomAccessFile(generation(0), "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+
+        AccountStateStore reopened = open();
+        assertEquals(1, read(reopened, "a"));
+        assertEquals(2, read(reopened, "b"));
+        assertFalse(reopened.contains("c"));
+
+        // the readable records were copied into a new generation, which later records are appended to
+        assertFalse(generation(0).exists());
+        assertTrue(generation(1).exists());
+        reopened.put("d", 1, value(4));
+        AccountStateStore last = open();
+        assertEquals(2, read(last, "b"));
+        assertEquals(4, read(last, "d"));
+    }
+
+    @Test
+    public void testFlippedChecksum() throws IOException {
+        AccountStateStore store = open();
+        store.put("a", 1, value(1));
+        store.put("a", 1, value(2));
+
+        try (RandomAccessFile raf = new RandomAccessFile(generation(0), "rw")) {
+            raf.seek(raf.length() - 1);
+            int b = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(b ^ 0xFF);
+        }
+
+        assertEquals(1, read(open(), "a"));
+    }
+
+    @Test
+    public void testDamagedHeader() throws IOException {
+        Files.write(generation(0).toPath(), new byte[]{1, 2, 3});
+
+        AccountStateStore store = open();
+        assertNull(store.get("a"));
+        store.put("a", 1, value(1));
+        assertEquals(1, read(open(), "a"));
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        AccountStateStore store = open();
+        store.put("kept", 1, value(42));
+        byte[] padding = new byte[100];
+        int puts = (int) (AccountStateStore.COMPACTION_THRESHOLD / padding.length) * 2;
+        for (int i = 0; i < puts; i++) {
+            store.put("changing", 1, value(i).writeBytes(padding));
+        }
+
+        File[] files = directory.listFiles();
+        assertEquals(Arrays.toString(files), 1, files.length);
+        assertFalse(generation(0).exists());
+        assertTrue(files[0].length() <= AccountStateStore.COMPACTION_THRESHOLD);
+
+        AccountStateStore reopened = open();
+        assertEquals(42, read(reopened, "kept"));
+        assertEquals(puts - 1, read(reopened, "changing"));
+    }
+
+    @Test
+    public void testLatestGenerationWins() throws IOException {
+        AccountStateStore old = open();
+        old.put("a", 1, value(1));
+        Files.copy(generation(0).toPath(), generation(1).toPath());
+
+        AccountStateStore newer = new AccountStateStore(directory, "account");
+        // written to generation 1, which is the newest one now
+        newer.put("a", 1, value(2));
+        File tmp = new File(directory, "account.2.tmp");
+        Files.write(tmp.toPath(), new byte[]{1, 2, 3});
+        File otherAccount = new File(directory, "other.0.state");
+        Files.write(otherAccount.toPath(), new byte[]{1, 2, 3});
+
+        AccountStateStore reopened = open();
+        assertEquals(2, read(reopened, "a"));
+        assertFalse(generation(0).exists());
+        assertTrue(generation(1).exists());
+        assertFalse(tmp.exists());
+        assertTrue(otherAccount.exists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchemaVersionMustBePositive() throws IOException {
+        open().put("a", 0, value(1));
+    }
+
+    @Test
+    public void testWriterBytes() {
+        byte[] bytes = new AccountStateStore.Writer().writeVarInt(300).writeSignedVarInt(-1).toByteArray();
+        assertArrayEquals(new byte[]{(byte) 0xAC, 0x02, 0x01}, bytes);
+    }
+}
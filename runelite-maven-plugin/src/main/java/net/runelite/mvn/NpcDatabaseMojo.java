@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Compiles the microbot NPC json files into one indexed database, read by NpcDatabase in the client. Every section
+ * is a table of fixed size records sorted by its key, so the client can binary search the file without building
+ * maps. Stats records are kept as compact json and only parsed when an NPC is looked up.
+ */
+@Mojo(
+	name = "pack-npcs",
+	defaultPhase = LifecyclePhase.GENERATE_RESOURCES
+)
+public class NpcDatabaseMojo extends AbstractMojo
+{
+	// keep in sync with NpcDatabase
+	static final int MAGIC = 0x4e504344; // NPCD
+	static final int VERSION = 1;
+	static final int NO_MAP_ID = Integer.MIN_VALUE;
+
+	private static final String STATS_FILE = "monsters_complete.json";
+	private static final String ATTACK_STYLE_FILE = "npcs_attack_style.json";
+	private static final String ATTACK_ANIMATION_FILE = "npcs_attack_animation.json";
+	private static final String LOCATIONS_FILE = "npcs_locations.json";
+
+	@Parameter(required = true)
+	private File inputDirectory;
+
+	@Parameter(required = true)
+	private File outputFile;
+
+	public NpcDatabaseMojo()
+	{
+	}
+
+	/**
+	 * Used by the client tests to pack fixture json
+	 */
+	NpcDatabaseMojo(File inputDirectory, File outputFile)
+	{
+		this.inputDirectory = inputDirectory;
+		this.outputFile = outputFile;
+	}
+
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		ByteArrayOutputStream sections = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(sections))
+		{
+			writeStats(out, readObject(STATS_FILE));
+			writeIdStrings(out, readObject(ATTACK_STYLE_FILE));
+			writeIdStrings(out, readObject(ATTACK_ANIMATION_FILE));
+			writeLocations(out, readObject(LOCATIONS_FILE));
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			throw new MojoExecutionException("error compiling npc database", ex);
+		}
+
+		outputFile.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(outputFile)))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+			out.writeInt(strings.size());
+			for (String s : strings)
+			{
+				out.writeInt(stringBytes.size());
+				stringBytes.write(s.getBytes(StandardCharsets.UTF_8));
+			}
+			out.writeInt(stringBytes.size());
+			stringBytes.writeTo(out);
+
+			sections.writeTo(out);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing npc database", ex);
+		}
+
+		getLog().info("Compiled npc database with " + strings.size() + " strings, " + outputFile.length() + " bytes");
+	}
+
+	/**
+	 * Reads a json object keyed by npc id or name, in key order, or an empty map if the file does not exist
+	 */
+	private Map<String, JsonElement> readObject(String name) throws IOException
+	{
+		File file = new File(inputDirectory, name);
+		Map<String, JsonElement> entries = new TreeMap<>();
+		if (!file.exists())
+		{
+			getLog().warn("No " + name + " in " + inputDirectory + ", the npc database will have no entries for it");
+			return entries;
+		}
+
+		try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))
+		{
+			for (Map.Entry<String, JsonElement> entry : new JsonParser().parse(reader).getAsJsonObject().entrySet())
+			{
+				entries.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes the stats records ordered by id, then the ids of slayer monsters and the monster names of every slayer
+	 * category, keyed by lower case category
+	 */
+	private void writeStats(DataOutputStream out, Map<String, JsonElement> stats) throws IOException
+	{
+		TreeMap<Integer, JsonObject> byId = new TreeMap<>();
+		for (Map.Entry<String, JsonElement> entry : stats.entrySet())
+		{
+			byId.put(Integer.parseInt(entry.getKey()), entry.getValue().getAsJsonObject());
+		}
+
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		List<Integer> slayerMonsters = new ArrayList<>();
+		TreeMap<String, Set<String>> categories = new TreeMap<>();
+
+		out.writeInt(byId.size());
+		for (Map.Entry<Integer, JsonObject> entry : byId.entrySet())
+		{
+			JsonObject npc = entry.getValue();
+			byte[] record = npc.toString().getBytes(StandardCharsets.UTF_8);
+			out.writeInt(entry.getKey());
+			out.writeInt(records.size());
+			out.writeInt(record.length);
+			records.write(record);
+
+			if (isTrue(npc, "slayer_monster"))
+			{
+				slayerMonsters.add(entry.getKey());
+			}
+
+			JsonElement category = npc.get("category");
+			JsonElement name = npc.get("name");
+			if (category != null && category.isJsonArray() && name != null && !name.isJsonNull())
+			{
+				for (JsonElement c : category.getAsJsonArray())
+				{
+					categories.computeIfAbsent(c.getAsString().toLowerCase(Locale.ROOT), k -> new LinkedHashSet<>())
+						.add(name.getAsString());
+				}
+			}
+		}
+		out.writeInt(records.size());
+		records.writeTo(out);
+
+		out.writeInt(slayerMonsters.size());
+		for (int id : slayerMonsters)
+		{
+			out.writeInt(id);
+		}
+
+		List<String> names = new ArrayList<>();
+		out.writeInt(categories.size());
+		for (Map.Entry<String, Set<String>> entry : categories.entrySet())
+		{
+			out.writeInt(intern(entry.getKey()));
+			out.writeInt(names.size());
+			out.writeInt(entry.getValue().size());
+			names.addAll(entry.getValue());
+		}
+		writeStringIndexes(out, names);
+	}
+
+	private void writeIdStrings(DataOutputStream out, Map<String, JsonElement> values) throws IOException
+	{
+		TreeMap<Integer, String> byId = new TreeMap<>();
+		for (Map.Entry<String, JsonElement> entry : values.entrySet())
+		{
+			byId.put(Integer.parseInt(entry.getKey()), entry.getValue().isJsonNull() ? null : entry.getValue().getAsString());
+		}
+
+		out.writeInt(byId.size());
+		for (Map.Entry<Integer, String> entry : byId.entrySet())
+		{
+			out.writeInt(entry.getKey());
+			out.writeInt(entry.getValue() == null ? -1 : intern(entry.getValue()));
+		}
+	}
+
+	/**
+	 * Writes the locations of every npc name, sorted by name, and an index of the locations with a coordinate in
+	 * every region
+	 */
+	private void writeLocations(DataOutputStream out, Map<String, JsonElement> locationsByName) throws IOException
+	{
+		List<int[]> locations = new ArrayList<>();
+		List<Integer> coords = new ArrayList<>();
+		TreeMap<Integer, Set<Integer>> regions = new TreeMap<>();
+
+		// TreeMap order is String.compareTo order, which the client binary searches with
+		out.writeInt(locationsByName.size());
+		for (Map.Entry<String, JsonElement> entry : locationsByName.entrySet())
+		{
+			int npcName = intern(entry.getKey());
+			JsonArray array = entry.getValue().getAsJsonArray();
+			out.writeInt(npcName);
+			out.writeInt(locations.size());
+			out.writeInt(array.size());
+
+			for (JsonElement element : array)
+			{
+				JsonObject location = element.getAsJsonObject();
+				JsonElement locationName = location.get("location_name");
+				JsonElement mapId = location.get("mapID");
+				int firstCoord = coords.size();
+				JsonElement coordArray = location.get("coords");
+				if (coordArray != null && !coordArray.isJsonNull())
+				{
+					for (JsonElement c : coordArray.getAsJsonArray())
+					{
+						JsonArray coord = c.getAsJsonArray();
+						if (coord.size() != 3)
+						{
+							continue;
+						}
+
+						int x = coord.get(0).getAsInt();
+						int y = coord.get(1).getAsInt();
+						int plane = coord.get(2).getAsInt();
+						coords.add(packWorldPoint(x, y, plane));
+						regions.computeIfAbsent((x >> 6) << 8 | (y >> 6), k -> new LinkedHashSet<>()).add(locations.size());
+					}
+				}
+
+				locations.add(new int[]{
+					npcName,
+					locationName == null || locationName.isJsonNull() ? -1 : intern(locationName.getAsString()),
+					mapId == null || mapId.isJsonNull() ? NO_MAP_ID : mapId.getAsInt(),
+					firstCoord,
+					coords.size() - firstCoord
+				});
+			}
+		}
+
+		out.writeInt(locations.size());
+		for (int[] location : locations)
+		{
+			for (int value : location)
+			{
+				out.writeInt(value);
+			}
+		}
+
+		out.writeInt(coords.size());
+		for (int coord : coords)
+		{
+			out.writeInt(coord);
+		}
+
+		List<Integer> refs = new ArrayList<>();
+		out.writeInt(regions.size());
+		for (Map.Entry<Integer, Set<Integer>> entry : regions.entrySet())
+		{
+			out.writeInt(entry.getKey());
+			out.writeInt(refs.size());
+			out.writeInt(entry.getValue().size());
+			refs.addAll(entry.getValue());
+		}
+		out.writeInt(refs.size());
+		for (int ref : refs)
+		{
+			out.writeInt(ref);
+		}
+	}
+
+	private void writeStringIndexes(DataOutputStream out, List<String> values) throws IOException
+	{
+		out.writeInt(values.size());
+		for (String value : values)
+		{
+			out.writeInt(intern(value));
+		}
+	}
+
+	private int intern(String s)
+	{
+		return stringIndexes.computeIfAbsent(s, k ->
+		{
+			strings.add(k);
+			return strings.size() - 1;
+		});
+	}
+
+	private static boolean isTrue(JsonObject object, String name)
+	{
+		JsonElement element = object.get(name);
+		return element != null && element.isJsonPrimitive() && element.getAsBoolean();
+	}
+
+	/**
+	 * Same packing as WorldPointUtil of the shortest path plugin
+	 */
+	private static int packWorldPoint(int x, int y, int plane)
+	{
+		return (x & 0x7FFF) | ((y & 0x7FFF) << 15) | ((plane & 0x3) << 30);
+	}
+}
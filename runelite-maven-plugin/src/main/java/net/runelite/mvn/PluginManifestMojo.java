@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Writes the manifest of the plugins in the compiled classes, read by PluginManifest in the client so the plugin
+ * managers can load the plugin classes by name instead of loading every class of the plugin packages to find them.
+ * The class files are parsed directly, so no class is loaded at build time either.
+ */
+@Mojo(
+	name = "plugin-manifest",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES
+)
+public class PluginManifestMojo extends AbstractMojo
+{
+	// keep in sync with PluginManifest
+	static final int VERSION = 1;
+
+	private static final String PLUGIN = "net/runelite/client/plugins/Plugin";
+	private static final String PLUGIN_DESCRIPTOR = "Lnet/runelite/client/plugins/PluginDescriptor;";
+	private static final String PLUGIN_DEPENDENCY = "Lnet/runelite/client/plugins/PluginDependency;";
+	private static final String PLUGIN_DEPENDENCIES = "Lnet/runelite/client/plugins/PluginDependencies;";
+	private static final String CONFIG_GROUP = "Lnet/runelite/client/config/ConfigGroup;";
+	private static final String PROVIDES = "Lcom/google/inject/Provides;";
+
+	@Parameter(required = true)
+	private File classesDirectory;
+
+	@Parameter(required = true)
+	private String packageName;
+
+	@Parameter(required = true)
+	private File outputFile;
+
+	public PluginManifestMojo()
+	{
+	}
+
+	/**
+	 * Used by the client tests to write the manifest of fixture plugins
+	 */
+	PluginManifestMojo(File classesDirectory, String packageName, File outputFile)
+	{
+		this.classesDirectory = classesDirectory;
+		this.packageName = packageName;
+		this.outputFile = outputFile;
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		File packageDirectory = new File(classesDirectory, packageName.replace('.', File.separatorChar));
+		JsonArray plugins = new JsonArray();
+		try (Stream<Path> paths = Files.walk(packageDirectory.toPath()))
+		{
+			// only top level classes, as the classpath scan did
+			List<Path> classFiles = paths
+				.filter(p -> p.getFileName().toString().endsWith(".class") && p.getFileName().toString().indexOf('$') == -1)
+				.sorted()
+				.collect(Collectors.toList());
+			for (Path path : classFiles)
+			{
+				JsonObject plugin = plugin(ClassFile.read(path.toFile()));
+				if (plugin != null)
+				{
+					plugins.add(plugin);
+				}
+			}
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			throw new MojoExecutionException("error reading plugin classes", ex);
+		}
+
+		JsonObject manifest = new JsonObject();
+		manifest.addProperty("version", VERSION);
+		manifest.add("plugins", plugins);
+
+		outputFile.getParentFile().mkdirs();
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(outputFile.toPath()), StandardCharsets.UTF_8))
+		{
+			gson.toJson(manifest, writer);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing plugin manifest", ex);
+		}
+
+		getLog().info("Wrote plugin manifest with " + plugins.size() + " plugins");
+	}
+
+	private JsonObject plugin(ClassFile classFile) throws IOException
+	{
+		Map<String, Object> descriptor = classFile.annotations.get(PLUGIN_DESCRIPTOR);
+		if (descriptor == null)
+		{
+			if (PLUGIN.equals(classFile.superName))
+			{
+				getLog().warn("Class " + classFile.name.replace('/', '.') + " is a plugin, but has no plugin descriptor");
+			}
+			return null;
+		}
+
+		if (!PLUGIN.equals(classFile.superName))
+		{
+			getLog().warn("Class " + classFile.name.replace('/', '.') + " has plugin descriptor, but is not a plugin");
+			return null;
+		}
+
+		JsonObject plugin = new JsonObject();
+		plugin.addProperty("className", classFile.name.replace('/', '.'));
+		plugin.addProperty("name", (String) descriptor.get("name"));
+		plugin.addProperty("configName", (String) descriptor.getOrDefault("configName", ""));
+		plugin.addProperty("enabledByDefault", (Boolean) descriptor.getOrDefault("enabledByDefault", true));
+		plugin.addProperty("developerPlugin", (Boolean) descriptor.getOrDefault("developerPlugin", false));
+		plugin.addProperty("loadInSafeMode", (Boolean) descriptor.getOrDefault("loadInSafeMode", true));
+
+		JsonArray dependencies = new JsonArray();
+		for (Map<String, Object> dependency : dependencies(classFile))
+		{
+			dependencies.add(className((String) dependency.get("value")));
+		}
+		plugin.add("dependencies", dependencies);
+
+		String configGroup = configGroup(classFile);
+		if (configGroup != null)
+		{
+			plugin.addProperty("configGroup", configGroup);
+		}
+		return plugin;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> dependencies(ClassFile classFile)
+	{
+		List<Map<String, Object>> dependencies = new ArrayList<>();
+		Map<String, Object> dependency = classFile.annotations.get(PLUGIN_DEPENDENCY);
+		if (dependency != null)
+		{
+			dependencies.add(dependency);
+		}
+		// repeated annotations are compiled into their container
+		Map<String, Object> container = classFile.annotations.get(PLUGIN_DEPENDENCIES);
+		if (container != null)
+		{
+			for (Object value : (List<Object>) container.get("value"))
+			{
+				dependencies.add((Map<String, Object>) value);
+			}
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Finds the group of the config the plugin provides, from the return type of its @Provides methods
+	 */
+	private String configGroup(ClassFile classFile) throws IOException
+	{
+		for (String returnType : classFile.providedTypes)
+		{
+			File file = new File(classesDirectory, returnType.replace('/', File.separatorChar) + ".class");
+			if (!file.exists())
+			{
+				continue;
+			}
+
+			Map<String, Object> configGroup = ClassFile.read(file).annotations.get(CONFIG_GROUP);
+			if (configGroup != null)
+			{
+				return (String) configGroup.get("value");
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Converts a field descriptor such as Lnet/runelite/Foo; to a class name
+	 */
+	private static String className(String descriptor)
+	{
+		return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+	}
+
+	/**
+	 * The parts of a class file the manifest needs: the class and super class names, the runtime visible annotations
+	 * of the class and the return types of its @Provides methods
+	 */
+	static final class ClassFile
+	{
+		String name;
+		String superName;
+		final Map<String, Map<String, Object>> annotations = new HashMap<>();
+		final List<String> providedTypes = new ArrayList<>();
+
+		private Object[] constants;
+
+		static ClassFile read(File file) throws IOException
+		{
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+			{
+				ClassFile classFile = new ClassFile();
+				classFile.parse(in);
+				return classFile;
+			}
+		}
+
+		private void parse(DataInputStream in) throws IOException
+		{
+			if (in.readInt() != 0xCAFEBABE)
+			{
+				throw new IOException("not a class file");
+			}
+			in.readUnsignedShort(); // minor version
+			in.readUnsignedShort(); // major version
+
+			readConstants(in);
+
+			in.readUnsignedShort(); // access flags
+			name = classConstant(in.readUnsignedShort());
+			int superIndex = in.readUnsignedShort();
+			superName = superIndex == 0 ? null : classConstant(superIndex);
+			in.skipBytes(in.readUnsignedShort() * 2); // interfaces
+
+			int fields = in.readUnsignedShort();
+			for (int i = 0; i < fields; i++)
+			{
+				in.skipBytes(6); // access flags, name, descriptor
+				readAttributes(in, null);
+			}
+
+			int methods = in.readUnsignedShort();
+			for (int i = 0; i < methods; i++)
+			{
+				in.skipBytes(4); // access flags, name
+				String descriptor = (String) constants[in.readUnsignedShort()];
+				Map<String, Map<String, Object>> methodAnnotations = new HashMap<>();
+				readAttributes(in, methodAnnotations);
+				if (methodAnnotations.containsKey(PROVIDES))
+				{
+					String returnType = descriptor.substring(descriptor.indexOf(')') + 1);
+					if (returnType.startsWith("L"))
+					{
+						providedTypes.add(returnType.substring(1, returnType.length() - 1));
+					}
+				}
+			}
+
+			readAttributes(in, annotations);
+		}
+
+		private void readConstants(DataInputStream in) throws IOException
+		{
+			int count = in.readUnsignedShort();
+			constants = new Object[count];
+			for (int i = 1; i < count; i++)
+			{
+				int tag = in.readUnsignedByte();
+				switch (tag)
+				{
+					case 1: // utf8
+						constants[i] = in.readUTF();
+						break;
+					case 3: // integer
+						constants[i] = in.readInt();
+						break;
+					case 4: // float
+						constants[i] = in.readFloat();
+						break;
+					case 5: // long
+						constants[i++] = in.readLong();
+						break;
+					case 6: // double
+						constants[i++] = in.readDouble();
+						break;
+					case 7: // class
+					case 8: // string
+					case 16: // method type
+					case 19: // module
+					case 20: // package
+						constants[i] = in.readUnsignedShort();
+						break;
+					case 15: // method handle
+						in.skipBytes(3);
+						break;
+					case 9: // field ref
+					case 10: // method ref
+					case 11: // interface method ref
+					case 12: // name and type
+					case 17: // dynamic
+					case 18: // invoke dynamic
+						in.skipBytes(4);
+						break;
+					default:
+						throw new IOException("unknown constant pool tag " + tag);
+				}
+			}
+		}
+
+		private String classConstant(int index)
+		{
+			return (String) constants[(Integer) constants[index]];
+		}
+
+		/**
+		 * Reads an attribute table, collecting the runtime visible annotations into the map if it is not null
+		 */
+		private void readAttributes(DataInputStream in, Map<String, Map<String, Object>> annotations) throws IOException
+		{
+			int count = in.readUnsignedShort();
+			for (int i = 0; i < count; i++)
+			{
+				String attribute = (String) constants[in.readUnsignedShort()];
+				int length = in.readInt();
+				if (annotations != null && attribute.equals("RuntimeVisibleAnnotations"))
+				{
+					int annotationCount = in.readUnsignedShort();
+					for (int j = 0; j < annotationCount; j++)
+					{
+						String type = (String) constants[in.readUnsignedShort()];
+						annotations.put(type, readAnnotationValues(in));
+					}
+				}
+				else
+				{
+					in.skipBytes(length);
+				}
+			}
+		}
+
+		private Map<String, Object> readAnnotationValues(DataInputStream in) throws IOException
+		{
+			Map<String, Object> values = new HashMap<>();
+			int count = in.readUnsignedShort();
+			for (int i = 0; i < count; i++)
+			{
+				String name = (String) constants[in.readUnsignedShort()];
+				values.put(name, readElementValue(in));
+			}
+			return values;
+		}
+
+		private Object readElementValue(DataInputStream in) throws IOException
+		{
+			int tag = in.readUnsignedByte();
+			switch (tag)
+			{
+				case 'Z':
+					return (Integer) constants[in.readUnsignedShort()] != 0;
+				case 'B':
+				case 'C':
+				case 'D':
+				case 'F':
+				case 'I':
+				case 'J':
+				case 'S':
+				case 's':
+					return constants[in.readUnsignedShort()];
+				case 'c':
+					// the class descriptor
+					return constants[in.readUnsignedShort()];
+				case 'e':
+					in.readUnsignedShort(); // enum type
+					return constants[in.readUnsignedShort()];
+				case '@':
+					in.readUnsignedShort(); // annotation type
+					return readAnnotationValues(in);
+				case '[':
+					int count = in.readUnsignedShort();
+					List<Object> values = new ArrayList<>(count);
+					for (int i = 0; i < count; i++)
+					{
+						values.add(readElementValue(in));
+					}
+					return values;
+				default:
+					throw new IOException("unknown annotation element tag " + (char) tag);
+			}
+		}
+	}
+}
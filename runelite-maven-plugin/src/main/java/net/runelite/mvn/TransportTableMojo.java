@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2026, agent <agent@local>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.mvn;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Compiles the shortest path transport and restriction TSVs into one binary table, read by TransportTable in the
+ * client. Cells are parsed here, with the same rules as the TSV parsers of Transport and Restriction, and
+ * strings, item groups, var checks and skill requirements are interned so rows only reference them by index.
+ */
+@Mojo(
+	name = "pack-transports",
+	defaultPhase = LifecyclePhase.GENERATE_RESOURCES
+)
+public class TransportTableMojo extends AbstractMojo
+{
+	// keep in sync with TransportTable
+	static final int MAGIC = 0x53505442; // SPTB
+	static final int VERSION = 1;
+
+	static final int FIELD_END = 0;
+	static final int FIELD_ORIGIN = 1;
+	static final int FIELD_DESTINATION = 2;
+	static final int FIELD_MENU = 3;
+	static final int FIELD_CURRENCY = 4;
+	static final int FIELD_SKILLS = 5;
+	static final int FIELD_ITEMS = 6;
+	static final int FIELD_QUESTS = 7;
+	static final int FIELD_DURATION = 8;
+	static final int FIELD_DISPLAY_INFO = 9;
+	static final int FIELD_CONSUMABLE = 10;
+	static final int FIELD_WILDERNESS_LEVEL = 11;
+	static final int FIELD_MEMBERS = 12;
+	static final int FIELD_VARBITS = 13;
+	static final int FIELD_VARPLAYERS = 14;
+
+	private static final String DELIM = " ";
+	private static final String DELIM_MULTI = ";";
+	private static final String DELIM_COLUMN = "\t";
+	private static final String PREFIX_COMMENT = "#";
+	private static final Pattern MENU = Pattern.compile("^([^;]+);([^;]+);(\\d+)$");
+	private static final char[] OPERATORS = {'>', '<', '=', '&', '@'};
+
+	@Parameter(required = true)
+	private File inputDirectory;
+
+	@Parameter(required = true)
+	private File outputFile;
+
+	public TransportTableMojo()
+	{
+	}
+
+	/**
+	 * Used by the client tests to pack the transport files without maven
+	 */
+	TransportTableMojo(File inputDirectory, File outputFile)
+	{
+		this.inputDirectory = inputDirectory;
+		this.outputFile = outputFile;
+	}
+
+	private final Pool<String> strings = new Pool<>();
+	private final Pool<List<Integer>> itemGroups = new Pool<>();
+	private final Pool<List<Integer>> varChecks = new Pool<>();
+	private final Pool<List<Integer>> skillRequirements = new Pool<>();
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		File[] files = inputDirectory.listFiles((dir, name) -> name.endsWith(".tsv"));
+		if (files == null)
+		{
+			throw new MojoExecutionException("no transport directory " + inputDirectory);
+		}
+		Arrays.sort(files);
+
+		ByteArrayOutputStream tables = new ByteArrayOutputStream();
+		int rows = 0;
+		try (DataOutputStream out = new DataOutputStream(tables))
+		{
+			for (File file : files)
+			{
+				rows += writeTable(out, file);
+			}
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			throw new MojoExecutionException("error compiling transports", ex);
+		}
+
+		outputFile.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(outputFile)))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(strings.size());
+			for (String s : strings.values)
+			{
+				out.writeUTF(s);
+			}
+
+			out.writeInt(itemGroups.size());
+			for (List<Integer> group : itemGroups.values)
+			{
+				out.writeShort(group.size());
+				for (int id : group)
+				{
+					out.writeInt(id);
+				}
+			}
+
+			out.writeInt(varChecks.size());
+			for (List<Integer> check : varChecks.values)
+			{
+				out.writeInt(check.get(0));
+				out.writeByte(check.get(1));
+				out.writeInt(check.get(2));
+			}
+
+			out.writeInt(skillRequirements.size());
+			for (List<Integer> requirement : skillRequirements.values)
+			{
+				out.writeInt(requirement.get(0));
+				out.writeShort(requirement.get(1));
+			}
+
+			out.writeInt(files.length);
+			tables.writeTo(out);
+		}
+		catch (IOException ex)
+		{
+			throw new MojoExecutionException("error writing transport table", ex);
+		}
+
+		getLog().info("Compiled " + rows + " rows from " + files.length + " transport files, "
+			+ strings.size() + " strings, " + itemGroups.size() + " item groups, " + varChecks.size() + " var checks");
+	}
+
+	private int writeTable(DataOutputStream out, File file) throws IOException
+	{
+		String s = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		List<Map<String, String>> rows = new ArrayList<>();
+		try (Scanner scanner = new Scanner(s))
+		{
+			// Header line is the first line in the file and will start with either '#' or '# '
+			String headerLine = scanner.nextLine();
+			headerLine = headerLine.startsWith(PREFIX_COMMENT + " ") ? headerLine.replace(PREFIX_COMMENT + " ", PREFIX_COMMENT) : headerLine;
+			headerLine = headerLine.startsWith(PREFIX_COMMENT) ? headerLine.replace(PREFIX_COMMENT, "") : headerLine;
+			String[] headers = headerLine.split(DELIM_COLUMN);
+
+			while (scanner.hasNextLine())
+			{
+				String line = scanner.nextLine();
+				if (line.startsWith(PREFIX_COMMENT) || line.isBlank())
+				{
+					continue;
+				}
+
+				String[] fields = line.split(DELIM_COLUMN);
+				Map<String, String> fieldMap = new HashMap<>();
+				for (int i = 0; i < headers.length && i < fields.length; i++)
+				{
+					fieldMap.put(headers[i], fields[i]);
+				}
+				rows.add(fieldMap);
+			}
+		}
+
+		out.writeInt(strings.intern(file.getName()));
+		out.writeInt(rows.size());
+		for (Map<String, String> row : rows)
+		{
+			try
+			{
+				writeRow(out, row);
+			}
+			catch (RuntimeException ex)
+			{
+				throw new IllegalArgumentException(file.getName() + ": " + ex.getMessage() + " in " + row, ex);
+			}
+		}
+		return rows.size();
+	}
+
+	private void writeRow(DataOutputStream out, Map<String, String> fieldMap) throws IOException
+	{
+		String value;
+
+		if ((value = fieldMap.get("Origin")) != null)
+		{
+			out.writeByte(FIELD_ORIGIN);
+			writePoint(out, value);
+		}
+
+		if ((value = fieldMap.get("Destination")) != null)
+		{
+			out.writeByte(FIELD_DESTINATION);
+			writePoint(out, value);
+		}
+
+		if ((value = fieldMap.get("menuOption menuTarget objectID")) != null && !value.trim().isEmpty())
+		{
+			Matcher matcher = MENU.matcher(value.trim());
+			if (matcher.matches())
+			{
+				out.writeByte(FIELD_MENU);
+				out.writeInt(strings.intern(matcher.group(1).trim()));
+				out.writeInt(strings.intern(matcher.group(2).trim()));
+				out.writeInt(Integer.parseInt(matcher.group(3).trim()));
+			}
+			else
+			{
+				getLog().warn("Skipped invalid value: " + value);
+			}
+		}
+
+		if ((value = fieldMap.get("Currency")) != null)
+		{
+			String[] parts = value.split(DELIM);
+			if (parts.length > 1)
+			{
+				out.writeByte(FIELD_CURRENCY);
+				out.writeInt(Integer.parseInt(parts[0]));
+				out.writeInt(strings.intern(parts[1]));
+			}
+		}
+
+		if ((value = fieldMap.get("Skills")) != null && !value.trim().isEmpty())
+		{
+			List<Integer> requirements = new ArrayList<>();
+			for (String requirement : value.split(DELIM_MULTI))
+			{
+				String[] levelAndSkill = requirement.split(DELIM);
+				if (levelAndSkill.length < 2)
+				{
+					continue;
+				}
+
+				int level = Integer.parseInt(levelAndSkill[0]);
+				requirements.add(skillRequirements.intern(List.of(strings.intern(levelAndSkill[1]), level)));
+			}
+			writeIndexes(out, FIELD_SKILLS, requirements);
+		}
+
+		if ((value = fieldMap.get("Item IDs")) != null && !value.trim().isEmpty())
+		{
+			List<Integer> groups = new ArrayList<>();
+			for (String listIds : value.split(DELIM_MULTI))
+			{
+				TreeSet<Integer> group = new TreeSet<>();
+				for (String item : listIds.split(DELIM))
+				{
+					group.add(Integer.parseInt(item));
+				}
+				groups.add(itemGroups.intern(new ArrayList<>(group)));
+			}
+			writeIndexes(out, FIELD_ITEMS, groups);
+		}
+
+		if ((value = fieldMap.get("Quests")) != null && !value.trim().isEmpty())
+		{
+			// names are matched to quests when loading, as the quests are not known here
+			List<Integer> names = new ArrayList<>();
+			for (String questName : value.split(DELIM_MULTI))
+			{
+				names.add(strings.intern(questName));
+			}
+			writeIndexes(out, FIELD_QUESTS, names);
+		}
+
+		if ((value = fieldMap.get("Duration")) != null && !value.trim().isEmpty())
+		{
+			out.writeByte(FIELD_DURATION);
+			out.writeInt(Integer.parseInt(value));
+		}
+
+		if ((value = fieldMap.get("Display info")) != null)
+		{
+			out.writeByte(FIELD_DISPLAY_INFO);
+			out.writeInt(strings.intern(value));
+		}
+
+		if ((value = fieldMap.get("Consumable")) != null)
+		{
+			out.writeByte(FIELD_CONSUMABLE);
+			out.writeBoolean("T".equals(value) || "yes".equals(value.toLowerCase()));
+		}
+
+		if ((value = fieldMap.get("Wilderness level")) != null && !value.trim().isEmpty())
+		{
+			out.writeByte(FIELD_WILDERNESS_LEVEL);
+			out.writeInt(Integer.parseInt(value));
+		}
+
+		if ((value = fieldMap.get("isMembers")) != null && !value.trim().isEmpty())
+		{
+			out.writeByte(FIELD_MEMBERS);
+			out.writeBoolean("Y".equals(value.trim()) || "yes".equals(value.trim().toLowerCase()));
+		}
+
+		if ((value = fieldMap.get("Varbits")) != null && !value.trim().isEmpty())
+		{
+			writeIndexes(out, FIELD_VARBITS, varChecks(value));
+		}
+
+		if ((value = fieldMap.get("Varplayers")) != null && !value.trim().isEmpty())
+		{
+			writeIndexes(out, FIELD_VARPLAYERS, varChecks(value));
+		}
+
+		out.writeByte(FIELD_END);
+	}
+
+	/**
+	 * Writes a point as a kind byte, 1 followed by x, y and plane for a coordinate or 0 for a permutation placeholder
+	 */
+	private static void writePoint(DataOutputStream out, String value) throws IOException
+	{
+		String[] parts = value.split(DELIM);
+		if (parts.length != 3)
+		{
+			out.writeByte(0);
+			return;
+		}
+
+		int x = Integer.parseInt(parts[0]);
+		int y = Integer.parseInt(parts[1]);
+		int plane = Integer.parseInt(parts[2]);
+		if (x < 0 || x > Short.MAX_VALUE || y < 0 || y > Short.MAX_VALUE || plane < 0 || plane > Byte.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("point out of range: " + value);
+		}
+
+		out.writeByte(1);
+		out.writeShort(x);
+		out.writeShort(y);
+		out.writeByte(plane);
+	}
+
+	private List<Integer> varChecks(String value)
+	{
+		List<Integer> checks = new ArrayList<>();
+		for (String check : value.split(DELIM_MULTI))
+		{
+			char operator = 0;
+			for (char op : OPERATORS)
+			{
+				if (check.indexOf(op) != -1)
+				{
+					operator = op;
+					break;
+				}
+			}
+			if (operator == 0)
+			{
+				throw new IllegalArgumentException("Invalid var format: " + check);
+			}
+
+			String[] parts = check.split(Pattern.quote(String.valueOf(operator)));
+			checks.add(varChecks.intern(List.of(Integer.parseInt(parts[0]), (int) operator, Integer.parseInt(parts[1]))));
+		}
+		return checks;
+	}
+
+	private static void writeIndexes(DataOutputStream out, int field, List<Integer> indexes) throws IOException
+	{
+		out.writeByte(field);
+		out.writeShort(indexes.size());
+		for (int index : indexes)
+		{
+			out.writeInt(index);
+		}
+	}
+
+	private static class Pool<T>
+	{
+		private final List<T> values = new ArrayList<>();
+		private final Map<T, Integer> indexes = new HashMap<>();
+
+		int intern(T value)
+		{
+			return indexes.computeIfAbsent(value, v ->
+			{
+				values.add(v);
+				return values.size() - 1;
+			});
+		}
+
+		int size()
+		{
+			return values.size();
+		}
+	}
+}